@@ -25,11 +25,15 @@
 #include "common/logging.h"
 #include "common/utils.h"
 #include "exec/text_converter.hpp"
+#include "gen_cpp/FrontendService.h"
 #include "io/cache/block/block_file_cache_profile.h"
 #include "olap/iterators.h"
 #include "runtime/descriptors.h"
 #include "runtime/raw_value.h"
+#include "runtime/query_fragments_ctx.h"
 #include "runtime/runtime_state.h"
+#include "util/thrift_rpc_helper.h"
+#include "util/uid_util.h"
 #include "vec/exec/format/csv/csv_reader.h"
 #include "vec/exec/format/json/new_json_reader.h"
 #include "vec/exec/format/orc/vorc_reader.h"
@@ -46,7 +50,7 @@ VFileScanner::VFileScanner(RuntimeState* state, NewFileScanNode* parent, int64_t
                            KVCache<std::string>& kv_cache)
         : VScanner(state, static_cast<VScanNode*>(parent), limit, profile),
           _params(scan_range.params),
-          _ranges(scan_range.ranges),
+          _ranges(scan_range.ranges.begin(), scan_range.ranges.end()),
           _next_range(0),
           _cur_reader(nullptr),
           _cur_reader_eof(false),
@@ -55,6 +59,10 @@ VFileScanner::VFileScanner(RuntimeState* state, NewFileScanNode* parent, int64_t
     if (scan_range.params.__isset.strict_mode) {
         _strict_mode = scan_range.params.strict_mode;
     }
+    if (scan_range.__isset.split_source_id) {
+        _split_source_id = scan_range.split_source_id;
+        _split_scanner_id = UniqueId::gen_uid().to_string();
+    }
 }
 
 Status VFileScanner::prepare(
@@ -72,6 +80,9 @@ Status VFileScanner::prepare(
     _pre_filter_timer = ADD_TIMER(_parent->_scanner_profile, "FileScannerPreFilterTimer");
     _convert_to_output_block_timer =
             ADD_TIMER(_parent->_scanner_profile, "FileScannerConvertOuputBlockTime");
+    _fetch_split_batch_timer = ADD_TIMER(_parent->_scanner_profile, "FileScannerFetchSplitBatchTime");
+    _fetched_split_num =
+            ADD_COUNTER(_parent->_scanner_profile, "FileScannerFetchedSplitNum", TUnit::UNIT);
 
     _file_cache_statistics.reset(new FileCacheStatistics());
     _io_ctx.reset(new IOContext());
@@ -554,10 +565,52 @@ Status VFileScanner::_convert_to_output_block(Block* block) {
     return Status::OK();
 }
 
+Status VFileScanner::_fetch_split_batch() {
+    SCOPED_TIMER(_fetch_split_batch_timer);
+    QueryFragmentsCtx* query_ctx = _state->get_query_fragments_ctx();
+    if (query_ctx == nullptr) {
+        return Status::InternalError("no coordinator to fetch splits from split source {}",
+                                     _split_source_id);
+    }
+    // the rpc may be retried, eg. after timeout, and fe returns the same batch for the same seq,
+    // so that the splits are neither lost nor fetched twice
+    TFetchSplitBatchRequest request;
+    request.__set_split_source_id(_split_source_id);
+    request.__set_scanner_id(_split_scanner_id);
+    request.__set_batch_seq(_split_batch_seq);
+    TFetchSplitBatchResult result;
+    const TNetworkAddress& coord_addr = query_ctx->coord_addr;
+    RETURN_IF_ERROR(ThriftRpcHelper::rpc<FrontendServiceClient>(
+            coord_addr.hostname, coord_addr.port,
+            [&request, &result](FrontendServiceConnection& client) {
+                client->fetchSplitBatch(result, request);
+            },
+            config::thrift_rpc_timeout_ms));
+    Status status(result.status);
+    if (!status.ok()) {
+        LOG(WARNING) << "fetch splits from split source " << _split_source_id
+                     << " failed, errmsg=" << status;
+        return status;
+    }
+    _split_batch_seq++;
+    if (!result.__isset.splits || result.splits.empty()) {
+        _split_source_finished = true;
+        return Status::OK();
+    }
+    COUNTER_UPDATE(_fetched_split_num, result.splits.size());
+    for (auto& split : result.splits) {
+        _ranges.emplace_back(std::move(split));
+    }
+    return Status::OK();
+}
+
 Status VFileScanner::_get_next_reader() {
     while (true) {
         _cur_reader.reset(nullptr);
         _src_block_init = false;
+        if (_next_range >= _ranges.size() && _split_source_id > 0 && !_split_source_finished) {
+            RETURN_IF_ERROR(_fetch_split_batch());
+        }
         if (_next_range >= _ranges.size()) {
             _scanner_eof = true;
             return Status::OK();
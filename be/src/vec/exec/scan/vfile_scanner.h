@@ -17,6 +17,8 @@
 
 #pragma once
 
+#include <deque>
+
 #include "exec/olap_common.h"
 #include "exec/text_converter.h"
 #include "exprs/function_filter.h"
@@ -49,14 +51,24 @@ protected:
 
     Status _get_next_reader();
 
+    Status _fetch_split_batch();
+
     // TODO: cast input block columns type to string.
     Status _cast_src_block(Block* block) { return Status::OK(); }
 
 protected:
     std::unique_ptr<TextConverter> _text_converter;
     const TFileScanRangeParams& _params;
-    const std::vector<TFileRangeDesc>& _ranges;
+    // use deque because the readers hold the reference of range,
+    // which should not be invalidated when more ranges are fetched from split source.
+    std::deque<TFileRangeDesc> _ranges;
     int _next_range;
+    // fetch more ranges from the split source on coordinator fe if set
+    int64_t _split_source_id = -1;
+    bool _split_source_finished = false;
+    // identify the fetches of this scanner, the seq of a batch is increased after the batch is received
+    std::string _split_scanner_id;
+    int64_t _split_batch_seq = 0;
 
     std::unique_ptr<GenericReader> _cur_reader;
     bool _cur_reader_eof;
@@ -128,6 +140,8 @@ private:
     RuntimeProfile::Counter* _fill_missing_columns_timer = nullptr;
     RuntimeProfile::Counter* _pre_filter_timer = nullptr;
     RuntimeProfile::Counter* _convert_to_output_block_timer = nullptr;
+    RuntimeProfile::Counter* _fetch_split_batch_timer = nullptr;
+    RuntimeProfile::Counter* _fetched_split_num = nullptr;
 
 private:
     Status _init_expr_ctxes();
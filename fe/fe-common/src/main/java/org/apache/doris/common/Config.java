@@ -213,6 +213,43 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int edit_log_roll_num = 50000;
 
+    /**
+     * If set to true, master FE will write edit logs in group commit mode.
+     * Concurrent edit log writers enqueue their entries, and a single writer thread writes
+     * a batch of them into bdbje in one transaction, so that they share one sync and one
+     * round of replica acks. Writers still block until their entries are durable.
+     */
+    @ConfField(masterOnly = true)
+    public static boolean enable_edit_log_group_commit = false;
+
+    /**
+     * The max number of edit log entries written in one group commit batch.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int edit_log_group_commit_max_batch_size = 512;
+
+    /**
+     * The max time in milliseconds the group commit writer waits for more entries
+     * before writing a batch which is not full. 0 means only batch the entries which
+     * are already queued, which adds no extra latency.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int edit_log_group_commit_max_wait_ms = 0;
+
+    /**
+     * If set to true, FE will load the meta modules of image concurrently at startup.
+     * Each module is read from the offset recorded in the image footer, and is loaded
+     * after the modules it depends on.
+     */
+    @ConfField
+    public static boolean enable_parallel_image_load = false;
+
+    /**
+     * The number of threads used to load image modules when enable_parallel_image_load is true.
+     */
+    @ConfField
+    public static int parallel_image_load_thread_num = 4;
+
     /**
      * Non-master FE will stop offering service
      * if meta data delay gap exceeds *meta_delay_toleration_second*
@@ -922,6 +959,11 @@ public class Config extends ConfigBase {
     @ConfField public static int meta_publish_timeout_ms = 1000;
     @ConfField public static boolean proxy_auth_enable = false;
     @ConfField public static String proxy_auth_magic_prefix = "x@8";
+    /**
+     * The max number of privilege check results cached for all users.
+     * The results are invalidated when any user, role or privilege is changed. Set to 0 to disable the cache.
+     */
+    @ConfField public static long priv_decision_cache_max_entry_num = 100000;
     /**
      * Limit on the number of expr children of an expr tree.
      * Exceed this limit may cause long analysis time while holding database read lock.
@@ -1161,6 +1203,36 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_scheduling_tablets = 2000;
 
+    /**
+     * If set to true, TabletChecker only checks the tablets whose replicas may be changed since the last round,
+     * instead of traversing all tablets in catalog. The tablets are marked by tablet reports, finished tablet
+     * scheduling, load failures, changes of replica allocation or replica status, and the liveness, decommission
+     * or drop of backends. All tablets are checked after the tags of backends are modified,
+     * and every tablet_checker_full_check_interval_second.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_tablet_checker_dirty_set = false;
+
+    /**
+     * The interval of checking all tablets in TabletChecker, when enable_tablet_checker_dirty_set is true.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long tablet_checker_full_check_interval_second = 1800;
+
+    /**
+     * If set to true, TabletScheduler schedules a batch of pending tablets on tablet_scheduler_worker_num workers,
+     * instead of one by one on the scheduler thread.
+     * It helps to re-replicate a large number of tablets after backends are down.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_concurrent_tablet_scheduler = false;
+
+    /**
+     * The number of workers to schedule tablets when enable_concurrent_tablet_scheduler is true.
+     */
+    @ConfField(mutable = false, masterOnly = true)
+    public static int tablet_scheduler_worker_num = 8;
+
     // if the number of balancing tablets in TabletScheduler exceed max_balancing_tablets,
     // no more balance check
     @ConfField(mutable = true, masterOnly = true)
@@ -1178,6 +1250,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int partition_rebalance_max_moves_num_per_selection = 10;
 
+    /**
+     * If set to true, the tablet inverted index uses primitive long keyed open addressing hash maps
+     * instead of HashMap and HashBasedTable, to save the memory of boxed ids and map entries,
+     * which is significant when there are tens of millions of replicas.
+     */
+    @ConfField
+    public static boolean tablet_inverted_index_use_primitive_map = false;
+
     // This threshold is to avoid piling up too many report task in FE, which may cause OOM exception.
     // In some large Doris cluster, eg: 100 Backends with ten million replicas, a tablet report may cost
     // several seconds after some modification of metadata(drop partition, etc..).
@@ -1192,6 +1272,31 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int report_queue_size = 100;
 
+    /**
+     * The number of threads to process the reports from backends.
+     * The reports of one backend are always processed by the same thread in order,
+     * and the reports of different backends can be processed in parallel.
+     * A report waiting in queue is dropped if a later report of the same type from the same backend arrives.
+     */
+    @ConfField(masterOnly = true)
+    public static int report_handler_shard_num = 1;
+
+    /**
+     * If set to true, a tablet report is processed as a delta of the last processed report of the same backend:
+     * the tablets which are not changed since then are only checked against the meta changed on FE side,
+     * eg. the in memory property, the storage medium and the cooldown conf, the rest of their diff is skipped.
+     * It costs about 24 bytes of memory for each replica to remember the last report.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_tablet_report_delta = false;
+
+    /**
+     * When enable_tablet_report_delta is true, a tablet report is still processed as a full report
+     * if the last full report of the backend is older than this interval.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long tablet_report_full_interval_second = 3600;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1218,6 +1323,36 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_routine_load_task_num_per_be = 5;
 
+    /**
+     * If set to true, the task num and the batch size of a kafka routine load job are adjusted by its lag.
+     * When the lag could not be consumed in 'routine_load_adaptive_lag_high_second' with current throughput,
+     * the task num and the max batch rows and size are increased,
+     * and when the lag is less than one batch, they are decreased and the batch interval is increased,
+     * so that each task commits more data in a transaction.
+     * The max task num is still limited by the partition num and 'max_routine_load_task_concurrent_num'.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_routine_load_adaptive_concurrency = false;
+
+    /**
+     * The min interval between two adjustments of an adaptive routine load job.
+     * Changing the task num reschedules all the tasks of the job, so it should not be too small.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long routine_load_adaptive_adjust_interval_second = 60;
+
+    /**
+     * The job is scaled up if its lag could not be consumed in this time with current throughput.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long routine_load_adaptive_lag_high_second = 60;
+
+    /**
+     * The max times the batch rows, batch size and batch interval of an adaptive routine load job could be enlarged.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int routine_load_adaptive_max_batch_scale = 4;
+
     /**
      * The max number of files store in SmallFileMgr
      */
@@ -1268,6 +1403,15 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static boolean force_do_metadata_checkpoint = false;
 
+    /**
+     * If set to true, the checkpoint thread will try to generate the new image incrementally.
+     * Only the modules which are modified by the journals since the last image (and the modules
+     * they depend on) are loaded and replayed, other modules are copied from the last image as raw bytes.
+     * If some journal may modify unknown modules, the checkpoint falls back to a full checkpoint.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_incremental_checkpoint = false;
+
     /**
      * The multi cluster feature will be deprecated in version 0.12
      * set this config to true will disable all operations related to cluster feature, include:
@@ -1387,6 +1531,33 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int cache_result_max_row_count = 3000;
 
+    /**
+     * If set to true, the small results of sql and partition cache are also cached in the memory of fe,
+     * so that the hot queries get the results without asking be.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean cache_enable_fe_mode = false;
+
+    /**
+     * The max data size in bytes of a result which can be cached in the memory of fe.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long cache_fe_result_max_bytes = 1024 * 1024;
+
+    /**
+     * The max data size in bytes of all results cached in the memory of fe.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long cache_fe_max_bytes = 256 * 1024 * 1024;
+
+    /**
+     * The max number of plans in the plan cache of Nereids, which is used by the sessions
+     * with enable_nereids_plan_cache. Plans are evicted in LRU order when the cache is full.
+     * Only the statements sent by COM_QUERY are cached, the prepared statements are not.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int nereids_plan_cache_max_num = 1000;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -1553,6 +1724,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static boolean use_compact_thrift_rpc = true;
 
+    /**
+     * If set to true, the plan of a fragment is converted to thrift and serialized only once,
+     * and shared by all the instances of the fragment when sending the fragments to BE.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_pre_serialized_plan_fragment = false;
+
     /*
      * If set to true, the tablet scheduler will not work, so that all tablet repair/balance task will not work.
      */
@@ -1824,12 +2002,77 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int backend_num_for_federation = 3;
 
+    /**
+     * Number of virtual nodes of each backend on the hash ring,
+     * used when session variable `enable_consistent_hash_split_assignment` is true.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int split_assigner_virtual_node_num = 256;
+
+    /**
+     * When assigning splits of external file scan by consistent hashing, a backend takes at most
+     * (1 + split_assigner_max_load_factor) times the average bytes of all backends,
+     * the splits exceeding it are passed to the next backend on the hash ring.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static double split_assigner_max_load_factor = 0.25;
+
+    /**
+     * Number of splits per backend sent with the plan,
+     * used when session variable `enable_streaming_split_source` is true.
+     * The rest splits are enumerated on demand and fetched by backends in batches.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int split_source_initial_split_num_per_backend = 1024;
+
+    /**
+     * Max number of splits returned to a backend in one fetch from the split source.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int split_source_batch_size = 256;
+
+    /**
+     * Number of threads to enumerate the splits of the split sources in background.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int split_source_prefetch_thread_num = 16;
+
     /**
      * Max query profile num.
      */
     @ConfField(mutable = true, masterOnly = false)
     public static int max_query_profile_num = 100;
 
+    /**
+     * The profiles evicted from the latest max_query_profile_num profiles are kept compressed in memory,
+     * up to this size in bytes. Only the text of an archived profile is available, not the fragment tree.
+     * 0 means the evicted profiles are not kept in memory.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long profile_compressed_memory_limit_bytes = 0;
+
+    /**
+     * Set to true to also write the evicted profiles to local files under profile_spill_dir,
+     * so that they can still be viewed after they are evicted from memory or after FE restarts.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_profile_spill = false;
+
+    @ConfField
+    public static String profile_spill_dir = System.getenv("DORIS_HOME") + "/log/profile";
+
+    /**
+     * The size of one profile spill file, a new file is created when the current one exceeds this size.
+     */
+    @ConfField
+    public static long profile_spill_segment_size_bytes = 64 * 1024 * 1024L;
+
+    /**
+     * The max total size of profile spill files. The oldest file is deleted when the size is exceeded.
+     */
+    @ConfField
+    public static long profile_spill_max_bytes = 1024 * 1024 * 1024L;
+
     /**
      * Set to true to disable backend black list, so that even if we failed to send task to a backend,
      * that backend won't be added to black list.
@@ -1875,6 +2118,34 @@ public class Config extends ConfigBase {
     @ConfField
     public static int statistic_internal_table_replica_num = 1;
 
+    /**
+     * Analyze all the requested columns of an olap table in a single scan per partition,
+     * instead of scanning each partition once for every column.
+     * Always enabled when the ANALYZE statement specifies "sample_percent".
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_single_pass_olap_analyze = false;
+
+    /**
+     * Maintain the cached column statistics with the rows loaded by each published transaction,
+     * and re-analyze the partitions of an analyzed olap table once they are changed too much.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_incremental_statistics = false;
+
+    /**
+     * A partition is re-analyzed when the ratio of its changed rows to its analyzed rows
+     * is larger than this threshold.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static double statistics_partition_change_ratio_threshold = 0.2;
+
+    /**
+     * The interval of checking the staleness of the statistics of the loaded partitions.
+     */
+    @ConfField
+    public static int statistics_staleness_check_interval_sec = 300;
+
     /**
      * if table has too many replicas, Fe occur oom when schema change.
      * 10W replicas is a reasonable value for testing.
@@ -1910,6 +2181,55 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = false)
     public static long external_cache_expire_time_minutes_after_access = 24 * 60; // 1 day
 
+    /**
+     * Max num of partitions fetched from hive metastore in one get_partitions_by_names call
+     * when loading the hive partition cache.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int hive_partition_batch_fetch_num = 1000;
+
+    /**
+     * Max num of directories listed concurrently for a hms catalog when loading the external file cache.
+     * It can be overwritten by the catalog property "file.listing.parallelism".
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int hive_file_listing_parallelism = 16;
+
+    /**
+     * Num of threads shared by all queries to read and filter the manifests of iceberg tables when planning.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int iceberg_manifest_planning_thread_num = 16;
+
+    /**
+     * Max estimated bytes of the data file entries of iceberg manifests cached in FE, 256MB by default.
+     * Most of the bytes are the column stats of the data files, so wide tables take more memory per entry.
+     * Manifests are immutable, so the cached entries are only dropped when the catalog is refreshed or dropped.
+     * Set to 0 to disable the cache.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long max_iceberg_manifest_cache_bytes = 268435456L;
+
+    /**
+     * Set to true to also keep the external table schemas, hive partitions and file lists in local files
+     * under external_meta_disk_cache_dir, so that they are not reloaded from the remote system after FE restarts.
+     * The hive partitions are warmed up from the files, and are checked against the metastore in background.
+     * The entries expire after external_cache_expire_time_minutes_after_access since they are written,
+     * and the schemas and file lists are only used if the last ddl time of the table or partition is not changed.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static boolean enable_external_meta_disk_cache = false;
+
+    @ConfField
+    public static String external_meta_disk_cache_dir = System.getenv("DORIS_HOME") + "/external_meta_cache";
+
+    /**
+     * The max size of the local meta cache files of one external catalog.
+     * The oldest file is deleted when the size is exceeded.
+     */
+    @ConfField
+    public static long external_meta_disk_cache_max_bytes_per_catalog = 1024 * 1024 * 1024L;
+
     /**
      * Github workflow test type, for setting some session variables
      * only for certain test type. E.g. only settting batch_size to small
@@ -2018,5 +2338,27 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = false, masterOnly = false)
     public static String mysql_load_server_secure_path = "";
+
+    /**
+     * The max number of concurrent stream loads of a LOAD DATA [LOCAL] INFILE stmt.
+     * If larger than 1, the csv file is split at line boundaries into chunks of 'mysql_load_chunk_size_bytes',
+     * which are loaded to different backends concurrently with two phase commit,
+     * and the transactions of all the chunks are committed after all of them succeed, or aborted otherwise.
+     * The max_filter_ratio of the stmt is checked over the rows of all the chunks.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int mysql_load_parallel_num = 1;
+
+    /**
+     * The min size of a chunk when loading a file in parallel, see 'mysql_load_parallel_num'.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long mysql_load_chunk_size_bytes = 256 * 1024 * 1024L;
+
+    /**
+     * The thread num and the max http connection num for loading the chunks of mysql load.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int mysql_load_thread_pool_num = 64;
 }
 
@@ -61,6 +61,13 @@ public class PatternMatcher {
         }
     }
 
+    /**
+     * Whether only the origin string itself is matched, so the string can be used to look up the pattern.
+     */
+    public boolean isExactMatch() {
+        return pattern == null && caseSensitive;
+    }
+
     /**
      * Use in grant statement to support case-sensitive(or not) equivalent matching.
      *
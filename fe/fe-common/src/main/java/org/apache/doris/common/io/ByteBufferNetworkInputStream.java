@@ -43,7 +43,9 @@ public class ByteBufferNetworkInputStream extends InputStream {
             throw new IOException("Stream is already closed.");
         }
         ByteArrayInputStream inputStream = new ByteArrayInputStream(buffer.array(), buffer.position(), buffer.limit());
-        queue.offer(inputStream, 300, TimeUnit.SECONDS);
+        if (!queue.offer(inputStream, 300, TimeUnit.SECONDS)) {
+            throw new IOException("Failed to fill the stream in 300 seconds, the reader may be too slow or gone.");
+        }
     }
 
     public void markFinished() {
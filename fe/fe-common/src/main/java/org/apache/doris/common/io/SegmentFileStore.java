@@ -0,0 +1,245 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.common.io;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * A local store of records, made of append only segment files named "{prefix}{seq}".
+ * Each record in a segment is: length(int), crc32 of data(long), data.
+ * A new segment is started when the current one exceeds the segment size, and the oldest segments
+ * are deleted when the total size exceeds the max size. The index of the records is kept by the caller,
+ * which is rebuilt by scanning the segments when the store is opened, eg. after FE restarts.
+ * Not thread safe, the caller should synchronize the calls.
+ */
+public class SegmentFileStore {
+    private static final Logger LOG = LogManager.getLogger(SegmentFileStore.class);
+
+    // length and crc32 of a record
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    public interface RecordConsumer {
+        // a failure stops reading the rest records of the segment
+        void accept(Position position, byte[] data) throws IOException;
+    }
+
+    // position of the data of a record
+    public static class Position {
+        private final long segment;
+        private final long offset;
+        private final int length;
+
+        public Position(long segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public long getSegment() {
+            return segment;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+
+    private final File dir;
+    private final String prefix;
+    private final long segmentSize;
+    private final long maxSize;
+
+    // segment seq -> size of segment file
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+
+    private long currentSegment = 0;
+    private DataOutputStream currentOut;
+
+    public SegmentFileStore(File dir, String prefix, long segmentSize, long maxSize) {
+        this.dir = dir;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Scan the records of the existing segments in order, the records after a broken one in the same segment
+     * are skipped.
+     */
+    public void open(RecordConsumer consumer) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("failed to create dir " + dir);
+        }
+        File[] files = dir.listFiles((d, name) -> name.startsWith(prefix));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    segments.put(Long.parseLong(file.getName().substring(prefix.length())), file.length());
+                } catch (NumberFormatException e) {
+                    LOG.warn("skip unknown file {} in dir {}", file, dir);
+                }
+            }
+        }
+        for (long segment : segments.keySet()) {
+            loadSegment(segment, consumer);
+        }
+        // never append to an existing segment, its tail may be broken
+        currentSegment = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+    }
+
+    private void loadSegment(long segment, RecordConsumer consumer) {
+        File file = segmentFile(segment);
+        long fileLength = file.length();
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                long crc = in.readLong();
+                // a broken length may be huge, check it before allocating the buffer
+                if (length < 0 || length > fileLength - offset - RECORD_HEADER_SIZE) {
+                    LOG.warn("segment {} is broken at offset {}, invalid record length {}", file, offset, length);
+                    break;
+                }
+                byte[] data = new byte[length];
+                in.readFully(data);
+                if (crc32(data) != crc) {
+                    LOG.warn("segment {} is broken at offset {}", file, offset);
+                    break;
+                }
+                consumer.accept(new Position(segment, offset + RECORD_HEADER_SIZE, length), data);
+                offset += RECORD_HEADER_SIZE + length;
+            }
+        } catch (IOException e) {
+            // keep the records read before the broken record
+            LOG.warn("failed to read segment {} at offset {}", file, offset, e);
+        }
+    }
+
+    public Position append(byte[] data) throws IOException {
+        if (currentOut == null || segments.get(currentSegment) >= segmentSize) {
+            rollSegment();
+        }
+        long offset = segments.get(currentSegment);
+        currentOut.writeInt(data.length);
+        currentOut.writeLong(crc32(data));
+        currentOut.write(data);
+        currentOut.flush();
+        segments.put(currentSegment, offset + RECORD_HEADER_SIZE + data.length);
+        return new Position(currentSegment, offset + RECORD_HEADER_SIZE, data.length);
+    }
+
+    private void rollSegment() throws IOException {
+        if (currentOut != null) {
+            currentOut.close();
+            currentSegment++;
+        }
+        currentOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(segmentFile(currentSegment))));
+        segments.put(currentSegment, 0L);
+    }
+
+    /**
+     * Delete the oldest segments until the total size does not exceed the max size, the current segment is kept.
+     * Return the seqs of the deleted segments, so the caller can remove the records in them.
+     */
+    public List<Long> deleteOldSegments() {
+        List<Long> deleted = new ArrayList<>();
+        long totalSize = segments.values().stream().mapToLong(Long::longValue).sum();
+        while (totalSize > maxSize && segments.size() > 1) {
+            Map.Entry<Long, Long> oldest = segments.pollFirstEntry();
+            File file = segmentFile(oldest.getKey());
+            if (!file.delete()) {
+                LOG.warn("failed to delete segment {}", file);
+            }
+            totalSize -= oldest.getValue();
+            deleted.add(oldest.getKey());
+        }
+        return deleted;
+    }
+
+    public byte[] read(Position position) throws IOException {
+        byte[] data = new byte[position.length];
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(position.segment), "r")) {
+            file.seek(position.offset);
+            file.readFully(data);
+        }
+        return data;
+    }
+
+    // delete all segments
+    public void clear() {
+        close();
+        for (long segment : segments.keySet()) {
+            File file = segmentFile(segment);
+            if (file.exists() && !file.delete()) {
+                LOG.warn("failed to delete segment {}", file);
+            }
+        }
+        segments.clear();
+    }
+
+    public int getSegmentNum() {
+        return segments.size();
+    }
+
+    public void close() {
+        if (currentOut != null) {
+            try {
+                currentOut.close();
+            } catch (IOException e) {
+                LOG.warn("failed to close segment {}", segmentFile(currentSegment), e);
+            }
+            currentOut = null;
+            currentSegment++;
+        }
+    }
+
+    private File segmentFile(long segment) {
+        return new File(dir, prefix + segment);
+    }
+
+    private static long crc32(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+}
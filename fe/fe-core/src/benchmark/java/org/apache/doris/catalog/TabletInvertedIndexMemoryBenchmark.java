@@ -0,0 +1,105 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.common.Config;
+import org.apache.doris.thrift.TStorageMedium;
+
+/**
+ * Compare the heap footprint and the lookup cost of TabletInvertedIndex built on
+ * HashMap/HashBasedTable and built on the primitive long keyed maps.
+ * Not a unit test, it is compiled with the tests by the benchmark profile. Run it with a large heap, eg.
+ *   MAVEN_OPTS=-Xmx16g mvn test-compile exec:java -Pbenchmark -Dexec.classpathScope=test
+ *   -Dexec.mainClass=org.apache.doris.catalog.TabletInvertedIndexMemoryBenchmark -Dexec.args="10000000 100"
+ * the first argument is the tablet number, the second is the backend number.
+ * The tablet metas and replicas are shared by both indexes, so only the cost of the index itself is measured.
+ */
+public class TabletInvertedIndexMemoryBenchmark {
+    private static final int REPLICA_NUM = 3;
+    private static final int TABLETS_PER_INDEX = 64;
+
+    public static void main(String[] args) {
+        int tabletNum = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int backendNum = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        TabletMeta[] tabletMetas = new TabletMeta[tabletNum];
+        Replica[] replicas = new Replica[tabletNum * REPLICA_NUM];
+        for (int i = 0; i < tabletNum; i++) {
+            if (i % TABLETS_PER_INDEX == 0) {
+                long id = i / TABLETS_PER_INDEX;
+                tabletMetas[i] = new TabletMeta(1, 2, 10000 + id, 20000 + id, 1, TStorageMedium.HDD);
+            } else {
+                tabletMetas[i] = tabletMetas[i - 1];
+            }
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                long replicaId = tabletId(tabletNum) + (long) i * REPLICA_NUM + j;
+                long backendId = (i + j) % backendNum;
+                replicas[i * REPLICA_NUM + j] = new Replica(replicaId, backendId, ReplicaState.NORMAL, 1, 1);
+            }
+        }
+
+        for (boolean usePrimitiveMap : new boolean[] {false, true}) {
+            Config.tablet_inverted_index_use_primitive_map = usePrimitiveMap;
+            long before = usedHeap();
+            long start = System.nanoTime();
+            TabletInvertedIndex index = build(tabletMetas, replicas);
+            long buildMs = (System.nanoTime() - start) / 1000000;
+            long bytes = usedHeap() - before;
+
+            start = System.nanoTime();
+            long found = 0;
+            for (int i = 0; i < tabletNum; i++) {
+                long tabletId = tabletId(i);
+                if (index.getTabletMeta(tabletId) != null
+                        && index.getReplica(tabletId, replicas[i * REPLICA_NUM].getBackendId()) != null) {
+                    found++;
+                }
+            }
+            long lookupMs = (System.nanoTime() - start) / 1000000;
+
+            System.out.printf("primitive map: %s, tablets: %d, replicas: %d, index heap: %d MB (%.1f bytes/replica),"
+                            + " build: %d ms, lookup: %d ms, found: %d%n",
+                    usePrimitiveMap, tabletNum, replicas.length, bytes >> 20, (double) bytes / replicas.length,
+                    buildMs, lookupMs, found);
+        }
+    }
+
+    private static long tabletId(int i) {
+        return 100000L + i;
+    }
+
+    private static TabletInvertedIndex build(TabletMeta[] tabletMetas, Replica[] replicas) {
+        TabletInvertedIndex index = new TabletInvertedIndex();
+        for (int i = 0; i < tabletMetas.length; i++) {
+            index.addTablet(tabletId(i), tabletMetas[i]);
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                index.addReplica(tabletId(i), replicas[i * REPLICA_NUM + j]);
+            }
+        }
+        return index;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,68 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql.privilege;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compare the lookup time of the indexed table privileges and matching all entries in order.
+ * Not a unit test, it is compiled with the tests by the benchmark profile, eg.
+ *   mvn test -Pbenchmark -Dtest=PrivTableIndexBenchmark
+ * The lookup time is reported by the log.
+ */
+public class PrivTableIndexBenchmark {
+    private static final Logger LOG = LogManager.getLogger(PrivTableIndexBenchmark.class);
+    private static final int DB_NUM = 100;
+    private static final int TBL_NUM = 100;
+    private static final int LOOKUPS = 100000;
+
+    @Test
+    public void benchmark() throws Exception {
+        TablePrivTable table = PrivTableIndexTest.createTablePrivTable(DB_NUM, TBL_NUM);
+        Random random = new Random(0);
+        long start = System.nanoTime();
+        int scanFound = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (!PrivTableIndexTest.getPrivsByScan(table, PrivTableIndexTest.CTL, "db" + random.nextInt(DB_NUM),
+                    "tbl" + random.nextInt(TBL_NUM)).isEmpty()) {
+                scanFound++;
+            }
+        }
+        long scanTime = System.nanoTime() - start;
+
+        random = new Random(0);
+        start = System.nanoTime();
+        int indexFound = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (!PrivTableIndexTest.getPrivs(table, PrivTableIndexTest.CTL, "db" + random.nextInt(DB_NUM),
+                    "tbl" + random.nextInt(TBL_NUM)).isEmpty()) {
+                indexFound++;
+            }
+        }
+        long indexTime = System.nanoTime() - start;
+
+        Assert.assertEquals(scanFound, indexFound);
+        LOG.info("{} entries, {} lookups, scan: {} ms, index: {} ms", table.getEntries().size(), LOOKUPS,
+                scanTime / 1000000, indexTime / 1000000);
+    }
+}
@@ -0,0 +1,83 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.datasets.tpch.TPCHTestBase;
+import org.apache.doris.nereids.datasets.tpch.TPCHUtils;
+import org.apache.doris.nereids.util.PlanChecker;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * Compare the planning time of the serial and parallel scheduler on the tpch queries with joins.
+ * Not a unit test, it is compiled with the tests by the benchmark profile, eg.
+ *   mvn test -Pbenchmark -Dtest=ParallelJobSchedulerBenchmark
+ * The planning time is reported by the log.
+ */
+public class ParallelJobSchedulerBenchmark extends TPCHTestBase {
+    private static final Logger LOG = LogManager.getLogger(ParallelJobSchedulerBenchmark.class);
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    @AfterEach
+    public void resetSessionVariable() {
+        connectContext.getSessionVariable().setEnableNereidsParallelOptimize(false);
+    }
+
+    private PlanChecker optimize(String sql, boolean parallel) {
+        connectContext.getSessionVariable().setEnableNereidsParallelOptimize(parallel);
+        PlanChecker checker = PlanChecker.from(connectContext)
+                .analyze(sql)
+                .rewrite()
+                .optimize();
+        Assertions.assertEquals(parallel ? ParallelJobScheduler.class : SimpleJobScheduler.class,
+                checker.getCascadesContext().getJobScheduler().getClass());
+        return checker;
+    }
+
+    // average planning time in ms
+    private double measure(String sql, boolean parallel) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            optimize(sql, parallel);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            optimize(sql, parallel);
+        }
+        return (System.nanoTime() - start) / 1e6 / ROUNDS;
+    }
+
+    @Test
+    public void benchmark() {
+        Map<String, String> queries = ImmutableMap.of("q3", TPCHUtils.Q3, "q5", TPCHUtils.Q5, "q7", TPCHUtils.Q7);
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            double serialMs = measure(query.getValue(), false);
+            double parallelMs = measure(query.getValue(), true);
+            LOG.info("tpch {}, serial: {} ms, parallel: {} ms, speed up: {}", query.getKey(),
+                    String.format("%.1f", serialMs), String.format("%.1f", parallelMs),
+                    String.format("%.2f", serialMs / parallelMs));
+        }
+    }
+}
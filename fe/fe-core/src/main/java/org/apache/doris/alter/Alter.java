@@ -818,6 +818,7 @@ public class Alter {
             // 2. replica allocation
             if (!replicaAlloc.isNotSet()) {
                 partitionInfo.setReplicaAllocation(partition.getId(), replicaAlloc);
+                Env.getCurrentEnv().getTabletChecker().markPartitionDirty(partition);
             }
             // 3. in memory
             boolean oldInMemory = partitionInfo.getIsInMemory(partition.getId());
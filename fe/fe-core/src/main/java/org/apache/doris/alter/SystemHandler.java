@@ -148,6 +148,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 Env.getCurrentEnv().getEditLog().logBackendStateChange(backend);
+                Env.getCurrentEnv().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -257,6 +258,7 @@ public class SystemHandler extends AlterHandler {
         for (Backend backend : backends) {
             if (backend.setDecommissioned(false)) {
                 Env.getCurrentEnv().getEditLog().logBackendStateChange(backend);
+                Env.getCurrentEnv().getTabletChecker().markBackendDirty(backend.getId());
             } else {
                 LOG.info("backend is not decommissioned[{}]", backend.getIp());
             }
@@ -62,15 +62,20 @@ import java.util.stream.Collectors;
 public class AnalyzeStmt extends DdlStmt {
     // time to wait for collect  statistics
     public static final String CBO_STATISTICS_TASK_TIMEOUT_SEC = "cbo_statistics_task_timeout_sec";
+    // percent of the tablets to scan, only scan the whole table if not set
+    public static final String SAMPLE_PERCENT = "sample_percent";
 
     public boolean isHistogram = false;
 
     private static final ImmutableSet<String> PROPERTIES_SET = new ImmutableSet.Builder<String>()
             .add(CBO_STATISTICS_TASK_TIMEOUT_SEC)
+            .add(SAMPLE_PERCENT)
             .build();
 
     private static final Predicate<Long> DESIRED_TASK_TIMEOUT_SEC = (v) -> v > 0L;
 
+    private static final Predicate<Long> DESIRED_SAMPLE_PERCENT = (v) -> v > 0L && v <= 100L;
+
     public final boolean wholeTbl;
 
     private final TableName tableName;
@@ -206,6 +211,14 @@ public class AnalyzeStmt extends DdlStmt {
                 Config.max_cbo_statistics_task_timeout_sec, DESIRED_TASK_TIMEOUT_SEC,
                 CBO_STATISTICS_TASK_TIMEOUT_SEC + " should > 0")).intValue();
         optProperties.put(CBO_STATISTICS_TASK_TIMEOUT_SEC, String.valueOf(taskTimeout));
+        if (optProperties.containsKey(SAMPLE_PERCENT)) {
+            if (!(table instanceof OlapTable)) {
+                throw new AnalysisException(SAMPLE_PERCENT + " is only supported by olap table");
+            }
+            long samplePercent = Util.getLongPropertyOrDefault(optProperties.get(SAMPLE_PERCENT), 100L,
+                    DESIRED_SAMPLE_PERCENT, SAMPLE_PERCENT + " should be in (0, 100]");
+            optProperties.put(SAMPLE_PERCENT, String.valueOf(samplePercent));
+        }
     }
 
     @Override
@@ -284,4 +297,15 @@ public class AnalyzeStmt extends DdlStmt {
         return optProperties;
     }
 
+    public boolean isSample() {
+        return optProperties != null && optProperties.containsKey(SAMPLE_PERCENT);
+    }
+
+    public int getSamplePercent() {
+        if (!isSample()) {
+            return 100;
+        }
+        return Integer.parseInt(optProperties.get(SAMPLE_PERCENT));
+    }
+
 }
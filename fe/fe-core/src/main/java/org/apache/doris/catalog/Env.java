@@ -201,6 +201,7 @@ import org.apache.doris.persist.TruncateTableInfo;
 import org.apache.doris.persist.meta.MetaHeader;
 import org.apache.doris.persist.meta.MetaReader;
 import org.apache.doris.persist.meta.MetaWriter;
+import org.apache.doris.planner.external.SplitSourceManager;
 import org.apache.doris.plugin.PluginInfo;
 import org.apache.doris.plugin.PluginMgr;
 import org.apache.doris.policy.PolicyMgr;
@@ -443,6 +444,8 @@ public class Env {
 
     private ExternalMetaCacheMgr extMetaCacheMgr;
 
+    private SplitSourceManager splitSourceManager;
+
     private FQDNManager fqdnManager;
 
     private AtomicLong stmtIdCounter;
@@ -516,6 +519,10 @@ public class Env {
         return extMetaCacheMgr;
     }
 
+    public SplitSourceManager getSplitSourceManager() {
+        return splitSourceManager;
+    }
+
     public CatalogIf getCurrentCatalog() {
         ConnectContext ctx = ConnectContext.get();
         if (ctx == null) {
@@ -647,6 +654,7 @@ public class Env {
         this.policyMgr = new PolicyMgr();
         this.mtmvJobManager = new MTMVJobManager();
         this.extMetaCacheMgr = new ExternalMetaCacheMgr();
+        this.splitSourceManager = new SplitSourceManager();
         this.fqdnManager = new FQDNManager(systemInfo);
         if (!isCheckpointCatalog) {
             this.analysisManager = new AnalysisManager();
@@ -1667,6 +1675,19 @@ public class Env {
         MetaReader.read(curFile, this);
     }
 
+    /**
+     * Only called by checkpoint thread in incremental checkpoint.
+     * Load the header and the given modules of the latest image.
+     * Return the checksum of the loaded part.
+     */
+    public long loadImageModules(String imageDir, Set<String> modules) throws IOException, DdlException {
+        Storage storage = new Storage(imageDir);
+        clusterId = storage.getClusterID();
+        File curFile = storage.getCurrentImageFile();
+        replayedJournalId.set(storage.getLatestImageSeq());
+        return MetaReader.readModules(curFile, this, modules);
+    }
+
     public long loadHeader(DataInputStream dis, MetaHeader metaHeader, long checksum) throws IOException, DdlException {
         switch (metaHeader.getMetaFormat()) {
             case COR1:
@@ -1950,6 +1971,29 @@ public class Env {
         return curFile.getAbsolutePath();
     }
 
+    // Only called by checkpoint thread in incremental checkpoint
+    // return the latest image file's absolute path
+    public String saveImageIncrementally(File baseImageFile, Set<String> loadedModules, long copiedChecksum)
+            throws IOException {
+        Storage storage = new Storage(this.imageDir);
+        File curFile = storage.getImageFile(replayedJournalId.get());
+        File ckpt = new File(this.imageDir, Storage.IMAGE_NEW);
+        if (ckpt.exists() && !ckpt.delete()) {
+            throw new IOException(ckpt.getName() + " can not be deleted.");
+        }
+        if (!ckpt.createNewFile()) {
+            throw new IOException(ckpt.getName() + " can not be created.");
+        }
+        MetaWriter.writeIncrementally(ckpt, this, baseImageFile, loadedModules, copiedChecksum);
+
+        LOG.info("Move " + ckpt.getAbsolutePath() + " to " + curFile.getAbsolutePath());
+        if (!ckpt.renameTo(curFile)) {
+            curFile.delete();
+            throw new IOException();
+        }
+        return curFile.getAbsolutePath();
+    }
+
     public void saveImage(File curFile, long replayedJournalId) throws IOException {
         if (curFile.exists()) {
             if (!curFile.delete()) {
@@ -4235,6 +4279,7 @@ public class Env {
         boolean isInMemory = partitionInfo.getIsInMemory(partition.getId());
         DataProperty newDataProperty = partitionInfo.getDataProperty(partition.getId());
         partitionInfo.setReplicaAllocation(partition.getId(), replicaAlloc);
+        tabletChecker.markPartitionDirty(partition);
 
         // set table's default replication number.
         Map<String, String> tblProperties = Maps.newHashMap();
@@ -5056,6 +5101,7 @@ public class Env {
                             SetReplicaStatusOperationLog log = new SetReplicaStatusOperationLog(backendId, tabletId,
                                     status);
                             getEditLog().logSetReplicaStatus(log);
+                            tabletChecker.markTabletDirty(tabletId);
                         }
                         LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}", replica.getId(),
                                 tabletId, backendId, status, isReplay);
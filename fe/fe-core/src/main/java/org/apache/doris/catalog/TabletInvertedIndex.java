@@ -19,7 +19,10 @@ package org.apache.doris.catalog;
 
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.util.LongLongHashMap;
+import org.apache.doris.common.util.LongObjectHashMap;
 import org.apache.doris.cooldown.CooldownConf;
 import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TStorageMedium;
@@ -40,6 +43,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
 import com.google.common.collect.TreeMultimap;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
@@ -72,10 +76,12 @@ public class TabletInvertedIndex {
     private StampedLock lock = new StampedLock();
 
     // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private Map<Long, TabletMeta> tabletMetaMap = Config.tablet_inverted_index_use_primitive_map
+            ? new LongObjectHashMap<>() : Maps.newHashMap();
 
     // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private Map<Long, Long> replicaToTabletMap = Config.tablet_inverted_index_use_primitive_map
+            ? new LongLongHashMap() : Maps.newHashMap();
 
     /*
      *  we use this to save memory.
@@ -89,10 +95,12 @@ public class TabletInvertedIndex {
     private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
     // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+    private Table<Long, Long, Replica> replicaMetaTable = Config.tablet_inverted_index_use_primitive_map
+            ? createPrimitiveTable(FeConstants.default_replication_num) : HashBasedTable.create();
     // backing replica table, for visiting backend replicas faster.
     // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private Table<Long, Long, Replica> backingReplicaMetaTable = Config.tablet_inverted_index_use_primitive_map
+            ? createPrimitiveTable(16) : HashBasedTable.create();
 
     private volatile ImmutableSet<Long> partitionIdInMemorySet = ImmutableSet.of();
 
@@ -118,6 +126,7 @@ public class TabletInvertedIndex {
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
+                             Set<Long> unchangedTablets,
                              final HashMap<Long, TStorageMedium> storageMediumMap,
                              ListMultimap<Long, Long> tabletSyncMap,
                              ListMultimap<Long, Long> tabletDeleteFromMeta,
@@ -147,6 +156,10 @@ public class TabletInvertedIndex {
                             Replica replica = entry.getValue();
                             tabletFoundInMeta.add(tabletId);
                             TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
+                            // same as the last processed report of this backend, only the checks against
+                            // the meta which may be changed on FE side are done, the others are skipped.
+                            boolean unchanged = unchangedTablets.contains(tabletId)
+                                    && !needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo);
                             if (partitionIdInMemorySet.contains(
                                     backendTabletInfo.getPartitionId()) != backendTabletInfo.isIsInMemory()) {
                                 synchronized (tabletToInMemory) {
@@ -162,6 +175,36 @@ public class TabletInvertedIndex {
                                 }
                             }
 
+                            if (Config.enable_storage_policy && backendTabletInfo.isSetCooldownReplicaId()) {
+                                handleCooldownConf(tabletMeta, backendTabletInfo, cooldownConfToPush,
+                                        cooldownConfToUpdate);
+                                replica.setCooldownMetaId(backendTabletInfo.getCooldownMetaId());
+                            }
+
+                            long partitionId = tabletMeta.getPartitionId();
+                            if (!Config.disable_storage_medium_check) {
+                                // check if need migration
+                                TStorageMedium storageMedium = storageMediumMap.get(partitionId);
+                                if (storageMedium != null && backendTabletInfo.isSetStorageMedium()
+                                        && isLocal(storageMedium) && isLocal(backendTabletInfo.getStorageMedium())
+                                        && isLocal(tabletMeta.getStorageMedium())) {
+                                    if (storageMedium != backendTabletInfo.getStorageMedium()) {
+                                        synchronized (tabletMigrationMap) {
+                                            tabletMigrationMap.put(storageMedium, tabletId);
+                                        }
+                                    }
+                                    if (storageMedium != tabletMeta.getStorageMedium()) {
+                                        tabletMeta.setStorageMedium(storageMedium);
+                                    }
+                                }
+                            }
+
+                            if (unchanged) {
+                                // the replica has been updated by the same tablet info, it will be fully diffed
+                                // in the next full report anyway.
+                                return;
+                            }
+
                             // check and set path
                             // path info of replica is only saved in Master FE
                             if (backendTabletInfo.isSetPathHash()
@@ -190,30 +233,6 @@ public class TabletInvertedIndex {
                                 }
                             }
 
-                            if (Config.enable_storage_policy && backendTabletInfo.isSetCooldownReplicaId()) {
-                                handleCooldownConf(tabletMeta, backendTabletInfo, cooldownConfToPush,
-                                        cooldownConfToUpdate);
-                                replica.setCooldownMetaId(backendTabletInfo.getCooldownMetaId());
-                            }
-
-                            long partitionId = tabletMeta.getPartitionId();
-                            if (!Config.disable_storage_medium_check) {
-                                // check if need migration
-                                TStorageMedium storageMedium = storageMediumMap.get(partitionId);
-                                if (storageMedium != null && backendTabletInfo.isSetStorageMedium()
-                                        && isLocal(storageMedium) && isLocal(backendTabletInfo.getStorageMedium())
-                                        && isLocal(tabletMeta.getStorageMedium())) {
-                                    if (storageMedium != backendTabletInfo.getStorageMedium()) {
-                                        synchronized (tabletMigrationMap) {
-                                            tabletMigrationMap.put(storageMedium, tabletId);
-                                        }
-                                    }
-                                    if (storageMedium != tabletMeta.getStorageMedium()) {
-                                        tabletMeta.setStorageMedium(storageMedium);
-                                    }
-                                }
-                            }
-
                             // check if should clear transactions
                             if (backendTabletInfo.isSetTransactionIds()) {
                                 List<Long> transactionIds = backendTabletInfo.getTransactionIds();
@@ -764,6 +783,13 @@ public class TabletInvertedIndex {
         return tabletMetaMap;
     }
 
+    // a table has the same behavior as HashBasedTable, but the row map and the column maps are long keyed.
+    // the column maps of replicaMetaTable are tiny (one entry per replica of a tablet),
+    // so they are created with the expected size to avoid wasting empty slots.
+    private static <V> Table<Long, Long, V> createPrimitiveTable(int expectedColumnNum) {
+        return Tables.newCustomTable(new LongObjectHashMap<>(), () -> new LongObjectHashMap<>(expectedColumnNum));
+    }
+
     private boolean isLocal(TStorageMedium storageMedium) {
         return storageMedium == TStorageMedium.HDD || storageMedium == TStorageMedium.SSD;
     }
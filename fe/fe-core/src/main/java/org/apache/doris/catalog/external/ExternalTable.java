@@ -217,7 +217,7 @@ public class ExternalTable implements TableIf, Writable, GsonPostProcessable {
     @Override
     public List<Column> getFullSchema() {
         ExternalSchemaCache cache = Env.getCurrentEnv().getExtMetaCacheMgr().getSchemaCache(catalog);
-        return cache.getSchema(dbName, name);
+        return cache.getSchema(dbName, name, getSchemaVersion());
     }
 
     @Override
@@ -281,6 +281,11 @@ public class ExternalTable implements TableIf, Writable, GsonPostProcessable {
         return 0;
     }
 
+    // the version of the schema in the schema cache, 0 if the schema of the table is not versioned
+    protected long getSchemaVersion() {
+        return 0;
+    }
+
     @Override
     public long getLastCheckTime() {
         return 0;
@@ -214,6 +214,25 @@ public class HMSExternalTable extends ExternalTable {
         return 0;
     }
 
+    @Override
+    protected long getSchemaVersion() {
+        return getLastDdlTime();
+    }
+
+    // the last ddl time of the remote table, in milliseconds
+    public long getLastDdlTime() {
+        makeSureInitialized();
+        if (remoteTable == null || remoteTable.getParameters() == null) {
+            return 0;
+        }
+        String lastDdlTime = remoteTable.getParameters().get(HiveAnalysisTask.TIMESTAMP);
+        try {
+            return lastDdlTime == null ? 0 : Long.parseLong(lastDdlTime) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     @Override
     public long getRowCount() {
         return 0;
@@ -29,6 +29,8 @@ import org.apache.doris.catalog.Partition.PartitionState;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
 import org.apache.doris.clone.TabletScheduler.AddResult;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
@@ -49,11 +51,13 @@ import com.google.common.collect.Table.Cell;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -79,6 +83,14 @@ public class TabletChecker extends MasterDaemon {
         }
     };
 
+    // ids of tablets whose replicas are changed since the last round.
+    // only used when Config.enable_tablet_checker_dirty_set is true.
+    private final Set<Long> dirtyTablets = Sets.newConcurrentHashSet();
+    private long lastFullCheckTime = 0;
+    // set when the replicas of any tablet may be changed, or the last full check is not finished
+    private final AtomicBoolean fullCheckRequested = new AtomicBoolean(false);
+    private volatile long checkedTabletsPerSecond = 0;
+
     // db id -> (tbl id -> PrioPart)
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
@@ -148,6 +160,24 @@ public class TabletChecker extends MasterDaemon {
             gauge.addLabel(new MetricLabel("type", status));
             MetricRepo.DORIS_METRIC_REGISTER.addMetrics(gauge);
         }
+
+        GaugeMetric<Long> checkedPerSecond = new GaugeMetric<Long>("tablet_checker_checked_per_second",
+                Metric.MetricUnit.NOUNIT, "tablets checked per second in the last round of tablet checker") {
+            @Override
+            public Long getValue() {
+                return checkedTabletsPerSecond;
+            }
+        };
+        MetricRepo.DORIS_METRIC_REGISTER.addMetrics(checkedPerSecond);
+
+        GaugeMetric<Long> dirtyTabletNum = new GaugeMetric<Long>("tablet_checker_dirty_tablet_num",
+                Metric.MetricUnit.NOUNIT, "number of tablets waiting to be checked by tablet checker") {
+            @Override
+            public Long getValue() {
+                return (long) getDirtyTabletNum();
+            }
+        };
+        MetricRepo.DORIS_METRIC_REGISTER.addMetrics(dirtyTabletNum);
     }
 
     private void addPrios(RepairTabletInfo repairTabletInfo, long timeoutMs) {
@@ -206,7 +236,10 @@ public class TabletChecker extends MasterDaemon {
             return;
         }
 
-        checkTablets();
+        boolean fullCheck = !Config.enable_tablet_checker_dirty_set || fullCheckRequested.getAndSet(false)
+                || System.currentTimeMillis() - lastFullCheckTime
+                >= Config.tablet_checker_full_check_interval_second * 1000L;
+        checkTablets(fullCheck);
 
         removePriosIfNecessary();
 
@@ -227,9 +260,24 @@ public class TabletChecker extends MasterDaemon {
         BREAK_OUT
     }
 
-    private void checkTablets() {
+    private enum TabletCheckResult {
+        // healthy, unrecoverable or being scheduled
+        SKIPPED,
+        // unhealthy, and added to tablet scheduler
+        ADDED,
+        // unhealthy, but not ready to be repaired yet
+        NOT_READY,
+        // tablet scheduler does not accept more tablets
+        BREAK_OUT
+    }
+
+    private void checkTablets(boolean fullCheck) {
         long start = System.currentTimeMillis();
         CheckerCounter counter = new CheckerCounter();
+        if (fullCheck) {
+            // all tablets marked dirty before will be checked in this round
+            dirtyTablets.clear();
+        }
 
         // 1. Traverse partitions in "prios" first,
         // To prevent the partitions in the "prios" from being unscheduled
@@ -272,9 +320,41 @@ public class TabletChecker extends MasterDaemon {
             }
         }
 
-        // 2. Traverse other partitions not in "prios"
+        // 2. Traverse other partitions not in "prios", or only the dirty tablets of them
+        boolean finished = fullCheck ? checkAllTablets(start, counter) : checkDirtyTablets(start, counter);
+        if (fullCheck) {
+            if (finished) {
+                lastFullCheckTime = start;
+            } else {
+                // retry the full check in the next round
+                fullCheckRequested.set(true);
+            }
+        }
+
+        long cost = System.currentTimeMillis() - start;
+        stat.counterTabletCheckCostMs.addAndGet(cost);
+        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+        checkedTabletsPerSecond = counter.totalTabletNum * 1000 / Math.max(cost, 1L);
+
+        if (fullCheck) {
+            // the dirty tablets are only part of all tablets
+            tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
+            tabletCountByStatus.get("total").set(counter.totalTabletNum);
+        }
+        tabletCountByStatus.get("added").set(counter.addToSchedulerTabletNum);
+        tabletCountByStatus.get("in_sched").set(counter.tabletInScheduler);
+        tabletCountByStatus.get("not_ready").set(counter.tabletNotReady);
+
+        LOG.info("finished to check {} tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
+                fullCheck ? "all" : "dirty", counter.unhealthyTabletNum, counter.totalTabletNum,
+                counter.addToSchedulerTabletNum, counter.tabletInScheduler, counter.tabletNotReady, cost);
+    }
+
+    // return false if the tablet scheduler does not accept more tablets
+    private boolean checkAllTablets(long start, CheckerCounter counter) {
         List<Long> dbIds = env.getInternalCatalog().getDbIds();
-        OUT:
         for (Long dbId : dbIds) {
             Database db = env.getInternalCatalog().getDbNullable(dbId);
             if (db == null) {
@@ -305,9 +385,7 @@ public class TabletChecker extends MasterDaemon {
                         LoopControlStatus st = handlePartitionTablet(db, tbl, partition, false,
                                 aliveBeIdsInCluster, start, counter);
                         if (st == LoopControlStatus.BREAK_OUT) {
-                            break OUT;
-                        } else {
-                            continue;
+                            return false;
                         }
                     } // partitions
                 } finally {
@@ -315,22 +393,154 @@ public class TabletChecker extends MasterDaemon {
                 }
             } // tables
         } // end for dbs
+        return true;
+    }
 
-        long cost = System.currentTimeMillis() - start;
-        stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+    /*
+     * Only check the tablets marked dirty since the last round, grouped by table,
+     * so that each table is locked only once.
+     * The tablets which are not ready to be repaired, or can not be added to the full tablet scheduler,
+     * are marked dirty again to be checked in the next round.
+     */
+    private boolean checkDirtyTablets(long start, CheckerCounter counter) {
+        TabletInvertedIndex invertedIndex = Env.getCurrentInvertedIndex();
+        // db id -> (tbl id -> tablet ids)
+        com.google.common.collect.Table<Long, Long, List<Long>> tabletsByTable = HashBasedTable.create();
+        for (Long tabletId : Lists.newArrayList(dirtyTablets)) {
+            dirtyTablets.remove(tabletId);
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null) {
+                // tablet has been dropped
+                continue;
+            }
+            List<Long> tabletIds = tabletsByTable.get(tabletMeta.getDbId(), tabletMeta.getTableId());
+            if (tabletIds == null) {
+                tabletIds = Lists.newArrayList();
+                tabletsByTable.put(tabletMeta.getDbId(), tabletMeta.getTableId(), tabletIds);
+            }
+            tabletIds.add(tabletId);
+        }
 
-        tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
-        tabletCountByStatus.get("total").set(counter.totalTabletNum);
-        tabletCountByStatus.get("added").set(counter.addToSchedulerTabletNum);
-        tabletCountByStatus.get("in_sched").set(counter.tabletInScheduler);
-        tabletCountByStatus.get("not_ready").set(counter.tabletNotReady);
+        boolean finished = true;
+        Map<String, List<Long>> aliveBeIdsByCluster = new HashMap<>();
+        for (Cell<Long, Long, List<Long>> cell : tabletsByTable.cellSet()) {
+            if (!finished) {
+                dirtyTablets.addAll(cell.getValue());
+                continue;
+            }
+            Database db = env.getInternalCatalog().getDbNullable(cell.getRowKey());
+            if (db == null) {
+                continue;
+            }
+            Table table = db.getTableNullable(cell.getColumnKey());
+            if (table == null) {
+                continue;
+            }
+            List<Long> aliveBeIdsInCluster = aliveBeIdsByCluster.computeIfAbsent(db.getClusterName(),
+                    clusterName -> infoService.getClusterBackendIds(clusterName, true));
 
-        LOG.info("finished to check tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
-                counter.unhealthyTabletNum, counter.totalTabletNum, counter.addToSchedulerTabletNum,
-                counter.tabletInScheduler, counter.tabletNotReady, cost);
+            table.readLock();
+            try {
+                if (!table.needSchedule()) {
+                    continue;
+                }
+                OlapTable tbl = (OlapTable) table;
+                for (long tabletId : cell.getValue()) {
+                    if (!finished) {
+                        dirtyTablets.add(tabletId);
+                        continue;
+                    }
+                    TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+                    Partition partition = tabletMeta == null ? null : tbl.getPartition(tabletMeta.getPartitionId());
+                    if (partition == null || isInPrios(db.getId(), tbl.getId(), partition.getId())) {
+                        continue;
+                    }
+                    if (partition.getState() != PartitionState.NORMAL) {
+                        // check it again after the alter job is finished
+                        dirtyTablets.add(tabletId);
+                        continue;
+                    }
+                    MaterializedIndex idx = partition.getIndex(tabletMeta.getIndexId());
+                    // tablet in SHADOW index can not be repaired or balanced
+                    if (idx == null || !idx.getState().isVisible()) {
+                        continue;
+                    }
+                    Tablet tablet = idx.getTablet(tabletId);
+                    if (tablet == null) {
+                        continue;
+                    }
+
+                    TabletCheckResult res = checkTablet(db, tbl, partition, idx, tablet, false,
+                            aliveBeIdsInCluster, start, counter);
+                    if (res == TabletCheckResult.BREAK_OUT) {
+                        finished = false;
+                        dirtyTablets.add(tabletId);
+                    } else if (res == TabletCheckResult.NOT_READY) {
+                        dirtyTablets.add(tabletId);
+                    }
+                }
+            } finally {
+                table.readUnlock();
+            }
+        }
+        return finished;
+    }
+
+    private boolean isDirtySetEnabled() {
+        // the tablet checker only runs on master
+        return Config.enable_tablet_checker_dirty_set && env.isMaster();
+    }
+
+    /*
+     * Mark the tablets whose replicas may be changed, so that they will be checked in the next round
+     * when Config.enable_tablet_checker_dirty_set is true.
+     */
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (isDirtySetEnabled()) {
+            dirtyTablets.addAll(tabletIds);
+        }
+    }
+
+    public void markTabletDirty(long tabletId) {
+        if (isDirtySetEnabled()) {
+            dirtyTablets.add(tabletId);
+        }
+    }
+
+    /*
+     * Mark all tablets of the partition, when the replica allocation of the partition is changed.
+     * The caller should hold the table lock.
+     */
+    public void markPartitionDirty(Partition partition) {
+        if (isDirtySetEnabled()) {
+            for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+                dirtyTablets.addAll(idx.getTabletIdsInOrder());
+            }
+        }
+    }
+
+    /*
+     * Mark all tablets which have replicas on the backend, when the backend is down, up,
+     * decommissioned or dropped.
+     */
+    public void markBackendDirty(long backendId) {
+        if (isDirtySetEnabled()) {
+            dirtyTablets.addAll(Env.getCurrentInvertedIndex().getTabletIdsByBackendId(backendId));
+        }
+    }
+
+    /*
+     * Check all tablets in the next round, when the changes may affect the tablets of any backend,
+     * such as modifying the tags of backends.
+     */
+    public void requestFullCheck() {
+        if (isDirtySetEnabled()) {
+            fullCheckRequested.set(true);
+        }
+    }
+
+    public int getDirtyTabletNum() {
+        return dirtyTablets.size();
     }
 
     private LoopControlStatus handlePartitionTablet(Database db, OlapTable tbl, Partition partition, boolean isInPrios,
@@ -346,58 +556,16 @@ public class TabletChecker extends MasterDaemon {
          */
         for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
             for (Tablet tablet : idx.getTablets()) {
-                counter.totalTabletNum++;
-
-                if (tabletScheduler.containsTablet(tablet.getId())) {
-                    counter.tabletInScheduler++;
-                    continue;
-                }
-
-                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
-                        infoService,
-                        db.getClusterName(),
-                        partition.getVisibleVersion(),
-                        tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
-                        aliveBeIdsInCluster);
-
-                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                    // Only set last status check time when status is healthy.
-                    tablet.setLastStatusCheckTime(startTime);
-                    continue;
-                } else if (statusWithPrio.first == TabletStatus.UNRECOVERABLE) {
-                    // This tablet is not recoverable, do not set it into tablet scheduler
-                    // all UNRECOVERABLE tablet can be seen from "show proc '/statistic'"
-                    counter.unhealthyTabletNum++;
-                    continue;
-                } else if (isInPrios) {
-                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+                TabletCheckResult res = checkTablet(db, tbl, partition, idx, tablet, isInPrios,
+                        aliveBeIdsInCluster, startTime, counter);
+                if (res == TabletCheckResult.BREAK_OUT) {
+                    return LoopControlStatus.BREAK_OUT;
+                } else if (res != TabletCheckResult.SKIPPED) {
                     prioPartIsHealthy = false;
                 }
-
-                counter.unhealthyTabletNum++;
-
-                if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
-                    counter.tabletNotReady++;
-                    continue;
-                }
-
-                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                        TabletSchedCtx.Type.REPAIR,
-                        db.getClusterName(),
-                        db.getId(), tbl.getId(),
-                        partition.getId(), idx.getId(), tablet.getId(),
-                        tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
-                        System.currentTimeMillis());
-                // the tablet status will be set again when being scheduled
-                tabletCtx.setTabletStatus(statusWithPrio.first);
-                tabletCtx.setOrigPriority(statusWithPrio.second);
-
-                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                if (res == AddResult.LIMIT_EXCEED || res == AddResult.DISABLED) {
-                    LOG.info("tablet scheduler return: {}. stop tablet checker", res.name());
-                    return LoopControlStatus.BREAK_OUT;
-                } else if (res == AddResult.ADDED) {
-                    counter.addToSchedulerTabletNum++;
+                if (res == TabletCheckResult.NOT_READY && !isInPrios) {
+                    // check it again in the next round, instead of waiting for the next full check
+                    markTabletDirty(tablet.getId());
                 }
             }
         } // indices
@@ -413,6 +581,64 @@ public class TabletChecker extends MasterDaemon {
         return LoopControlStatus.CONTINUE;
     }
 
+    private TabletCheckResult checkTablet(Database db, OlapTable tbl, Partition partition, MaterializedIndex idx,
+            Tablet tablet, boolean isInPrios, List<Long> aliveBeIdsInCluster, long startTime,
+            CheckerCounter counter) {
+        counter.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(tablet.getId())) {
+            counter.tabletInScheduler++;
+            return TabletCheckResult.SKIPPED;
+        }
+
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio = tablet.getHealthStatusWithPriority(
+                infoService,
+                db.getClusterName(),
+                partition.getVisibleVersion(),
+                tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
+                aliveBeIdsInCluster);
+
+        if (statusWithPrio.first == TabletStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            tablet.setLastStatusCheckTime(startTime);
+            return TabletCheckResult.SKIPPED;
+        } else if (statusWithPrio.first == TabletStatus.UNRECOVERABLE) {
+            // This tablet is not recoverable, do not set it into tablet scheduler
+            // all UNRECOVERABLE tablet can be seen from "show proc '/statistic'"
+            counter.unhealthyTabletNum++;
+            return TabletCheckResult.SKIPPED;
+        } else if (isInPrios) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+        }
+
+        counter.unhealthyTabletNum++;
+
+        if (!tablet.readyToBeRepaired(statusWithPrio.second)) {
+            counter.tabletNotReady++;
+            return TabletCheckResult.NOT_READY;
+        }
+
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getClusterName(),
+                db.getId(), tbl.getId(),
+                partition.getId(), idx.getId(), tablet.getId(),
+                tbl.getPartitionInfo().getReplicaAllocation(partition.getId()),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletCtx.setTabletStatus(statusWithPrio.first);
+        tabletCtx.setOrigPriority(statusWithPrio.second);
+
+        AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+        if (res == AddResult.LIMIT_EXCEED || res == AddResult.DISABLED) {
+            LOG.info("tablet scheduler return: {}. stop tablet checker", res.name());
+            return TabletCheckResult.BREAK_OUT;
+        } else if (res == AddResult.ADDED) {
+            counter.addToSchedulerTabletNum++;
+        }
+        return TabletCheckResult.ADDED;
+    }
+
     private boolean isInPrios(long dbId, long tblId, long partId) {
         synchronized (prios) {
             if (prios.contains(dbId, tblId)) {
@@ -42,7 +42,11 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.metric.GaugeMetric;
+import org.apache.doris.metric.Metric;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.ReplicaPersistInfo;
 import org.apache.doris.resource.Tag;
 import org.apache.doris.system.Backend;
@@ -67,6 +71,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -76,6 +81,9 @@ import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 /**
@@ -116,10 +124,11 @@ public class TabletScheduler extends MasterDaemon {
      *
      * pendingTablets + runningTablets = allTabletIds
      *
-     * pendingTablets, allTabletIds, runningTablets and schedHistory are protected by 'synchronized'
+     * pendingTablets, allTabletIds, runningTablets and schedHistory are protected by 'synchronized'.
+     * allTabletIds is a concurrent set, so that it can be read without 'synchronized' by TabletChecker.
      */
     private PriorityQueue<TabletSchedCtx> pendingTablets = new PriorityQueue<>();
-    private Set<Long> allTabletIds = Sets.newHashSet();
+    private Set<Long> allTabletIds = Sets.newConcurrentHashSet();
     // contains all tabletCtxs which state are RUNNING
     private Map<Long, TabletSchedCtx> runningTablets = Maps.newHashMap();
     // save the latest 1000 scheduled tablet info
@@ -133,6 +142,15 @@ public class TabletScheduler extends MasterDaemon {
 
     private long lastSlotAdjustTime = 0;
 
+    // workers to schedule the pending tablets concurrently, created when it is first used
+    private ThreadPoolExecutor scheduleWorkerPool;
+
+    private long lastThroughputUpdateTime = 0;
+    private long lastScheduledSucceededNum = 0;
+    private long lastFinishedNum = 0;
+    private volatile long scheduledTabletsPerSecond = 0;
+    private volatile long finishedTabletsPerSecond = 0;
+
     private Env env;
     private SystemInfoService infoService;
     private TabletInvertedIndex invertedIndex;
@@ -164,6 +182,28 @@ public class TabletScheduler extends MasterDaemon {
         }
         // if rebalancer can not get new task, then use diskRebalancer to get task
         this.diskRebalancer = new DiskRebalancer(infoService, invertedIndex);
+
+        initMetrics();
+    }
+
+    private void initMetrics() {
+        GaugeMetric<Long> scheduledPerSecond = new GaugeMetric<Long>("tablet_scheduler_scheduled_per_second",
+                Metric.MetricUnit.NOUNIT, "tablets scheduled successfully per second by tablet scheduler") {
+            @Override
+            public Long getValue() {
+                return scheduledTabletsPerSecond;
+            }
+        };
+        MetricRepo.DORIS_METRIC_REGISTER.addMetrics(scheduledPerSecond);
+
+        GaugeMetric<Long> finishedPerSecond = new GaugeMetric<Long>("tablet_scheduler_finished_per_second",
+                Metric.MetricUnit.NOUNIT, "tablets finished per second by tablet scheduler") {
+            @Override
+            public Long getValue() {
+                return finishedTabletsPerSecond;
+            }
+        };
+        MetricRepo.DORIS_METRIC_REGISTER.addMetrics(finishedPerSecond);
     }
 
     public TabletSchedulerStat getStat() {
@@ -248,7 +288,7 @@ public class TabletScheduler extends MasterDaemon {
         return AddResult.ADDED;
     }
 
-    public synchronized boolean containsTablet(long tabletId) {
+    public boolean containsTablet(long tabletId) {
         return allTabletIds.contains(tabletId);
     }
 
@@ -306,9 +346,28 @@ public class TabletScheduler extends MasterDaemon {
 
         selectTabletsForBalance();
 
+        updateThroughput();
+
         stat.counterTabletScheduleRound.incrementAndGet();
     }
 
+    private void updateThroughput() {
+        long now = System.currentTimeMillis();
+        long interval = now - lastThroughputUpdateTime;
+        if (interval < STAT_UPDATE_INTERVAL_MS) {
+            return;
+        }
+        long scheduledNum = stat.counterTabletScheduledSucceeded.get();
+        long finishedNum = stat.counterTabletFinished.get();
+        if (lastThroughputUpdateTime > 0) {
+            scheduledTabletsPerSecond = (scheduledNum - lastScheduledSucceededNum) * 1000 / interval;
+            finishedTabletsPerSecond = (finishedNum - lastFinishedNum) * 1000 / interval;
+        }
+        lastScheduledSucceededNum = scheduledNum;
+        lastFinishedNum = finishedNum;
+        lastThroughputUpdateTime = now;
+    }
+
 
     private void updateClusterLoadStatisticsAndPriorityIfNecessary() {
         if (System.currentTimeMillis() - lastStatUpdateTime < STAT_UPDATE_INTERVAL_MS) {
@@ -388,65 +447,12 @@ public class TabletScheduler extends MasterDaemon {
         LOG.debug("get {} tablets to schedule", currentBatch.size());
 
         AgentBatchTask batchTask = new AgentBatchTask();
-        for (TabletSchedCtx tabletCtx : currentBatch) {
-            try {
-                if (Config.disable_tablet_scheduler) {
-                    // do not schedule more tablet is tablet scheduler is disabled.
-                    throw new SchedException(Status.FINISHED, "tablet scheduler is disabled");
-                }
-                scheduleTablet(tabletCtx, batchTask);
-            } catch (SchedException e) {
-                tabletCtx.increaseFailedSchedCounter();
-                tabletCtx.setErrMsg(e.getMessage());
-
-                if (e.getStatus() == Status.SCHEDULE_FAILED) {
-                    if (tabletCtx.getType() == Type.BALANCE) {
-                        // if balance is disabled, remove this tablet
-                        if (Config.disable_balance) {
-                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
-                                    "disable balance and " + e.getMessage());
-                        } else {
-                            // remove the balance task if it fails to be scheduled many times
-                            if (tabletCtx.getFailedSchedCounter() > 10) {
-                                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
-                                        "schedule failed too many times and " + e.getMessage());
-                            } else {
-                                // we must release resource it current hold, and be scheduled again
-                                tabletCtx.releaseResource(this);
-                                // adjust priority to avoid some higher priority always be the first in pendingTablets
-                                stat.counterTabletScheduledFailed.incrementAndGet();
-                                dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                            }
-                        }
-                    } else {
-                        // we must release resource it current hold, and be scheduled again
-                        tabletCtx.releaseResource(this);
-                        // adjust priority to avoid some higher priority always be the first in pendingTablets
-                        stat.counterTabletScheduledFailed.incrementAndGet();
-                        dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                    }
-                } else if (e.getStatus() == Status.FINISHED) {
-                    // schedule redundant tablet or scheduler disabled will throw this exception
-                    stat.counterTabletScheduledSucceeded.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getStatus(), e.getMessage());
-                } else {
-                    Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
-                    // discard
-                    stat.counterTabletScheduledDiscard.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(), e.getMessage());
-                }
-                continue;
-            } catch (Exception e) {
-                LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
-                        tabletCtx.getTabletId(), e);
-                stat.counterTabletScheduledFailed.incrementAndGet();
-                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, Status.UNRECOVERABLE, e.getMessage());
-                continue;
+        if (Config.enable_concurrent_tablet_scheduler && currentBatch.size() > 1) {
+            scheduleTabletsConcurrently(currentBatch, batchTask);
+        } else {
+            for (TabletSchedCtx tabletCtx : currentBatch) {
+                scheduleTabletAndHandleResult(tabletCtx, batchTask);
             }
-
-            Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING, tabletCtx.getState());
-            stat.counterTabletScheduledSucceeded.incrementAndGet();
-            addToRunningTablets(tabletCtx);
         }
 
         // must send task after adding tablet info to runningTablets.
@@ -464,6 +470,161 @@ public class TabletScheduler extends MasterDaemon {
         stat.counterTabletScheduleCostMs.addAndGet(cost);
     }
 
+    private void scheduleTabletAndHandleResult(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) {
+        try {
+            if (Config.disable_tablet_scheduler) {
+                // do not schedule more tablet is tablet scheduler is disabled.
+                throw new SchedException(Status.FINISHED, "tablet scheduler is disabled");
+            }
+            scheduleTablet(tabletCtx, batchTask);
+        } catch (SchedException e) {
+            tabletCtx.increaseFailedSchedCounter();
+            tabletCtx.setErrMsg(e.getMessage());
+
+            if (e.getStatus() == Status.SCHEDULE_FAILED) {
+                if (tabletCtx.getType() == Type.BALANCE) {
+                    // if balance is disabled, remove this tablet
+                    if (Config.disable_balance) {
+                        finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
+                                "disable balance and " + e.getMessage());
+                    } else {
+                        // remove the balance task if it fails to be scheduled many times
+                        if (tabletCtx.getFailedSchedCounter() > 10) {
+                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
+                                    "schedule failed too many times and " + e.getMessage());
+                        } else {
+                            // we must release resource it current hold, and be scheduled again
+                            tabletCtx.releaseResource(this);
+                            // adjust priority to avoid some higher priority always be the first in pendingTablets
+                            stat.counterTabletScheduledFailed.incrementAndGet();
+                            dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                        }
+                    }
+                } else {
+                    // we must release resource it current hold, and be scheduled again
+                    tabletCtx.releaseResource(this);
+                    // adjust priority to avoid some higher priority always be the first in pendingTablets
+                    stat.counterTabletScheduledFailed.incrementAndGet();
+                    dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                }
+            } else if (e.getStatus() == Status.FINISHED) {
+                // schedule redundant tablet or scheduler disabled will throw this exception
+                stat.counterTabletScheduledSucceeded.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getStatus(), e.getMessage());
+            } else {
+                Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
+                // discard
+                stat.counterTabletScheduledDiscard.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(), e.getMessage());
+            }
+            return;
+        } catch (Exception e) {
+            LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
+                    tabletCtx.getTabletId(), e);
+            stat.counterTabletScheduledFailed.incrementAndGet();
+            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, Status.UNRECOVERABLE, e.getMessage());
+            return;
+        }
+
+        Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING, tabletCtx.getState());
+        stat.counterTabletScheduledSucceeded.incrementAndGet();
+        addToRunningTablets(tabletCtx);
+    }
+
+    /**
+     * Schedule the tablets on several workers.
+     * The tablets of the same table are scheduled by the same worker, because scheduling a tablet holds
+     * the write lock of its table. The slots of backends are taken and freed under the lock of each PathSlot,
+     * and the pending and running tablets are still protected by 'synchronized'.
+     * Balance tablets and tablets with redundant replicas are scheduled by the current thread,
+     * because they use the rebalancer, which is not thread safe.
+     */
+    private void scheduleTabletsConcurrently(List<TabletSchedCtx> tabletCtxs, AgentBatchTask batchTask) {
+        if (scheduleWorkerPool == null) {
+            scheduleWorkerPool = ThreadPoolManager.newDaemonFixedThreadPool(Config.tablet_scheduler_worker_num,
+                    Integer.MAX_VALUE, "tablet-scheduler-worker", true);
+        }
+        int workerNum = Config.tablet_scheduler_worker_num;
+        List<ScheduleShard> shards = Lists.newArrayListWithCapacity(workerNum);
+        for (int i = 0; i < workerNum; i++) {
+            shards.add(new ScheduleShard());
+        }
+        List<TabletSchedCtx> localTablets = Lists.newArrayList();
+        for (TabletSchedCtx tabletCtx : tabletCtxs) {
+            if (useRebalancer(tabletCtx)) {
+                localTablets.add(tabletCtx);
+            } else {
+                shards.get((int) Math.floorMod(tabletCtx.getTblId(), (long) workerNum)).tablets.add(tabletCtx);
+            }
+        }
+
+        for (ScheduleShard shard : shards) {
+            if (shard.tablets.isEmpty()) {
+                continue;
+            }
+            shard.future = scheduleWorkerPool.submit(() -> {
+                for (TabletSchedCtx tabletCtx : shard.tablets) {
+                    scheduleTabletAndHandleResult(tabletCtx, shard.batchTask);
+                    shard.scheduledNum++;
+                }
+            });
+        }
+        for (TabletSchedCtx tabletCtx : localTablets) {
+            scheduleTabletAndHandleResult(tabletCtx, batchTask);
+        }
+
+        for (ScheduleShard shard : shards) {
+            if (shard.future == null) {
+                continue;
+            }
+            try {
+                // wait for the worker even if interrupted, so that no tablet is left being scheduled
+                Uninterruptibles.getUninterruptibly(shard.future);
+            } catch (ExecutionException e) {
+                LOG.warn("failed to schedule tablets concurrently", e);
+                handleShardFailure(shard, e.getCause());
+            }
+            // the tasks of the tablets which have been scheduled are still sent
+            for (AgentTask task : shard.batchTask.getAllTasks()) {
+                batchTask.addTask(task);
+            }
+        }
+    }
+
+    private boolean useRebalancer(TabletSchedCtx tabletCtx) {
+        // deleting redundant replicas asks the rebalancer for the replica to delete
+        return tabletCtx.getType() == Type.BALANCE
+                || tabletCtx.getTabletStatus() == TabletStatus.REDUNDANT
+                || tabletCtx.getTabletStatus() == TabletStatus.FORCE_REDUNDANT;
+    }
+
+    /*
+     * The worker stops at the tablet throwing an unexpected error. Discard this tablet to release the resources
+     * it holds, and add the remaining tablets of the shard back to pending tablets.
+     */
+    private void handleShardFailure(ScheduleShard shard, Throwable cause) {
+        int scheduledNum = shard.scheduledNum;
+        if (scheduledNum >= shard.tablets.size()) {
+            return;
+        }
+        TabletSchedCtx failedTablet = shard.tablets.get(scheduledNum);
+        stat.counterTabletScheduledFailed.incrementAndGet();
+        finalizeTabletCtx(failedTablet, TabletSchedCtx.State.UNEXPECTED, Status.UNRECOVERABLE,
+                cause == null ? "unknown error" : cause.getMessage());
+        for (TabletSchedCtx tabletCtx : shard.tablets.subList(scheduledNum + 1, shard.tablets.size())) {
+            addTablet(tabletCtx, true /* force */);
+        }
+    }
+
+    // the tablets scheduled by one worker
+    private static class ScheduleShard {
+        private final List<TabletSchedCtx> tablets = Lists.newArrayList();
+        private final AgentBatchTask batchTask = new AgentBatchTask();
+        // num of tablets the worker has finished scheduling, read after the worker is done
+        private int scheduledNum = 0;
+        private Future<?> future;
+    }
+
     private synchronized void addToRunningTablets(TabletSchedCtx tabletCtx) {
         runningTablets.put(tabletCtx.getTabletId(), tabletCtx);
     }
@@ -989,7 +1150,11 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     private boolean deleteReplicaChosenByRebalancer(TabletSchedCtx tabletCtx, boolean force) throws SchedException {
-        Long id = rebalancer.getToDeleteReplicaId(tabletCtx);
+        Long id;
+        // the status of a tablet scheduled by a worker may become redundant since it was checked
+        synchronized (rebalancer) {
+            id = rebalancer.getToDeleteReplicaId(tabletCtx);
+        }
         if (id == -1L) {
             return false;
         }
@@ -1267,7 +1432,9 @@ public class TabletScheduler extends MasterDaemon {
             checkDiskBalanceLastSuccTime(tabletCtx.getSrcBackendId(), tabletCtx.getSrcPathHash());
             checkDiskBalanceLastSuccTime(tabletCtx.getDestBackendId(), tabletCtx.getDestPathHash());
         } else if (tabletCtx.getBalanceType() == TabletSchedCtx.BalanceType.BE_BALANCE) {
-            task = rebalancer.createBalanceTask(tabletCtx, backendsWorkingSlots);
+            synchronized (rebalancer) {
+                task = rebalancer.createBalanceTask(tabletCtx, backendsWorkingSlots);
+            }
         } else {
             throw new SchedException(Status.UNRECOVERABLE,
                 "unknown balance type: " + tabletCtx.getBalanceType().toString());
@@ -1407,6 +1574,14 @@ public class TabletScheduler extends MasterDaemon {
         removeTabletCtx(tabletCtx, reason);
         // release resources taken by tablet ctx
         releaseTabletCtx(tabletCtx, state, status == Status.UNRECOVERABLE);
+        if (state == TabletSchedCtx.State.FINISHED) {
+            stat.counterTabletFinished.incrementAndGet();
+        }
+        // check the tablet again, it may still be unhealthy or need to be balanced
+        TabletChecker tabletChecker = env.getTabletChecker();
+        if (tabletChecker != null) {
+            tabletChecker.markTabletDirty(tabletCtx.getTabletId());
+        }
     }
 
     private void releaseTabletCtx(TabletSchedCtx tabletCtx, TabletSchedCtx.State state, boolean resetReplicaState) {
@@ -1428,7 +1603,9 @@ public class TabletScheduler extends MasterDaemon {
     // get next batch of tablets from queue.
     private synchronized List<TabletSchedCtx> getNextTabletCtxBatch() {
         List<TabletSchedCtx> list = Lists.newArrayList();
-        int count = Math.min(MIN_BATCH_NUM, getCurrentAvailableSlotNum());
+        int batchNum = Config.enable_concurrent_tablet_scheduler
+                ? MIN_BATCH_NUM * Config.tablet_scheduler_worker_num : MIN_BATCH_NUM;
+        int count = Math.min(batchNum, getCurrentAvailableSlotNum());
         while (count > 0) {
             TabletSchedCtx tablet = pendingTablets.poll();
             if (tablet == null) {
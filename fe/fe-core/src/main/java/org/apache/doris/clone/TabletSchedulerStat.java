@@ -70,6 +70,8 @@ public class TabletSchedulerStat {
     public AtomicLong counterTabletScheduledFailed = new AtomicLong(0L);
     @StatField("num of tablet being scheduled discard")
     public AtomicLong counterTabletScheduledDiscard = new AtomicLong(0L);
+    @StatField("num of tablet finished")
+    public AtomicLong counterTabletFinished = new AtomicLong(0L);
 
     /*
      * Tablet priority related
@@ -28,4 +28,14 @@ public abstract class IdGenerator<IdType extends Id<IdType>> {
     protected int nextId = 0;
 
     public abstract IdType getNextId();
+
+    // the ids generated before are less than it
+    public int peekNextIdValue() {
+        return nextId;
+    }
+
+    // make sure the ids generated later are not less than the given value
+    public void skipTo(int nextIdValue) {
+        nextId = Math.max(nextId, nextIdValue);
+    }
 }
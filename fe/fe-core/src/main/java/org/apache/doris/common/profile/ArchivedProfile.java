@@ -0,0 +1,117 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.profile;
+
+import org.apache.doris.common.io.Text;
+
+import com.google.common.collect.Maps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A finished profile which is no longer kept as RuntimeProfile.
+ * Only the summary info strings and the deflate compressed text of the profile are kept,
+ * so the profile tree of fragments and instances is not available any more.
+ */
+public class ArchivedProfile {
+    private final String key;
+    private final Map<String, String> infoStrings;
+    private final byte[] compressedContent;
+
+    public ArchivedProfile(String key, Map<String, String> infoStrings, byte[] compressedContent) {
+        this.key = key;
+        this.infoStrings = Collections.unmodifiableMap(infoStrings);
+        this.compressedContent = compressedContent;
+    }
+
+    public static ArchivedProfile create(String key, Map<String, String> infoStrings, String content)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ArchivedProfile(key, Maps.newHashMap(infoStrings), bytes.toByteArray());
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Map<String, String> getInfoStrings() {
+        return infoStrings;
+    }
+
+    public String getContent() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(compressedContent.length * 4);
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressedContent))) {
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, len);
+            }
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // an estimation of the heap used by this profile
+    public long getMemorySize() {
+        long size = compressedContent.length + 64;
+        for (Map.Entry<String, String> entry : infoStrings.entrySet()) {
+            size += 2L * (entry.getKey().length() + (entry.getValue() == null ? 0 : entry.getValue().length())) + 64;
+        }
+        return size;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        Text.writeString(out, key);
+        out.writeInt(infoStrings.size());
+        for (Map.Entry<String, String> entry : infoStrings.entrySet()) {
+            Text.writeString(out, entry.getKey());
+            out.writeBoolean(entry.getValue() != null);
+            if (entry.getValue() != null) {
+                Text.writeString(out, entry.getValue());
+            }
+        }
+        out.writeInt(compressedContent.length);
+        out.write(compressedContent);
+    }
+
+    public static ArchivedProfile read(DataInput in) throws IOException {
+        String key = Text.readString(in);
+        int infoNum = in.readInt();
+        Map<String, String> infoStrings = Maps.newHashMapWithExpectedSize(infoNum);
+        for (int i = 0; i < infoNum; i++) {
+            String name = Text.readString(in);
+            infoStrings.put(name, in.readBoolean() ? Text.readString(in) : null);
+        }
+        byte[] compressedContent = new byte[in.readInt()];
+        in.readFully(compressedContent);
+        return new ArchivedProfile(key, infoStrings, compressedContent);
+    }
+}
@@ -0,0 +1,156 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.profile;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the profiles evicted from ProfileManager.
+ * The latest archived profiles are kept compressed in memory, bounded by
+ * Config.profile_compressed_memory_limit_bytes. If Config.enable_profile_spill is set,
+ * every archived profile is also written to a ProfileSpillStore, which is bounded by
+ * Config.profile_spill_max_bytes and is reloaded after FE restarts.
+ */
+public class ProfileArchive {
+    private static final Logger LOG = LogManager.getLogger(ProfileArchive.class);
+
+    // profile key -> profile, in the order of archiving
+    private final LinkedHashMap<String, ArchivedProfile> memoryProfiles = new LinkedHashMap<>();
+    private long memorySize = 0;
+
+    private final File spillDir;
+    private ProfileSpillStore spillStore;
+    private boolean spillStoreOpened = false;
+
+    public ProfileArchive() {
+        this(new File(Config.profile_spill_dir));
+    }
+
+    public ProfileArchive(File spillDir) {
+        this.spillDir = spillDir;
+    }
+
+    public static boolean isEnabled() {
+        return Config.profile_compressed_memory_limit_bytes > 0 || Config.enable_profile_spill;
+    }
+
+    public void archive(ArchivedProfile profile) {
+        // spill out of the lock, so reading the profiles in memory is not blocked by disk io
+        ProfileSpillStore store = getSpillStore();
+        if (store != null && Config.enable_profile_spill) {
+            try {
+                store.append(profile);
+            } catch (IOException e) {
+                LOG.warn("failed to spill profile {}", profile.getKey(), e);
+            }
+        }
+        addToMemory(profile);
+    }
+
+    private synchronized void addToMemory(ArchivedProfile profile) {
+        ArchivedProfile old = memoryProfiles.remove(profile.getKey());
+        if (old != null) {
+            memorySize -= old.getMemorySize();
+        }
+        memoryProfiles.put(profile.getKey(), profile);
+        memorySize += profile.getMemorySize();
+        Iterator<ArchivedProfile> iterator = memoryProfiles.values().iterator();
+        while (memorySize > Config.profile_compressed_memory_limit_bytes && iterator.hasNext()) {
+            memorySize -= iterator.next().getMemorySize();
+            iterator.remove();
+        }
+    }
+
+    public synchronized ArchivedProfile get(String key) throws IOException {
+        ArchivedProfile profile = memoryProfiles.get(key);
+        if (profile != null) {
+            return profile;
+        }
+        ProfileSpillStore store = getSpillStore();
+        return store == null ? null : store.read(key);
+    }
+
+    public synchronized Map<String, String> getInfoStrings(String key) {
+        ArchivedProfile profile = memoryProfiles.get(key);
+        if (profile != null) {
+            return profile.getInfoStrings();
+        }
+        ProfileSpillStore store = getSpillStore();
+        return store == null ? null : store.getInfoStrings(key);
+    }
+
+    // profile key -> info strings of all archived profiles, the latest first
+    public synchronized Map<String, Map<String, String>> listInfoStrings() {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        List<ArchivedProfile> profiles = Lists.newArrayList(memoryProfiles.values());
+        for (ArchivedProfile profile : Lists.reverse(profiles)) {
+            result.put(profile.getKey(), profile.getInfoStrings());
+        }
+        ProfileSpillStore store = getSpillStore();
+        if (store != null) {
+            store.listInfoStrings().forEach(result::putIfAbsent);
+        }
+        return result;
+    }
+
+    // key of the latest archived profile whose info string of the name is the value, or null if not found
+    public synchronized String findKey(String infoName, String value) {
+        String key = null;
+        for (ArchivedProfile profile : memoryProfiles.values()) {
+            if (value.equals(profile.getInfoStrings().get(infoName))) {
+                key = profile.getKey();
+            }
+        }
+        ProfileSpillStore store = getSpillStore();
+        if (key == null && store != null) {
+            key = store.findKey(infoName, value);
+        }
+        return key;
+    }
+
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    // open the spill store at the first use, so that the profiles spilled before restart can be found
+    private synchronized ProfileSpillStore getSpillStore() {
+        if (!spillStoreOpened && Config.enable_profile_spill) {
+            spillStoreOpened = true;
+            ProfileSpillStore store = new ProfileSpillStore(spillDir,
+                    Config.profile_spill_segment_size_bytes, Config.profile_spill_max_bytes);
+            try {
+                store.open();
+                spillStore = store;
+            } catch (IOException e) {
+                LOG.warn("failed to open profile spill store {}, profiles will not be spilled", spillDir, e);
+            }
+        }
+        return spillStore;
+    }
+}
@@ -0,0 +1,141 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.profile;
+
+import org.apache.doris.common.io.SegmentFileStore;
+import org.apache.doris.common.io.SegmentFileStore.Position;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A local store of archived profiles, made of append only segment files named "profile.{seq}",
+ * each record of which is an ArchivedProfile.
+ * An index from profile key to the position of the record is kept in memory, along with the info strings
+ * of the profile, so listing profiles does not read the segments.
+ * When the total size of segments exceeds the limit, the oldest segment is deleted with its profiles.
+ * The index is rebuilt by scanning the segments when the store is opened, eg. after FE restarts.
+ */
+public class ProfileSpillStore {
+    private static final Logger LOG = LogManager.getLogger(ProfileSpillStore.class);
+
+    private static final String SEGMENT_PREFIX = "profile.";
+
+    private static class Location {
+        private final Position position;
+        private final Map<String, String> infoStrings;
+
+        Location(Position position, Map<String, String> infoStrings) {
+            this.position = position;
+            this.infoStrings = infoStrings;
+        }
+    }
+
+    private final File dir;
+    private final SegmentFileStore segments;
+    // profile key -> location, in the order of appending
+    private final LinkedHashMap<String, Location> index = new LinkedHashMap<>();
+
+    public ProfileSpillStore(File dir, long segmentSize, long maxSize) {
+        this.dir = dir;
+        this.segments = new SegmentFileStore(dir, SEGMENT_PREFIX, segmentSize, maxSize);
+    }
+
+    public synchronized void open() throws IOException {
+        segments.open((position, data) -> {
+            ArchivedProfile profile = ArchivedProfile.read(new DataInputStream(new ByteArrayInputStream(data)));
+            index.remove(profile.getKey());
+            index.put(profile.getKey(), new Location(position, profile.getInfoStrings()));
+        });
+        LOG.info("open profile spill store {}, segments: {}, profiles: {}", dir, segments.getSegmentNum(),
+                index.size());
+    }
+
+    public synchronized void append(ArchivedProfile profile) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        profile.write(new DataOutputStream(bytes));
+        Position position = segments.append(bytes.toByteArray());
+
+        index.remove(profile.getKey());
+        index.put(profile.getKey(), new Location(position, profile.getInfoStrings()));
+
+        for (long segment : segments.deleteOldSegments()) {
+            Iterator<Location> iterator = index.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().position.getSegment() == segment) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized ArchivedProfile read(String key) throws IOException {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        byte[] data = segments.read(location.position);
+        return ArchivedProfile.read(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    public synchronized Map<String, String> getInfoStrings(String key) {
+        Location location = index.get(key);
+        return location == null ? null : location.infoStrings;
+    }
+
+    // profile key -> info strings of all profiles, the latest first
+    public synchronized Map<String, Map<String, String>> listInfoStrings() {
+        List<Map.Entry<String, Location>> entries = Lists.newArrayList(index.entrySet());
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Location> entry : Lists.reverse(entries)) {
+            result.put(entry.getKey(), entry.getValue().infoStrings);
+        }
+        return result;
+    }
+
+    // key of the latest profile whose info string of the name is the value, or null if not found
+    public synchronized String findKey(String infoName, String value) {
+        String key = null;
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (value.equals(entry.getValue().infoStrings.get(infoName))) {
+                key = entry.getKey();
+            }
+        }
+        return key;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized void close() throws IOException {
+        segments.close();
+    }
+}
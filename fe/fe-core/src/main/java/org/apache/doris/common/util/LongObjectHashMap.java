@@ -0,0 +1,385 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map with primitive long keys, based on open addressing with linear probing.
+ * Keys are kept in a long array, so there is no boxed Long or entry object for each mapping,
+ * which saves most of the memory of a HashMap&lt;Long, V&gt; when the map is large.
+ * It implements Map&lt;Long, V&gt; so it can be used in place of HashMap, but the primitive
+ * methods, eg. get(long), should be preferred to avoid boxing.
+ * Null values are not supported. Not thread safe.
+ */
+public class LongObjectHashMap<V> extends AbstractMap<Long, V> {
+    static final byte EMPTY = 0;
+    static final byte FULL = 1;
+    static final byte REMOVED = 2;
+
+    static final float LOAD_FACTOR = 0.75f;
+    static final int MIN_CAPACITY = 4;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private Object[] values;
+    private byte[] states;
+    private int size;
+    // number of FULL and REMOVED slots
+    private int used;
+    private int maxUsed;
+    private int modCount;
+
+    private Set<Entry<Long, V>> entrySet;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    static int capacityFor(int expectedSize) {
+        long minCapacity = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / (double) LOAD_FACTOR));
+        if (minCapacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        int capacity = Integer.highestOneBit((int) minCapacity);
+        return capacity < minCapacity ? capacity << 1 : capacity;
+    }
+
+    static int maxUsedFor(int capacity) {
+        return Math.max(1, Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR)));
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        states = new byte[capacity];
+        used = size;
+        maxUsed = maxUsedFor(capacity);
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (states[i] != EMPTY) {
+            if (states[i] == FULL && keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Long ? get(((Long) key).longValue()) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        int slot = findSlot(key);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return key instanceof Long ? getOrDefault(((Long) key).longValue(), defaultValue) : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && containsKey(((Long) key).longValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Objects.requireNonNull(value);
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        int firstRemoved = -1;
+        while (states[i] != EMPTY) {
+            if (states[i] == FULL) {
+                if (keys[i] == key) {
+                    V oldValue = (V) values[i];
+                    values[i] = value;
+                    return oldValue;
+                }
+            } else if (firstRemoved < 0) {
+                firstRemoved = i;
+            }
+            i = (i + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            i = firstRemoved;
+        } else {
+            used++;
+        }
+        keys[i] = key;
+        values[i] = value;
+        states[i] = FULL;
+        size++;
+        modCount++;
+        if (used > maxUsed) {
+            rehash(capacityFor(size * 2));
+        }
+        return null;
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        return put(key.longValue(), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = (V) values[slot];
+        removeSlot(slot);
+        return oldValue;
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Long ? remove(((Long) key).longValue()) : null;
+    }
+
+    private void removeSlot(int slot) {
+        values[slot] = null;
+        states[slot] = REMOVED;
+        size--;
+        modCount++;
+        if (size == 0) {
+            // no live entry, drop all the tombstones
+            Arrays.fill(states, EMPTY);
+            used = 0;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        byte[] oldStates = states;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int j = 0; j < oldStates.length; j++) {
+            if (oldStates[j] != FULL) {
+                continue;
+            }
+            int i = hash(oldKeys[j]) & mask;
+            while (states[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+            states[i] = FULL;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0 && used == 0) {
+            return;
+        }
+        Arrays.fill(values, null);
+        Arrays.fill(states, EMPTY);
+        size = 0;
+        used = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<Long, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Long, V>> {
+        @Override
+        public Iterator<Entry<Long, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            LongObjectHashMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            if (!(entry.getKey() instanceof Long)) {
+                return false;
+            }
+            int slot = findSlot((Long) entry.getKey());
+            return slot >= 0 && values[slot].equals(entry.getValue());
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<Long, V>> {
+        private int next = -1;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            do {
+                next++;
+            } while (next < states.length && states[next] != FULL);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < states.length;
+        }
+
+        @Override
+        public Entry<Long, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            advance();
+            return new SlotEntry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // removing only leaves a tombstone, so the slots not visited yet are not moved
+            removeSlot(current);
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private class SlotEntry implements Entry<Long, V> {
+        private final int slot;
+        private final long key;
+
+        SlotEntry(int slot) {
+            this.slot = slot;
+            this.key = keys[slot];
+        }
+
+        @Override
+        public Long getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            // the slot may be moved by a rehash, look up the key again in that case
+            if (slot < keys.length && states[slot] == FULL && keys[slot] == key) {
+                return (V) values[slot];
+            }
+            return get(key);
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value);
+            if (slot < keys.length && states[slot] == FULL && keys[slot] == key) {
+                @SuppressWarnings("unchecked")
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -21,7 +21,10 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.AuthenticationException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.profile.ArchivedProfile;
 import org.apache.doris.common.profile.MultiProfileTreeBuilder;
+import org.apache.doris.common.profile.ProfileArchive;
 import org.apache.doris.common.profile.ProfileTreeBuilder;
 import org.apache.doris.common.profile.ProfileTreeNode;
 
@@ -32,6 +35,7 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
@@ -40,6 +44,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
@@ -120,6 +128,10 @@ public class ProfileManager {
     // record the order of profiles by queryId
     private Deque<String> queryIdDeque;
     private Map<String, ProfileElement> queryIdToProfileMap; // from QueryId to RuntimeProfile
+    // the profiles evicted from queryIdToProfileMap, only the text of them is kept
+    private ProfileArchive archive;
+    // compress and spill the evicted profiles, so that they are not done by the query thread
+    private ThreadPoolExecutor archiveExecutor;
 
     public static ProfileManager getInstance() {
         if (INSTANCE == null) {
@@ -138,6 +150,10 @@ public class ProfileManager {
         writeLock = lock.writeLock();
         queryIdDeque = new LinkedList<>();
         queryIdToProfileMap = new ConcurrentHashMap<>();
+        archive = new ProfileArchive();
+        archiveExecutor = ThreadPoolManager.newDaemonThreadPool(1, 1, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, Config.max_query_profile_num)),
+                new ThreadPoolExecutor.AbortPolicy(), "profile-archive-pool", true);
     }
 
     public ProfileElement createElement(RuntimeProfile profile) {
@@ -177,18 +193,49 @@ public class ProfileManager {
         // a profile may be updated multiple times in queryIdToProfileMap,
         // and only needs to be inserted into the queryIdDeque for the first time.
         queryIdToProfileMap.put(key, element);
+        String evictedKey = null;
         writeLock.lock();
         try {
             if (!queryIdDeque.contains(key)) {
                 if (queryIdDeque.size() >= Config.max_query_profile_num) {
-                    queryIdToProfileMap.remove(queryIdDeque.getFirst());
-                    queryIdDeque.removeFirst();
+                    evictedKey = queryIdDeque.removeFirst();
                 }
                 queryIdDeque.addLast(key);
             }
         } finally {
             writeLock.unlock();
         }
+
+        if (evictedKey != null) {
+            evictProfile(evictedKey);
+        }
+    }
+
+    // compressing and spilling the evicted profile may take a while, so it is done by archiveExecutor,
+    // and the profile is removed from queryIdToProfileMap after it is archived so that it can always be found.
+    private void evictProfile(String key) {
+        ProfileElement element = queryIdToProfileMap.get(key);
+        if (element == null) {
+            return;
+        }
+        if (!ProfileArchive.isEnabled()) {
+            queryIdToProfileMap.remove(key, element);
+            return;
+        }
+        try {
+            archiveExecutor.execute(() -> {
+                try {
+                    archive.archive(ArchivedProfile.create(key, element.infoStrings, element.getProfileContent()));
+                } catch (IOException e) {
+                    LOG.warn("failed to archive profile {}", key, e);
+                } finally {
+                    queryIdToProfileMap.remove(key, element);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("too many profiles to archive, drop profile {}", key);
+            queryIdToProfileMap.remove(key, element);
+        }
     }
 
     public List<List<String>> getAllQueries() {
@@ -206,34 +253,56 @@ public class ProfileManager {
                 if (profileElement == null) {
                     continue;
                 }
-                Map<String, String> infoStrings = profileElement.infoStrings;
-                if (type != null && !infoStrings.get(QUERY_TYPE).equalsIgnoreCase(type.name())) {
-                    continue;
-                }
-
-                List<String> row = Lists.newArrayList();
-                for (String str : PROFILE_HEADERS) {
-                    row.add(infoStrings.get(str));
-                }
-                result.add(row);
+                addProfileRow(result, profileElement.infoStrings, type);
             }
         } finally {
             readLock.unlock();
         }
+        if (ProfileArchive.isEnabled()) {
+            for (Map.Entry<String, Map<String, String>> entry : archive.listInfoStrings().entrySet()) {
+                if (!queryIdToProfileMap.containsKey(entry.getKey())) {
+                    addProfileRow(result, entry.getValue(), type);
+                }
+            }
+        }
         return result;
     }
 
+    private void addProfileRow(List<List<String>> result, Map<String, String> infoStrings, ProfileType type) {
+        if (type != null && !infoStrings.get(QUERY_TYPE).equalsIgnoreCase(type.name())) {
+            return;
+        }
+        List<String> row = Lists.newArrayList();
+        for (String str : PROFILE_HEADERS) {
+            row.add(infoStrings.get(str));
+        }
+        result.add(row);
+    }
+
     public String getProfile(String queryID) {
         readLock.lock();
         try {
             ProfileElement element = queryIdToProfileMap.get(queryID);
-            if (element == null) {
-                return null;
+            if (element != null) {
+                return element.getProfileContent();
             }
-            return element.getProfileContent();
         } finally {
             readLock.unlock();
         }
+        return getArchivedProfile(queryID);
+    }
+
+    private String getArchivedProfile(String queryID) {
+        if (!ProfileArchive.isEnabled()) {
+            return null;
+        }
+        try {
+            ArchivedProfile profile = archive.get(queryID);
+            return profile == null ? null : profile.getContent();
+        } catch (IOException e) {
+            LOG.warn("failed to read archived profile {}", queryID, e);
+            return null;
+        }
     }
 
     /**
@@ -244,18 +313,25 @@ public class ProfileManager {
      * @throws DdlException
      */
     public void checkAuthByUserAndQueryId(String user, String queryId) throws AuthenticationException {
+        Map<String, String> infoStrings = null;
         readLock.lock();
         try {
             ProfileElement element = queryIdToProfileMap.get(queryId);
-            if (element == null) {
-                throw new AuthenticationException("query with id " + queryId + " not found");
-            }
-            if (!element.infoStrings.get(USER).equals(user)) {
-                throw new AuthenticationException("Access deny to view query with id: " + queryId);
+            if (element != null) {
+                infoStrings = element.infoStrings;
             }
         } finally {
             readLock.unlock();
         }
+        if (infoStrings == null && ProfileArchive.isEnabled()) {
+            infoStrings = archive.getInfoStrings(queryId);
+        }
+        if (infoStrings == null) {
+            throw new AuthenticationException("query with id " + queryId + " not found");
+        }
+        if (!infoStrings.get(USER).equals(user)) {
+            throw new AuthenticationException("Access deny to view query with id: " + queryId);
+        }
     }
 
     public ProfileTreeNode getFragmentProfileTree(String queryID, String executionId) throws AnalysisException {
@@ -265,7 +341,7 @@ public class ProfileManager {
             ProfileElement element = queryIdToProfileMap.get(queryID);
             if (element == null || element.builder == null) {
                 throw new AnalysisException("failed to get fragment profile tree. err: "
-                        + (element == null ? "not found" : element.errMsg));
+                        + (element == null ? notFoundMsg(queryID) : element.errMsg));
             }
             builder = element.builder;
         } finally {
@@ -283,7 +359,7 @@ public class ProfileManager {
             ProfileElement element = queryIdToProfileMap.get(queryID);
             if (element == null || element.builder == null) {
                 throw new AnalysisException("failed to get instance list. err: "
-                        + (element == null ? "not found" : element.errMsg));
+                        + (element == null ? notFoundMsg(queryID) : element.errMsg));
             }
             builder = element.builder;
         } finally {
@@ -302,7 +378,7 @@ public class ProfileManager {
             ProfileElement element = queryIdToProfileMap.get(queryID);
             if (element == null || element.builder == null) {
                 throw new AnalysisException("failed to get instance profile tree. err: "
-                        + (element == null ? "not found" : element.errMsg));
+                        + (element == null ? notFoundMsg(queryID) : element.errMsg));
             }
             builder = element.builder;
         } finally {
@@ -330,7 +406,7 @@ public class ProfileManager {
             ProfileElement element = queryIdToProfileMap.get(jobId);
             if (element == null || element.builder == null) {
                 throw new AnalysisException("failed to get task ids. err: "
-                        + (element == null ? "not found" : element.errMsg));
+                        + (element == null ? notFoundMsg(jobId) : element.errMsg));
             }
             return element.builder;
         } finally {
@@ -338,6 +414,14 @@ public class ProfileManager {
         }
     }
 
+    // the profile tree is only available for the profiles not archived yet
+    private String notFoundMsg(String key) {
+        if (ProfileArchive.isEnabled() && archive.getInfoStrings(key) != null) {
+            return "the profile is archived, only the text profile is available";
+        }
+        return "not found";
+    }
+
     public String getQueryIdByTraceId(String traceId) {
         readLock.lock();
         try {
@@ -346,10 +430,16 @@ public class ProfileManager {
                     return entry.getKey();
                 }
             }
-            return "";
         } finally {
             readLock.unlock();
         }
+        if (ProfileArchive.isEnabled()) {
+            String key = archive.findKey(TRACE_ID, traceId);
+            if (key != null) {
+                return key;
+            }
+        }
+        return "";
     }
 
     public boolean isQueryProfile(RuntimeProfile profile) {
@@ -19,6 +19,10 @@ package org.apache.doris.common.util;
 
 import org.apache.doris.thrift.TUnit;
 
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
 /**
  * This profile is mainly used to record the time-consuming situation related to
  * executing SQL parsing, planning, scheduling, and fetching results on the FE side.
@@ -53,6 +57,9 @@ public class QueryPlannerProfile {
 
     private long queryWriteResultConsumeTime = 0;
 
+    // other info collected when planning, such as the planning stats of external tables
+    private final Map<String, String> planInfos = Maps.newLinkedHashMap();
+
     public void setQueryBeginTime() {
         this.queryBeginTime = TimeUtils.getStartTime();
     }
@@ -85,6 +92,10 @@ public class QueryPlannerProfile {
         this.queryWriteResultConsumeTime += TimeUtils.getStartTime() - tempStarTime;
     }
 
+    public synchronized void addInfoString(String key, String value) {
+        planInfos.put(key, value);
+    }
+
     public long getQueryBeginTime() {
         return queryBeginTime;
     }
@@ -126,5 +137,10 @@ public class QueryPlannerProfile {
         plannerProfile.addInfoString(KEY_WRITE,
                 RuntimeProfile.printCounter(queryWriteResultConsumeTime, TUnit.TIME_NS));
         plannerProfile.addInfoString(KEY_WAIT_AND_FETCH, getPrettyQueryFetchResultFinishTime());
+        synchronized (this) {
+            for (Map.Entry<String, String> entry : planInfos.entrySet()) {
+                plannerProfile.addInfoString(entry.getKey(), entry.getValue());
+            }
+        }
     }
 }
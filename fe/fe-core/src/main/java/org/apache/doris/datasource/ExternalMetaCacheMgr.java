@@ -20,21 +20,33 @@ package org.apache.doris.datasource;
 import org.apache.doris.catalog.external.ExternalTable;
 import org.apache.doris.catalog.external.HMSExternalTable;
 import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.datasource.hive.HiveMetaStoreCache;
+import org.apache.doris.datasource.iceberg.IcebergManifestCache;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cache meta of external catalog
  * 1. Meta for hive meta store, mainly for partition.
  * 2. Table Schema cahce.
+ * 3. Manifests of iceberg tables.
+ * If Config.enable_external_meta_disk_cache is set, the caches of a catalog share a local disk tier,
+ * which is also invalidated here, even if the caches are not created yet after FE restarts.
+ * The invalidation of a disk tier not opened yet is applied when it is opened, so it does not read the files.
  */
 public class ExternalMetaCacheMgr {
     private static final Logger LOG = LogManager.getLogger(ExternalMetaCacheMgr.class);
@@ -43,6 +55,12 @@ public class ExternalMetaCacheMgr {
     private Map<Long, HiveMetaStoreCache> cacheMap = Maps.newConcurrentMap();
     // catalog id -> table schema cache
     private Map<Long, ExternalSchemaCache> schemaCacheMap = Maps.newHashMap();
+    // catalog id -> local disk tier of the caches
+    private Map<Long, ExternalMetaDiskCache> diskCacheMap = Maps.newConcurrentMap();
+    // catalog id -> key prefixes invalidated before the disk tier is opened, an empty prefix for all keys
+    private Map<Long, Set<String>> pendingDiskInvalidations = Maps.newConcurrentMap();
+    // manifests of iceberg tables of all catalogs, which are immutable
+    private IcebergManifestCache icebergManifestCache = new IcebergManifestCache();
     private Executor executor;
 
     public ExternalMetaCacheMgr() {
@@ -54,7 +72,8 @@ public class ExternalMetaCacheMgr {
         if (cache == null) {
             synchronized (cacheMap) {
                 if (!cacheMap.containsKey(catalog.getId())) {
-                    cacheMap.put(catalog.getId(), new HiveMetaStoreCache(catalog, executor));
+                    cacheMap.put(catalog.getId(),
+                            new HiveMetaStoreCache(catalog, executor, getDiskCache(catalog.getId())));
                 }
                 cache = cacheMap.get(catalog.getId());
             }
@@ -62,12 +81,17 @@ public class ExternalMetaCacheMgr {
         return cache;
     }
 
+    public IcebergManifestCache getIcebergManifestCache() {
+        return icebergManifestCache;
+    }
+
     public ExternalSchemaCache getSchemaCache(ExternalCatalog catalog) {
         ExternalSchemaCache cache = schemaCacheMap.get(catalog.getId());
         if (cache == null) {
             synchronized (schemaCacheMap) {
                 if (!schemaCacheMap.containsKey(catalog.getId())) {
-                    schemaCacheMap.put(catalog.getId(), new ExternalSchemaCache(catalog, executor));
+                    schemaCacheMap.put(catalog.getId(),
+                            new ExternalSchemaCache(catalog, executor, getDiskCache(catalog.getId())));
                 }
                 cache = schemaCacheMap.get(catalog.getId());
             }
@@ -75,13 +99,79 @@ public class ExternalMetaCacheMgr {
         return cache;
     }
 
-    public void removeCache(String catalogId) {
+    // null if the disk tier is disabled or can not be opened
+    private ExternalMetaDiskCache getDiskCache(long catalogId) {
+        if (!Config.enable_external_meta_disk_cache) {
+            return null;
+        }
+        return diskCacheMap.computeIfAbsent(catalogId, id -> {
+            long maxSize = Config.external_meta_disk_cache_max_bytes_per_catalog;
+            ExternalMetaDiskCache diskCache = new ExternalMetaDiskCache(
+                    new File(Config.external_meta_disk_cache_dir, String.valueOf(id)), Math.max(1, maxSize / 8),
+                    maxSize, TimeUnit.MINUTES.toMillis(Config.external_cache_expire_time_minutes_after_access));
+            try {
+                diskCache.open();
+            } catch (IOException e) {
+                LOG.warn("failed to open external meta disk cache for catalog {}", id, e);
+                return null;
+            }
+            Set<String> prefixes = pendingDiskInvalidations.remove(id);
+            if (prefixes != null) {
+                prefixes.forEach(prefix -> removeFromDiskCache(diskCache, prefix));
+            }
+            return diskCache;
+        });
+    }
+
+    private static void removeFromDiskCache(ExternalMetaDiskCache diskCache, String prefix) {
+        if (prefix.isEmpty()) {
+            diskCache.removeAll();
+        } else {
+            diskCache.removeByPrefix(prefix);
+        }
+    }
+
+    public void removeCache(long catalogId) {
         if (cacheMap.remove(catalogId) != null) {
-            LOG.info("remove hive metastore cache for catalog {}" + catalogId);
+            LOG.info("remove hive metastore cache for catalog {}", catalogId);
         }
         if (schemaCacheMap.remove(catalogId) != null) {
-            LOG.info("remove schema cache for catalog {}" + catalogId);
+            LOG.info("remove schema cache for catalog {}", catalogId);
         }
+        pendingDiskInvalidations.remove(catalogId);
+        ExternalMetaDiskCache diskCache = diskCacheMap.remove(catalogId);
+        if (diskCache != null) {
+            diskCache.removeAll();
+            LOG.info("remove external meta disk cache for catalog {}", catalogId);
+        }
+        // the disk cache of the catalog may not be opened since FE restarts
+        FileUtils.deleteQuietly(new File(Config.external_meta_disk_cache_dir, String.valueOf(catalogId)));
+        icebergManifestCache.invalidateCatalog(catalogId);
+    }
+
+    private void invalidateDiskCache(long catalogId, String dbName, String tblName) {
+        invalidateDiskCache(catalogId, ExternalMetaDiskCache.prefix(dbName, tblName));
+    }
+
+    // the disk tier not opened yet is not opened here, the prefix is removed when it is opened
+    private void invalidateDiskCache(long catalogId, String prefix) {
+        if (!Config.enable_external_meta_disk_cache) {
+            return;
+        }
+        diskCacheMap.compute(catalogId, (id, diskCache) -> {
+            if (diskCache != null) {
+                removeFromDiskCache(diskCache, prefix);
+            } else {
+                Set<String> prefixes = pendingDiskInvalidations.computeIfAbsent(id, k -> Sets.newHashSet());
+                if (prefix.isEmpty()) {
+                    prefixes.clear();
+                }
+                if (!prefixes.contains("")) {
+                    prefixes.add(prefix);
+                }
+            }
+            return diskCache;
+        });
     }
 
     public void invalidateTableCache(long catalogId, String dbName, String tblName) {
@@ -94,6 +184,7 @@ public class ExternalMetaCacheMgr {
         if (metaCache != null) {
             metaCache.invalidateTableCache(dbName, tblName);
         }
+        invalidateDiskCache(catalogId, dbName, tblName);
         LOG.debug("invalid table cache for {}.{} in catalog {}", dbName, tblName, catalogId);
     }
 
@@ -107,6 +198,7 @@ public class ExternalMetaCacheMgr {
         if (metaCache != null) {
             metaCache.invalidateDbCache(dbName);
         }
+        invalidateDiskCache(catalogId, dbName, null);
         LOG.debug("invalid db cache for {} in catalog {}", dbName, catalogId);
     }
 
@@ -119,6 +211,8 @@ public class ExternalMetaCacheMgr {
         if (metaCache != null) {
             metaCache.invalidateAll();
         }
+        invalidateDiskCache(catalogId, "");
+        icebergManifestCache.invalidateCatalog(catalogId);
         LOG.debug("invalid catalog cache for {}", catalogId);
     }
 
@@ -147,6 +241,8 @@ public class ExternalMetaCacheMgr {
             metaCache.dropPartitionsCache(dbName, table.getName(), partitionNames,
                     ((HMSExternalTable) table).getPartitionColumnTypes(), true);
         }
+        // the disk tier is invalidated by table
+        invalidateDiskCache(catalogId, dbName, table.getName());
         LOG.debug("drop partition cache for {}.{} in catalog {}", dbName, table.getName(), catalogId);
     }
 
@@ -160,6 +256,7 @@ public class ExternalMetaCacheMgr {
             }
 
         }
+        invalidateDiskCache(catalogId, ClusterNamespace.getNameFromFullName(dbName), tableName);
         LOG.debug("invalidate partition cache for {}.{} in catalog {}", dbName, tableName, catalogId);
     }
 }
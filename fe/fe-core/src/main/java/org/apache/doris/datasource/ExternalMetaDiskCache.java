@@ -0,0 +1,228 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.io.SegmentFileStore;
+import org.apache.doris.common.io.SegmentFileStore.Position;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The local disk tier of the meta caches of an external catalog, made of append only segment files
+ * named "meta.{seq}". The data of each record is:
+ * key(utf), version(long), write time(long), deleted(boolean), value(the rest bytes).
+ *
+ * The key is made of the db name, the table name and the kind of the entry, so that all entries of
+ * a table or a db can be removed by prefix. The version is the modification time of the table or
+ * partition when the entry is loaded, an entry is only returned if the caller still sees the same version
+ * and it is not expired. Removing an entry appends a deleted record.
+ *
+ * An index from key to the location of the record is kept in memory and is rebuilt by scanning the
+ * segments when the store is opened, eg. after FE restarts. When the total size of segments exceeds
+ * the limit, the oldest segment is deleted with its entries.
+ * An error of the disk is logged and treated as a miss, so it never fails a query.
+ */
+public class ExternalMetaDiskCache {
+    private static final Logger LOG = LogManager.getLogger(ExternalMetaDiskCache.class);
+
+    private static final String SEGMENT_PREFIX = "meta.";
+    private static final char KEY_SEPARATOR = '\0';
+
+    private static class Location {
+        private final Position position;
+        private final long version;
+        private final long writeTime;
+
+        Location(Position position, long version, long writeTime) {
+            this.position = position;
+            this.version = version;
+            this.writeTime = writeTime;
+        }
+    }
+
+    private final File dir;
+    private final long expireMs;
+    private final SegmentFileStore segments;
+    private final Map<String, Location> index = new HashMap<>();
+
+    public ExternalMetaDiskCache(File dir, long segmentSize, long maxSize, long expireMs) {
+        this.dir = dir;
+        this.expireMs = expireMs;
+        this.segments = new SegmentFileStore(dir, SEGMENT_PREFIX, segmentSize, maxSize);
+    }
+
+    public static String key(String dbName, String tblName, String kind, List<String> parts) {
+        StringBuilder sb = new StringBuilder(prefix(dbName, tblName)).append(kind);
+        for (String part : parts) {
+            sb.append(KEY_SEPARATOR).append(part);
+        }
+        return sb.toString();
+    }
+
+    // prefix of the keys of a table, or of a db if the table name is null
+    public static String prefix(String dbName, String tblName) {
+        if (tblName == null) {
+            return dbName + KEY_SEPARATOR;
+        }
+        return Joiner.on(KEY_SEPARATOR).join(dbName, tblName, "");
+    }
+
+    // db name, table name, kind and parts of a key
+    public static List<String> splitKey(String key) {
+        return Lists.newArrayList(key.split(String.valueOf(KEY_SEPARATOR), -1));
+    }
+
+    public synchronized void open() throws IOException {
+        segments.open((position, data) -> {
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(data));
+            String key = record.readUTF();
+            long version = record.readLong();
+            long writeTime = record.readLong();
+            if (record.readBoolean()) {
+                index.remove(key);
+            } else {
+                index.put(key, new Location(position, version, writeTime));
+            }
+        });
+        LOG.info("open external meta cache {}, segments: {}, entries: {}", dir, segments.getSegmentNum(),
+                index.size());
+    }
+
+    /**
+     * Get the value of the key, or null if it is not found, expired or of another version.
+     */
+    public synchronized byte[] get(String key, long version) {
+        Location location = index.get(key);
+        if (location == null || location.version != version) {
+            return null;
+        }
+        if (System.currentTimeMillis() - location.writeTime > expireMs) {
+            index.remove(key);
+            return null;
+        }
+        try {
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(segments.read(location.position)));
+            record.readUTF();
+            record.readLong();
+            record.readLong();
+            record.readBoolean();
+            byte[] value = new byte[record.available()];
+            record.readFully(value);
+            return value;
+        } catch (IOException e) {
+            LOG.warn("failed to read {} from external meta cache {}", key, dir, e);
+            index.remove(key);
+            return null;
+        }
+    }
+
+    public synchronized void put(String key, long version, byte[] value) {
+        try {
+            append(key, version, false, value);
+        } catch (IOException e) {
+            LOG.warn("failed to write {} to external meta cache {}", key, dir, e);
+        }
+    }
+
+    // the keys not expired with the prefix
+    public synchronized List<String> keys(String prefix) {
+        long now = System.currentTimeMillis();
+        List<String> keys = Lists.newArrayList();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && now - entry.getValue().writeTime <= expireMs) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    public synchronized void remove(String key) {
+        if (index.containsKey(key)) {
+            removeInternal(key);
+        }
+    }
+
+    public synchronized void removeByPrefix(String prefix) {
+        for (String key : Lists.newArrayList(index.keySet())) {
+            if (key.startsWith(prefix)) {
+                removeInternal(key);
+            }
+        }
+    }
+
+    private void removeInternal(String key) {
+        try {
+            append(key, 0, true, new byte[0]);
+        } catch (IOException e) {
+            // the entry may come back after FE restarts
+            LOG.warn("failed to remove {} from external meta cache {}", key, dir, e);
+        }
+        index.remove(key);
+    }
+
+    public synchronized void removeAll() {
+        segments.clear();
+        index.clear();
+    }
+
+    private void append(String key, long version, boolean deleted, byte[] value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(value.length + key.length() + 32);
+        DataOutputStream record = new DataOutputStream(bytes);
+        long writeTime = System.currentTimeMillis();
+        record.writeUTF(key);
+        record.writeLong(version);
+        record.writeLong(writeTime);
+        record.writeBoolean(deleted);
+        record.write(value);
+        Position position = segments.append(bytes.toByteArray());
+        if (!deleted) {
+            index.put(key, new Location(position, version, writeTime));
+        }
+
+        for (long segment : segments.deleteOldSegments()) {
+            Iterator<Location> iterator = index.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().position.getSegment() == segment) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized void close() {
+        segments.close();
+    }
+}
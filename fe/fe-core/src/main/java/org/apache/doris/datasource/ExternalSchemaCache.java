@@ -33,6 +33,11 @@ import lombok.Data;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -40,15 +45,21 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
-// The schema cache for external table
+// The schema cache for external table.
+// If the disk cache is set, a schema is also written to it, and is read from it before loading
+// from the remote system if the update time of the table is not changed.
 public class ExternalSchemaCache {
     private static final Logger LOG = LogManager.getLogger(ExternalSchemaCache.class);
+    private static final String DISK_KIND = "schema";
     private ExternalCatalog catalog;
+    // nullable
+    private ExternalMetaDiskCache diskCache;
 
     private LoadingCache<SchemaCacheKey, ImmutableList<Column>> schemaCache;
 
-    public ExternalSchemaCache(ExternalCatalog catalog, Executor executor) {
+    public ExternalSchemaCache(ExternalCatalog catalog, Executor executor, ExternalMetaDiskCache diskCache) {
         this.catalog = catalog;
+        this.diskCache = diskCache;
         init(executor);
         initMetrics();
     }
@@ -78,15 +89,72 @@ public class ExternalSchemaCache {
     }
 
     private ImmutableList<Column> loadSchema(SchemaCacheKey key) {
-        ImmutableList<Column> schema = ImmutableList.copyOf(catalog.getSchema(key.dbName, key.tblName));
+        ImmutableList<Column> schema = loadSchemaFromDisk(key);
+        if (schema != null) {
+            return schema;
+        }
+        schema = ImmutableList.copyOf(catalog.getSchema(key.dbName, key.tblName));
         if (LOG.isDebugEnabled()) {
             LOG.debug("load schema for {} in catalog {}", key, catalog.getName());
         }
+        saveSchemaToDisk(key, schema);
         return schema;
     }
 
+    private String diskKey(SchemaCacheKey key) {
+        return ExternalMetaDiskCache.key(key.dbName, key.tblName, DISK_KIND, ImmutableList.of());
+    }
+
+    private ImmutableList<Column> loadSchemaFromDisk(SchemaCacheKey key) {
+        // the schema of a table without update time can not be validated
+        if (diskCache == null || key.version <= 0) {
+            return null;
+        }
+        byte[] value = diskCache.get(diskKey(key), key.version);
+        if (value == null) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+            int num = in.readInt();
+            ImmutableList.Builder<Column> schema = ImmutableList.builderWithExpectedSize(num);
+            for (int i = 0; i < num; i++) {
+                schema.add(Column.read(in));
+            }
+            LOG.debug("load schema for {} from disk in catalog {}", key, catalog.getName());
+            return schema.build();
+        } catch (IOException e) {
+            LOG.warn("failed to decode schema for {} in catalog {}", key, catalog.getName(), e);
+            return null;
+        }
+    }
+
+    private void saveSchemaToDisk(SchemaCacheKey key, ImmutableList<Column> schema) {
+        if (diskCache == null || key.version <= 0) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(schema.size());
+            for (Column column : schema) {
+                column.write(out);
+            }
+            diskCache.put(diskKey(key), key.version, bytes.toByteArray());
+        } catch (IOException e) {
+            LOG.warn("failed to encode schema for {} in catalog {}", key, catalog.getName(), e);
+        }
+    }
+
     public List<Column> getSchema(String dbName, String tblName) {
-        SchemaCacheKey key = new SchemaCacheKey(dbName, tblName);
+        return getSchema(dbName, tblName, 0);
+    }
+
+    /**
+     * @param version the update time of the table, only used to validate the schema in the disk cache.
+     */
+    public List<Column> getSchema(String dbName, String tblName, long version) {
+        SchemaCacheKey key = new SchemaCacheKey(dbName, tblName, version);
         try {
             return schemaCache.get(key);
         } catch (ExecutionException e) {
@@ -96,7 +164,7 @@ public class ExternalSchemaCache {
     }
 
     public void invalidateTableCache(String dbName, String tblName) {
-        SchemaCacheKey key = new SchemaCacheKey(dbName, tblName);
+        SchemaCacheKey key = new SchemaCacheKey(dbName, tblName, 0);
         schemaCache.invalidate(key);
         LOG.debug("invalid schema cache for {}.{} in catalog {}", dbName, tblName, catalog.getName());
     }
@@ -122,10 +190,13 @@ public class ExternalSchemaCache {
     public static class SchemaCacheKey {
         private String dbName;
         private String tblName;
+        // not in key
+        private long version;
 
-        public SchemaCacheKey(String dbName, String tblName) {
+        public SchemaCacheKey(String dbName, String tblName, long version) {
             this.dbName = dbName;
             this.tblName = tblName;
+            this.version = version;
         }
 
         @Override
@@ -25,7 +25,9 @@ import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.datasource.CacheException;
+import org.apache.doris.datasource.ExternalMetaDiskCache;
 import org.apache.doris.datasource.HMSExternalCatalog;
 import org.apache.doris.external.hive.util.HiveUtil;
 import org.apache.doris.metric.GaugeMetric;
@@ -35,29 +37,42 @@ import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.planner.ColumnBound;
 import org.apache.doris.planner.ListPartitionPrunerV2;
 import org.apache.doris.planner.PartitionPrunerV2Base.UniqueId;
+import org.apache.doris.statistics.HiveAnalysisTask;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeMap;
+import com.google.common.collect.Sets;
 import com.google.common.collect.TreeRangeMap;
 import lombok.Data;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.HdfsConfiguration;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,19 +80,47 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 // The cache of a hms catalog. 3 kind of caches:
 // 1. partitionValuesCache: cache the partition values of a table, for partition prune.
 // 2. partitionCache: cache the partition info(location, input format, etc.) of a table.
 // 3. fileCache: cache the files of a location.
+// The partitions of a table are loaded in batches by get_partitions_by_names,
+// and the locations are listed in parallel by a bounded pool of each catalog.
+// If the disk cache is set, the partition names of the tables, the partitions and the files of the locations
+// are also written to it. The partitions are warmed up from it when the cache is created, and the missing
+// partition names and partitions are read from it before calling the metastore, so the first queries after
+// FE restarts do not wait for the metastore. The entries read from disk are checked against the metastore
+// in background, and are reloaded if the partition names or the last ddl time of the partition is changed.
+// The files of a location are only read from disk if the last ddl time of the partition is not changed.
 public class HiveMetaStoreCache {
+    // catalog property to overwrite Config.hive_file_listing_parallelism
+    public static final String FILE_LISTING_PARALLELISM = "file.listing.parallelism";
     private static final Logger LOG = LogManager.getLogger(HiveMetaStoreCache.class);
-    private static final int MIN_BATCH_FETCH_PARTITION_NUM = 50;
+    private static final String DISK_PARTITION_NAMES_KIND = "names";
+    private static final String DISK_PARTITION_KIND = "partition";
+    private static final String DISK_FILE_KIND = "file";
 
     private HMSExternalCatalog catalog;
+    // nullable
+    private ExternalMetaDiskCache diskCache;
+    // warm up and check the entries read from disk, null if the disk cache is not set
+    private Executor diskExecutor;
+    // increased by each invalidation, so that the warm up does not put back the invalidated partitions
+    private final AtomicLong invalidateGeneration = new AtomicLong();
+    // the entries read from disk, which are not checked against the metastore yet
+    private final Map<PartitionValueCacheKey, HivePartitionValues> unverifiedPartitionValues =
+            Maps.newConcurrentMap();
+    private final Map<PartitionCacheKey, DiskPartition> unverifiedPartitions = Maps.newConcurrentMap();
+    private final AtomicBoolean verifyScheduled = new AtomicBoolean(false);
+    private ThreadPoolExecutor fileListingExecutor;
+    private Histogram partitionLoadLatency;
+    private Histogram fileListingLatency;
 
     // cache from <dbname-tblname> -> <values of partitions>
     private LoadingCache<PartitionValueCacheKey, HivePartitionValues> partitionValuesCache;
@@ -86,13 +129,40 @@ public class HiveMetaStoreCache {
     // cache from <location> -> <file list>
     private LoadingCache<FileCacheKey, ImmutableList<InputSplit>> fileCache;
 
-    public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor) {
+    public HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor, ExternalMetaDiskCache diskCache) {
+        this(catalog, executor, diskCache, diskCache == null ? null : newDiskExecutor(catalog));
+    }
+
+    // for test, to run the warm up and the check of the disk entries by the given executor
+    HiveMetaStoreCache(HMSExternalCatalog catalog, Executor executor, ExternalMetaDiskCache diskCache,
+            Executor diskExecutor) {
         this.catalog = catalog;
+        this.diskCache = diskCache;
+        this.diskExecutor = diskExecutor;
         init(executor);
         initMetrics();
+        if (diskCache != null) {
+            diskExecutor.execute(this::warmUpPartitions);
+        }
+    }
+
+    // a single thread, so the check never runs before the warm up. the tasks are never discarded.
+    private static Executor newDiskExecutor(HMSExternalCatalog catalog) {
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(1, Integer.MAX_VALUE,
+                "hive-meta-disk-" + catalog.getName(), false);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     private void init(Executor executor) {
+        int parallelism = Integer.parseInt(catalog.getProperties().getOrDefault(FILE_LISTING_PARALLELISM,
+                String.valueOf(Config.hive_file_listing_parallelism)));
+        Preconditions.checkArgument(parallelism > 0, FILE_LISTING_PARALLELISM + ": " + parallelism);
+        fileListingExecutor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, Integer.MAX_VALUE,
+                "hive-file-listing-" + catalog.getName(), false);
+        // the threads of a dropped catalog exit after being idle
+        fileListingExecutor.allowCoreThreadTimeOut(true);
+
         partitionValuesCache = CacheBuilder.newBuilder().maximumSize(Config.max_hive_partition_cache_num)
                 .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES)
                 .build(CacheLoader.asyncReloading(
@@ -108,7 +178,13 @@ public class HiveMetaStoreCache {
                 .build(CacheLoader.asyncReloading(new CacheLoader<PartitionCacheKey, HivePartition>() {
                     @Override
                     public HivePartition load(PartitionCacheKey key) throws Exception {
-                        return loadPartitions(key);
+                        return loadPartition(key);
+                    }
+
+                    @Override
+                    public Map<PartitionCacheKey, HivePartition> loadAll(Iterable<? extends PartitionCacheKey> keys)
+                            throws Exception {
+                        return loadPartitions(keys);
                     }
                 }, executor));
 
@@ -119,6 +195,12 @@ public class HiveMetaStoreCache {
                     public ImmutableList<InputSplit> load(FileCacheKey key) throws Exception {
                         return loadFiles(key);
                     }
+
+                    @Override
+                    public Map<FileCacheKey, ImmutableList<InputSplit>> loadAll(Iterable<? extends FileCacheKey> keys)
+                            throws Exception {
+                        return loadFiles(keys);
+                    }
                 }, executor));
     }
 
@@ -156,11 +238,27 @@ public class HiveMetaStoreCache {
         fileCacheGauge.addLabel(new MetricLabel("type", "file"));
         fileCacheGauge.addLabel(new MetricLabel("catalog", catalog.getName()));
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(fileCacheGauge);
+        // latency of a metastore call and a directory listing
+        partitionLoadLatency = MetricRepo.METRIC_REGISTER.histogram(MetricRegistry.name("hive_meta_cache",
+                "partition_load", "latency", "ms", "catalog=" + catalog.getName()));
+        fileListingLatency = MetricRepo.METRIC_REGISTER.histogram(MetricRegistry.name("hive_meta_cache",
+                "file_listing", "latency", "ms", "catalog=" + catalog.getName()));
     }
 
     private HivePartitionValues loadPartitionValues(PartitionValueCacheKey key) {
+        List<String> partitionNames = loadPartitionNamesFromDisk(key);
+        if (partitionNames != null) {
+            HivePartitionValues partitionValues = buildPartitionValues(key, partitionNames);
+            unverifiedPartitionValues.put(key, partitionValues);
+            return partitionValues;
+        }
         // partition name format: nation=cn/city=beijing
-        List<String> partitionNames = catalog.getClient().listPartitionNames(key.dbName, key.tblName);
+        partitionNames = catalog.getClient().listPartitionNames(key.dbName, key.tblName);
+        savePartitionNamesToDisk(key, partitionNames);
+        return buildPartitionValues(key, partitionNames);
+    }
+
+    private HivePartitionValues buildPartitionValues(PartitionValueCacheKey key, List<String> partitionNames) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("load #{} partitions for {} in catalog {}", partitionNames.size(), key, catalog.getName());
         }
@@ -214,18 +312,447 @@ public class HiveMetaStoreCache {
         }
     }
 
-    private HivePartition loadPartitions(PartitionCacheKey key) {
+    private HivePartition loadPartition(PartitionCacheKey key) {
+        HivePartition hivePartition = loadPartitionFromDisk(key);
+        if (hivePartition != null) {
+            return hivePartition;
+        }
+        hivePartition = fetchPartition(key);
+        // the partition name is unknown
+        savePartitionToDisk(key, "", hivePartition);
+        return hivePartition;
+    }
+
+    private HivePartition fetchPartition(PartitionCacheKey key) {
+        long start = System.currentTimeMillis();
         Partition partition = catalog.getClient().getPartition(key.dbName, key.tblName, key.values);
+        partitionLoadLatency.update(System.currentTimeMillis() - start);
+        return toHivePartition(key, partition);
+    }
+
+    private HivePartition toHivePartition(PartitionCacheKey key, Partition partition) {
         StorageDescriptor sd = partition.getSd();
         if (LOG.isDebugEnabled()) {
             LOG.debug("load partition format: {}, location: {} for {} in catalog {}",
                     sd.getInputFormat(), sd.getLocation(), key, catalog.getName());
         }
+        long version = 0;
+        if (partition.getParameters() != null && partition.getParameters().containsKey(HiveAnalysisTask.TIMESTAMP)) {
+            try {
+                version = Long.parseLong(partition.getParameters().get(HiveAnalysisTask.TIMESTAMP)) * 1000;
+            } catch (NumberFormatException e) {
+                // the files of the partition are not kept on disk
+            }
+        }
         // TODO: more info?
-        return new HivePartition(sd.getInputFormat(), sd.getLocation(), key.values);
+        return new HivePartition(key.dbName, key.tblName, sd.getInputFormat(), sd.getLocation(), key.values,
+                version);
+    }
+
+    private Map<PartitionCacheKey, HivePartition> loadPartitions(Iterable<? extends PartitionCacheKey> keys) {
+        Map<PartitionValueCacheKey, List<PartitionCacheKey>> tableToKeys = Maps.newHashMap();
+        for (PartitionCacheKey key : keys) {
+            tableToKeys.computeIfAbsent(new PartitionValueCacheKey(key.dbName, key.tblName, null),
+                    k -> Lists.newArrayList()).add(key);
+        }
+        Map<PartitionCacheKey, HivePartition> ret = Maps.newHashMap();
+        for (Map.Entry<PartitionValueCacheKey, List<PartitionCacheKey>> entry : tableToKeys.entrySet()) {
+            loadPartitionsOfTable(entry.getKey(), entry.getValue(), ret);
+        }
+        return ret;
+    }
+
+    private void loadPartitionsOfTable(PartitionValueCacheKey tableKey, List<PartitionCacheKey> keys,
+            Map<PartitionCacheKey, HivePartition> ret) {
+        Map<List<String>, PartitionCacheKey> valuesToKey = Maps.newHashMapWithExpectedSize(keys.size());
+        for (PartitionCacheKey key : keys) {
+            HivePartition partition = loadPartitionFromDisk(key);
+            if (partition != null) {
+                ret.put(key, partition);
+            } else {
+                valuesToKey.put(key.values, key);
+            }
+        }
+        // get_partitions_by_names needs the partition names, which are only known by the partition values cache
+        Map<PartitionCacheKey, String> keyToName = Maps.newHashMapWithExpectedSize(valuesToKey.size());
+        HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(tableKey);
+        if (partitionValues != null && !valuesToKey.isEmpty()) {
+            for (Map.Entry<String, Long> entry : partitionValues.partitionNameToIdMap.entrySet()) {
+                PartitionCacheKey key = valuesToKey.get(partitionValues.partitionValuesMap.get(entry.getValue()));
+                if (key != null) {
+                    keyToName.put(key, entry.getKey());
+                }
+            }
+        }
+        Map<PartitionCacheKey, HivePartition> fetched = fetchPartitionsByNames(tableKey, keyToName);
+        // the partitions not in the partition values cache or not returned in batch are loaded one by one
+        for (PartitionCacheKey key : valuesToKey.values()) {
+            HivePartition partition = fetched.get(key);
+            if (partition == null) {
+                partition = fetchPartition(key);
+            }
+            savePartitionToDisk(key, keyToName.getOrDefault(key, ""), partition);
+            ret.put(key, partition);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("load #{} partitions for {} in catalog {}, batch fetch #{}",
+                    keys.size(), tableKey, catalog.getName(), keyToName.size());
+        }
+    }
+
+    private Map<PartitionCacheKey, HivePartition> fetchPartitionsByNames(PartitionValueCacheKey tableKey,
+            Map<PartitionCacheKey, String> keyToName) {
+        Map<List<String>, PartitionCacheKey> valuesToKey = Maps.newHashMapWithExpectedSize(keyToName.size());
+        keyToName.keySet().forEach(key -> valuesToKey.put(key.values, key));
+        Map<PartitionCacheKey, HivePartition> ret = Maps.newHashMapWithExpectedSize(keyToName.size());
+        for (List<String> batch : Iterables.partition(keyToName.values(),
+                Math.max(1, Config.hive_partition_batch_fetch_num))) {
+            long start = System.currentTimeMillis();
+            List<Partition> partitions = catalog.getClient().getPartitionsByNames(tableKey.dbName,
+                    tableKey.tblName, batch);
+            partitionLoadLatency.update(System.currentTimeMillis() - start);
+            for (Partition partition : partitions) {
+                PartitionCacheKey key = valuesToKey.get(partition.getValues());
+                if (key != null) {
+                    ret.put(key, toHivePartition(key, partition));
+                }
+            }
+        }
+        return ret;
+    }
+
+    private String diskKey(PartitionValueCacheKey key) {
+        return ExternalMetaDiskCache.key(key.dbName, key.tblName, DISK_PARTITION_NAMES_KIND, ImmutableList.of());
+    }
+
+    private String diskKey(PartitionCacheKey key) {
+        return ExternalMetaDiskCache.key(key.dbName, key.tblName, DISK_PARTITION_KIND, key.values);
+    }
+
+    // the partition names on disk are used until they are checked against the metastore
+    private List<String> loadPartitionNamesFromDisk(PartitionValueCacheKey key) {
+        if (diskCache == null) {
+            return null;
+        }
+        byte[] value = diskCache.get(diskKey(key), 0);
+        if (value == null) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+            int num = in.readInt();
+            List<String> partitionNames = Lists.newArrayListWithExpectedSize(num);
+            for (int i = 0; i < num; i++) {
+                partitionNames.add(in.readUTF());
+            }
+            return partitionNames;
+        } catch (IOException e) {
+            LOG.warn("failed to decode partition names for {} in catalog {}", key, catalog.getName(), e);
+            return null;
+        }
+    }
+
+    private void savePartitionNamesToDisk(PartitionValueCacheKey key, List<String> partitionNames) {
+        if (diskCache == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(partitionNames.size());
+            for (String partitionName : partitionNames) {
+                out.writeUTF(partitionName);
+            }
+            diskCache.put(diskKey(key), 0, bytes.toByteArray());
+        } catch (IOException e) {
+            LOG.warn("failed to encode partition names for {} in catalog {}", key, catalog.getName(), e);
+        }
+    }
+
+    // the partitions on disk are used until they are checked against the metastore
+    private HivePartition loadPartitionFromDisk(PartitionCacheKey key) {
+        if (diskCache == null) {
+            return null;
+        }
+        byte[] value = diskCache.get(diskKey(key), 0);
+        if (value == null) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+            String partitionName = in.readUTF();
+            String inputFormat = Strings.emptyToNull(in.readUTF());
+            String location = in.readUTF();
+            long version = in.readLong();
+            HivePartition partition = new HivePartition(key.dbName, key.tblName, inputFormat, location, key.values,
+                    version);
+            unverifiedPartitions.put(key, new DiskPartition(partition, partitionName));
+            return partition;
+        } catch (IOException e) {
+            LOG.warn("failed to decode partition for {} in catalog {}", key, catalog.getName(), e);
+            return null;
+        }
+    }
+
+    // the partition name is empty if unknown
+    private void savePartitionToDisk(PartitionCacheKey key, String partitionName, HivePartition partition) {
+        if (diskCache == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(partitionName);
+            out.writeUTF(Strings.nullToEmpty(partition.getInputFormat()));
+            out.writeUTF(partition.getPath());
+            out.writeLong(partition.getVersion());
+            diskCache.put(diskKey(key), 0, bytes.toByteArray());
+        } catch (IOException e) {
+            LOG.warn("failed to encode partition for {} in catalog {}", key, catalog.getName(), e);
+        }
+    }
+
+    private void warmUpPartitions() {
+        long start = System.currentTimeMillis();
+        long generation = invalidateGeneration.get();
+        int num = 0;
+        for (String diskKey : diskCache.keys("")) {
+            if (partitionCache.size() >= Config.max_hive_partition_cache_num) {
+                break;
+            }
+            // db, table, kind, partition values
+            List<String> parts = ExternalMetaDiskCache.splitKey(diskKey);
+            if (parts.size() < 4 || !DISK_PARTITION_KIND.equals(parts.get(2))) {
+                continue;
+            }
+            PartitionCacheKey key = new PartitionCacheKey(parts.get(0), parts.get(1),
+                    Lists.newArrayList(parts.subList(3, parts.size())));
+            HivePartition partition = loadPartitionFromDisk(key);
+            if (partition == null) {
+                continue;
+            }
+            partitionCache.asMap().putIfAbsent(key, partition);
+            if (invalidateGeneration.get() != generation) {
+                // the partition may be invalidated before it is put
+                partitionCache.invalidate(key);
+                unverifiedPartitions.remove(key);
+                break;
+            }
+            num++;
+        }
+        LOG.info("warm up #{} partitions from disk in catalog {}, cost: {} ms", num, catalog.getName(),
+                System.currentTimeMillis() - start);
+        scheduleVerify();
+    }
+
+    private void scheduleVerify() {
+        if (diskExecutor == null || (unverifiedPartitionValues.isEmpty() && unverifiedPartitions.isEmpty())) {
+            return;
+        }
+        if (verifyScheduled.compareAndSet(false, true)) {
+            diskExecutor.execute(() -> {
+                verifyScheduled.set(false);
+                verifyDiskEntries();
+            });
+        }
+    }
+
+    // check the entries read from disk against the metastore, and reload the changed ones
+    private void verifyDiskEntries() {
+        long start = System.currentTimeMillis();
+        int verifiedNum = 0;
+        int changedNum = 0;
+        for (Map.Entry<PartitionValueCacheKey, HivePartitionValues> entry
+                : Lists.newArrayList(unverifiedPartitionValues.entrySet())) {
+            if (!unverifiedPartitionValues.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            verifiedNum++;
+            if (verifyPartitionValues(entry.getKey(), entry.getValue())) {
+                changedNum++;
+            }
+        }
+
+        Map<PartitionValueCacheKey, Map<PartitionCacheKey, DiskPartition>> tableToPartitions = Maps.newHashMap();
+        for (Map.Entry<PartitionCacheKey, DiskPartition> entry : Lists.newArrayList(unverifiedPartitions.entrySet())) {
+            PartitionCacheKey key = entry.getKey();
+            if (unverifiedPartitions.remove(key, entry.getValue())) {
+                tableToPartitions.computeIfAbsent(new PartitionValueCacheKey(key.dbName, key.tblName, null),
+                        k -> Maps.newHashMap()).put(key, entry.getValue());
+            }
+        }
+        for (Map.Entry<PartitionValueCacheKey, Map<PartitionCacheKey, DiskPartition>> entry
+                : tableToPartitions.entrySet()) {
+            try {
+                changedNum += verifyPartitionsOfTable(entry.getKey(), entry.getValue());
+                verifiedNum += entry.getValue().size();
+            } catch (RuntimeException e) {
+                // checked again when the next entry is read from disk
+                LOG.warn("failed to verify #{} partitions of {} read from disk in catalog {}",
+                        entry.getValue().size(), entry.getKey(), catalog.getName(), e);
+                entry.getValue().forEach(unverifiedPartitions::putIfAbsent);
+            }
+        }
+        LOG.info("verify #{} entries read from disk in catalog {}, changed: {}, cost: {} ms", verifiedNum,
+                catalog.getName(), changedNum, System.currentTimeMillis() - start);
+    }
+
+    private boolean verifyPartitionValues(PartitionValueCacheKey key, HivePartitionValues partitionValues) {
+        List<String> partitionNames;
+        try {
+            partitionNames = catalog.getClient().listPartitionNames(key.dbName, key.tblName);
+        } catch (RuntimeException e) {
+            LOG.warn("failed to verify partition names of {} read from disk in catalog {}",
+                    key, catalog.getName(), e);
+            unverifiedPartitionValues.putIfAbsent(key, partitionValues);
+            return false;
+        }
+        if (Sets.newHashSet(partitionNames).equals(partitionValues.partitionNameToIdMap.keySet())) {
+            return false;
+        }
+        savePartitionNamesToDisk(key, partitionNames);
+        // not replaced if the cached one is invalidated or updated since it is read from disk
+        partitionValuesCache.asMap().replace(key, partitionValues, buildPartitionValues(key, partitionNames));
+        return true;
+    }
+
+    private int verifyPartitionsOfTable(PartitionValueCacheKey tableKey,
+            Map<PartitionCacheKey, DiskPartition> partitions) {
+        Map<PartitionCacheKey, String> keyToName = Maps.newHashMapWithExpectedSize(partitions.size());
+        partitions.forEach((key, diskPartition) -> {
+            if (!diskPartition.partitionName.isEmpty()) {
+                keyToName.put(key, diskPartition.partitionName);
+            }
+        });
+        Map<PartitionCacheKey, HivePartition> fetched = fetchPartitionsByNames(tableKey, keyToName);
+        int changedNum = 0;
+        for (Map.Entry<PartitionCacheKey, DiskPartition> entry : partitions.entrySet()) {
+            PartitionCacheKey key = entry.getKey();
+            HivePartition diskPartition = entry.getValue().partition;
+            HivePartition partition = fetched.get(key);
+            if (partition == null) {
+                try {
+                    partition = fetchPartition(key);
+                } catch (RuntimeException e) {
+                    // the partition may be dropped, it is loaded from the metastore at the next access
+                    LOG.info("drop partition {} read from disk in catalog {}: {}", key, catalog.getName(),
+                            e.getMessage());
+                    partitionCache.asMap().remove(key, diskPartition);
+                    fileCache.invalidate(new FileCacheKey(diskPartition.getPath(), null));
+                    diskCache.remove(diskKey(key));
+                    changedNum++;
+                    continue;
+                }
+            }
+            if (partition.getVersion() == diskPartition.getVersion()
+                    && Objects.equals(partition.getPath(), diskPartition.getPath())
+                    && Objects.equals(partition.getInputFormat(), diskPartition.getInputFormat())) {
+                continue;
+            }
+            savePartitionToDisk(key, entry.getValue().partitionName, partition);
+            // not replaced if the cached one is invalidated since it is read from disk
+            partitionCache.asMap().replace(key, diskPartition, partition);
+            fileCache.invalidate(new FileCacheKey(diskPartition.getPath(), null));
+            changedNum++;
+        }
+        return changedNum;
+    }
+
+    private Map<FileCacheKey, ImmutableList<InputSplit>> loadFiles(Iterable<? extends FileCacheKey> keys) {
+        Map<FileCacheKey, Future<ImmutableList<InputSplit>>> futures = Maps.newHashMap();
+        for (FileCacheKey key : keys) {
+            futures.put(key, fileListingExecutor.submit(() -> loadFiles(key)));
+        }
+        Map<FileCacheKey, ImmutableList<InputSplit>> ret = Maps.newHashMapWithExpectedSize(futures.size());
+        try {
+            for (Map.Entry<FileCacheKey, Future<ImmutableList<InputSplit>>> entry : futures.entrySet()) {
+                ret.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            throw new CacheException("failed to list #%d locations in catalog %s", e, futures.size(),
+                    catalog.getName());
+        }
+        return ret;
     }
 
     private ImmutableList<InputSplit> loadFiles(FileCacheKey key) {
+        ImmutableList<InputSplit> files = loadFilesFromDisk(key);
+        if (files != null) {
+            return files;
+        }
+        files = listFiles(key);
+        saveFilesToDisk(key, files);
+        return files;
+    }
+
+    private String diskKey(FileCacheKey key) {
+        return ExternalMetaDiskCache.key(key.dbName, key.tblName, DISK_FILE_KIND, ImmutableList.of(key.location));
+    }
+
+    // the files of a location is only valid if the partition is not modified, the version of the key is the
+    // last ddl time of the partition just loaded from the metastore
+    private ImmutableList<InputSplit> loadFilesFromDisk(FileCacheKey key) {
+        if (diskCache == null || key.dbName == null || key.version <= 0) {
+            return null;
+        }
+        byte[] value = diskCache.get(diskKey(key), key.version);
+        if (value == null) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+            int num = in.readInt();
+            ImmutableList.Builder<InputSplit> files = ImmutableList.builderWithExpectedSize(num);
+            for (int i = 0; i < num; i++) {
+                Path path = new Path(in.readUTF());
+                long start = in.readLong();
+                long length = in.readLong();
+                String[] hosts = new String[in.readInt()];
+                for (int j = 0; j < hosts.length; j++) {
+                    hosts[j] = in.readUTF();
+                }
+                files.add(new FileSplit(path, start, length, hosts));
+            }
+            LOG.debug("load #{} files for {} from disk in catalog {}", num, key, catalog.getName());
+            return files.build();
+        } catch (IOException e) {
+            LOG.warn("failed to decode files for {} in catalog {}", key, catalog.getName(), e);
+            return null;
+        }
+    }
+
+    private void saveFilesToDisk(FileCacheKey key, ImmutableList<InputSplit> files) {
+        if (diskCache == null || key.dbName == null || key.version <= 0) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(files.size());
+            for (InputSplit file : files) {
+                // the splits of other formats may have more info
+                if (file.getClass() != FileSplit.class) {
+                    return;
+                }
+                FileSplit fileSplit = (FileSplit) file;
+                out.writeUTF(fileSplit.getPath().toString());
+                out.writeLong(fileSplit.getStart());
+                out.writeLong(fileSplit.getLength());
+                String[] hosts = fileSplit.getLocations();
+                out.writeInt(hosts.length);
+                for (String host : hosts) {
+                    out.writeUTF(host);
+                }
+            }
+            diskCache.put(diskKey(key), key.version, bytes.toByteArray());
+        } catch (IOException e) {
+            LOG.warn("failed to encode files for {} in catalog {}", key, catalog.getName(), e);
+        }
+    }
+
+    private ImmutableList<InputSplit> listFiles(FileCacheKey key) {
+        long start = System.currentTimeMillis();
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(ClassLoader.getSystemClassLoader());
@@ -254,6 +781,7 @@ public class HiveMetaStoreCache {
             }
         } finally {
             Thread.currentThread().setContextClassLoader(classLoader);
+            fileListingLatency.update(System.currentTimeMillis() - start);
         }
     }
 
@@ -289,34 +817,32 @@ public class HiveMetaStoreCache {
     }
 
     public HivePartitionValues getPartitionValues(PartitionValueCacheKey key) {
+        HivePartitionValues partitionValues;
         try {
-            return partitionValuesCache.get(key);
+            partitionValues = partitionValuesCache.get(key);
         } catch (ExecutionException e) {
             throw new CacheException("failed to get partition values for %s in catalog %s", e, key, catalog.getName());
         }
+        scheduleVerify();
+        return partitionValues;
     }
 
     public List<InputSplit> getFilesByPartitions(List<HivePartition> partitions) {
         long start = System.currentTimeMillis();
         List<FileCacheKey> keys = Lists.newArrayListWithExpectedSize(partitions.size());
-        partitions.stream().forEach(p -> keys.add(new FileCacheKey(p.getPath(), p.getInputFormat())));
+        partitions.stream().forEach(p -> keys.add(new FileCacheKey(p.getPath(), p.getInputFormat(),
+                p.getDbName(), p.getTblName(), p.getVersion())));
 
-        Stream<FileCacheKey> stream;
-        if (partitions.size() < MIN_BATCH_FETCH_PARTITION_NUM) {
-            stream = keys.stream();
-        } else {
-            stream = keys.parallelStream();
+        // the missing locations are listed in parallel by fileCache's loadAll
+        Map<FileCacheKey, ImmutableList<InputSplit>> fileLists;
+        try {
+            fileLists = fileCache.getAll(keys);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
         }
-        List<ImmutableList<InputSplit>> fileLists = stream.map(k -> {
-            try {
-                return fileCache.get(k);
-            } catch (ExecutionException e) {
-                throw new RuntimeException(e);
-            }
-        }).collect(Collectors.toList());
         List<InputSplit> retFiles = Lists.newArrayListWithExpectedSize(
-                fileLists.stream().mapToInt(l -> l.size()).sum());
-        fileLists.stream().forEach(l -> retFiles.addAll(l));
+                fileLists.values().stream().mapToInt(l -> l.size()).sum());
+        keys.stream().forEach(k -> retFiles.addAll(fileLists.get(k)));
         LOG.debug("get #{} files from #{} partitions in catalog {} cost: {} ms",
                 retFiles.size(), partitions.size(), catalog.getName(), (System.currentTimeMillis() - start));
         return retFiles;
@@ -327,28 +853,29 @@ public class HiveMetaStoreCache {
         List<PartitionCacheKey> keys = Lists.newArrayListWithExpectedSize(partitionValuesList.size());
         partitionValuesList.stream().forEach(p -> keys.add(new PartitionCacheKey(dbName, name, p)));
 
-        Stream<PartitionCacheKey> stream;
-        if (partitionValuesList.size() < MIN_BATCH_FETCH_PARTITION_NUM) {
-            stream = keys.stream();
-        } else {
-            stream = keys.parallelStream();
+        // the missing partitions are loaded in batches by partitionCache's loadAll
+        Map<PartitionCacheKey, HivePartition> partitionMap;
+        try {
+            partitionMap = partitionCache.getAll(keys);
+        } catch (ExecutionException e) {
+            throw new CacheException("failed to get #%d partitions for %s.%s in catalog %s", e, keys.size(),
+                    dbName, name, catalog.getName());
         }
-        List<HivePartition> partitions = stream.map(k -> {
-            try {
-                return partitionCache.get(k);
-            } catch (ExecutionException e) {
-                throw new CacheException("failed to get partition for %s in catalog %s", e, k, catalog.getName());
-            }
-        }).collect(Collectors.toList());
+        scheduleVerify();
+        List<HivePartition> partitions = Lists.newArrayListWithExpectedSize(keys.size());
+        keys.stream().forEach(k -> partitions.add(partitionMap.get(k)));
         LOG.debug("get #{} partitions in catalog {} cost: {} ms", partitions.size(), catalog.getName(),
                 (System.currentTimeMillis() - start));
         return partitions;
     }
 
     public void invalidateTableCache(String dbName, String tblName) {
+        invalidateGeneration.incrementAndGet();
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
-        if (partitionValues != null) {
+        if (partitionValues == null) {
+            invalidateWarmedPartitions(dbName, tblName);
+        } else {
             long start = System.currentTimeMillis();
             for (List<String> values : partitionValues.partitionValuesMap.values()) {
                 PartitionCacheKey partKey = new PartitionCacheKey(dbName, tblName, values);
@@ -366,9 +893,12 @@ public class HiveMetaStoreCache {
     }
 
     public void invalidatePartitionCache(String dbName, String tblName, String partitionName) {
+        invalidateGeneration.incrementAndGet();
         PartitionValueCacheKey key = new PartitionValueCacheKey(dbName, tblName, null);
         HivePartitionValues partitionValues = partitionValuesCache.getIfPresent(key);
-        if (partitionValues != null) {
+        if (partitionValues == null) {
+            invalidateWarmedPartitions(dbName, tblName);
+        } else {
             Long partitionId = partitionValues.partitionNameToIdMap.get(partitionName);
             List<String> values = partitionValues.partitionValuesMap.get(partitionId);
             PartitionCacheKey partKey = new PartitionCacheKey(dbName, tblName, values);
@@ -380,7 +910,23 @@ public class HiveMetaStoreCache {
         }
     }
 
+    // the partitions warmed up from disk may be cached without the partition values of the table
+    private void invalidateWarmedPartitions(String dbName, String tblName) {
+        if (diskCache == null) {
+            return;
+        }
+        for (Map.Entry<PartitionCacheKey, HivePartition> entry : partitionCache.asMap().entrySet()) {
+            PartitionCacheKey key = entry.getKey();
+            if (key.dbName.equals(dbName) && (tblName == null || key.tblName.equals(tblName))) {
+                fileCache.invalidate(new FileCacheKey(entry.getValue().getPath(), null));
+                partitionCache.invalidate(key);
+            }
+        }
+    }
+
     public void invalidateDbCache(String dbName) {
+        invalidateGeneration.incrementAndGet();
+        invalidateWarmedPartitions(dbName, null);
         long start = System.currentTimeMillis();
         Set<PartitionValueCacheKey> keys = partitionValuesCache.asMap().keySet();
         for (PartitionValueCacheKey key : keys) {
@@ -393,6 +939,9 @@ public class HiveMetaStoreCache {
     }
 
     public void invalidateAll() {
+        invalidateGeneration.incrementAndGet();
+        unverifiedPartitionValues.clear();
+        unverifiedPartitions.clear();
         partitionValuesCache.invalidateAll();
         partitionCache.invalidateAll();
         fileCache.invalidateAll();
@@ -506,6 +1055,18 @@ public class HiveMetaStoreCache {
         partitionValuesCache.put(key, values);
     }
 
+    // a partition read from disk, with its name to fetch it in batch
+    private static class DiskPartition {
+        private final HivePartition partition;
+        // empty if unknown
+        private final String partitionName;
+
+        DiskPartition(HivePartition partition, String partitionName) {
+            this.partition = partition;
+            this.partitionName = partitionName;
+        }
+    }
+
     /**
      * The Key of hive partition value cache
      */
@@ -587,10 +1148,21 @@ public class HiveMetaStoreCache {
         private String location;
         // not in key
         private String inputFormat;
+        // not in key, the table and the version of the partition, to validate the files in the disk cache
+        private String dbName;
+        private String tblName;
+        private long version;
 
         public FileCacheKey(String location, String inputFormat) {
+            this(location, inputFormat, null, null, 0);
+        }
+
+        public FileCacheKey(String location, String inputFormat, String dbName, String tblName, long version) {
             this.location = location;
             this.inputFormat = inputFormat;
+            this.dbName = dbName;
+            this.tblName = tblName;
+            this.version = version;
         }
 
         @Override
@@ -23,24 +23,35 @@ import java.util.List;
 
 @Data
 public class HivePartition {
+    private String dbName;
+    private String tblName;
     private String inputFormat;
     private String path;
     private List<String> partitionValues;
+    private long version;
 
-    public HivePartition(String inputFormat, String path, List<String> partitionValues) {
+    public HivePartition(String dbName, String tblName, String inputFormat, String path,
+            List<String> partitionValues, long version) {
+        this.dbName = dbName;
+        this.tblName = tblName;
         // eg: org.apache.hadoop.hive.ql.io.parquet.MapredParquetInputFormat
         this.inputFormat = inputFormat;
         // eg: hdfs://hk-dev01:8121/user/doris/parquet/partition_table/nation=cn/city=beijing
         this.path = path;
         // eg: cn, beijing
         this.partitionValues = partitionValues;
+        // the last ddl time of the partition, or of the table if it is not partitioned. 0 if unknown.
+        this.version = version;
     }
 
     @Override
     public String toString() {
         return "HivePartition{"
-                + "inputFormat='" + inputFormat + '\''
+                + "dbName='" + dbName + '\''
+                + ", tblName='" + tblName + '\''
+                + ", inputFormat='" + inputFormat + '\''
                 + ", path='" + path + '\''
-                + ", partitionValues=" + partitionValues + '}';
+                + ", partitionValues=" + partitionValues
+                + ", version=" + version + '}';
     }
 }
@@ -108,6 +108,15 @@ public class PooledHiveMetaStoreClient {
         }
     }
 
+    public List<Partition> getPartitionsByNames(String dbName, String tblName, List<String> partitionNames) {
+        try (CachedClient client = getClient()) {
+            return client.client.getPartitionsByNames(dbName, tblName, partitionNames);
+        } catch (Exception e) {
+            throw new HMSClientException("failed to get #%d partitions by names for table %s in db %s", e,
+                    partitionNames.size(), tblName, dbName);
+        }
+    }
+
     public List<Partition> getPartitionsByFilter(String dbName, String tblName, String filter) {
         try (CachedClient client = getClient()) {
             return client.client.listPartitionsByFilter(dbName, tblName, filter, MAX_LIST_PARTITION_NUM);
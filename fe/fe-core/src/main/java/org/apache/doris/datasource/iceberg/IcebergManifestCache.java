@@ -0,0 +1,230 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.datasource.iceberg;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestFiles;
+import org.apache.iceberg.ManifestReader;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.io.FileIO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the parsed manifests of iceberg tables, shared by all catalogs.
+ * 1. The data and delete manifests of a snapshot, keyed by the snapshot id and its manifest list location.
+ * 2. The live data files of a data manifest, keyed by the manifest path and weighed by their estimated bytes,
+ *    most of which are the column stats used to filter the files.
+ * Both of them are immutable once written, but the keys contain the catalog id,
+ * so the entries of a catalog can be dropped when the catalog is refreshed or dropped.
+ */
+public class IcebergManifestCache {
+    // the estimated bytes of a data file object without the stats, and of an entry of the stats maps
+    private static final int DATA_FILE_BASE_BYTES = 512;
+    private static final int STATS_ENTRY_BYTES = 64;
+
+    private final Cache<SnapshotKey, SnapshotManifests> snapshotManifestsCache;
+    private final Cache<ManifestKey, ImmutableList<DataFile>> dataFilesCache;
+
+    public IcebergManifestCache() {
+        this(Config.max_iceberg_manifest_cache_bytes);
+    }
+
+    public IcebergManifestCache(long maxBytes) {
+        snapshotManifestsCache = CacheBuilder.newBuilder().maximumSize(Config.max_hive_partition_cache_num)
+                .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES)
+                .build();
+        dataFilesCache = CacheBuilder.newBuilder().maximumWeight(maxBytes)
+                .weigher((ManifestKey key, ImmutableList<DataFile> files) -> weigh(key, files))
+                .expireAfterAccess(Config.external_cache_expire_time_minutes_after_access, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public SnapshotManifests getManifests(long catalogId, Snapshot snapshot, FileIO io) throws IOException {
+        if (snapshot.manifestListLocation() == null) {
+            // the manifests of v1 tables may be written in table metadata without a manifest list
+            return new SnapshotManifests(snapshot.dataManifests(io), snapshot.deleteManifests(io));
+        }
+        try {
+            return snapshotManifestsCache.get(
+                    new SnapshotKey(catalogId, snapshot.snapshotId(), snapshot.manifestListLocation()),
+                    () -> new SnapshotManifests(snapshot.dataManifests(io), snapshot.deleteManifests(io)));
+        } catch (ExecutionException e) {
+            throw new IOException("failed to read manifest list " + snapshot.manifestListLocation(), e.getCause());
+        }
+    }
+
+    /**
+     * Return the cached live data files of the manifest, or null if not cached.
+     */
+    public List<DataFile> getCachedDataFiles(long catalogId, ManifestFile manifest) {
+        return dataFilesCache.getIfPresent(new ManifestKey(catalogId, manifest.path()));
+    }
+
+    public List<DataFile> loadDataFiles(long catalogId, ManifestFile manifest, FileIO io,
+            Map<Integer, PartitionSpec> specs) throws IOException {
+        ImmutableList.Builder<DataFile> builder = ImmutableList.builder();
+        try (ManifestReader<DataFile> reader = ManifestFiles.read(manifest, io, specs)) {
+            for (DataFile file : reader) {
+                // the reader may reuse the file object
+                builder.add(file.copy());
+            }
+        }
+        ImmutableList<DataFile> files = builder.build();
+        dataFilesCache.put(new ManifestKey(catalogId, manifest.path()), files);
+        return files;
+    }
+
+    /**
+     * Drop all the cached manifests of the catalog, called when the catalog is refreshed or dropped.
+     */
+    public void invalidateCatalog(long catalogId) {
+        snapshotManifestsCache.asMap().keySet().removeIf(key -> key.catalogId == catalogId);
+        dataFilesCache.asMap().keySet().removeIf(key -> key.catalogId == catalogId);
+    }
+
+    public long getDataFilesWeight() {
+        return dataFilesCache.asMap().entrySet().stream()
+                .mapToLong(entry -> weigh(entry.getKey(), entry.getValue())).sum();
+    }
+
+    public long getCachedManifestNum() {
+        return dataFilesCache.size();
+    }
+
+    private static int weigh(ManifestKey key, List<DataFile> files) {
+        long bytes = 2L * key.path.length();
+        for (DataFile file : files) {
+            bytes += estimateBytes(file);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    static long estimateBytes(DataFile file) {
+        long bytes = DATA_FILE_BASE_BYTES + 2L * file.path().length();
+        bytes += STATS_ENTRY_BYTES * (sizeOf(file.columnSizes()) + sizeOf(file.valueCounts())
+                + sizeOf(file.nullValueCounts()) + sizeOf(file.nanValueCounts()));
+        bytes += boundsBytes(file.lowerBounds()) + boundsBytes(file.upperBounds());
+        if (file.splitOffsets() != null) {
+            bytes += 8L * file.splitOffsets().size();
+        }
+        return bytes;
+    }
+
+    private static int sizeOf(Map<Integer, Long> stats) {
+        return stats == null ? 0 : stats.size();
+    }
+
+    private static long boundsBytes(Map<Integer, ByteBuffer> bounds) {
+        if (bounds == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (ByteBuffer bound : bounds.values()) {
+            bytes += STATS_ENTRY_BYTES + (bound == null ? 0 : bound.capacity());
+        }
+        return bytes;
+    }
+
+    public static class SnapshotManifests {
+        private final ImmutableList<ManifestFile> dataManifests;
+        private final ImmutableList<ManifestFile> deleteManifests;
+
+        public SnapshotManifests(List<ManifestFile> dataManifests, List<ManifestFile> deleteManifests) {
+            this.dataManifests = ImmutableList.copyOf(dataManifests);
+            this.deleteManifests = ImmutableList.copyOf(deleteManifests);
+        }
+
+        public List<ManifestFile> getDataManifests() {
+            return dataManifests;
+        }
+
+        public List<ManifestFile> getDeleteManifests() {
+            return deleteManifests;
+        }
+    }
+
+    private static class SnapshotKey {
+        private final long catalogId;
+        private final long snapshotId;
+        private final String manifestListLocation;
+
+        SnapshotKey(long catalogId, long snapshotId, String manifestListLocation) {
+            this.catalogId = catalogId;
+            this.snapshotId = snapshotId;
+            this.manifestListLocation = manifestListLocation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SnapshotKey)) {
+                return false;
+            }
+            SnapshotKey that = (SnapshotKey) o;
+            return catalogId == that.catalogId && snapshotId == that.snapshotId
+                    && manifestListLocation.equals(that.manifestListLocation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogId, snapshotId, manifestListLocation);
+        }
+    }
+
+    private static class ManifestKey {
+        private final long catalogId;
+        private final String path;
+
+        ManifestKey(long catalogId, String path) {
+            this.catalogId = catalogId;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ManifestKey)) {
+                return false;
+            }
+            ManifestKey that = (ManifestKey) o;
+            return catalogId == that.catalogId && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogId, path);
+        }
+    }
+}
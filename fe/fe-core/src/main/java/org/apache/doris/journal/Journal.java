@@ -17,6 +17,7 @@
 
 package org.apache.doris.journal;
 
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.io.Writable;
 
 import java.io.IOException;
@@ -49,6 +50,10 @@ public interface Journal {
     // Write a journal and sync to disk
     public void write(short op, Writable writable) throws IOException;
 
+    // Write a batch of journals (op code, data) in one transaction and sync to disk.
+    // Journal ids are assigned consecutively in list order.
+    public void batchWrite(List<Pair<Short, Writable>> entities) throws IOException;
+
     // Get current journal number
     public long getJournalNum();
 
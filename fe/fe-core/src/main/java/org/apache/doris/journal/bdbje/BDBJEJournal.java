@@ -35,6 +35,7 @@ import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.DatabaseNotFoundException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -46,6 +47,7 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -181,6 +183,106 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
         }
     }
 
+    /*
+     * Write a batch of journals in one bdb transaction, so that the whole batch only pays
+     * for one log sync and one round of replica acks. The journal ids are assigned
+     * consecutively, and nextJournalId is only advanced after the transaction commits.
+     */
+    @Override
+    public synchronized void batchWrite(List<Pair<Short, Writable>> entities) throws IOException {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        long firstId = nextJournalId.get();
+        List<DatabaseEntry> keys = new ArrayList<>(entities.size());
+        List<DatabaseEntry> datas = new ArrayList<>(entities.size());
+        boolean onlyTimestamp = true;
+        long totalSize = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            Pair<Short, Writable> pair = entities.get(i);
+            JournalEntity entity = new JournalEntity();
+            entity.setOpCode(pair.first);
+            entity.setData(pair.second);
+
+            DatabaseEntry theKey = new DatabaseEntry();
+            idBinding.objectToEntry(firstId + i, theKey);
+            keys.add(theKey);
+
+            DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
+            entity.write(buffer);
+            DatabaseEntry theData = new DatabaseEntry(buffer.getData());
+            datas.add(theData);
+            totalSize += theData.getSize();
+
+            if (pair.first != OperationType.OP_TIMESTAMP) {
+                onlyTimestamp = false;
+            }
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(totalSize);
+            MetricRepo.COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES.increase(totalSize);
+        }
+        LOG.debug("batch write {} journals from id {}, total size = {}", entities.size(), firstId, totalSize);
+
+        boolean writeSucceed = false;
+        for (int i = 0; i < RETRY_TIME; i++) {
+            Transaction txn = null;
+            try {
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean putSucceed = true;
+                for (int j = 0; j < keys.size(); j++) {
+                    if (currentJournalDB.put(txn, keys.get(j), datas.get(j)) != OperationStatus.SUCCESS) {
+                        putSucceed = false;
+                        break;
+                    }
+                }
+                if (putSucceed) {
+                    txn.commit();
+                    txn = null;
+                    writeSucceed = true;
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("master write journal {} to {} finished. db name {}, current time {}",
+                                firstId, firstId + keys.size() - 1, currentJournalDB.getDatabaseName(),
+                                System.currentTimeMillis());
+                    }
+                    break;
+                }
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when batch writing to database. sleep and retry. journal id {}",
+                        firstId, e);
+                try {
+                    Thread.sleep(5 * 1000);
+                } catch (InterruptedException e1) {
+                    LOG.warn("interrupted when waiting to retry batch writing journal {}", firstId, e1);
+                }
+            } finally {
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException e) {
+                        LOG.warn("failed to abort journal batch transaction. journal id {}", firstId, e);
+                    }
+                }
+            }
+        }
+
+        if (!writeSucceed) {
+            if (onlyTimestamp) {
+                // same as write(), do not exit if the batch only contains OP_TIMESTAMP.
+                LOG.warn("master can not achieve quorum. write timestamp fail. but will not exit.");
+                return;
+            }
+            String msg = "batch write bdb failed. will exit. journalId: " + firstId + ", bdb database Name: "
+                    + currentJournalDB.getDatabaseName();
+            LOG.error(msg);
+            Util.stdoutWithTime(msg);
+            System.exit(-1);
+        }
+        nextJournalId.set(firstId + keys.size());
+    }
+
     @Override
     public JournalEntity read(long journalId) {
         List<Long> dbNames = getDatabaseNames();
@@ -17,6 +17,7 @@
 
 package org.apache.doris.journal.local;
 
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.journal.Journal;
 import org.apache.doris.journal.JournalCursor;
@@ -147,6 +148,16 @@ public class LocalJournal implements Journal {
         journalId.incrementAndGet();
     }
 
+    @Override
+    public synchronized void batchWrite(List<Pair<Short, Writable>> entities) throws IOException {
+        for (Pair<Short, Writable> entity : entities) {
+            outputStream.write(entity.first, entity.second);
+        }
+        outputStream.setReadyToFlush();
+        outputStream.flush();
+        journalId.addAndGet(entities.size());
+    }
+
     @Override
     public void deleteJournals(long deleteJournalToId) {
         try {
@@ -22,17 +22,23 @@ import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.LoadStmt;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.cluster.ClusterNamespace;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.LoadException;
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.io.ByteBufferNetworkInputStream;
 import org.apache.doris.load.LoadJobRowResult;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.BeSelectionPolicy;
 import org.apache.doris.system.SystemInfoService;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingInputStream;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -41,6 +47,7 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -48,21 +55,35 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 
 public class MysqlLoadManager {
     private static final Logger LOG = LogManager.getLogger(MysqlLoadManager.class);
 
+    private static final String TWO_PHASE_COMMIT = "two_phase_commit";
+
     private final ThreadPoolExecutor mysqlLoadPool;
+    // load the chunks of a file in parallel
+    private final ThreadPoolExecutor chunkLoadPool;
+    private final CloseableHttpClient httpClient;
     private final TokenManager tokenManager;
 
     public MysqlLoadManager(TokenManager tokenManager) {
         this.mysqlLoadPool = ThreadPoolManager.newDaemonCacheThreadPool(4, "Mysql Load", true);
+        this.chunkLoadPool = ThreadPoolManager.newDaemonFixedThreadPool(Config.mysql_load_thread_pool_num,
+                Config.mysql_load_thread_pool_num, "Mysql Load Chunk", true);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Config.mysql_load_thread_pool_num);
+        connectionManager.setDefaultMaxPerRoute(Config.mysql_load_thread_pool_num);
+        this.httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
         this.tokenManager = tokenManager;
     }
 
@@ -75,25 +96,194 @@ public class MysqlLoadManager {
         String database = ClusterNamespace.getNameFromFullName(dataDesc.getDbName());
         String table = dataDesc.getTableName();
         String token = tokenManager.acquireToken();
-        try (final CloseableHttpClient httpclient = HttpClients.createDefault()) {
-            for (String file : filePaths) {
-                InputStreamEntity entity = getInputStreamEntity(context, dataDesc.isClientLocal(), file);
+        for (String file : filePaths) {
+            long startTime = System.currentTimeMillis();
+            CountingInputStream inputStream = new CountingInputStream(
+                    getInputStream(context, dataDesc.isClientLocal(), file));
+            if (Config.mysql_load_parallel_num > 1) {
+                executeParallelLoad(inputStream, dataDesc, database, table, token, loadResult);
+            } else {
+                InputStreamEntity entity = new InputStreamEntity(inputStream, -1, ContentType.TEXT_PLAIN);
                 HttpPut request = generateRequestForMySqlLoad(entity, dataDesc, database, table, token);
-                try (final CloseableHttpResponse response = httpclient.execute(request)) {
-                    JsonObject result = JsonParser.parseString(EntityUtils.toString(response.getEntity()))
-                            .getAsJsonObject();
-                    if (!result.get("Status").getAsString().equalsIgnoreCase("Success")) {
-                        LOG.warn("Execute stream load for mysql data load failed with message: " + request);
-                        throw new LoadException(result.get("Message").getAsString());
-                    }
-                    loadResult.incRecords(result.get("NumberLoadedRows").getAsLong());
-                    loadResult.incSkipped(result.get("NumberFilteredRows").getAsInt());
+                JsonObject result = executeRequest(request);
+                if (!isSuccess(result)) {
+                    LOG.warn("Execute stream load for mysql data load failed with message: " + request);
+                    throw new LoadException(result.get("Message").getAsString());
+                }
+                loadResult.incRecords(result.get("NumberLoadedRows").getAsLong());
+                loadResult.incSkipped(result.get("NumberFilteredRows").getAsInt());
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_MYSQL_LOAD_CHUNKS.increase(1L);
                 }
             }
+            updateThroughput(inputStream.getCount(), System.currentTimeMillis() - startTime);
         }
         return loadResult;
     }
 
+    /**
+     * Split the file into chunks and load them to several backends concurrently.
+     * Each chunk is loaded by a two phase commit stream load, and the transactions are committed
+     * only if all the chunks are loaded successfully. The transactions of the chunks can not be committed
+     * as one transaction, so if a commit fails, the rest transactions are aborted and the committed chunks
+     * are reported in the error.
+     * max_filter_ratio is checked over the rows of all the chunks, not of each chunk.
+     */
+    @VisibleForTesting
+    void executeParallelLoad(InputStream inputStream, DataDescription dataDesc, String database,
+            String table, String token, LoadJobRowResult loadResult) throws IOException, UserException {
+        List<Backend> backends = selectBackendsForMySqlLoad(Config.mysql_load_parallel_num);
+        String lineDelimiter = dataDesc.getLineDelimiter() == null ? "\n" : dataDesc.getLineDelimiter();
+        MysqlLoadStreamSplitter splitter = new MysqlLoadStreamSplitter(
+                lineDelimiter.getBytes(StandardCharsets.UTF_8), Config.mysql_load_chunk_size_bytes);
+        Semaphore runningChunks = new Semaphore(Config.mysql_load_parallel_num);
+        List<Pair<Backend, Future<JsonObject>>> chunkResults = Lists.newArrayList();
+        Exception splitException = null;
+        try {
+            splitter.split(inputStream, (index, chunk) -> {
+                Backend backend = backends.get(index % backends.size());
+                InputStreamEntity entity = new InputStreamEntity(chunk, -1, ContentType.TEXT_PLAIN);
+                HttpPut request = generateRequestForMySqlLoad(entity, dataDesc, getStreamLoadUrl(backend,
+                        database, table), token, index == 0);
+                request.addHeader(TWO_PHASE_COMMIT, "true");
+                // the filtered rows are checked over all the chunks before committing
+                request.setHeader(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO, "1");
+                runningChunks.acquire();
+                chunkResults.add(Pair.of(backend, chunkLoadPool.submit(() -> {
+                    try {
+                        JsonObject result = executeRequest(request);
+                        if (!isSuccess(result)) {
+                            splitter.cancel();
+                        }
+                        return result;
+                    } catch (Exception e) {
+                        splitter.cancel();
+                        throw e;
+                    } finally {
+                        chunk.close();
+                        runningChunks.release();
+                    }
+                })));
+            });
+        } catch (Exception e) {
+            splitter.cancel();
+            splitException = e;
+        }
+
+        // wait for all the chunks, and collect the transactions to commit or abort
+        List<ChunkTxn> txns = Lists.newArrayList();
+        String errorMsg = splitException == null ? null : splitException.getMessage();
+        long loadedRows = 0;
+        int filteredRows = 0;
+        for (int i = 0; i < chunkResults.size(); i++) {
+            Pair<Backend, Future<JsonObject>> chunkResult = chunkResults.get(i);
+            try {
+                JsonObject result = chunkResult.second.get();
+                if (result.has("TxnId")) {
+                    txns.add(new ChunkTxn(i, chunkResult.first, result.get("TxnId").getAsLong()));
+                }
+                if (isSuccess(result)) {
+                    loadedRows += result.get("NumberLoadedRows").getAsLong();
+                    filteredRows += result.get("NumberFilteredRows").getAsInt();
+                } else if (errorMsg == null) {
+                    errorMsg = result.get("Message").getAsString();
+                }
+            } catch (Exception e) {
+                if (errorMsg == null) {
+                    errorMsg = e.getMessage();
+                }
+            }
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_MYSQL_LOAD_CHUNKS.increase((long) chunkResults.size());
+        }
+        if (errorMsg == null && !splitter.isCancelled()) {
+            double maxFilterRatio = getMaxFilterRatio(dataDesc);
+            if (filteredRows > (loadedRows + filteredRows) * maxFilterRatio) {
+                errorMsg = "too many filtered rows, filtered: " + filteredRows + ", loaded: " + loadedRows
+                        + ", max_filter_ratio: " + maxFilterRatio;
+            }
+        }
+
+        if (errorMsg != null || splitter.isCancelled()) {
+            abortTxns(database, txns, token);
+            LOG.warn("Execute parallel stream load for mysql data load failed with message: {}", errorMsg);
+            throw new LoadException(errorMsg == null ? "load chunks of file failed" : errorMsg);
+        }
+        List<Integer> committedChunks = Lists.newArrayList();
+        for (int i = 0; i < txns.size(); i++) {
+            ChunkTxn txn = txns.get(i);
+            try {
+                operateTxn2PC(txn.backend, database, txn.txnId, "commit", token);
+            } catch (Exception e) {
+                abortTxns(database, txns.subList(i, txns.size()), token);
+                LOG.warn("failed to commit txn {} of mysql load, committed chunks: {}", txn.txnId,
+                        committedChunks, e);
+                throw new LoadException("failed to commit chunk " + txn.index + " of " + txns.size()
+                        + " chunks: " + e.getMessage() + ", the committed chunks " + committedChunks
+                        + " are visible, and the rest are aborted");
+            }
+            committedChunks.add(txn.index);
+        }
+        loadResult.incRecords(loadedRows);
+        loadResult.incSkipped(filteredRows);
+    }
+
+    // the default max filter ratio of stream load is 0
+    private double getMaxFilterRatio(DataDescription dataDesc) throws LoadException {
+        Map<String, String> props = dataDesc.getProperties();
+        if (props == null || !props.containsKey(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO)) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(props.get(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO));
+        } catch (NumberFormatException e) {
+            throw new LoadException("invalid max_filter_ratio: " + props.get(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO));
+        }
+    }
+
+    private void abortTxns(String database, List<ChunkTxn> txns, String token) {
+        for (ChunkTxn txn : txns) {
+            try {
+                operateTxn2PC(txn.backend, database, txn.txnId, "abort", token);
+            } catch (Exception e) {
+                LOG.warn("failed to abort txn {} of mysql load, it will be aborted when timeout", txn.txnId, e);
+            }
+        }
+    }
+
+    private void operateTxn2PC(Backend backend, String database, long txnId, String operation, String token)
+            throws IOException, LoadException {
+        HttpPut request = new HttpPut("http://" + backend.getIp() + ":" + backend.getHttpPort()
+                + "/api/" + database + "/_stream_load_2pc");
+        request.addHeader("token", token);
+        request.addHeader("txn_id", String.valueOf(txnId));
+        request.addHeader("txn_operation", operation);
+        JsonObject result = executeRequest(request);
+        if (!result.has("status") || !result.get("status").getAsString().equalsIgnoreCase("Success")) {
+            throw new LoadException("failed to " + operation + " txn " + txnId + ": " + result);
+        }
+    }
+
+    @VisibleForTesting
+    JsonObject executeRequest(HttpPut request) throws IOException {
+        try (final CloseableHttpResponse response = httpClient.execute(request)) {
+            return JsonParser.parseString(EntityUtils.toString(response.getEntity())).getAsJsonObject();
+        }
+    }
+
+    private boolean isSuccess(JsonObject result) {
+        return result.has("Status") && result.get("Status").getAsString().equalsIgnoreCase("Success");
+    }
+
+    private void updateThroughput(long bytes, long timeMs) {
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_MYSQL_LOAD_BYTES.increase(bytes);
+            MetricRepo.HISTO_MYSQL_LOAD_THROUGHPUT.update(bytes * 1000 / Math.max(timeMs, 1));
+        }
+        LOG.info("mysql load {} bytes in {} ms", bytes, timeMs);
+    }
+
     private String getColumns(DataDescription desc) {
         if (desc.getFileFieldNames() != null) {
             List<String> fields = desc.getFileFieldNames();
@@ -113,7 +303,7 @@ public class MysqlLoadManager {
         return null;
     }
 
-    private InputStreamEntity getInputStreamEntity(ConnectContext context, boolean isClientLocal, String file)
+    private InputStream getInputStream(ConnectContext context, boolean isClientLocal, String file)
             throws IOException {
         InputStream inputStream;
         if (isClientLocal) {
@@ -125,7 +315,7 @@ public class MysqlLoadManager {
             // server side file had already check after analyze.
             inputStream = Files.newInputStream(Paths.get(file));
         }
-        return new InputStreamEntity(inputStream, -1, ContentType.TEXT_PLAIN);
+        return inputStream;
     }
 
     private void replyClientForReadFile(ConnectContext context, String path) throws IOException {
@@ -160,7 +350,17 @@ public class MysqlLoadManager {
             String database,
             String table,
             String token) throws LoadException {
-        final HttpPut httpPut = new HttpPut(selectBackendForMySqlLoad(database, table));
+        return generateRequestForMySqlLoad(entity, desc, selectBackendForMySqlLoad(database, table), token, true);
+    }
+
+    // the header lines are skipped only in the first chunk of a file
+    private HttpPut generateRequestForMySqlLoad(
+            InputStreamEntity entity,
+            DataDescription desc,
+            String url,
+            String token,
+            boolean isFirstChunk) {
+        final HttpPut httpPut = new HttpPut(url);
 
         httpPut.addHeader("Expect", "100-continue");
         httpPut.addHeader("Content-Type", "text/plain");
@@ -200,7 +400,7 @@ public class MysqlLoadManager {
         }
 
         // skip_lines
-        if (desc.getSkipLines() != 0) {
+        if (desc.getSkipLines() != 0 && isFirstChunk) {
             httpPut.addHeader(LoadStmt.KEY_SKIP_LINES, Integer.toString(desc.getSkipLines()));
         }
 
@@ -235,16 +435,28 @@ public class MysqlLoadManager {
     }
 
     private String selectBackendForMySqlLoad(String database, String table) throws LoadException {
+        return getStreamLoadUrl(selectBackendsForMySqlLoad(1).get(0), database, table);
+    }
+
+    // select at most 'num' backends
+    @VisibleForTesting
+    List<Backend> selectBackendsForMySqlLoad(int num) throws LoadException {
         BeSelectionPolicy policy = new BeSelectionPolicy.Builder().needLoadAvailable().build();
-        List<Long> backendIds = Env.getCurrentSystemInfo().selectBackendIdsByPolicy(policy, 1);
-        if (backendIds.isEmpty()) {
-            throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
+        List<Long> backendIds = Env.getCurrentSystemInfo().selectBackendIdsByPolicy(policy, num == 1 ? 1 : -1);
+        List<Backend> backends = Lists.newArrayList();
+        for (Long backendId : backendIds) {
+            Backend backend = Env.getCurrentSystemInfo().getBackend(backendId);
+            if (backend != null && backends.size() < num) {
+                backends.add(backend);
+            }
         }
-
-        Backend backend = Env.getCurrentSystemInfo().getBackend(backendIds.get(0));
-        if (backend == null) {
+        if (backends.isEmpty()) {
             throw new LoadException(SystemInfoService.NO_BACKEND_LOAD_AVAILABLE_MSG + ", policy: " + policy);
         }
+        return backends;
+    }
+
+    private String getStreamLoadUrl(Backend backend, String database, String table) {
         StringBuilder sb = new StringBuilder();
         sb.append("http://");
         sb.append(backend.getIp());
@@ -257,4 +469,17 @@ public class MysqlLoadManager {
         sb.append("/_stream_load");
         return  sb.toString();
     }
+
+    // the precommitted transaction of a chunk
+    private static class ChunkTxn {
+        private final int index;
+        private final Backend backend;
+        private final long txnId;
+
+        ChunkTxn(int index, Backend backend, long txnId) {
+            this.index = index;
+            this.backend = backend;
+            this.txnId = txnId;
+        }
+    }
 }
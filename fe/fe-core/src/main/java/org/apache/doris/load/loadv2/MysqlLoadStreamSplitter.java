@@ -0,0 +1,157 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.loadv2;
+
+import org.apache.doris.common.io.ByteBufferNetworkInputStream;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Split a csv stream into chunks at line boundaries, each chunk is at least 'chunkSize' bytes except the last one.
+ *
+ * The chunks are streamed to the consumer while the source is being read, so that they could be loaded
+ * concurrently. If a chunk is closed by its reader, the consumer fails, or the splitter is cancelled,
+ * the rest of the source is still read and discarded, the mysql client must send the whole file anyway.
+ */
+public class MysqlLoadStreamSplitter {
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Consumer of a new chunk, the chunk is not finished yet when it is passed to the consumer.
+     */
+    public interface ChunkConsumer {
+        void accept(int index, ByteBufferNetworkInputStream chunk) throws Exception;
+    }
+
+    private final byte[] delimiter;
+    // KMP partial match table of the delimiter
+    private final int[] partialMatch;
+    private final long chunkSize;
+    private volatile boolean cancelled = false;
+
+    public MysqlLoadStreamSplitter(byte[] delimiter, long chunkSize) {
+        Preconditions.checkArgument(delimiter.length > 0 && chunkSize > 0);
+        this.delimiter = delimiter;
+        this.chunkSize = chunkSize;
+        this.partialMatch = new int[delimiter.length];
+        for (int i = 1, k = 0; i < delimiter.length; i++) {
+            while (k > 0 && delimiter[i] != delimiter[k]) {
+                k = partialMatch[k - 1];
+            }
+            if (delimiter[i] == delimiter[k]) {
+                k++;
+            }
+            partialMatch[i] = k;
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Split the source stream, return the number of bytes read from the source.
+     */
+    public long split(InputStream in, ChunkConsumer consumer) throws Exception {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long totalBytes = 0;
+        int chunkIndex = 0;
+        ByteBufferNetworkInputStream chunk = null;
+        long chunkBytes = 0;
+        int matched = 0;
+        Exception failure = null;
+        try {
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                totalBytes += n;
+                int offset = 0;
+                while (offset < n && !cancelled) {
+                    if (chunk == null) {
+                        chunk = new ByteBufferNetworkInputStream();
+                        chunkBytes = 0;
+                        matched = 0;
+                        try {
+                            consumer.accept(chunkIndex++, chunk);
+                        } catch (Exception e) {
+                            failure = e;
+                            cancelled = true;
+                            break;
+                        }
+                    }
+                    int end;
+                    if (chunkBytes < chunkSize) {
+                        end = (int) Math.min(n, offset + chunkSize - chunkBytes);
+                    } else {
+                        // look for the end of current line
+                        end = offset;
+                        while (end < n && matched < delimiter.length) {
+                            while (matched > 0 && buffer[end] != delimiter[matched]) {
+                                matched = partialMatch[matched - 1];
+                            }
+                            if (buffer[end] == delimiter[matched]) {
+                                matched++;
+                            }
+                            end++;
+                        }
+                    }
+                    fill(chunk, buffer, offset, end);
+                    chunkBytes += end - offset;
+                    offset = end;
+                    if (matched == delimiter.length) {
+                        chunk.markFinished();
+                        chunk = null;
+                    }
+                }
+                if (cancelled && chunk != null) {
+                    chunk.markFinished();
+                    chunk = null;
+                }
+            }
+        } finally {
+            if (chunk != null) {
+                chunk.markFinished();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return totalBytes;
+    }
+
+    private void fill(ByteBufferNetworkInputStream chunk, byte[] buffer, int start, int end)
+            throws InterruptedException {
+        if (start == end) {
+            return;
+        }
+        try {
+            chunk.fillByteBuffer(ByteBuffer.wrap(Arrays.copyOfRange(buffer, start, end)));
+        } catch (IOException e) {
+            // the chunk is closed by its reader because of failure
+            cancelled = true;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.apache.doris.common.util.LogKey;
 import org.apache.doris.common.util.SmallFileMgr;
 import org.apache.doris.common.util.SmallFileMgr.SmallFile;
 import org.apache.doris.common.util.TimeUtils;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.persist.AlterRoutineLoadJobOperationLog;
 import org.apache.doris.thrift.TFileCompressType;
 import org.apache.doris.transaction.TransactionState;
@@ -97,6 +98,10 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     // Will be updated periodically by calling updateKafkaPartitions();
     private List<Integer> newCurrentKafkaPartition = Lists.newArrayList();
 
+    // Adjusts the task num and batch size by the lag, not persisted.
+    private RoutineLoadAdaptiveController adaptiveController =
+            new RoutineLoadAdaptiveController(System.currentTimeMillis());
+
     public KafkaRoutineLoadJob() {
         // for serialization, id is dummy
         super(-1, LoadDataSourceType.KAFKA);
@@ -209,7 +214,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                                 ((KafkaProgress) progress).getOffsetByPartition(kafkaPartition));
                     }
                     KafkaTaskInfo kafkaTaskInfo = new KafkaTaskInfo(UUID.randomUUID(), id, clusterName,
-                            maxBatchIntervalS * 2 * 1000, taskKafkaProgress);
+                            getTaskMaxBatchIntervalS() * 2 * 1000, taskKafkaProgress);
                     routineLoadTaskInfoList.add(kafkaTaskInfo);
                     result.add(kafkaTaskInfo);
                 }
@@ -239,9 +244,35 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                 partitionNum, desireTaskConcurrentNum, Config.max_routine_load_task_concurrent_num);
         currentTaskConcurrentNum = Math.min(partitionNum, Math.min(desireTaskConcurrentNum,
                 Config.max_routine_load_task_concurrent_num));
+        if (Config.enable_routine_load_adaptive_concurrency && currentTaskConcurrentNum > 0) {
+            // the desired concurrent num is only the initial task num of an adaptive job
+            currentTaskConcurrentNum = adaptiveController.getConcurrency(currentTaskConcurrentNum,
+                    Math.min(partitionNum, Config.max_routine_load_task_concurrent_num));
+        }
         return currentTaskConcurrentNum;
     }
 
+    public long getTaskMaxBatchIntervalS() {
+        if (!Config.enable_routine_load_adaptive_concurrency) {
+            return maxBatchIntervalS;
+        }
+        return adaptiveController.getMaxBatchIntervalS(maxBatchIntervalS);
+    }
+
+    public long getTaskMaxBatchRows() {
+        if (!Config.enable_routine_load_adaptive_concurrency) {
+            return maxBatchRows;
+        }
+        return adaptiveController.getMaxBatchRows(maxBatchRows);
+    }
+
+    public long getTaskMaxBatchSizeBytes() {
+        if (!Config.enable_routine_load_adaptive_concurrency) {
+            return maxBatchSizeBytes;
+        }
+        return adaptiveController.getMaxBatchSizeBytes(maxBatchSizeBytes);
+    }
+
     // Through the transaction status and attachment information, to determine whether the progress needs to be updated.
     @Override
     protected boolean checkCommitInfo(RLTaskTxnCommitAttachment rlTaskTxnCommitAttachment,
@@ -265,6 +296,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     protected void updateProgress(RLTaskTxnCommitAttachment attachment) throws UserException {
         super.updateProgress(attachment);
         this.progress.update(attachment);
+        adaptiveController.onTaskCommitted(attachment.getTotalRows(), attachment.getReceivedBytes());
     }
 
     @Override
@@ -278,7 +310,8 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         KafkaTaskInfo oldKafkaTaskInfo = (KafkaTaskInfo) routineLoadTaskInfo;
         // add new task
         KafkaTaskInfo kafkaTaskInfo = new KafkaTaskInfo(oldKafkaTaskInfo,
-                ((KafkaProgress) progress).getPartitionIdToOffset(oldKafkaTaskInfo.getPartitions()));
+                ((KafkaProgress) progress).getPartitionIdToOffset(oldKafkaTaskInfo.getPartitions()),
+                getTaskMaxBatchIntervalS() * 2 * 1000);
         // remove old task
         routineLoadTaskInfoList.remove(routineLoadTaskInfo);
         // add new task
@@ -330,7 +363,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         if (this.state == JobState.RUNNING || this.state == JobState.NEED_SCHEDULE) {
             if (customKafkaPartitions != null && customKafkaPartitions.size() != 0) {
                 currentKafkaPartitions = customKafkaPartitions;
-                return false;
+                return unprotectNeedAdjustConcurrency();
             } else {
                 // the newCurrentKafkaPartition should be already updated in preCheckNeedScheduler()
                 Preconditions.checkNotNull(this.newCurrentKafkaPartition);
@@ -352,7 +385,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                                 return true;
                             }
                         }
-                        return false;
+                        return unprotectNeedAdjustConcurrency();
                     }
                 } else {
                     currentKafkaPartitions = this.newCurrentKafkaPartition;
@@ -372,6 +405,48 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         }
     }
 
+    // The lag and throughput are also reported as metrics.
+    // Only a running job is adjusted, tasks of the job are rescheduled if the task num is changed.
+    private boolean unprotectNeedAdjustConcurrency() {
+        if (this.state != JobState.RUNNING) {
+            return false;
+        }
+        long lag = getTotalLag();
+        boolean changed = adaptiveController.adjust(lag, maxBatchIntervalS,
+                Math.min(currentKafkaPartitions.size(), Config.max_routine_load_task_concurrent_num),
+                System.currentTimeMillis());
+        if (MetricRepo.isInit) {
+            MetricRepo.JOB_GAUGE_ROUTINE_LOAD_LAG.getOrAdd(name).setValue(lag);
+            MetricRepo.JOB_GAUGE_ROUTINE_LOAD_ROWS_RATE.getOrAdd(name).setValue(adaptiveController.getRowsRate());
+            MetricRepo.JOB_GAUGE_ROUTINE_LOAD_BYTES_RATE.getOrAdd(name).setValue(adaptiveController.getBytesRate());
+            MetricRepo.JOB_GAUGE_ROUTINE_LOAD_TASK_NUM.getOrAdd(name).setValue((long) currentTaskConcurrentNum);
+        }
+        if (changed) {
+            LOG.info(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
+                    .add("lag", lag)
+                    .add("rows_rate", adaptiveController.getRowsRate())
+                    .add("current_task_num", currentTaskConcurrentNum)
+                    .add("msg", "task num of adaptive job has been changed")
+                    .build());
+        }
+        return changed;
+    }
+
+    // the total number of messages not consumed, or -1 if the latest offset of any partition is unknown
+    private long getTotalLag() {
+        long totalLag = 0;
+        for (Integer kafkaPartition : currentKafkaPartitions) {
+            Long offset = ((KafkaProgress) progress).getOffsetByPartition(kafkaPartition);
+            Long latestOffset = cachedPartitionWithLatestOffsets.get(kafkaPartition);
+            // the offset may be OFFSET_BEGINNING or OFFSET_END before the partition is consumed
+            if (offset == null || offset < 0 || latestOffset == null) {
+                return -1;
+            }
+            totalLag += Math.max(0, latestOffset - offset);
+        }
+        return totalLag;
+    }
+
     @Override
     protected String getStatistic() {
         Map<String, Object> summary = this.jobStatistic.summary();
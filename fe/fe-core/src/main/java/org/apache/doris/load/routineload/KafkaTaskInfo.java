@@ -60,8 +60,12 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
     }
 
     public KafkaTaskInfo(KafkaTaskInfo kafkaTaskInfo, Map<Integer, Long> partitionIdToOffset) {
+        this(kafkaTaskInfo, partitionIdToOffset, kafkaTaskInfo.getTimeoutMs());
+    }
+
+    public KafkaTaskInfo(KafkaTaskInfo kafkaTaskInfo, Map<Integer, Long> partitionIdToOffset, long timeoutMs) {
         super(UUID.randomUUID(), kafkaTaskInfo.getJobId(), kafkaTaskInfo.getClusterName(),
-                kafkaTaskInfo.getTimeoutMs(), kafkaTaskInfo.getBeId());
+                timeoutMs, kafkaTaskInfo.getBeId());
         this.partitionIdToOffset = partitionIdToOffset;
     }
 
@@ -97,9 +101,9 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         tRoutineLoadTask.setKafkaLoadInfo(tKafkaLoadInfo);
         tRoutineLoadTask.setType(TLoadSourceType.KAFKA);
         tRoutineLoadTask.setParams(rePlan(routineLoadJob));
-        tRoutineLoadTask.setMaxIntervalS(routineLoadJob.getMaxBatchIntervalS());
-        tRoutineLoadTask.setMaxBatchRows(routineLoadJob.getMaxBatchRows());
-        tRoutineLoadTask.setMaxBatchSize(routineLoadJob.getMaxBatchSizeBytes());
+        tRoutineLoadTask.setMaxIntervalS(routineLoadJob.getTaskMaxBatchIntervalS());
+        tRoutineLoadTask.setMaxBatchRows(routineLoadJob.getTaskMaxBatchRows());
+        tRoutineLoadTask.setMaxBatchSize(routineLoadJob.getTaskMaxBatchSizeBytes());
         if (!routineLoadJob.getFormat().isEmpty() && routineLoadJob.getFormat().equalsIgnoreCase("json")) {
             tRoutineLoadTask.setFormat(TFileFormatType.FORMAT_JSON);
         } else {
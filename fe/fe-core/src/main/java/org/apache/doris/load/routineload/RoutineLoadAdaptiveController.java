@@ -0,0 +1,134 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.routineload;
+
+import org.apache.doris.common.Config;
+
+/**
+ * Adjusts the task num and the batch size of a routine load job by its lag and throughput.
+ *
+ * The lag is the number of messages not consumed yet, and the throughput is the rows committed per second
+ * since the last adjustment. The controller steps in one direction at a time:
+ * scaling up first shortens an enlarged batch interval, then adds a task and doubles the batch rows and size;
+ * scaling down first halves an enlarged batch rows and size, then removes a task, and at last enlarges
+ * the batch interval, so that an idle job commits fewer and larger transactions.
+ *
+ * The state is not persisted, a job starts from its desired concurrency and the user's batch properties
+ * after the FE restarts or the master changes.
+ * Not thread safe, it is protected by the lock of the job.
+ */
+public class RoutineLoadAdaptiveController {
+    // the same upper limits as the properties of the job
+    private static final long MAX_BATCH_SIZE_BYTES = 1024 * 1024 * 1024L;
+    private static final long MAX_BATCH_INTERVAL_S = 60;
+
+    private int concurrency = -1;
+    private int batchScale = 1;
+    private int intervalScale = 1;
+
+    private long lastAdjustTimeMs;
+    private long windowRows = 0;
+    private long windowBytes = 0;
+    private long rowsRate = 0;
+    private long bytesRate = 0;
+
+    public RoutineLoadAdaptiveController(long nowMs) {
+        this.lastAdjustTimeMs = nowMs;
+    }
+
+    public void onTaskCommitted(long rows, long bytes) {
+        windowRows += rows;
+        windowBytes += bytes;
+    }
+
+    /**
+     * Get the task num of the job, which starts from the initial one and never exceeds the max one.
+     */
+    public int getConcurrency(int initConcurrency, int maxConcurrency) {
+        if (concurrency < 0) {
+            concurrency = initConcurrency;
+        }
+        concurrency = Math.max(1, Math.min(concurrency, maxConcurrency));
+        return concurrency;
+    }
+
+    /**
+     * Adjust the job by the lag, if it is time to. The throughput is always updated for metrics.
+     *
+     * @param lag the number of messages not consumed, or -1 if unknown
+     * @param maxBatchIntervalS the max batch interval set by user
+     * @return true if the task num is changed
+     */
+    public boolean adjust(long lag, long maxBatchIntervalS, int maxConcurrency, long nowMs) {
+        long elapsedMs = nowMs - lastAdjustTimeMs;
+        if (elapsedMs < Config.routine_load_adaptive_adjust_interval_second * 1000) {
+            return false;
+        }
+        rowsRate = windowRows * 1000 / Math.max(elapsedMs, 1);
+        bytesRate = windowBytes * 1000 / Math.max(elapsedMs, 1);
+        windowRows = 0;
+        windowBytes = 0;
+        lastAdjustTimeMs = nowMs;
+        if (!Config.enable_routine_load_adaptive_concurrency || lag < 0 || concurrency < 0) {
+            return false;
+        }
+
+        int oldConcurrency = concurrency;
+        int maxScale = Math.max(1, Config.routine_load_adaptive_max_batch_scale);
+        if (lag > rowsRate * Config.routine_load_adaptive_lag_high_second) {
+            // the lag is growing or could not be consumed in time
+            if (intervalScale > 1) {
+                intervalScale /= 2;
+            } else {
+                concurrency = Math.min(concurrency + 1, maxConcurrency);
+                batchScale = Math.min(batchScale * 2, maxScale);
+            }
+        } else if (lag <= rowsRate * getMaxBatchIntervalS(maxBatchIntervalS)) {
+            // the lag is less than one batch
+            if (batchScale > 1) {
+                batchScale /= 2;
+            } else if (concurrency > 1) {
+                concurrency--;
+            } else if (maxBatchIntervalS * intervalScale < MAX_BATCH_INTERVAL_S) {
+                intervalScale = Math.min(intervalScale * 2, maxScale);
+            }
+        }
+        concurrency = Math.max(1, Math.min(concurrency, maxConcurrency));
+        return concurrency != oldConcurrency;
+    }
+
+    public long getMaxBatchRows(long maxBatchRows) {
+        return maxBatchRows * batchScale;
+    }
+
+    public long getMaxBatchSizeBytes(long maxBatchSizeBytes) {
+        return Math.max(maxBatchSizeBytes, Math.min(maxBatchSizeBytes * batchScale, MAX_BATCH_SIZE_BYTES));
+    }
+
+    public long getMaxBatchIntervalS(long maxBatchIntervalS) {
+        return Math.max(maxBatchIntervalS, Math.min(maxBatchIntervalS * intervalScale, MAX_BATCH_INTERVAL_S));
+    }
+
+    public long getRowsRate() {
+        return rowsRate;
+    }
+
+    public long getBytesRate() {
+        return bytesRate;
+    }
+}
@@ -23,6 +23,8 @@ import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.common.util.NetUtils;
+import org.apache.doris.journal.JournalCursor;
+import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
@@ -30,19 +32,27 @@ import org.apache.doris.monitor.jvm.JvmStats.MemoryPool;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.persist.MetaCleaner;
 import org.apache.doris.persist.Storage;
+import org.apache.doris.persist.meta.MetaFooter;
+import org.apache.doris.persist.meta.MetaIndex;
+import org.apache.doris.persist.meta.MetaReader;
+import org.apache.doris.persist.meta.PersistMetaModules;
 import org.apache.doris.qe.VariableMgr;
 import org.apache.doris.system.Frontend;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Checkpoint daemon is running on master node. handle the checkpoint work for palo.
@@ -105,7 +115,15 @@ public class Checkpoint extends MasterDaemon {
             return;
         }
 
-        if (!checkMemoryEnoughToDoCheckpoint()) {
+        // null means the new image can not be generated incrementally
+        Set<String> incrementalModules = null;
+        if (Config.enable_incremental_checkpoint) {
+            incrementalModules = getIncrementalModules(storage, imageVersion, checkPointVersion);
+        }
+
+        // incremental checkpoint without db module only holds a small part of meta in memory
+        boolean needCheckMemory = incrementalModules == null || incrementalModules.contains("db");
+        if (needCheckMemory && !checkMemoryEnoughToDoCheckpoint()) {
             if (MetricRepo.isInit) {
                 MetricRepo.COUNTER_IMAGE_WRITE_FAILED.increase(1L);
             }
@@ -121,7 +139,14 @@ public class Checkpoint extends MasterDaemon {
         boolean exceptionCaught = false;
         String latestImageFilePath = null;
         try {
-            env.loadImage(imageDir);
+            File baseImageFile = storage.getCurrentImageFile();
+            long copiedChecksum = 0;
+            if (incrementalModules != null) {
+                long loadedChecksum = env.loadImageModules(imageDir, incrementalModules);
+                copiedChecksum = MetaFooter.read(baseImageFile).checksum ^ loadedChecksum;
+            } else {
+                env.loadImage(imageDir);
+            }
             env.replayJournal(checkPointVersion);
             if (env.getReplayedJournalId() != checkPointVersion) {
                 throw new CheckpointException(
@@ -129,7 +154,11 @@ public class Checkpoint extends MasterDaemon {
                                 checkPointVersion, env.getReplayedJournalId()));
             }
             env.fixBugAfterMetadataReplayed(false);
-            latestImageFilePath = env.saveImage();
+            if (incrementalModules != null) {
+                latestImageFilePath = env.saveImageIncrementally(baseImageFile, incrementalModules, copiedChecksum);
+            } else {
+                latestImageFilePath = env.saveImage();
+            }
             replayedJournalId = env.getReplayedJournalId();
 
             // destroy checkpoint catalog, reclaim memory
@@ -142,7 +171,17 @@ public class Checkpoint extends MasterDaemon {
             // If failed, just return
             env = Env.getCurrentEnv();
             createStaticFieldForCkpt();
-            env.loadImage(imageDir);
+            if (incrementalModules != null) {
+                // the copied modules are unchanged, only verify the rewritten part
+                long loadedChecksum = env.loadImageModules(imageDir, incrementalModules);
+                long checksum = MetaFooter.read(new File(latestImageFilePath)).checksum;
+                if ((loadedChecksum ^ copiedChecksum) != checksum) {
+                    throw new CheckpointException(String.format("checksum of incremental image %s mismatch",
+                            latestImageFilePath));
+                }
+            } else {
+                env.loadImage(imageDir);
+            }
             if (MetricRepo.isInit) {
                 MetricRepo.COUNTER_IMAGE_WRITE_SUCCESS.increase(1L);
             }
@@ -294,6 +333,65 @@ public class Checkpoint extends MasterDaemon {
         }
     }
 
+    /*
+     * Get the modules which need to be loaded to generate the new image incrementally,
+     * which are the modules modified by journals in (imageVersion, checkPointVersion] and
+     * the modules they depend on.
+     * Return null if the new image can not be generated incrementally.
+     */
+    private Set<String> getIncrementalModules(Storage storage, long imageVersion, long checkPointVersion) {
+        File baseImageFile = storage.getCurrentImageFile();
+        if (!baseImageFile.exists()) {
+            return null;
+        }
+        try {
+            // copied modules are serialized in the meta version of base image
+            if (MetaReader.readMetaVersion(baseImageFile) != FeConstants.meta_version) {
+                LOG.info("meta version of image {} is not current version, do full checkpoint", imageVersion);
+                return null;
+            }
+            List<String> moduleNames = Lists.newArrayList();
+            for (MetaIndex metaIndex : MetaFooter.read(baseImageFile).metaIndices) {
+                moduleNames.add(metaIndex.name);
+            }
+            List<String> expectedModuleNames = Lists.newArrayList("header");
+            expectedModuleNames.addAll(PersistMetaModules.MODULE_NAMES);
+            if (!moduleNames.equals(expectedModuleNames)) {
+                LOG.info("modules of image {} are {}, do full checkpoint", imageVersion, moduleNames);
+                return null;
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to read image {}, do full checkpoint", imageVersion, e);
+            return null;
+        }
+
+        Set<String> modifiedModules = Sets.newHashSet();
+        JournalCursor cursor = editLog.read(imageVersion + 1, checkPointVersion);
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            while (true) {
+                JournalEntity entity = cursor.next();
+                if (entity == null) {
+                    break;
+                }
+                List<String> modules = PersistMetaModules.OP_MODULES.get(entity.getOpCode());
+                if (modules == null) {
+                    LOG.info("journal op {} may modify any module, do full checkpoint", entity.getOpCode());
+                    return null;
+                }
+                modifiedModules.addAll(modules);
+            }
+        } finally {
+            cursor.close();
+        }
+        Set<String> modules = PersistMetaModules.getDependencyClosure(modifiedModules);
+        LOG.info("do incremental checkpoint from image {} to {}, modified modules: {}, loaded modules: {}",
+                imageVersion, checkPointVersion, modifiedModules, modules);
+        return modules;
+    }
+
     // Some classes use static variables to store information,
     // and we need to generate new temporary objects for these static variables
     // during the checkpoint process to cope with changes made to these variables
@@ -35,6 +35,7 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.TabletChecker;
 import org.apache.doris.clone.TabletSchedCtx;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.MetaNotFoundException;
@@ -82,6 +83,8 @@ import org.apache.doris.thrift.TTablet;
 import org.apache.doris.thrift.TTabletInfo;
 import org.apache.doris.thrift.TTaskType;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
@@ -95,18 +98,27 @@ import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class ReportHandler extends Daemon {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
+    private static final TabletReportTracker REPORT_TRACKER = new TabletReportTracker();
+    // whether Config.enable_tablet_report_delta was true when the last tablet report was handled
+    private static final AtomicBoolean REPORT_DELTA_ENABLED = new AtomicBoolean(false);
+
+    // reports of one backend always go to the same shard, so they are processed in order.
+    // shard 0 is consumed by this daemon, and the others are consumed by shardConsumers.
+    private final ReportShard[] shards;
+    private final List<Daemon> shardConsumers = Lists.newArrayList();
 
     private enum ReportType {
         UNKNOWN,
@@ -116,16 +128,47 @@ public class ReportHandler extends Daemon {
     }
 
     public ReportHandler() {
+        int shardNum = Math.max(1, Config.report_handler_shard_num);
+        shards = new ReportShard[shardNum];
+        for (int i = 0; i < shardNum; i++) {
+            shards[i] = new ReportShard(i);
+        }
+        for (int i = 1; i < shardNum; i++) {
+            ReportShard shard = shards[i];
+            shardConsumers.add(new Daemon("report-handler-shard-" + i, 0) {
+                @Override
+                protected void runOneCycle() {
+                    shard.consume();
+                }
+            });
+        }
+
         GaugeMetric<Long> gauge = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) getQueueSize();
             }
         };
         MetricRepo.DORIS_METRIC_REGISTER.addMetrics(gauge);
     }
 
+    @Override
+    public synchronized void start() {
+        super.start();
+        for (Daemon consumer : shardConsumers) {
+            consumer.start();
+        }
+    }
+
+    private int getQueueSize() {
+        int size = 0;
+        for (ReportShard shard : shards) {
+            size += shard.queue.size();
+        }
+        return size;
+    }
+
     public TMasterResult handleReport(TReportRequest request) throws TException {
         TMasterResult result = new TMasterResult();
         TStatus tStatus = new TStatus(TStatusCode.OK);
@@ -177,33 +220,35 @@ public class ReportHandler extends Daemon {
             backend.setTabletMaxCompactionScore(request.getTabletMaxCompactionScore());
         }
 
-        ReportTask reportTask = new ReportTask(beId, tasks, disks, tablets, reportVersion,
-                request.getStoragePolicy(), request.getResource());
+        // only a report of one type can be superseded by a later report of the same type
+        int reportTypeNum = (tasks != null ? 1 : 0) + (disks != null ? 1 : 0) + (tablets != null ? 1 : 0);
+        ReportTask reportTask = new ReportTask(beId, reportTypeNum == 1 ? reportType : ReportType.UNKNOWN,
+                tasks, disks, tablets, reportVersion, request.getStoragePolicy(), request.getResource());
         try {
             putToQueue(reportTask);
         } catch (Exception e) {
             tStatus.setStatusCode(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + getQueueSize());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setErrorMsgs(errorMsgs);
             return result;
         }
 
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
-                backend.getId(), reportType, reportQueue.size());
+                backend.getId(), reportType, getQueueSize());
         return result;
     }
 
     private void putToQueue(ReportTask reportTask) throws Exception {
-        int currentSize = reportQueue.size();
+        int currentSize = getQueueSize();
         if (currentSize > Config.report_queue_size) {
             LOG.warn("the report queue size exceeds the limit: {}. current: {}", Config.report_queue_size, currentSize);
             throw new Exception(
                     "the report queue size exceeds the limit: "
                             + Config.report_queue_size + ". current: " + currentSize);
         }
-        reportQueue.put(reportTask);
+        shards[(int) Math.floorMod(reportTask.beId, (long) shards.length)].put(reportTask);
     }
 
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
@@ -218,9 +263,60 @@ public class ReportHandler extends Daemon {
         return tabletMap;
     }
 
+    private class ReportShard {
+        private final BlockingQueue<ReportTask> queue = Queues.newLinkedBlockingQueue();
+        // (backend id, report type) -> the latest report in queue, a report in queue is superseded
+        // by a later report of the same type from the same backend.
+        private final Map<Pair<Long, ReportType>, ReportTask> pendingReports = Maps.newConcurrentMap();
+        private final Histogram latency;
+
+        ReportShard(int index) {
+            latency = MetricRepo.METRIC_REGISTER.histogram(
+                    MetricRegistry.name("report", "process", "latency", "ms", "shard=" + index));
+        }
+
+        // synchronized so that the superseded report is removed before the later one is queued,
+        // a superseded report is removed from queue and does not count toward the queue size limit.
+        private synchronized void put(ReportTask reportTask) throws InterruptedException {
+            if (reportTask.reportType != ReportType.UNKNOWN) {
+                ReportTask supersededTask = pendingReports.put(Pair.of(reportTask.beId, reportTask.reportType),
+                        reportTask);
+                // the superseded report may have been taken by consumer, it is processed as usual then.
+                if (supersededTask != null && queue.remove(supersededTask)) {
+                    LOG.info("drop {} report from be {}, which is superseded by a later one",
+                            supersededTask.reportType, supersededTask.beId);
+                    if (MetricRepo.isInit) {
+                        MetricRepo.COUNTER_REPORT_SUPERSEDED.increase(1L);
+                    }
+                }
+            }
+            queue.put(reportTask);
+        }
+
+        private void consume() {
+            while (true) {
+                ReportTask task = null;
+                try {
+                    task = queue.take();
+                    if (task.reportType != ReportType.UNKNOWN) {
+                        pendingReports.remove(Pair.of(task.beId, task.reportType), task);
+                    }
+                    if (MetricRepo.isInit) {
+                        MetricRepo.HISTO_REPORT_QUEUE_LATENCY.update(System.currentTimeMillis() - task.createTime);
+                    }
+                    task.exec();
+                    latency.update(System.currentTimeMillis() - task.createTime);
+                } catch (InterruptedException e) {
+                    LOG.warn("got interupted exception when executing report", e);
+                }
+            }
+        }
+    }
+
     private class ReportTask extends MasterTask {
 
         private long beId;
+        private ReportType reportType;
         private Map<TTaskType, Set<Long>> tasks;
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
@@ -229,11 +325,14 @@ public class ReportHandler extends Daemon {
         private List<TStoragePolicy> storagePolicies;
         private List<TStorageResource> storageResources;
 
-        public ReportTask(long beId, Map<TTaskType, Set<Long>> tasks,
+        private final long createTime = System.currentTimeMillis();
+
+        public ReportTask(long beId, ReportType reportType, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
                           Map<Long, TTablet> tablets, long reportVersion,
                           List<TStoragePolicy> storagePolicies, List<TStorageResource> storageResources) {
             this.beId = beId;
+            this.reportType = reportType;
             this.tasks = tasks;
             this.disks = disks;
             this.tablets = tablets;
@@ -424,7 +523,20 @@ public class ReportHandler extends Daemon {
         List<CooldownConf> cooldownConfToUpdate = new LinkedList<>();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
-        Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, storageMediumMap,
+        TabletReportTracker.ReportDelta reportDelta = null;
+        Set<Long> unchangedTablets = Collections.emptySet();
+        boolean reportDeltaEnabled = Config.enable_tablet_report_delta;
+        if (REPORT_DELTA_ENABLED.getAndSet(reportDeltaEnabled) && !reportDeltaEnabled) {
+            // the reports are not tracked any more, drop the states once so that they are not used
+            // after the delta is enabled again
+            REPORT_TRACKER.clear();
+        }
+        if (reportDeltaEnabled) {
+            reportDelta = REPORT_TRACKER.prepare(backendId, backendTablets, backendReportVersion);
+            unchangedTablets = reportDelta.getUnchangedTablets();
+        }
+
+        Env.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, unchangedTablets, storageMediumMap,
                 tabletSyncMap,
                 tabletDeleteFromMeta,
                 tabletFoundInMeta,
@@ -472,6 +584,11 @@ public class ReportHandler extends Daemon {
             handleRecoverTablet(tabletRecoveryMap, backendTablets, backendId);
         }
 
+        // the replicas of these tablets are changed, let tablet checker check them
+        TabletChecker tabletChecker = Env.getCurrentEnv().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+
         // 9. send set tablet in memory to be
         if (!tabletToInMemory.isEmpty()) {
             handleSetTabletInMemory(backendId, tabletToInMemory);
@@ -492,8 +609,23 @@ public class ReportHandler extends Daemon {
             backendStatus.lastSuccessReportTabletsTime = TimeUtils.longToTimeString(start);
         }
 
+        if (reportDelta != null && REPORT_DELTA_ENABLED.get()) {
+            REPORT_TRACKER.commit(reportDelta, id -> currentSystemInfo.getBackend(id) != null);
+        }
+        if (MetricRepo.isInit) {
+            if (reportDelta == null || reportDelta.isFull()) {
+                MetricRepo.COUNTER_TABLET_REPORT_FULL.increase(1L);
+            } else {
+                MetricRepo.COUNTER_TABLET_REPORT_DELTA.increase(1L);
+            }
+            MetricRepo.COUNTER_TABLET_REPORT_TABLETS_PROCESSED.increase(
+                    (long) (backendTablets.size() - unchangedTablets.size()));
+            MetricRepo.COUNTER_TABLET_REPORT_TABLETS_SKIPPED.increase((long) unchangedTablets.size());
+        }
+
         long end = System.currentTimeMillis();
-        LOG.info("finished to handle tablet report from backend[{}] cost: {} ms", backendId, (end - start));
+        LOG.info("finished to handle tablet report from backend[{}], delta: {}, unchanged tablets: {}, cost: {} ms",
+                backendId, reportDelta != null && !reportDelta.isFull(), unchangedTablets.size(), (end - start));
     }
 
     private static void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
@@ -955,6 +1087,7 @@ public class ReportHandler extends Daemon {
                 tabletRecoveryMap.size(), backendId);
 
         TabletInvertedIndex invertedIndex = Env.getCurrentInvertedIndex();
+        TabletChecker tabletChecker = Env.getCurrentEnv().getTabletChecker();
         BackendReplicasInfo backendReplicasInfo = new BackendReplicasInfo(backendId);
         for (Long dbId : tabletRecoveryMap.keySet()) {
             Database db = Env.getCurrentInternalCatalog().getDbNullable(dbId);
@@ -1006,6 +1139,7 @@ public class ReportHandler extends Daemon {
                                     LOG.warn("set bad for replica {} of tablet {} on backend {}",
                                             replica.getId(), tabletId, backendId);
                                     backendReplicasInfo.addBadReplica(tabletId);
+                                    tabletChecker.markTabletDirty(tabletId);
                                 }
                                 break;
                             }
@@ -1020,6 +1154,7 @@ public class ReportHandler extends Daemon {
                                 }
                                 replica.updateLastFailedVersion(newLastFailedVersion);
                                 backendReplicasInfo.addMissingVersionReplica(tabletId, newLastFailedVersion);
+                                tabletChecker.markTabletDirty(tabletId);
                                 break;
                             }
                         }
@@ -1165,14 +1300,6 @@ public class ReportHandler extends Daemon {
 
     @Override
     protected void runOneCycle() {
-        while (true) {
-            ReportTask task = null;
-            try {
-                task = reportQueue.take();
-                task.exec();
-            } catch (InterruptedException e) {
-                LOG.warn("got interupted exception when executing report", e);
-            }
-        }
+        shards[0].consume();
     }
 }
@@ -0,0 +1,169 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.LongLongHashMap;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Tracks the last processed tablet report of each backend, to process tablet reports as deltas.
+ * For each backend it keeps the report version and a fingerprint of every reported tablet.
+ * A tablet whose fingerprint is the same as the one in the last processed report is "unchanged".
+ * An unchanged tablet is still checked against the meta which may be changed on FE side only, eg. the in memory
+ * property, the storage medium, the cooldown conf and the version of the replica, the rest of its diff is skipped.
+ * A report is processed as a full report if there is no state of the backend, if the report version goes back,
+ * or if the last full report is older than Config.tablet_report_full_interval_second,
+ * so that the changes only made on FE side (eg. aborted transactions) will be found eventually.
+ */
+public class TabletReportTracker {
+
+    private static class BackendReportState {
+        private final long reportVersion;
+        private final long lastFullReportTime;
+        // tablet id -> fingerprint of reported tablet info
+        private final LongLongHashMap fingerprints;
+
+        BackendReportState(long reportVersion, long lastFullReportTime, LongLongHashMap fingerprints) {
+            this.reportVersion = reportVersion;
+            this.lastFullReportTime = lastFullReportTime;
+            this.fingerprints = fingerprints;
+        }
+    }
+
+    public static class ReportDelta {
+        private final long backendId;
+        private final long reportVersion;
+        private final boolean isFull;
+        private final Set<Long> unchangedTablets;
+        private final LongLongHashMap fingerprints;
+
+        ReportDelta(long backendId, long reportVersion, boolean isFull, Set<Long> unchangedTablets,
+                LongLongHashMap fingerprints) {
+            this.backendId = backendId;
+            this.reportVersion = reportVersion;
+            this.isFull = isFull;
+            this.unchangedTablets = unchangedTablets;
+            this.fingerprints = fingerprints;
+        }
+
+        public boolean isFull() {
+            return isFull;
+        }
+
+        public Set<Long> getUnchangedTablets() {
+            return unchangedTablets;
+        }
+    }
+
+    private final Map<Long, BackendReportState> backendStates = Maps.newConcurrentMap();
+
+    /**
+     * Compare the report with the last processed report of the backend.
+     * The returned delta should be passed to {@link #commit} after the report is processed.
+     */
+    public ReportDelta prepare(long backendId, Map<Long, TTablet> backendTablets, long reportVersion) {
+        LongLongHashMap fingerprints = new LongLongHashMap(backendTablets.size());
+        for (Map.Entry<Long, TTablet> entry : backendTablets.entrySet()) {
+            Long fingerprint = fingerprint(entry.getValue());
+            if (fingerprint != null) {
+                fingerprints.put(entry.getKey().longValue(), fingerprint.longValue());
+            }
+        }
+
+        BackendReportState state = backendStates.get(backendId);
+        long now = System.currentTimeMillis();
+        if (state == null || reportVersion < state.reportVersion
+                || now - state.lastFullReportTime >= Config.tablet_report_full_interval_second * 1000L) {
+            return new ReportDelta(backendId, reportVersion, true, ImmutableSet.of(), fingerprints);
+        }
+
+        Set<Long> unchangedTablets = Sets.newHashSetWithExpectedSize(backendTablets.size());
+        for (Long tabletId : backendTablets.keySet()) {
+            long id = tabletId;
+            if (fingerprints.containsKey(id) && state.fingerprints.containsKey(id)
+                    && fingerprints.get(id, 0L) == state.fingerprints.get(id, 0L)) {
+                unchangedTablets.add(tabletId);
+            }
+        }
+        return new ReportDelta(backendId, reportVersion, false, unchangedTablets, fingerprints);
+    }
+
+    /**
+     * Remember the processed report as the base of the next delta.
+     */
+    public void commit(ReportDelta delta, LongPredicate backendExists) {
+        BackendReportState state = backendStates.get(delta.backendId);
+        long lastFullReportTime = delta.isFull || state == null
+                ? System.currentTimeMillis() : state.lastFullReportTime;
+        backendStates.put(delta.backendId,
+                new BackendReportState(delta.reportVersion, lastFullReportTime, delta.fingerprints));
+        // drop the states of the dropped backends
+        backendStates.keySet().removeIf(backendId -> !backendExists.test(backendId));
+    }
+
+    public void clear() {
+        backendStates.clear();
+    }
+
+    /**
+     * Fingerprint of the fields of a reported tablet which are checked by the tablet diff.
+     * Returns null if the tablet has to be diffed every time, eg. it has pending transactions,
+     * whose state may be changed on FE side only.
+     */
+    static Long fingerprint(TTablet tablet) {
+        if (tablet.getTabletInfos() == null || tablet.getTabletInfos().isEmpty()) {
+            return null;
+        }
+        TTabletInfo info = tablet.getTabletInfos().get(0);
+        if (info.isSetTransactionIds() && !info.getTransactionIds().isEmpty()) {
+            return null;
+        }
+        long h = mix(0, info.getSchemaHash());
+        h = mix(h, info.getVersion());
+        h = mix(h, info.isSetStorageMedium() ? info.getStorageMedium().getValue() : -1);
+        h = mix(h, info.isSetVersionCount() ? info.getVersionCount() : -1);
+        h = mix(h, info.isSetPathHash() ? info.getPathHash() : -1);
+        h = mix(h, info.isSetVersionMiss() ? (info.isVersionMiss() ? 1 : 0) : -1);
+        h = mix(h, info.isSetUsed() ? (info.isUsed() ? 1 : 0) : -1);
+        h = mix(h, info.isSetPartitionId() ? info.getPartitionId() : -1);
+        h = mix(h, info.isSetIsInMemory() ? (info.isIsInMemory() ? 1 : 0) : -1);
+        h = mix(h, info.isSetReplicaId() ? info.getReplicaId() : -1);
+        h = mix(h, info.isSetCooldownReplicaId() ? info.getCooldownReplicaId() : -1);
+        h = mix(h, info.isSetCooldownTerm() ? info.getCooldownTerm() : -1);
+        if (info.isSetCooldownMetaId()) {
+            h = mix(h, info.getCooldownMetaId().getHi());
+            h = mix(h, info.getCooldownMetaId().getLo());
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        h = (h ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
@@ -32,8 +32,11 @@ import org.apache.doris.load.routineload.RoutineLoadManager;
 import org.apache.doris.metric.Metric.MetricUnit;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
+import org.apache.doris.nereids.cache.NereidsPlanCache;
 import org.apache.doris.persist.EditLog;
+import org.apache.doris.persist.meta.MetaReader;
 import org.apache.doris.qe.QeProcessorImpl;
+import org.apache.doris.qe.cache.CacheFeProxy;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
@@ -83,6 +86,13 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_CACHE_ADDED_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
+    public static LongCounterMetric COUNTER_CACHE_FE_REQUEST;
+    public static LongCounterMetric COUNTER_CACHE_FE_HIT;
+    public static LongCounterMetric COUNTER_CACHE_BE_REQUEST;
+    public static LongCounterMetric COUNTER_CACHE_BE_HIT;
+    public static LongCounterMetric COUNTER_NEREIDS_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_NEREIDS_PLAN_CACHE_MISS;
+    public static Histogram HISTO_NEREIDS_PLAN_LATENCY;
 
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
@@ -92,6 +102,8 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_SUCCESS;
     public static LongCounterMetric COUNTER_EDIT_LOG_CLEAN_FAILED;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE;
+    public static Histogram HISTO_EDIT_LOG_GROUP_COMMIT_LATENCY;
 
     public static LongCounterMetric COUNTER_IMAGE_WRITE_SUCCESS;
     public static LongCounterMetric COUNTER_IMAGE_WRITE_FAILED;
@@ -113,8 +125,25 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
+    public static AutoMappedMetric<GaugeMetricImpl<Long>> JOB_GAUGE_ROUTINE_LOAD_LAG;
+    public static AutoMappedMetric<GaugeMetricImpl<Long>> JOB_GAUGE_ROUTINE_LOAD_ROWS_RATE;
+    public static AutoMappedMetric<GaugeMetricImpl<Long>> JOB_GAUGE_ROUTINE_LOAD_BYTES_RATE;
+    public static AutoMappedMetric<GaugeMetricImpl<Long>> JOB_GAUGE_ROUTINE_LOAD_TASK_NUM;
+    public static LongCounterMetric COUNTER_MYSQL_LOAD_BYTES;
+    public static LongCounterMetric COUNTER_MYSQL_LOAD_CHUNKS;
+    public static Histogram HISTO_MYSQL_LOAD_THROUGHPUT;
+
+    public static Histogram HISTO_FILE_SCAN_SPLIT_ASSIGN_SKEW;
+    public static LongCounterMetric COUNTER_FILE_SCAN_SPLIT_REASSIGNED;
     public static LongCounterMetric COUNTER_HIT_SQL_BLOCK_RULE;
 
+    public static Histogram HISTO_REPORT_QUEUE_LATENCY;
+    public static LongCounterMetric COUNTER_REPORT_SUPERSEDED;
+    public static LongCounterMetric COUNTER_TABLET_REPORT_FULL;
+    public static LongCounterMetric COUNTER_TABLET_REPORT_DELTA;
+    public static LongCounterMetric COUNTER_TABLET_REPORT_TABLETS_PROCESSED;
+    public static LongCounterMetric COUNTER_TABLET_REPORT_TABLETS_SKIPPED;
+
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_ALL;
     public static AutoMappedMetric<LongCounterMetric> THRIFT_COUNTER_RPC_LATENCY;
 
@@ -337,6 +366,48 @@ public final class MetricRepo {
                 "total hits query by partition model");
         COUNTER_CACHE_HIT_PARTITION.addLabel(new MetricLabel("type", "partition"));
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_HIT_PARTITION);
+        COUNTER_CACHE_FE_REQUEST = new LongCounterMetric("cache_tier_request", MetricUnit.REQUESTS,
+                "total requests of result cache in fe");
+        COUNTER_CACHE_FE_REQUEST.addLabel(new MetricLabel("tier", "fe"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_REQUEST);
+        COUNTER_CACHE_FE_HIT = new LongCounterMetric("cache_tier_hit", MetricUnit.REQUESTS,
+                "total hits of result cache in fe");
+        COUNTER_CACHE_FE_HIT.addLabel(new MetricLabel("tier", "fe"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_FE_HIT);
+        COUNTER_CACHE_BE_REQUEST = new LongCounterMetric("cache_tier_request", MetricUnit.REQUESTS,
+                "total requests of result cache in be");
+        COUNTER_CACHE_BE_REQUEST.addLabel(new MetricLabel("tier", "be"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_BE_REQUEST);
+        COUNTER_CACHE_BE_HIT = new LongCounterMetric("cache_tier_hit", MetricUnit.REQUESTS,
+                "total hits of result cache in be");
+        COUNTER_CACHE_BE_HIT.addLabel(new MetricLabel("tier", "be"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_CACHE_BE_HIT);
+        GaugeMetric<Long> feCacheSize = new GaugeMetric<Long>("cache_fe_result_num", MetricUnit.NOUNIT,
+                "number of results cached in fe") {
+            @Override
+            public Long getValue() {
+                return CacheFeProxy.getInstance().size();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(feCacheSize);
+        COUNTER_NEREIDS_PLAN_CACHE_HIT = new LongCounterMetric("nereids_plan_cache", MetricUnit.REQUESTS,
+                "total hits of nereids plan cache");
+        COUNTER_NEREIDS_PLAN_CACHE_HIT.addLabel(new MetricLabel("type", "hit"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_NEREIDS_PLAN_CACHE_HIT);
+        COUNTER_NEREIDS_PLAN_CACHE_MISS = new LongCounterMetric("nereids_plan_cache", MetricUnit.REQUESTS,
+                "total misses of nereids plan cache");
+        COUNTER_NEREIDS_PLAN_CACHE_MISS.addLabel(new MetricLabel("type", "miss"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_NEREIDS_PLAN_CACHE_MISS);
+        GaugeMetric<Long> planCacheSize = new GaugeMetric<Long>("nereids_plan_cache_size", MetricUnit.NOUNIT,
+                "number of plans in nereids plan cache") {
+            @Override
+            public Long getValue() {
+                return NereidsPlanCache.getInstance().size();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(planCacheSize);
+        HISTO_NEREIDS_PLAN_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("nereids", "plan", "latency", "ms"));
 
         // edit log
         COUNTER_EDIT_LOG_WRITE = new LongCounterMetric("edit_log", MetricUnit.OPERATIONS,
@@ -361,6 +432,35 @@ public final class MetricRepo {
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_CURRENT_EDIT_LOG_SIZE_BYTES);
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(
             MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE = METRIC_REGISTER.histogram(
+            MetricRegistry.name("editlog", "group_commit", "batch_size"));
+        HISTO_EDIT_LOG_GROUP_COMMIT_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("editlog", "group_commit", "latency", "ms"));
+        GaugeMetric<Long> editLogGroupCommitQueueSize = new GaugeMetric<Long>("edit_log_group_commit_queue_size",
+                MetricUnit.NOUNIT, "number of edit log entries waiting for group commit") {
+            @Override
+            public Long getValue() {
+                EditLog editLog = Env.getCurrentEnv().getEditLog();
+                if (editLog == null) {
+                    return 0L;
+                }
+                return (long) editLog.getGroupCommitQueueSize();
+            }
+        };
+        DORIS_METRIC_REGISTER.addMetrics(editLogGroupCommitQueueSize);
+
+        // image load
+        for (String moduleName : MetaReader.getModuleLoadTimeMs().keySet()) {
+            GaugeMetric<Long> moduleLoadTime = new GaugeMetric<Long>("image_load_module_time_ms",
+                    MetricUnit.MILLISECONDS, "time used to load the module of image at startup") {
+                @Override
+                public Long getValue() {
+                    return MetaReader.getModuleLoadTimeMs().getOrDefault(moduleName, 0L);
+                }
+            };
+            moduleLoadTime.addLabel(new MetricLabel("module", moduleName));
+            DORIS_METRIC_REGISTER.addMetrics(moduleLoadTime);
+        }
 
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
@@ -463,11 +563,58 @@ public final class MetricRepo {
         COUNTER_ROUTINE_LOAD_ERROR_ROWS = new LongCounterMetric("routine_load_error_rows", MetricUnit.ROWS,
                 "total error rows of routine load");
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
+        JOB_GAUGE_ROUTINE_LOAD_LAG = addLabeledMetrics("job", () -> new GaugeMetricImpl<>("routine_load_lag",
+                MetricUnit.NOUNIT, "number of messages not consumed by the routine load job"));
+        JOB_GAUGE_ROUTINE_LOAD_ROWS_RATE = addLabeledMetrics("job", () -> new GaugeMetricImpl<>(
+                "routine_load_rows_rate", MetricUnit.ROWS, "rows loaded per second by the routine load job"));
+        JOB_GAUGE_ROUTINE_LOAD_BYTES_RATE = addLabeledMetrics("job", () -> new GaugeMetricImpl<>(
+                "routine_load_bytes_rate", MetricUnit.BYTES, "bytes received per second by the routine load job"));
+        JOB_GAUGE_ROUTINE_LOAD_TASK_NUM = addLabeledMetrics("job", () -> new GaugeMetricImpl<>(
+                "routine_load_task_num", MetricUnit.NOUNIT, "number of concurrent tasks of the routine load job"));
+
+        COUNTER_MYSQL_LOAD_BYTES = new LongCounterMetric("mysql_load_bytes", MetricUnit.BYTES,
+                "total bytes loaded by mysql load");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_MYSQL_LOAD_BYTES);
+        COUNTER_MYSQL_LOAD_CHUNKS = new LongCounterMetric("mysql_load_chunks", MetricUnit.NOUNIT,
+                "total stream loads sent by mysql load");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_MYSQL_LOAD_CHUNKS);
+        HISTO_MYSQL_LOAD_THROUGHPUT = METRIC_REGISTER.histogram(
+                MetricRegistry.name("mysql_load", "throughput", "bytes_per_second"));
+
+        // ratio of max to average bytes assigned to a backend, in percent
+        HISTO_FILE_SCAN_SPLIT_ASSIGN_SKEW = METRIC_REGISTER.histogram(
+                MetricRegistry.name("file_scan", "split_assign", "skew", "percent"));
+        COUNTER_FILE_SCAN_SPLIT_REASSIGNED = new LongCounterMetric("file_scan_split_reassigned", MetricUnit.NOUNIT,
+                "total file scan splits not assigned to their hashed backend because it is overloaded");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_FILE_SCAN_SPLIT_REASSIGNED);
 
         COUNTER_HIT_SQL_BLOCK_RULE = new LongCounterMetric("counter_hit_sql_block_rule", MetricUnit.ROWS,
                 "total hit sql block rule query");
         DORIS_METRIC_REGISTER.addMetrics(COUNTER_HIT_SQL_BLOCK_RULE);
 
+        // report
+        HISTO_REPORT_QUEUE_LATENCY = METRIC_REGISTER.histogram(
+            MetricRegistry.name("report", "queue", "latency", "ms"));
+        COUNTER_REPORT_SUPERSEDED = new LongCounterMetric("report_superseded", MetricUnit.REQUESTS,
+                "counter of reports dropped from queue because a later report of the same type arrives");
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_REPORT_SUPERSEDED);
+        COUNTER_TABLET_REPORT_FULL = new LongCounterMetric("tablet_report", MetricUnit.REQUESTS,
+                "counter of tablet reports processed as full report");
+        COUNTER_TABLET_REPORT_FULL.addLabel(new MetricLabel("type", "full"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_TABLET_REPORT_FULL);
+        COUNTER_TABLET_REPORT_DELTA = new LongCounterMetric("tablet_report", MetricUnit.REQUESTS,
+                "counter of tablet reports processed as delta report");
+        COUNTER_TABLET_REPORT_DELTA.addLabel(new MetricLabel("type", "delta"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_TABLET_REPORT_DELTA);
+        COUNTER_TABLET_REPORT_TABLETS_PROCESSED = new LongCounterMetric("tablet_report_tablets", MetricUnit.NOUNIT,
+                "counter of reported tablets diffed with meta");
+        COUNTER_TABLET_REPORT_TABLETS_PROCESSED.addLabel(new MetricLabel("type", "processed"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_TABLET_REPORT_TABLETS_PROCESSED);
+        COUNTER_TABLET_REPORT_TABLETS_SKIPPED = new LongCounterMetric("tablet_report_tablets", MetricUnit.NOUNIT,
+                "counter of reported tablets skipped because they are unchanged since last report");
+        COUNTER_TABLET_REPORT_TABLETS_SKIPPED.addLabel(new MetricLabel("type", "skipped"));
+        DORIS_METRIC_REGISTER.addMetrics(COUNTER_TABLET_REPORT_TABLETS_SKIPPED);
+
         THRIFT_COUNTER_RPC_ALL = addLabeledMetrics("method", () ->
                 new LongCounterMetric("thrift_rpc_total", MetricUnit.NOUNIT, ""));
         THRIFT_COUNTER_RPC_LATENCY = addLabeledMetrics("method", () ->
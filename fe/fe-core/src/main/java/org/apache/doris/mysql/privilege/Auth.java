@@ -38,6 +38,7 @@ import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.AuthenticationException;
 import org.apache.doris.common.AuthorizationException;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
@@ -78,6 +79,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class Auth implements Writable {
@@ -107,6 +109,9 @@ public class Auth implements Writable {
 
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
+    // the results of checking the privileges of roles, which are invalidated when anything is changed with write lock
+    private PrivDecisionCache decisionCache = new PrivDecisionCache(Config.priv_decision_cache_max_entry_num);
+
     private void readLock() {
         lock.readLock().lock();
     }
@@ -120,6 +125,7 @@ public class Auth implements Writable {
     }
 
     private void writeUnlock() {
+        decisionCache.invalidateAll();
         lock.writeLock().unlock();
     }
 
@@ -228,18 +234,8 @@ public class Auth implements Writable {
         if (isLdapAuthEnabled() && LdapPrivsChecker.hasGlobalPrivFromLdap(currentUser, wanted)) {
             return true;
         }
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkGlobalPriv(wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
+        return checkRolesPriv(currentUser, PrivLevel.GLOBAL, null, null, null, wanted,
+                role -> role.checkGlobalPriv(wanted));
     }
 
     // ==== Catalog ====
@@ -250,18 +246,8 @@ public class Auth implements Writable {
             return false;
         }
         //ldap（before change to rbac）
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkCtlPriv(ctl, wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
+        return checkRolesPriv(currentUser, PrivLevel.CATALOG, ctl, null, null, wanted,
+                role -> role.checkCtlPriv(ctl, wanted));
     }
 
     // ==== Database ====
@@ -275,19 +261,8 @@ public class Auth implements Writable {
                     currentUser, db);
             return false;
         }
-        readLock();
-        try {
-            Set<String> roles = userRoleManager.getRolesByUser(currentUser);
-            for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkDbPriv(ctl, db, wanted)) {
-                    return true;
-                }
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
-
+        return checkRolesPriv(currentUser, PrivLevel.DATABASE, ctl, db, null, wanted,
+                role -> role.checkDbPriv(ctl, db, wanted));
     }
 
     // ==== Table ====
@@ -299,15 +274,31 @@ public class Auth implements Writable {
             LOG.debug("should check NODE priv in GLOBAL level. user: {}, db: {}, tbl: {}", currentUser, db, tbl);
             return false;
         }
+        return checkRolesPriv(currentUser, PrivLevel.TABLE, ctl, db, tbl, wanted,
+                role -> role.checkTblPriv(ctl, db, tbl, wanted));
+    }
+
+    /*
+     * Check whether any role of the user has the wanted privilege, the result is cached until anything is changed.
+     */
+    private boolean checkRolesPriv(UserIdentity currentUser, PrivLevel level, String ctl, String db, String tbl,
+            PrivPredicate wanted, Predicate<Role> checker) {
         readLock();
         try {
+            Boolean decision = decisionCache.get(currentUser, level, ctl, db, tbl, wanted);
+            if (decision != null) {
+                return decision;
+            }
+            boolean hasPriv = false;
             Set<String> roles = userRoleManager.getRolesByUser(currentUser);
             for (String roleName : roles) {
-                if (roleManager.getRole(roleName).checkTblPriv(ctl, db, tbl, wanted)) {
-                    return true;
+                if (checker.test(roleManager.getRole(roleName))) {
+                    hasPriv = true;
+                    break;
                 }
             }
-            return false;
+            decisionCache.put(currentUser, level, ctl, db, tbl, wanted, hasPriv);
+            return hasPriv;
         } finally {
             readUnlock();
         }
@@ -1477,6 +1468,7 @@ public class Auth implements Writable {
         } else {
             passwdPolicyManager = new PasswordPolicyManager();
         }
+        decisionCache.invalidateAll();
     }
 
     private void upgradeToVersion116(UserPrivTable userPrivTable, CatalogPrivTable catalogPrivTable,
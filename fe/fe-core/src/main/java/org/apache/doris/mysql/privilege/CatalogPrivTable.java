@@ -31,22 +31,25 @@ public class CatalogPrivTable extends PrivTable {
      * saved in 'savedPrivs'.
      */
     public void getPrivs(String ctl, PrivBitSet savedPrivs) {
-        CatalogPrivEntry matchedEntry = null;
-        for (PrivEntry entry : entries) {
+        PrivEntry matchedEntry = getFirstMatchedEntry(ctl, entry -> {
             CatalogPrivEntry ctlPrivEntry = (CatalogPrivEntry) entry;
 
             // check catalog
-            if (!ctlPrivEntry.isAnyCtl() && !ctlPrivEntry.getCtlPattern().match(ctl)) {
-                continue;
-            }
-
-            matchedEntry = ctlPrivEntry;
-            break;
-        }
+            return ctlPrivEntry.isAnyCtl() || ctlPrivEntry.getCtlPattern().match(ctl);
+        });
         if (matchedEntry == null) {
             return;
         }
 
         savedPrivs.or(matchedEntry.getPrivSet());
     }
+
+    @Override
+    protected String getExactKey(PrivEntry entry) {
+        CatalogPrivEntry ctlPrivEntry = (CatalogPrivEntry) entry;
+        if (ctlPrivEntry.isAnyCtl() || !ctlPrivEntry.getCtlPattern().isExactMatch()) {
+            return null;
+        }
+        return ctlPrivEntry.getOrigCtl();
+    }
 }
@@ -32,23 +32,18 @@ public class DbPrivTable extends PrivTable {
      * saved in 'savedPrivs'.
      */
     public void getPrivs(String ctl, String db, PrivBitSet savedPrivs) {
-        DbPrivEntry matchedEntry = null;
-        for (PrivEntry entry : entries) {
+        String exactKey = ctl == null || db == null ? null : makeKey(ctl, db);
+        PrivEntry matchedEntry = getFirstMatchedEntry(exactKey, entry -> {
             DbPrivEntry dbPrivEntry = (DbPrivEntry) entry;
 
             // check catalog
             if (!dbPrivEntry.isAnyCtl() && !dbPrivEntry.getCtlPattern().match(ctl)) {
-                continue;
+                return false;
             }
 
             // check db
-            if (!dbPrivEntry.isAnyDb() && !dbPrivEntry.getDbPattern().match(db)) {
-                continue;
-            }
-
-            matchedEntry = dbPrivEntry;
-            break;
-        }
+            return dbPrivEntry.isAnyDb() || dbPrivEntry.getDbPattern().match(db);
+        });
         if (matchedEntry == null) {
             return;
         }
@@ -56,6 +51,20 @@ public class DbPrivTable extends PrivTable {
         savedPrivs.or(matchedEntry.getPrivSet());
     }
 
+    @Override
+    protected String getExactKey(PrivEntry entry) {
+        DbPrivEntry dbPrivEntry = (DbPrivEntry) entry;
+        if (dbPrivEntry.isAnyCtl() || dbPrivEntry.isAnyDb() || !dbPrivEntry.getCtlPattern().isExactMatch()
+                || !dbPrivEntry.getDbPattern().isExactMatch()) {
+            return null;
+        }
+        return makeKey(dbPrivEntry.getOrigCtl(), dbPrivEntry.getOrigDb());
+    }
+
+    private static String makeKey(String ctl, String db) {
+        return ctl + '\0' + db;
+    }
+
     public boolean hasPrivsOfCatalog(String ctl) {
         for (PrivEntry entry : entries) {
             DbPrivEntry dbPrivEntry = (DbPrivEntry) entry;
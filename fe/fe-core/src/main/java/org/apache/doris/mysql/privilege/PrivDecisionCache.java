@@ -0,0 +1,127 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.mysql.privilege;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.mysql.privilege.Auth.PrivLevel;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Cache of the privilege check results of users, so that the privilege tables of all roles of the user
+ * are not matched again for each table referenced by each query.
+ * The cache is bounded by the total number of results of all users.
+ * The cache has a version which is increased when any user, role or privilege is changed,
+ * and the results cached with an old version are dropped lazily.
+ */
+public class PrivDecisionCache {
+    private final AtomicLong version = new AtomicLong(0);
+    private final Cache<DecisionKey, Decision> decisions;
+    private final boolean enabled;
+
+    private static class Decision {
+        private final long version;
+        private final boolean hasPriv;
+
+        private Decision(long version, boolean hasPriv) {
+            this.version = version;
+            this.hasPriv = hasPriv;
+        }
+    }
+
+    private static class DecisionKey {
+        private final UserIdentity user;
+        private final PrivLevel level;
+        private final String ctl;
+        private final String db;
+        private final String tbl;
+        // the predicates are mostly the constants of PrivPredicate, so they are compared by identity
+        private final PrivPredicate wanted;
+
+        private DecisionKey(UserIdentity user, PrivLevel level, String ctl, String db, String tbl,
+                PrivPredicate wanted) {
+            this.user = user;
+            this.level = level;
+            this.ctl = ctl;
+            this.db = db;
+            this.tbl = tbl;
+            this.wanted = wanted;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey) o;
+            return level == other.level && wanted == other.wanted && Objects.equals(user, other.user)
+                    && Objects.equals(ctl, other.ctl) && Objects.equals(db, other.db)
+                    && Objects.equals(tbl, other.tbl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(user, level, ctl, db, tbl, System.identityHashCode(wanted));
+        }
+    }
+
+    public PrivDecisionCache(long maxEntryNum) {
+        this.enabled = maxEntryNum > 0;
+        this.decisions = Caffeine.newBuilder().maximumSize(Math.max(maxEntryNum, 0)).build();
+    }
+
+    /*
+     * Return the cached result, or null if it is not cached.
+     */
+    public Boolean get(UserIdentity user, PrivLevel level, String ctl, String db, String tbl, PrivPredicate wanted) {
+        if (!enabled) {
+            return null;
+        }
+        Decision decision = decisions.getIfPresent(new DecisionKey(user, level, ctl, db, tbl, wanted));
+        if (decision == null || decision.version != version.get()) {
+            return null;
+        }
+        return decision.hasPriv;
+    }
+
+    public void put(UserIdentity user, PrivLevel level, String ctl, String db, String tbl, PrivPredicate wanted,
+            boolean hasPriv) {
+        if (!enabled) {
+            return;
+        }
+        decisions.put(new DecisionKey(user, level, ctl, db, tbl, wanted), new Decision(version.get(), hasPriv));
+    }
+
+    /*
+     * Invalidate all cached results. The caller should make sure that no result checked before the change
+     * is put after this.
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+}
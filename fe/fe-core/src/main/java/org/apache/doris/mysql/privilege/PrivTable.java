@@ -23,6 +23,7 @@ import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.io.Text;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,6 +34,8 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public abstract class PrivTable {
     private static final Logger LOG = LogManager.getLogger(PrivTable.class);
@@ -42,6 +45,33 @@ public abstract class PrivTable {
     // see PrivEntry for more detail
     protected boolean isClassNameWrote = false;
 
+    // built lazily from the entries, and reset when the entries are added or dropped
+    private volatile EntryIndex index;
+
+    /*
+     * Index of the entries. The entries whose keys are all exact names are found by hash lookup,
+     * and only the entries with patterns are matched one by one.
+     */
+    private static class EntryIndex {
+        // exact key -> position of the first entry with the key
+        private final Map<String, Integer> exactKeyToPosition = Maps.newHashMap();
+        // positions of the entries with patterns, in ascending order
+        private final int[] patternPositions;
+
+        private EntryIndex(PrivTable table) {
+            List<Integer> positions = Lists.newArrayList();
+            for (int i = 0; i < table.entries.size(); i++) {
+                String exactKey = table.getExactKey(table.entries.get(i));
+                if (exactKey == null) {
+                    positions.add(i);
+                } else {
+                    exactKeyToPosition.putIfAbsent(exactKey, i);
+                }
+            }
+            patternPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
     /*
      * Check if user@host has specified privilege
      */
@@ -70,6 +100,7 @@ public abstract class PrivTable {
             }
             entries.add(newEntry);
             Collections.sort(entries);
+            index = null;
             LOG.info("add priv entry: {}", newEntry);
             return newEntry;
         } else {
@@ -94,6 +125,7 @@ public abstract class PrivTable {
             PrivEntry privEntry = iter.next();
             if (privEntry.keyMatch(entry)) {
                 iter.remove();
+                index = null;
                 LOG.info("drop priv entry: {}", privEntry);
                 break;
             }
@@ -136,6 +168,39 @@ public abstract class PrivTable {
     }
 
 
+    /*
+     * The key to look up the entry if the entry only matches exact names, or null if it has any pattern.
+     * The key of the names which an entry matches should be the same as the key of the entry.
+     */
+    protected String getExactKey(PrivEntry entry) {
+        return null;
+    }
+
+    /*
+     * Return the first entry which matches the names, which is the same as matching all entries in order.
+     * 'exactKey' is the key of the names, see getExactKey(), and 'matcher' checks whether an entry with patterns
+     * matches the names.
+     */
+    protected PrivEntry getFirstMatchedEntry(String exactKey, Predicate<PrivEntry> matcher) {
+        EntryIndex entryIndex = index;
+        if (entryIndex == null) {
+            entryIndex = new EntryIndex(this);
+            index = entryIndex;
+        }
+        Integer exactPosition = exactKey == null ? null : entryIndex.exactKeyToPosition.get(exactKey);
+        int end = exactPosition == null ? entries.size() : exactPosition;
+        for (int position : entryIndex.patternPositions) {
+            if (position >= end) {
+                break;
+            }
+            PrivEntry entry = entries.get(position);
+            if (matcher.test(entry)) {
+                return entry;
+            }
+        }
+        return exactPosition == null ? null : entries.get(exactPosition);
+    }
+
     // Get existing entry which is the keys match the given entry
     protected PrivEntry getExistingEntry(PrivEntry entry) {
         for (PrivEntry existingEntry : entries) {
@@ -154,6 +219,7 @@ public abstract class PrivTable {
     // for test only
     public void clear() {
         entries.clear();
+        index = null;
     }
 
     public boolean isEmpty() {
@@ -196,6 +262,7 @@ public abstract class PrivTable {
             entries.add(entry);
         }
         Collections.sort(entries);
+        index = null;
     }
 
     public void merge(PrivTable privTable) {
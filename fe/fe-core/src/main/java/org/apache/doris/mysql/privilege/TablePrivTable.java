@@ -29,28 +29,23 @@ public class TablePrivTable extends PrivTable {
      * be saved in 'savedPrivs'.
      */
     public void getPrivs(String ctl, String db, String tbl, PrivBitSet savedPrivs) {
-        TablePrivEntry matchedEntry = null;
-        for (PrivEntry entry : entries) {
+        String exactKey = ctl == null || db == null || tbl == null ? null : makeKey(ctl, db, tbl);
+        PrivEntry matchedEntry = getFirstMatchedEntry(exactKey, entry -> {
             TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
             // check catalog
             if (!tblPrivEntry.isAnyCtl() && !tblPrivEntry.getCtlPattern().match(ctl)) {
-                continue;
+                return false;
             }
 
             // check db
             Preconditions.checkState(!tblPrivEntry.isAnyDb());
             if (!tblPrivEntry.getDbPattern().match(db)) {
-                continue;
+                return false;
             }
 
             // check table
-            if (!tblPrivEntry.getTblPattern().match(tbl)) {
-                continue;
-            }
-
-            matchedEntry = tblPrivEntry;
-            break;
-        }
+            return tblPrivEntry.getTblPattern().match(tbl);
+        });
         if (matchedEntry == null) {
             return;
         }
@@ -58,6 +53,20 @@ public class TablePrivTable extends PrivTable {
         savedPrivs.or(matchedEntry.getPrivSet());
     }
 
+    @Override
+    protected String getExactKey(PrivEntry entry) {
+        TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
+        if (tblPrivEntry.isAnyCtl() || !tblPrivEntry.getCtlPattern().isExactMatch()
+                || !tblPrivEntry.getDbPattern().isExactMatch() || !tblPrivEntry.getTblPattern().isExactMatch()) {
+            return null;
+        }
+        return makeKey(tblPrivEntry.getOrigCtl(), tblPrivEntry.getOrigDb(), tblPrivEntry.getOrigTbl());
+    }
+
+    private static String makeKey(String ctl, String db, String tbl) {
+        return ctl + '\0' + db + '\0' + tbl;
+    }
+
     public boolean hasPrivsOfCatalog(String ctl) {
         for (PrivEntry entry : entries) {
             TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
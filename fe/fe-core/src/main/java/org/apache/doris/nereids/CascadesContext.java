@@ -31,6 +31,7 @@ import org.apache.doris.nereids.jobs.rewrite.RewriteTopDownJob;
 import org.apache.doris.nereids.jobs.scheduler.JobPool;
 import org.apache.doris.nereids.jobs.scheduler.JobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.JobStack;
+import org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.SimpleJobScheduler;
 import org.apache.doris.nereids.memo.Memo;
 import org.apache.doris.nereids.processor.post.RuntimeFilterContext;
@@ -92,7 +93,8 @@ public class CascadesContext {
         this.statementContext = statementContext;
         this.ruleSet = new RuleSet();
         this.jobPool = new JobStack();
-        this.jobScheduler = new SimpleJobScheduler();
+        this.jobScheduler = getConnectContext().getSessionVariable().isEnableNereidsParallelOptimize()
+                ? new ParallelJobScheduler() : new SimpleJobScheduler();
         this.currentJobContext = new JobContext(this, requireProperties, Double.MAX_VALUE);
         this.subqueryExprIsAnalyzed = new HashMap<>();
         this.runtimeFilterContext = new RuntimeFilterContext(getConnectContext().getSessionVariable());
@@ -230,6 +232,13 @@ public class CascadesContext {
         }
     }
 
+    /**
+     * The tables extracted by extractTables, which are locked while planning.
+     */
+    public List<Table> getExtractedTables() {
+        return tables;
+    }
+
     private Set<UnboundRelation> getTables(LogicalPlan logicalPlan) {
         Set<UnboundRelation> unboundRelations = new HashSet<>();
         logicalPlan.foreach(p -> {
@@ -21,7 +21,11 @@ import org.apache.doris.analysis.DescriptorTable;
 import org.apache.doris.analysis.ExplainOptions;
 import org.apache.doris.analysis.StatementBase;
 import org.apache.doris.common.NereidsException;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.nereids.CascadesContext.Lock;
+import org.apache.doris.nereids.cache.CachedPlan;
+import org.apache.doris.nereids.cache.NereidsPlanCache;
+import org.apache.doris.nereids.cache.PlanCacheKey;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.glue.LogicalPlanAdapter;
 import org.apache.doris.nereids.glue.translator.PhysicalPlanTranslator;
@@ -146,14 +150,30 @@ public class NereidsPlanner extends Planner {
             }
         }
 
+        long startTime = System.currentTimeMillis();
+        LogicalPlan originPlan = plan;
+        // the plan cache is only used by queries, not explain
+        PlanCacheKey planCacheKey = explainLevel == ExplainLevel.NONE ? statementContext.getPlanCacheKey() : null;
+
         // pre-process logical plan out of memo, e.g. process SET_VAR hint
         plan = preprocess(plan);
 
         initCascadesContext(plan, requireProperties);
 
         try (Lock lock = new Lock(plan, cascadesContext)) {
+            if (planCacheKey != null) {
+                PhysicalPlan cachedPlan = getCachedPlan(planCacheKey);
+                if (cachedPlan != null) {
+                    return postProcess(cachedPlan);
+                }
+            }
+
             // resolve column, table and function
             analyze();
+            Plan planToCache = null;
+            if (planCacheKey != null) {
+                planToCache = cascadesContext.getMemo().copyOut(false);
+            }
             if (explainLevel == ExplainLevel.ANALYZED_PLAN || explainLevel == ExplainLevel.ALL_PLAN) {
                 analyzedPlan = cascadesContext.getMemo().copyOut(false);
                 if (explainLevel == ExplainLevel.ANALYZED_PLAN) {
@@ -173,6 +193,11 @@ public class NereidsPlanner extends Planner {
             optimize();
 
             PhysicalPlan physicalPlan = chooseBestPlan(getRoot(), requireProperties);
+            if (planCacheKey != null) {
+                // the post processors don't change the plan, so the plan can be post processed again when reused
+                NereidsPlanCache.getInstance().put(planCacheKey, originPlan, planToCache, physicalPlan,
+                        cascadesContext);
+            }
 
             physicalPlan = postProcess(physicalPlan);
             if (explainLevel == ExplainLevel.OPTIMIZED_PLAN || explainLevel == ExplainLevel.ALL_PLAN) {
@@ -180,7 +205,38 @@ public class NereidsPlanner extends Planner {
             }
 
             return physicalPlan;
+        } finally {
+            if (MetricRepo.isInit && explainLevel == ExplainLevel.NONE) {
+                MetricRepo.HISTO_NEREIDS_PLAN_LATENCY.update(System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    /**
+     * Get the plan cached by the same statement, if the tables are not changed since it is cached.
+     * The tables should be locked.
+     */
+    private PhysicalPlan getCachedPlan(PlanCacheKey planCacheKey) {
+        NereidsPlanCache planCache = NereidsPlanCache.getInstance();
+        CachedPlan cachedPlan = statementContext.getCachedPlan();
+        if (cachedPlan == null) {
+            cachedPlan = planCache.get(planCacheKey);
+        }
+        if (cachedPlan != null && planCache.isUsable(cachedPlan, cascadesContext)) {
+            // the ids generated by post processors and translator should not conflict with the ids in the plan
+            statementContext.skipIds(cachedPlan.getNextExprIdValue(), cachedPlan.getNextRelationIdValue());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_NEREIDS_PLAN_CACHE_HIT.increase(1L);
+            }
+            return cachedPlan.getPhysicalPlan();
+        }
+        if (cachedPlan != null) {
+            planCache.invalidate(planCacheKey, cachedPlan);
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_NEREIDS_PLAN_CACHE_MISS.increase(1L);
         }
+        return null;
     }
 
     private LogicalPlan preprocess(LogicalPlan logicalPlan) {
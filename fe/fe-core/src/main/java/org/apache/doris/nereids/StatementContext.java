@@ -19,6 +19,8 @@ package org.apache.doris.nereids;
 
 import org.apache.doris.analysis.StatementBase;
 import org.apache.doris.common.IdGenerator;
+import org.apache.doris.nereids.cache.CachedPlan;
+import org.apache.doris.nereids.cache.PlanCacheKey;
 import org.apache.doris.nereids.trees.expressions.ExprId;
 import org.apache.doris.nereids.trees.plans.RelationId;
 import org.apache.doris.qe.ConnectContext;
@@ -51,6 +53,15 @@ public class StatementContext {
 
     private StatementBase parsedStatement;
 
+    // not null if the plan of the statement can be put into the plan cache
+    private PlanCacheKey planCacheKey;
+
+    // the plan got from the plan cache, which is used if it is still valid
+    private CachedPlan cachedPlan;
+
+    // some statistics used by the plan are still being loaded, so the plan should not be cached
+    private volatile boolean statisticsNotReady = false;
+
     public StatementContext() {
         this.connectContext = ConnectContext.get();
     }
@@ -90,11 +101,12 @@ public class StatementContext {
         return parsedStatement;
     }
 
-    public ExprId getNextExprId() {
+    // the ids may be generated by the rules transformed in parallel, see ParallelJobScheduler
+    public synchronized ExprId getNextExprId() {
         return exprIdGenerator.getNextId();
     }
 
-    public RelationId getNextRelationId() {
+    public synchronized RelationId getNextRelationId() {
         return relationIdGenerator.getNextId();
     }
 
@@ -102,6 +114,46 @@ public class StatementContext {
         this.parsedStatement = parsedStatement;
     }
 
+    public synchronized int getNextExprIdValue() {
+        return exprIdGenerator.peekNextIdValue();
+    }
+
+    public synchronized int getNextRelationIdValue() {
+        return relationIdGenerator.peekNextIdValue();
+    }
+
+    /**
+     * Skip the ids used by a cached plan, so that the ids generated later do not conflict with them.
+     */
+    public synchronized void skipIds(int nextExprIdValue, int nextRelationIdValue) {
+        exprIdGenerator.skipTo(nextExprIdValue);
+        relationIdGenerator.skipTo(nextRelationIdValue);
+    }
+
+    public PlanCacheKey getPlanCacheKey() {
+        return planCacheKey;
+    }
+
+    public void setPlanCacheKey(PlanCacheKey planCacheKey) {
+        this.planCacheKey = planCacheKey;
+    }
+
+    public CachedPlan getCachedPlan() {
+        return cachedPlan;
+    }
+
+    public void setCachedPlan(CachedPlan cachedPlan) {
+        this.cachedPlan = cachedPlan;
+    }
+
+    public boolean isStatisticsNotReady() {
+        return statisticsNotReady;
+    }
+
+    public void setStatisticsNotReady() {
+        this.statisticsNotReady = true;
+    }
+
     /** getOrRegisterCache */
     public synchronized <T> T getOrRegisterCache(String key, Supplier<T> cacheSupplier) {
         Supplier<T> supplier = (Supplier<T>) contextCacheMap.get(key);
@@ -0,0 +1,110 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A plan in {@link NereidsPlanCache}. The plans are immutable, so they are shared by the statements
+ * which hit the cache concurrently.
+ */
+public class CachedPlan {
+    private final LogicalPlan parsedPlan;
+    // the best plan chosen by the optimizer, before post processing which is done for each statement
+    private final PhysicalPlan physicalPlan;
+    // table id -> signature of the tables used by the plan
+    private final Map<Long, String> tableSignatures;
+    // the ids used by the plan are less than them
+    private final int nextExprIdValue;
+    private final int nextRelationIdValue;
+
+    public CachedPlan(LogicalPlan parsedPlan, PhysicalPlan physicalPlan, Map<Long, String> tableSignatures,
+            int nextExprIdValue, int nextRelationIdValue) {
+        this.parsedPlan = parsedPlan;
+        this.physicalPlan = physicalPlan;
+        this.tableSignatures = ImmutableMap.copyOf(tableSignatures);
+        this.nextExprIdValue = nextExprIdValue;
+        this.nextRelationIdValue = nextRelationIdValue;
+    }
+
+    public LogicalPlan getParsedPlan() {
+        return parsedPlan;
+    }
+
+    public PhysicalPlan getPhysicalPlan() {
+        return physicalPlan;
+    }
+
+    public int getNextExprIdValue() {
+        return nextExprIdValue;
+    }
+
+    public int getNextRelationIdValue() {
+        return nextRelationIdValue;
+    }
+
+    public boolean usesTable(long tableId) {
+        return tableSignatures.containsKey(tableId);
+    }
+
+    /**
+     * Whether the tables resolved by the statement now are the same as the tables used by the plan.
+     * A table is changed if its schema, indexes or partitions are changed.
+     */
+    public boolean isValid(List<Table> tables) {
+        if (tables.size() != tableSignatures.size()) {
+            return false;
+        }
+        for (Table table : tables) {
+            if (!(table instanceof OlapTable)
+                    || !signatureOf((OlapTable) table).equals(tableSignatures.get(table.getId()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The signature of the table which is used to plan a query, the caller should hold the read lock of the table.
+     */
+    public static String signatureOf(OlapTable table) {
+        StringBuilder signature = new StringBuilder();
+        signature.append(table.getState()).append(';');
+        Map<Long, MaterializedIndexMeta> indexIdToMeta = new TreeMap<>(table.getIndexIdToMeta());
+        for (MaterializedIndexMeta meta : indexIdToMeta.values()) {
+            signature.append(meta.getIndexId()).append(':').append(meta.getSchemaVersion()).append(',');
+        }
+        signature.append(';');
+        Map<Long, String> partitionIdToName = new TreeMap<>();
+        for (Partition partition : table.getPartitions()) {
+            partitionIdToName.put(partition.getId(), partition.getName());
+        }
+        signature.append(partitionIdToName);
+        return signature.toString();
+    }
+}
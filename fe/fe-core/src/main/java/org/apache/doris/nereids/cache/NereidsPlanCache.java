@@ -0,0 +1,173 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.Config;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.trees.expressions.functions.Nondeterministic;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalOlapScan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
+import org.apache.doris.nereids.trees.plans.logical.LogicalRelation;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.qe.ConnectContext;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of the plans of the queries planned by Nereids, so that the queries executed repeatedly,
+ * eg. the point queries and the queries of dashboards, skip parsing, analyzing, rewriting and optimizing.
+ *
+ * A plan is cached only if it only scans olap tables and has no nondeterministic function, and the statistics
+ * of the tables are loaded. It is used only if the signatures of the tables are not changed,
+ * and the user still has the privileges of the tables.
+ * The plans of a table are invalidated when the statistics of the table are changed.
+ *
+ * Only the text of COM_QUERY is cached, the literals are part of the key. The parameterized statements of
+ * COM_STMT_PREPARE and COM_STMT_EXECUTE are not cached here, because Nereids cannot parse the placeholders yet,
+ * they are planned by the original planner kept in PrepareStmtContext.
+ */
+public class NereidsPlanCache {
+    private static final Logger LOG = LogManager.getLogger(NereidsPlanCache.class);
+
+    private static final NereidsPlanCache INSTANCE = new NereidsPlanCache(Config.nereids_plan_cache_max_num);
+
+    private final Cache<PlanCacheKey, CachedPlan> cache;
+
+    public NereidsPlanCache(int maxNum) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxNum).build();
+    }
+
+    public static NereidsPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the plans of the session can be cached. The plans of the users with row policies are not cached,
+     * because the policies are not in the signatures of the tables.
+     */
+    public static boolean isEnabled(ConnectContext ctx) {
+        return ctx != null && Config.nereids_plan_cache_max_num > 0
+                && ctx.getSessionVariable().isEnableNereidsPlanner()
+                && ctx.getSessionVariable().isEnableNereidsPlanCache()
+                && !ctx.getEnv().getPolicyMgr().existPolicy(ctx.getQualifiedUser());
+    }
+
+    public CachedPlan get(PlanCacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Cache the plan if it can be cached.
+     *
+     * @param analyzedPlan the plan after analyzing, which is used to check whether the plan can be cached
+     * @param physicalPlan the best plan before post processing
+     * @return whether the plan is cached
+     */
+    public boolean put(PlanCacheKey key, LogicalPlan parsedPlan, Plan analyzedPlan, PhysicalPlan physicalPlan,
+            CascadesContext cascadesContext) {
+        StatementContext statementContext = cascadesContext.getStatementContext();
+        if (statementContext.isStatisticsNotReady()) {
+            return false;
+        }
+        boolean cacheable = !analyzedPlan.anyMatch(node -> {
+            Plan plan = (Plan) node;
+            return (plan instanceof LogicalRelation && !(plan instanceof LogicalOlapScan))
+                    || plan.getExpressions().stream().anyMatch(e -> e.anyMatch(Nondeterministic.class::isInstance));
+        });
+        if (!cacheable) {
+            return false;
+        }
+
+        // the tables scanned by the plan should be the tables locked by the planner, which are
+        // resolved again when the plan is got from the cache. eg. the tables of views are not locked.
+        Set<Long> scannedTableIds = Sets.newHashSet();
+        analyzedPlan.foreach(node -> {
+            if (node instanceof LogicalOlapScan) {
+                scannedTableIds.add(((LogicalOlapScan) node).getTable().getId());
+            }
+        });
+        Map<Long, String> tableSignatures = Maps.newHashMap();
+        for (Table table : cascadesContext.getExtractedTables()) {
+            if (!(table instanceof OlapTable)) {
+                return false;
+            }
+            tableSignatures.put(table.getId(), CachedPlan.signatureOf((OlapTable) table));
+        }
+        if (!scannedTableIds.equals(tableSignatures.keySet())) {
+            return false;
+        }
+
+        cache.put(key, new CachedPlan(parsedPlan, physicalPlan, tableSignatures,
+                statementContext.getNextExprIdValue(), statementContext.getNextRelationIdValue()));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("cache plan of {}", key.getSql());
+        }
+        return true;
+    }
+
+    /**
+     * Whether the cached plan can be used by the statement, the tables should be locked by the caller.
+     */
+    public boolean isUsable(CachedPlan cachedPlan, CascadesContext cascadesContext) {
+        List<Table> tables = cascadesContext.getExtractedTables();
+        if (!cachedPlan.isValid(tables)) {
+            return false;
+        }
+        ConnectContext ctx = cascadesContext.getConnectContext();
+        for (Table table : tables) {
+            if (!ctx.getEnv().getAccessManager()
+                    .checkTblPriv(ctx, table.getQualifiedDbName(), table.getName(), PrivPredicate.SELECT)) {
+                // plan again to report the error
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove the plan if it is still cached by the key, the key may be cached with a new plan by other sessions.
+     */
+    public void invalidate(PlanCacheKey key, CachedPlan cachedPlan) {
+        cache.asMap().remove(key, cachedPlan);
+    }
+
+    public void invalidateTable(long tableId) {
+        cache.asMap().values().removeIf(plan -> plan.usesTable(tableId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
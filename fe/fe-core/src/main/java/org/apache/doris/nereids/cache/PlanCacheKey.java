@@ -0,0 +1,74 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.qe.ConnectContext;
+
+import java.util.Objects;
+
+/**
+ * Key of {@link NereidsPlanCache}. The plans of a statement are the same if the statement is executed
+ * by the same user in the same database with the same session variables, unless the tables are changed.
+ */
+public class PlanCacheKey {
+    private final String sql;
+    private final String user;
+    private final String catalog;
+    private final String database;
+    private final String sessionVariables;
+    private final int hashCode;
+
+    public PlanCacheKey(String sql, String user, String catalog, String database, String sessionVariables) {
+        this.sql = sql;
+        this.user = user;
+        this.catalog = catalog;
+        this.database = database;
+        this.sessionVariables = sessionVariables;
+        this.hashCode = Objects.hash(sql, user, catalog, database, sessionVariables);
+    }
+
+    public static PlanCacheKey of(ConnectContext ctx, String sql) {
+        return new PlanCacheKey(sql, String.valueOf(ctx.getCurrentUserIdentity()), ctx.getDefaultCatalog(),
+                ctx.getDatabase(), ctx.getSessionVariable().getPlanCacheDigest());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PlanCacheKey that = (PlanCacheKey) o;
+        return hashCode == that.hashCode
+                && sql.equals(that.sql)
+                && Objects.equals(user, that.user)
+                && Objects.equals(catalog, that.catalog)
+                && Objects.equals(database, that.database)
+                && sessionVariables.equals(that.sessionVariables);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -17,21 +17,28 @@
 
 package org.apache.doris.nereids.jobs.cascades;
 
+import org.apache.doris.common.Pair;
 import org.apache.doris.nereids.exceptions.AnalysisException;
 import org.apache.doris.nereids.jobs.Job;
 import org.apache.doris.nereids.jobs.JobContext;
 import org.apache.doris.nereids.jobs.JobType;
 import org.apache.doris.nereids.memo.CopyInResult;
+import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
 import org.apache.doris.nereids.metrics.EventChannel;
 import org.apache.doris.nereids.metrics.EventProducer;
 import org.apache.doris.nereids.metrics.consumer.LogConsumer;
 import org.apache.doris.nereids.metrics.event.TransformEvent;
 import org.apache.doris.nereids.pattern.GroupExpressionMatching;
+import org.apache.doris.nereids.pattern.Pattern;
+import org.apache.doris.nereids.pattern.SubTreePattern;
 import org.apache.doris.nereids.rules.Rule;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
 import java.util.List;
 
 /**
@@ -42,6 +49,8 @@ public class ApplyRuleJob extends Job {
             EventChannel.getDefaultChannel().addConsumers(new LogConsumer(TransformEvent.class, EventChannel.LOG)));
     private final GroupExpression groupExpression;
     private final Rule rule;
+    // the matched and transformed plans computed ahead of execution by ParallelJobScheduler
+    private volatile Prefetched prefetched;
 
     /**
      * Constructor of ApplyRuleJob.
@@ -64,10 +73,12 @@ public class ApplyRuleJob extends Job {
         }
         countJobExecutionTimesOfGroupExpressions(groupExpression);
 
-        GroupExpressionMatching groupExpressionMatching
-                = new GroupExpressionMatching(rule.getPattern(), groupExpression);
-        for (Plan plan : groupExpressionMatching) {
-            List<Plan> newPlans = rule.transform(plan, context.getCascadesContext());
+        List<Pair<Plan, List<Plan>>> transformedPlans = hasValidPrefetched()
+                ? prefetched.transformedPlans : matchAndTransform();
+        prefetched = null;
+        for (Pair<Plan, List<Plan>> transformed : transformedPlans) {
+            Plan plan = transformed.first;
+            List<Plan> newPlans = transformed.second;
             for (Plan newPlan : newPlans) {
                 CopyInResult result = context.getCascadesContext()
                         .getMemo()
@@ -89,4 +100,106 @@ public class ApplyRuleJob extends Job {
         }
         groupExpression.setApplied(rule);
     }
+
+    public GroupExpression getGroupExpression() {
+        return groupExpression;
+    }
+
+    public boolean canPrefetch() {
+        return !(rule.getPattern() instanceof SubTreePattern)
+                && !groupExpression.hasApplied(rule) && !groupExpression.isUnused();
+    }
+
+    /**
+     * Match and transform ahead of execution. The memo must not be changed during prefetching,
+     * but the jobs of the same memo can prefetch concurrently, since the rules do not change the memo.
+     * The result is used by {@link #execute} only if the groups visited by matching are not changed since then.
+     */
+    public void prefetch() {
+        List<Object> snapshot = snapshotMatchingInputs();
+        prefetched = new Prefetched(snapshot, matchAndTransform());
+    }
+
+    public boolean hasValidPrefetched() {
+        return prefetched != null && prefetched.snapshot.equals(snapshotMatchingInputs());
+    }
+
+    private List<Pair<Plan, List<Plan>>> matchAndTransform() {
+        List<Pair<Plan, List<Plan>>> transformedPlans = Lists.newArrayList();
+        GroupExpressionMatching groupExpressionMatching
+                = new GroupExpressionMatching(rule.getPattern(), groupExpression);
+        for (Plan plan : groupExpressionMatching) {
+            transformedPlans.add(Pair.of(plan, rule.transform(plan, context.getCascadesContext())));
+        }
+        return transformedPlans;
+    }
+
+    /**
+     * The groups, their logical properties and group expressions that matching the pattern may visit,
+     * the result of matching and transforming is not changed if these are not changed.
+     * The elements are compared by identity.
+     */
+    private List<Object> snapshotMatchingInputs() {
+        List<Object> snapshot = Lists.newArrayList();
+        snapshotMatchingInputs(rule.getPattern(), groupExpression, snapshot);
+        return snapshot;
+    }
+
+    private static void snapshotMatchingInputs(Pattern<? extends Plan> pattern, GroupExpression groupExpression,
+            List<Object> snapshot) {
+        snapshot.add(new Identity(groupExpression.getOwnerGroup()));
+        if (groupExpression.getOwnerGroup() != null) {
+            snapshot.add(new Identity(groupExpression.getOwnerGroup().getLogicalProperties()));
+        }
+        List<Group> children = groupExpression.children();
+        for (int i = 0; i < children.size(); i++) {
+            Group child = children.get(i);
+            snapshot.add(new Identity(child));
+            snapshot.add(new Identity(child.getLogicalProperties()));
+            if (pattern.arity() == 0) {
+                continue;
+            }
+            Pattern<? extends Plan> childPattern = pattern.child(Math.min(i, pattern.arity() - 1));
+            if (childPattern.isGroup() || childPattern.isMultiGroup()) {
+                continue;
+            }
+            for (GroupExpression childExpression : child.getLogicalExpressions()) {
+                snapshot.add(new Identity(childExpression));
+                snapshotMatchingInputs(childPattern, childExpression, snapshot);
+            }
+            for (GroupExpression childExpression : child.getPhysicalExpressions()) {
+                snapshot.add(new Identity(childExpression));
+                snapshotMatchingInputs(childPattern, childExpression, snapshot);
+            }
+        }
+    }
+
+    private static class Prefetched {
+        private final List<Object> snapshot;
+        private final List<Pair<Plan, List<Plan>>> transformedPlans;
+
+        Prefetched(List<Object> snapshot, List<Pair<Plan, List<Plan>>> transformedPlans) {
+            this.snapshot = snapshot;
+            this.transformedPlans = ImmutableList.copyOf(transformedPlans);
+        }
+    }
+
+    // compare by identity, the equals of group expression and plan compare the content
+    private static class Identity {
+        private final Object object;
+
+        Identity(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity && ((Identity) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
 }
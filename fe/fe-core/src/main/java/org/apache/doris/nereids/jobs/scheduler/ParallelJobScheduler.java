@@ -0,0 +1,116 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.CascadesContext;
+import org.apache.doris.nereids.exceptions.AnalysisException;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.cascades.ApplyRuleJob;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Scheduler which executes the jobs in the same order as {@link SimpleJobScheduler},
+ * but matches and transforms the rules of a group expression in parallel.
+ *
+ * OptimizeGroupExpressionJob pushes one ApplyRuleJob for each valid rule of a group expression.
+ * When the first of them is popped, the consecutive ApplyRuleJobs of the same group expression
+ * are prefetched on a fork join pool, while the memo is not changed by anyone.
+ * The memo is still only changed by the scheduling thread, and a prefetched result is used only if
+ * the groups visited by its pattern are not changed by the jobs executed before it,
+ * so the explored memo is the same as a serial scheduler's.
+ */
+public class ParallelJobScheduler implements JobScheduler {
+    private static final Logger LOG = LogManager.getLogger(ParallelJobScheduler.class);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("nereids-optimize-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+
+    @Override
+    public void executeJob(Job job, CascadesContext context) {
+
+    }
+
+    @Override
+    public void executeJobPool(CascadesContext cascadesContext) throws AnalysisException {
+        JobPool pool = cascadesContext.getJobPool();
+        while (!pool.isEmpty()) {
+            Job job = pool.pop();
+            if (job instanceof ApplyRuleJob && !((ApplyRuleJob) job).hasValidPrefetched()) {
+                prefetchSiblings((ApplyRuleJob) job, pool, cascadesContext.getConnectContext());
+            }
+            job.execute();
+        }
+    }
+
+    private void prefetchSiblings(ApplyRuleJob job, JobPool pool, ConnectContext connectContext) {
+        // the ApplyRuleJobs of the same group expression are on the top of the pool
+        List<ApplyRuleJob> siblings = Lists.newArrayList(job);
+        while (!pool.isEmpty()) {
+            Job next = pool.pop();
+            if (!(next instanceof ApplyRuleJob)
+                    || ((ApplyRuleJob) next).getGroupExpression() != job.getGroupExpression()) {
+                pool.push(next);
+                break;
+            }
+            siblings.add((ApplyRuleJob) next);
+        }
+        // put them back in the original order
+        for (int i = siblings.size() - 1; i > 0; i--) {
+            pool.push(siblings.get(i));
+        }
+
+        List<Callable<Void>> tasks = Lists.newArrayList();
+        for (ApplyRuleJob sibling : siblings) {
+            if (sibling.canPrefetch() && !sibling.hasValidPrefetched()) {
+                tasks.add(() -> prefetch(sibling, connectContext));
+            }
+        }
+        if (tasks.size() > 1) {
+            POOL.invokeAll(tasks);
+        }
+    }
+
+    private Void prefetch(ApplyRuleJob job, ConnectContext connectContext) {
+        // the rules may get session variables and generate expr ids from the thread local context
+        if (connectContext != null) {
+            connectContext.setThreadLocalInfo();
+        }
+        try {
+            job.prefetch();
+        } catch (Exception e) {
+            // the job will match and transform again when it is executed, and report the error there
+            LOG.debug("failed to prefetch job of rule {}", job, e);
+        } finally {
+            ConnectContext.remove();
+        }
+        return null;
+    }
+}
@@ -38,6 +38,7 @@ import org.apache.doris.cluster.Cluster;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.MetaNotFoundException;
+import org.apache.doris.common.Pair;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.common.util.SmallFileMgr.SmallFile;
@@ -106,6 +107,9 @@ public class EditLog {
 
     private Journal journal;
 
+    // not null only if group commit is enabled
+    private EditLogGroupCommitter groupCommitter = null;
+
     /**
      * The constructor.
      **/
@@ -118,6 +122,9 @@ public class EditLog {
         } else {
             throw new IllegalArgumentException("Unknown edit log type: " + journalType);
         }
+        if (Config.enable_edit_log_group_commit) {
+            groupCommitter = new EditLogGroupCommitter(this);
+        }
     }
 
     public long getMaxJournalId() {
@@ -1044,7 +1051,19 @@ public class EditLog {
     /**
      * Write an operation to the edit log. Do not sync to persistent store yet.
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private void logEdit(short op, Writable writable) {
+        if (groupCommitter == null) {
+            logEditDirectly(op, writable);
+            return;
+        }
+
+        long latency = groupCommitter.submit(op, writable);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update(latency);
+        }
+    }
+
+    private synchronized void logEditDirectly(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -1090,6 +1109,53 @@ public class EditLog {
         }
     }
 
+    /**
+     * Write a batch of edit logs in one journal transaction. Only called by the group commit writer.
+     */
+    synchronized void logEditBatch(List<Pair<Short, Writable>> entities) {
+        if (this.getNumEditStreams() == 0) {
+            LOG.error("Fatal Error : no editLog stream", new Exception());
+            throw new Error("Fatal Error : no editLog stream");
+        }
+
+        long start = System.currentTimeMillis();
+
+        try {
+            journal.batchWrite(entities);
+        } catch (Throwable t) {
+            LOG.error("Fatal Error : write stream Exception", t);
+            System.exit(-1);
+        }
+
+        txId += entities.size();
+
+        long end = System.currentTimeMillis();
+        numTransactions += entities.size();
+        totalTimeTransactions += (end - start);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_LATENCY.update((end - start));
+            MetricRepo.HISTO_EDIT_LOG_GROUP_COMMIT_BATCH_SIZE.update(entities.size());
+            MetricRepo.COUNTER_EDIT_LOG_CURRENT.increase((long) entities.size());
+            MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) entities.size());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, batch size = {}", txId,
+                    numTransactions, totalTimeTransactions, entities.size());
+        }
+
+        if (txId >= Config.edit_log_roll_num) {
+            LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.", txId,
+                    Config.edit_log_roll_num);
+            rollEditLog();
+            txId = 0;
+        }
+    }
+
+    public int getGroupCommitQueueSize() {
+        return groupCommitter == null ? 0 : groupCommitter.getQueueSize();
+    }
+
     /**
      * Return the size of the current EditLog
      */
@@ -0,0 +1,144 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.common.util.Util;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit pipeline for edit log.
+ * Callers enqueue their (op, data) entry and block on a future, and a single writer thread
+ * drains the queue and writes the entries as one batch through {@link EditLog#logEditBatch}.
+ * The order of entries in journal is the order they are enqueued.
+ */
+public class EditLogGroupCommitter {
+    private static final Logger LOG = LogManager.getLogger(EditLogGroupCommitter.class);
+
+    private final EditLog editLog;
+    private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private static class Entry {
+        private final short op;
+        private final Writable writable;
+        private final long enqueueTime;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Entry(short op, Writable writable) {
+            this.op = op;
+            this.writable = writable;
+            this.enqueueTime = System.currentTimeMillis();
+        }
+    }
+
+    public EditLogGroupCommitter(EditLog editLog) {
+        this.editLog = editLog;
+    }
+
+    /**
+     * Enqueue an entry and wait until the batch containing it is durable.
+     * Returns the time in milliseconds from enqueue to durable.
+     */
+    public long submit(short op, Writable writable) {
+        start();
+        Entry entry = new Entry(op, writable);
+        queue.add(entry);
+        try {
+            Uninterruptibles.getUninterruptibly(entry.future);
+        } catch (ExecutionException e) {
+            // same as the non group commit path, failing to write edit log is fatal.
+            LOG.error("Fatal Error : group commit edit log failed. op: {}", op, e.getCause());
+            Util.stdoutWithTime("group commit edit log failed. will exit. op: " + op);
+            System.exit(-1);
+        }
+        return System.currentTimeMillis() - entry.enqueueTime;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            Thread writer = new Thread(this::runWriter, "edit-log-group-committer");
+            writer.setDaemon(true);
+            writer.start();
+            LOG.info("edit log group committer started");
+        }
+    }
+
+    private void runWriter() {
+        List<Entry> batch = Lists.newArrayList();
+        while (true) {
+            try {
+                collectBatch(batch);
+                List<Pair<Short, Writable>> entities = Lists.newArrayListWithCapacity(batch.size());
+                for (Entry entry : batch) {
+                    entities.add(Pair.of(entry.op, entry.writable));
+                }
+                editLog.logEditBatch(entities);
+                for (Entry entry : batch) {
+                    entry.future.complete(null);
+                }
+            } catch (Throwable t) {
+                for (Entry entry : batch) {
+                    entry.future.completeExceptionally(t);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<Entry> batch) throws InterruptedException {
+        int maxBatchSize = Math.max(1, Config.edit_log_group_commit_max_batch_size);
+        batch.add(queue.take());
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long waitMs = Config.edit_log_group_commit_max_wait_ms;
+        if (waitMs <= 0) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (batch.size() < maxBatchSize) {
+            long remain = deadline - System.currentTimeMillis();
+            if (remain <= 0) {
+                break;
+            }
+            Entry entry = queue.poll(remain, TimeUnit.MILLISECONDS);
+            if (entry == null) {
+                break;
+            }
+            batch.add(entry);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+}
@@ -102,6 +102,13 @@ public class MetaFooter {
         }
     }
 
+    /**
+     * Return the end position of image body, which is the start position of footer.
+     */
+    public long getBodyEnd(long fileLength) {
+        return fileLength - FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length() - length;
+    }
+
     public MetaFooter(List<MetaIndex> metaIndices, long checksum, long length) {
         this.checksum = checksum;
         this.metaIndices = metaIndices;
@@ -18,9 +18,14 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.meta.MetaContext;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +36,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Image Format:
@@ -67,12 +78,38 @@ import java.lang.reflect.InvocationTargetException;
 public class MetaReader {
     private static final Logger LOG = LogManager.getLogger(MetaReader.class);
 
+    // module name -> time in ms used to load this module from the image at startup,
+    // the images loaded by the checkpoint thread are not recorded
+    private static final Map<String, Long> MODULE_LOAD_TIME_MS = Maps.newConcurrentMap();
+
     public static void read(File imageFile, Env env) throws IOException, DdlException {
         LOG.info("start load image from {}. is ckpt: {}", imageFile.getAbsolutePath(), Env.isCheckpointThread());
         long loadImageStartTime = System.currentTimeMillis();
         MetaHeader metaHeader = MetaHeader.read(imageFile);
         MetaFooter metaFooter = MetaFooter.read(imageFile);
 
+        long checksum;
+        // checkpoint thread use its own Env instance which is bound to the checkpoint thread,
+        // so it can only load image serially.
+        if (Config.enable_parallel_image_load && !Env.isCheckpointThread()) {
+            checksum = readParallel(imageFile, env, metaHeader, metaFooter);
+        } else {
+            checksum = readSerial(imageFile, env, metaHeader, metaFooter);
+        }
+
+        long remoteChecksum = metaFooter.checksum;
+        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+
+        long loadImageEndTime = System.currentTimeMillis();
+        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+    }
+
+    public static Map<String, Long> getModuleLoadTimeMs() {
+        return MODULE_LOAD_TIME_MS;
+    }
+
+    private static long readSerial(File imageFile, Env env, MetaHeader metaHeader, MetaFooter metaFooter)
+            throws IOException, DdlException {
         long checksum = 0;
         try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)))) {
             // 1. Skip image file header
@@ -88,28 +125,171 @@ public class MetaReader {
                     continue;
                 }
                 // Should skip some bytes because ignore some meta, such as load job
-                if (metaIndex.name.equals("loadJob") || metaIndex.name.equals("cooldownJob")) {
+                if (isSkippedModule(metaIndex.name)) {
                     LOG.info("Skip {} module", metaIndex.name);
                     if (i < metaFooter.metaIndices.size() - 1) {
                         IOUtils.skipFully(dis, metaFooter.metaIndices.get(i + 1).offset - metaIndex.offset);
                     }
                     continue;
                 }
-                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
-                if (persistMethod == null) {
-                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known modules: "
-                            + PersistMetaModules.MODULE_NAMES);
-                }
+                MetaPersistMethod persistMethod = getPersistMethod(metaIndex.name);
+                long start = System.currentTimeMillis();
                 checksum = (long) persistMethod.readMethod.invoke(env, dis, checksum);
+                recordModuleLoadTime(metaIndex.name, System.currentTimeMillis() - start);
             }
         } catch (InvocationTargetException | IllegalAccessException e) {
             throw new IOException(e);
         }
+        return checksum;
+    }
 
-        long remoteChecksum = metaFooter.checksum;
-        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+    /**
+     * Load modules concurrently, each module is read from its own stream positioned at the
+     * offset recorded in the meta index. A module is scheduled after the modules it depends on,
+     * see {@link PersistMetaModules#MODULE_DEPENDENCIES}.
+     * All modules fold values into the checksum by xor, so the checksum of each module can be
+     * calculated independently and combined in any order.
+     */
+    private static long readParallel(File imageFile, Env env, MetaHeader metaHeader, MetaFooter metaFooter)
+            throws IOException, DdlException {
+        long checksum = 0;
+        try (DataInputStream dis = openAt(imageFile, metaHeader.getEnd())) {
+            checksum = env.loadHeader(dis, metaHeader, checksum);
+        }
 
-        long loadImageEndTime = System.currentTimeMillis();
-        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+        MetaContext metaContext = MetaContext.get();
+        int threadNum = Math.max(1, Config.parallel_image_load_thread_num);
+        ThreadPoolExecutor pool = ThreadPoolManager.newDaemonFixedThreadPool(threadNum,
+                metaFooter.metaIndices.size(), "image-loader", false);
+        Map<String, CompletableFuture<Long>> moduleFutures = Maps.newLinkedHashMap();
+        try {
+            for (MetaIndex metaIndex : metaFooter.metaIndices) {
+                if (metaIndex.name.equals("header")) {
+                    continue;
+                }
+                if (isSkippedModule(metaIndex.name)) {
+                    LOG.info("Skip {} module", metaIndex.name);
+                    continue;
+                }
+                MetaPersistMethod persistMethod = getPersistMethod(metaIndex.name);
+                List<CompletableFuture<Long>> dependencies = Lists.newArrayList();
+                List<String> dependencyNames = PersistMetaModules.MODULE_DEPENDENCIES.get(metaIndex.name);
+                if (dependencyNames == null) {
+                    dependencies.addAll(moduleFutures.values());
+                } else {
+                    for (String dependencyName : dependencyNames) {
+                        CompletableFuture<Long> dependency = moduleFutures.get(dependencyName);
+                        if (dependency != null) {
+                            dependencies.add(dependency);
+                        }
+                    }
+                }
+                CompletableFuture<Long> future = CompletableFuture
+                        .allOf(dependencies.toArray(new CompletableFuture[0]))
+                        .thenApplyAsync(v -> loadModule(imageFile, env, metaIndex, persistMethod, metaContext), pool);
+                moduleFutures.put(metaIndex.name, future);
+            }
+
+            for (CompletableFuture<Long> future : moduleFutures.values()) {
+                checksum ^= future.join();
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof DdlException) {
+                throw (DdlException) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            pool.shutdown();
+        }
+        return checksum;
+    }
+
+    /**
+     * Return the meta version recorded in the header module of image.
+     */
+    public static int readMetaVersion(File imageFile) throws IOException {
+        MetaHeader metaHeader = MetaHeader.read(imageFile);
+        try (DataInputStream dis = openAt(imageFile, metaHeader.getEnd())) {
+            return dis.readInt();
+        }
+    }
+
+    /**
+     * Load the header and the given modules of image, used by incremental checkpoint.
+     * Return the checksum of the loaded part, which is the xor of the checksum of each module.
+     */
+    public static long readModules(File imageFile, Env env, Set<String> modules) throws IOException, DdlException {
+        MetaHeader metaHeader = MetaHeader.read(imageFile);
+        MetaFooter metaFooter = MetaFooter.read(imageFile);
+        long checksum = 0;
+        try (DataInputStream dis = openAt(imageFile, metaHeader.getEnd())) {
+            checksum = env.loadHeader(dis, metaHeader, checksum);
+        }
+        // footer indices are in written order, which satisfies the module dependencies.
+        for (MetaIndex metaIndex : metaFooter.metaIndices) {
+            if (!modules.contains(metaIndex.name)) {
+                continue;
+            }
+            MetaPersistMethod persistMethod = getPersistMethod(metaIndex.name);
+            long start = System.currentTimeMillis();
+            try (DataInputStream dis = openAt(imageFile, metaIndex.offset)) {
+                checksum ^= (long) persistMethod.readMethod.invoke(env, dis, 0L);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                throw new IOException(e);
+            }
+            recordModuleLoadTime(metaIndex.name, System.currentTimeMillis() - start);
+        }
+        return checksum;
+    }
+
+    private static long loadModule(File imageFile, Env env, MetaIndex metaIndex, MetaPersistMethod persistMethod,
+            MetaContext metaContext) {
+        metaContext.setThreadLocalInfo();
+        long start = System.currentTimeMillis();
+        try (DataInputStream dis = openAt(imageFile, metaIndex.offset)) {
+            long checksum = (long) persistMethod.readMethod.invoke(env, dis, 0L);
+            recordModuleLoadTime(metaIndex.name, System.currentTimeMillis() - start);
+            return checksum;
+        } catch (InvocationTargetException e) {
+            throw new CompletionException(e.getCause());
+        } catch (IOException | IllegalAccessException e) {
+            throw new CompletionException(e);
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    private static DataInputStream openAt(File imageFile, long offset) throws IOException {
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(imageFile)));
+        try {
+            IOUtils.skipFully(dis, offset);
+        } catch (IOException e) {
+            dis.close();
+            throw e;
+        }
+        return dis;
+    }
+
+    private static boolean isSkippedModule(String name) {
+        return name.equals("loadJob") || name.equals("cooldownJob");
+    }
+
+    private static MetaPersistMethod getPersistMethod(String name) throws IOException {
+        MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(name);
+        if (persistMethod == null) {
+            throw new IOException("Unknown meta module: " + name + ". Known modules: "
+                    + PersistMetaModules.MODULE_NAMES);
+        }
+        return persistMethod;
+    }
+
+    private static void recordModuleLoadTime(String name, long costMs) {
+        if (!Env.isCheckpointThread()) {
+            MODULE_LOAD_TIME_MS.put(name, costMs);
+        }
+        LOG.info("finished to load image module {} in {} ms", name, costMs);
     }
 }
@@ -22,6 +22,7 @@ import org.apache.doris.common.Reference;
 import org.apache.doris.common.io.CountingDataOutputStream;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -29,8 +30,11 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Image Format:
@@ -69,6 +73,8 @@ public class MetaWriter {
 
     public static MetaWriter writer = new MetaWriter();
 
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
     private interface Delegate {
         long doWork(String name, WriteMethod method) throws IOException;
     }
@@ -131,4 +137,63 @@ public class MetaWriter {
                 (saveImageEndTime - saveImageStartTime), checksum.getRef());
     }
 
+    /**
+     * Write image incrementally based on the base image, used by incremental checkpoint.
+     * The header and the loaded modules are serialized from env, other modules are copied from
+     * the base image as raw bytes. copiedChecksum is the checksum of the copied modules.
+     */
+    public static void writeIncrementally(File imageFile, Env env, File baseImageFile, Set<String> loadedModules,
+            long copiedChecksum) throws IOException {
+        LOG.info("start to save image to {} incrementally based on {}. loaded modules: {}",
+                imageFile.getAbsolutePath(), baseImageFile.getAbsolutePath(), loadedModules);
+        long saveImageStartTime = System.currentTimeMillis();
+        MetaFooter baseFooter = MetaFooter.read(baseImageFile);
+        long baseBodyEnd = baseFooter.getBodyEnd(baseImageFile.length());
+        Map<String, Long> baseModuleEnds = Maps.newHashMap();
+        for (int i = 0; i < baseFooter.metaIndices.size(); i++) {
+            long end = i + 1 < baseFooter.metaIndices.size() ? baseFooter.metaIndices.get(i + 1).offset : baseBodyEnd;
+            baseModuleEnds.put(baseFooter.metaIndices.get(i).name, end);
+        }
+
+        long checksum = copiedChecksum;
+        long startPosition = MetaHeader.write(imageFile);
+        List<MetaIndex> metaIndices = Lists.newArrayList();
+        FileOutputStream imageFileOut = new FileOutputStream(imageFile, true);
+        try (CountingDataOutputStream dos = new CountingDataOutputStream(new BufferedOutputStream(imageFileOut),
+                startPosition); RandomAccessFile baseRaf = new RandomAccessFile(baseImageFile, "r")) {
+            metaIndices.add(new MetaIndex("header", dos.getCount()));
+            checksum ^= env.saveHeader(dos, env.getReplayedJournalId(), 0L);
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            for (int i = 0; i < PersistMetaModules.MODULES_IN_ORDER.size(); i++) {
+                MetaPersistMethod m = PersistMetaModules.MODULES_IN_ORDER.get(i);
+                metaIndices.add(new MetaIndex(m.name, dos.getCount()));
+                if (loadedModules.contains(m.name)) {
+                    try {
+                        checksum ^= (long) m.writeMethod.invoke(env, dos, 0L);
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        LOG.warn("failed to write meta module: {}", m.name, e);
+                        throw new IOException(e);
+                    }
+                    continue;
+                }
+                // base image contains the same modules in the same order, which is checked by caller.
+                long start = baseFooter.metaIndices.get(i + 1).offset;
+                long remain = baseModuleEnds.get(m.name) - start;
+                baseRaf.seek(start);
+                while (remain > 0) {
+                    int len = (int) Math.min(buffer.length, remain);
+                    baseRaf.readFully(buffer, 0, len);
+                    dos.write(buffer, 0, len);
+                    remain -= len;
+                }
+            }
+            dos.flush();
+            imageFileOut.getChannel().force(true);
+        }
+        MetaFooter.write(imageFile, metaIndices, checksum);
+
+        long saveImageEndTime = System.currentTimeMillis();
+        LOG.info("finished save image {} incrementally in {} ms. checksum is {}", imageFile.getAbsolutePath(),
+                (saveImageEndTime - saveImageStartTime), checksum);
+    }
 }
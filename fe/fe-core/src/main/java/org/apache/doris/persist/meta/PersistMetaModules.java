@@ -17,12 +17,17 @@
 
 package org.apache.doris.persist.meta;
 
+import org.apache.doris.persist.OperationType;
+
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Save all MetaPersistMethods.
@@ -40,6 +45,96 @@ public class PersistMetaModules {
             "paloAuth", "transactionState", "colocateTableIndex", "routineLoadJobs", "loadJobV2", "smallFiles",
             "plugins", "deleteHandler", "sqlBlockRule", "policy", "mtmvJobManager");
 
+    // Modules which must be loaded before the key module when loading image in parallel.
+    // A module which is not in this map depends on all modules before it in the image,
+    // so new modules are loaded serially unless they are explicitly added here.
+    public static final ImmutableMap<String, ImmutableList<String>> MODULE_DEPENDENCIES =
+            ImmutableMap.<String, ImmutableList<String>>builder()
+                    .put("masterInfo", ImmutableList.of())
+                    .put("frontends", ImmutableList.of())
+                    .put("backends", ImmutableList.of())
+                    .put("datasource", ImmutableList.of())
+                    // internal catalog is held by the catalog manager loaded in "datasource"
+                    .put("db", ImmutableList.of("datasource"))
+                    .put("alterJob", ImmutableList.of("db"))
+                    .put("recycleBin", ImmutableList.of("db"))
+                    .put("globalVariable", ImmutableList.of())
+                    .put("cluster", ImmutableList.of("db"))
+                    .put("broker", ImmutableList.of())
+                    .put("resources", ImmutableList.of())
+                    .put("exportJob", ImmutableList.of("db"))
+                    .put("syncJob", ImmutableList.of("db"))
+                    .put("backupHandler", ImmutableList.of("db"))
+                    .put("paloAuth", ImmutableList.of())
+                    // database transaction managers are created when loading db and recycle bin
+                    .put("transactionState", ImmutableList.of("db", "recycleBin"))
+                    .put("colocateTableIndex", ImmutableList.of("db"))
+                    .put("routineLoadJobs", ImmutableList.of("db", "transactionState"))
+                    .put("loadJobV2", ImmutableList.of("db", "transactionState"))
+                    .put("smallFiles", ImmutableList.of())
+                    .put("plugins", ImmutableList.of())
+                    .put("deleteHandler", ImmutableList.of("db"))
+                    .put("sqlBlockRule", ImmutableList.of())
+                    .put("policy", ImmutableList.of("resources"))
+                    .put("mtmvJobManager", ImmutableList.of("db"))
+                    .build();
+
+    // Journal op code -> modules which may be modified when replaying the journal.
+    // Used by incremental checkpoint to find the modules which need to be rewritten.
+    // The header module is always rewritten, so ops which only touch header map to an empty list.
+    // An op which is not in this map may modify any module.
+    public static final ImmutableMap<Short, ImmutableList<String>> OP_MODULES =
+            ImmutableMap.<Short, ImmutableList<String>>builder()
+                    .put(OperationType.OP_SAVE_NEXTID, ImmutableList.of())
+                    .put(OperationType.OP_TIMESTAMP, ImmutableList.of())
+                    .put(OperationType.OP_META_VERSION, ImmutableList.of())
+                    .put(OperationType.OP_SAVE_TRANSACTION_ID, ImmutableList.of("transactionState"))
+                    .put(OperationType.OP_UPSERT_TRANSACTION_STATE,
+                            ImmutableList.of("db", "transactionState", "loadJobV2", "routineLoadJobs"))
+                    .put(OperationType.OP_BATCH_REMOVE_TXNS, ImmutableList.of("transactionState"))
+                    .put(OperationType.OP_ADD_REPLICA, ImmutableList.of("db"))
+                    .put(OperationType.OP_UPDATE_REPLICA, ImmutableList.of("db"))
+                    .put(OperationType.OP_DELETE_REPLICA, ImmutableList.of("db"))
+                    .put(OperationType.OP_SET_REPLICA_STATUS, ImmutableList.of("db"))
+                    .put(OperationType.OP_CREATE_USER, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_NEW_DROP_USER, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_GRANT_PRIV, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_REVOKE_PRIV, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_SET_PASSWORD, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_CREATE_ROLE, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_DROP_ROLE, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_UPDATE_USER_PROPERTY, ImmutableList.of("paloAuth"))
+                    .put(OperationType.OP_GLOBAL_VARIABLE_V2, ImmutableList.of("globalVariable"))
+                    .put(OperationType.OP_CREATE_LOAD_JOB, ImmutableList.of("loadJobV2"))
+                    .put(OperationType.OP_END_LOAD_JOB, ImmutableList.of("loadJobV2"))
+                    .put(OperationType.OP_UPDATE_LOAD_JOB, ImmutableList.of("loadJobV2"))
+                    .put(OperationType.OP_CREATE_ROUTINE_LOAD_JOB, ImmutableList.of("routineLoadJobs"))
+                    .put(OperationType.OP_CHANGE_ROUTINE_LOAD_JOB, ImmutableList.of("routineLoadJobs"))
+                    .put(OperationType.OP_REMOVE_ROUTINE_LOAD_JOB, ImmutableList.of("routineLoadJobs"))
+                    .build();
+
+    /**
+     * Return the given modules and all the modules they depend on, see {@link #MODULE_DEPENDENCIES}.
+     */
+    public static Set<String> getDependencyClosure(Set<String> modules) {
+        Set<String> closure = Sets.newHashSet();
+        List<String> toVisit = Lists.newArrayList(modules);
+        while (!toVisit.isEmpty()) {
+            String moduleName = toVisit.remove(toVisit.size() - 1);
+            if (!closure.add(moduleName)) {
+                continue;
+            }
+            List<String> dependencies = MODULE_DEPENDENCIES.get(moduleName);
+            if (dependencies == null) {
+                // depends on all modules before it
+                int index = MODULE_NAMES.indexOf(moduleName);
+                dependencies = index < 0 ? MODULE_NAMES : MODULE_NAMES.subList(0, index);
+            }
+            toVisit.addAll(dependencies);
+        }
+        return closure;
+    }
+
     static {
         MODULES_MAP = Maps.newHashMap();
         MODULES_IN_ORDER = Lists.newArrayList();
@@ -282,7 +282,10 @@ public class PlanFragment extends TreeNode<PlanFragment> {
     }
 
     public TPlanFragment toThrift() {
-        TPlanFragment result = new TPlanFragment();
+        return toThrift(new TPlanFragment());
+    }
+
+    public TPlanFragment toThrift(TPlanFragment result) {
         if (planRoot != null) {
             result.setPlan(planRoot.treeToThrift());
         }
@@ -72,6 +72,10 @@ public class BackendPolicy {
         return selectedBackend;
     }
 
+    public List<Backend> getBackends() {
+        return backends;
+    }
+
     public int numBackends() {
         return backends.size();
     }
@@ -0,0 +1,117 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external;
+
+import org.apache.doris.system.Backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Assign the splits of an external file scan to backends by consistent hashing of file path and offset,
+ * so that the same split is assigned to the same backend across queries and hits its file cache.
+ *
+ * Each backend is placed on the hash ring with some virtual nodes by its id, so adding or removing a backend
+ * only moves the splits hashed to its own nodes. To avoid hot spots, a backend takes at most
+ * (1 + maxLoadFactor) times of the average bytes, and the splits exceeding it are passed to the next backend
+ * on the ring (consistent hashing with bounded loads).
+ */
+public class ConsistentHashSplitAssigner {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final NavigableMap<Long, Backend> ring = new TreeMap<>();
+    private final Map<Long, Long> assignedBytes = Maps.newHashMap();
+    private final long capacity;
+    // number of splits not assigned to the backend they are hashed to, because of the bounded load
+    private int reassignedNum = 0;
+
+    public ConsistentHashSplitAssigner(Iterable<Backend> backends, long totalBytes, int virtualNodeNum,
+            double maxLoadFactor) {
+        Preconditions.checkArgument(!Iterables.isEmpty(backends), "no backend to assign splits");
+        Preconditions.checkArgument(virtualNodeNum > 0, virtualNodeNum);
+        for (Backend backend : backends) {
+            assignedBytes.put(backend.getId(), 0L);
+            for (int i = 0; i < virtualNodeNum; i++) {
+                long hash = HASH_FUNCTION.newHasher().putLong(backend.getId()).putInt(i).hash().asLong();
+                ring.putIfAbsent(hash, backend);
+            }
+        }
+        this.capacity = (long) Math.ceil(totalBytes * (1 + Math.max(maxLoadFactor, 0)) / assignedBytes.size());
+    }
+
+    public Backend assign(String path, long start, long length) {
+        long hash = HASH_FUNCTION.newHasher().putString(path, StandardCharsets.UTF_8).putLong(start).hash().asLong();
+        Set<Long> visited = Sets.newHashSet();
+        Backend first = null;
+        Backend selected = null;
+        for (Backend backend : Iterables.concat(ring.tailMap(hash, true).values(), ring.headMap(hash).values())) {
+            if (!visited.add(backend.getId())) {
+                continue;
+            }
+            if (first == null) {
+                first = backend;
+            }
+            long assigned = assignedBytes.get(backend.getId());
+            if (assigned == 0 || assigned + length <= capacity) {
+                selected = backend;
+                break;
+            }
+            if (visited.size() == assignedBytes.size()) {
+                break;
+            }
+        }
+        if (selected == null) {
+            // all backends are full, which only happens when the total bytes are underestimated
+            selected = first;
+        }
+        if (selected != first) {
+            reassignedNum++;
+        }
+        assignedBytes.merge(selected.getId(), length, Long::sum);
+        return selected;
+    }
+
+    public int getReassignedNum() {
+        return reassignedNum;
+    }
+
+    /**
+     * The ratio of the max assigned bytes of a backend to the average, 1.0 means evenly assigned.
+     */
+    public double getSkew() {
+        long total = 0;
+        long max = 0;
+        for (long bytes : assignedBytes.values()) {
+            total += bytes;
+            max = Math.max(max, bytes);
+        }
+        if (total == 0) {
+            return 1.0;
+        }
+        return (double) max * assignedBytes.size() / total;
+    }
+}
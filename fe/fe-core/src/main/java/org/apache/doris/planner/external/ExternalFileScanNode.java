@@ -700,6 +700,13 @@ public class ExternalFileScanNode extends ExternalScanNode {
                 .append(totalFileSize).append(", scanRanges=").append(scanRangeLocations.size()).append("\n");
         output.append(prefix).append("partition=").append(readPartitionNum).append("/").append(totalPartitionNum)
                 .append("\n");
+        for (FileScanProviderIf scanProvider : scanProviders) {
+            if (scanProvider instanceof IcebergScanProvider
+                    && ((IcebergScanProvider) scanProvider).getScanPlanner() != null) {
+                output.append(prefix).append(((IcebergScanProvider) scanProvider).getScanPlanner().getStatsString())
+                        .append("\n");
+            }
+        }
 
         output.append(prefix);
         if (cardinality > 0) {
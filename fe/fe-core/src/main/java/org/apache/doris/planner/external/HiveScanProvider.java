@@ -29,6 +29,7 @@ import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.catalog.external.HMSExternalTable;
+import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.MetaNotFoundException;
@@ -50,6 +51,7 @@ import org.apache.doris.thrift.TFileTextScanRangeParams;
 import org.apache.doris.thrift.TFileType;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
@@ -60,6 +62,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -73,6 +76,8 @@ public class HiveScanProvider extends HMSTableScanProvider {
     private static final String PROP_FIELD_DELIMITER = "field.delim";
     private static final String DEFAULT_FIELD_DELIMITER = "\1"; // "\x01"
     private static final String DEFAULT_LINE_DELIMITER = "\n";
+    // number of partitions to list files at a time for the streaming split source
+    private static final int PARTITION_BATCH_SIZE_FOR_SPLIT_SOURCE = 100;
 
     protected HMSExternalTable hmsTable;
     protected final TupleDescriptor desc;
@@ -144,35 +149,11 @@ public class HiveScanProvider extends HMSTableScanProvider {
         try {
             HiveMetaStoreCache cache = Env.getCurrentEnv().getExtMetaCacheMgr()
                     .getMetaStoreCache((HMSExternalCatalog) hmsTable.getCatalog());
-            // 1. get ListPartitionItems from cache
-            HivePartitionValues hivePartitionValues = null;
-            List<Type> partitionColumnTypes = hmsTable.getPartitionColumnTypes();
-            if (!partitionColumnTypes.isEmpty()) {
-                hivePartitionValues = cache.getPartitionValues(hmsTable.getDbName(), hmsTable.getName(),
-                        partitionColumnTypes);
-            }
+            List<List<String>> partitionValuesList = getPrunedPartitionValues(cache);
 
             List<InputSplit> allFiles = Lists.newArrayList();
-            if (hivePartitionValues != null) {
-                // 2. prune partitions by expr
-                Map<Long, PartitionItem> idToPartitionItem = hivePartitionValues.getIdToPartitionItem();
-                this.totalPartitionNum = idToPartitionItem.size();
-                ListPartitionPrunerV2 pruner = new ListPartitionPrunerV2(idToPartitionItem,
-                        hmsTable.getPartitionColumns(), columnNameToRange,
-                        hivePartitionValues.getUidToPartitionRange(),
-                        hivePartitionValues.getRangeToId(),
-                        hivePartitionValues.getSingleColumnRangeMap());
-                Collection<Long> filteredPartitionIds = pruner.prune();
-                this.readPartitionNum = filteredPartitionIds.size();
-                LOG.debug("hive partition fetch and prune for table {}.{} cost: {} ms",
-                        hmsTable.getDbName(), hmsTable.getName(), (System.currentTimeMillis() - start));
-
+            if (partitionValuesList != null) {
                 // 3. get partitions from cache
-                List<List<String>> partitionValuesList = Lists.newArrayListWithCapacity(filteredPartitionIds.size());
-                for (Long id : filteredPartitionIds) {
-                    ListPartitionItem listPartitionItem = (ListPartitionItem) idToPartitionItem.get(id);
-                    partitionValuesList.add(listPartitionItem.getItems().get(0).getPartitionValuesAsStringList());
-                }
                 List<HivePartition> partitions = cache.getAllPartitions(hmsTable.getDbName(), hmsTable.getName(),
                         partitionValuesList);
                 // 4. get all files of partitions
@@ -180,8 +161,9 @@ public class HiveScanProvider extends HMSTableScanProvider {
             } else {
                 // unpartitioned table, create a dummy partition to save location and inputformat,
                 // so that we can unify the interface.
-                HivePartition dummyPartition = new HivePartition(hmsTable.getRemoteTable().getSd().getInputFormat(),
-                        hmsTable.getRemoteTable().getSd().getLocation(), null);
+                HivePartition dummyPartition = new HivePartition(hmsTable.getDbName(), hmsTable.getName(),
+                        hmsTable.getRemoteTable().getSd().getInputFormat(),
+                        hmsTable.getRemoteTable().getSd().getLocation(), null, hmsTable.getLastDdlTime());
                 getFileSplitByPartitions(cache, Lists.newArrayList(dummyPartition), allFiles);
                 this.totalPartitionNum = 1;
                 this.readPartitionNum = 1;
@@ -197,6 +179,63 @@ public class HiveScanProvider extends HMSTableScanProvider {
         }
     }
 
+    /**
+     * Only prune the partitions at first, and list the files of partitions batch by batch when iterating.
+     */
+    @Override
+    protected Iterator<InputSplit> getSplitIterator(List<Expr> exprs) throws UserException {
+        List<List<String>> partitionValuesList;
+        HiveMetaStoreCache cache;
+        try {
+            cache = Env.getCurrentEnv().getExtMetaCacheMgr()
+                    .getMetaStoreCache((HMSExternalCatalog) hmsTable.getCatalog());
+            partitionValuesList = getPrunedPartitionValues(cache);
+        } catch (Throwable t) {
+            LOG.warn("get file split failed for table: {}", hmsTable.getName(), t);
+            throw new UserException(
+                    "get file split failed for table: " + hmsTable.getName() + ", err: " + Util.getRootCauseMessage(t),
+                    t);
+        }
+        if (partitionValuesList == null) {
+            return getSplits(exprs).iterator();
+        }
+        return Iterators.concat(Iterators.transform(
+                Iterators.partition(partitionValuesList.iterator(), PARTITION_BATCH_SIZE_FOR_SPLIT_SOURCE),
+                batch -> cache.getFilesByPartitions(
+                        cache.getAllPartitions(hmsTable.getDbName(), hmsTable.getName(), batch)).iterator()));
+    }
+
+    // 1. get ListPartitionItems from cache
+    // 2. prune partitions by expr
+    // return null if the table is not partitioned
+    private List<List<String>> getPrunedPartitionValues(HiveMetaStoreCache cache) throws AnalysisException {
+        long start = System.currentTimeMillis();
+        List<Type> partitionColumnTypes = hmsTable.getPartitionColumnTypes();
+        if (partitionColumnTypes.isEmpty()) {
+            return null;
+        }
+        HivePartitionValues hivePartitionValues = cache.getPartitionValues(hmsTable.getDbName(), hmsTable.getName(),
+                partitionColumnTypes);
+        Map<Long, PartitionItem> idToPartitionItem = hivePartitionValues.getIdToPartitionItem();
+        this.totalPartitionNum = idToPartitionItem.size();
+        ListPartitionPrunerV2 pruner = new ListPartitionPrunerV2(idToPartitionItem,
+                hmsTable.getPartitionColumns(), columnNameToRange,
+                hivePartitionValues.getUidToPartitionRange(),
+                hivePartitionValues.getRangeToId(),
+                hivePartitionValues.getSingleColumnRangeMap());
+        Collection<Long> filteredPartitionIds = pruner.prune();
+        this.readPartitionNum = filteredPartitionIds.size();
+        LOG.debug("hive partition fetch and prune for table {}.{} cost: {} ms",
+                hmsTable.getDbName(), hmsTable.getName(), (System.currentTimeMillis() - start));
+
+        List<List<String>> partitionValuesList = Lists.newArrayListWithCapacity(filteredPartitionIds.size());
+        for (Long id : filteredPartitionIds) {
+            ListPartitionItem listPartitionItem = (ListPartitionItem) idToPartitionItem.get(id);
+            partitionValuesList.add(listPartitionItem.getItems().get(0).getPartitionValuesAsStringList());
+        }
+        return partitionValuesList;
+    }
+
     private void getFileSplitByPartitions(HiveMetaStoreCache cache, List<HivePartition> partitions,
             List<InputSplit> allFiles) {
         List<InputSplit> files = cache.getFilesByPartitions(partitions);
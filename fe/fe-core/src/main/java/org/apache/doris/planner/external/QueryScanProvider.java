@@ -17,16 +17,20 @@
 
 package org.apache.doris.planner.external;
 
+import org.apache.doris.analysis.Expr;
 import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.FsBroker;
 import org.apache.doris.catalog.HdfsResource;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.BrokerUtil;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.planner.external.ExternalFileScanNode.ParamCreateContext;
 import org.apache.doris.planner.external.iceberg.IcebergScanProvider;
 import org.apache.doris.planner.external.iceberg.IcebergSplit;
+import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.TExternalScanRange;
 import org.apache.doris.thrift.TFileAttributes;
@@ -42,6 +46,9 @@ import org.apache.doris.thrift.TScanRangeLocation;
 import org.apache.doris.thrift.TScanRangeLocations;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.hadoop.hive.ql.io.orc.OrcSplit;
 import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputSplit;
@@ -49,6 +56,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +64,8 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
     public static final Logger LOG = LogManager.getLogger(QueryScanProvider.class);
     private int inputSplitNum = 0;
     private long inputFileSize = 0;
+    // held by the scan node, so that it is not released before the query is finished
+    private final List<SplitSource> splitSources = Lists.newArrayList();
 
     public abstract TFileAttributes getFileAttributes() throws UserException;
 
@@ -64,7 +74,17 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
             List<TScanRangeLocations> scanRangeLocations) throws UserException {
         long start = System.currentTimeMillis();
         try {
-            List<InputSplit> inputSplits = getSplits(context.conjuncts);
+            List<InputSplit> inputSplits;
+            Iterator<InputSplit> remainingSplits = null;
+            if (ConnectContext.get() != null
+                    && ConnectContext.get().getSessionVariable().isEnableStreamingSplitSource()) {
+                // only enumerate the initial splits, the rest are fetched by backends from the split source
+                remainingSplits = getSplitIterator(context.conjuncts);
+                inputSplits = Lists.newArrayList(Iterators.limit(remainingSplits,
+                        Config.split_source_initial_split_num_per_backend * backendPolicy.numBackends()));
+            } else {
+                inputSplits = getSplits(context.conjuncts);
+            }
             this.inputSplitNum = inputSplits.size();
             if (inputSplits.isEmpty()) {
                 return;
@@ -106,28 +126,36 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
             } else if (locationType == TFileType.FILE_S3) {
                 context.params.setProperties(locationProperties);
             }
-            TScanRangeLocations curLocations = newLocations(context.params, backendPolicy);
+            // assign splits to backends by consistent hashing, or round robin
+            ConsistentHashSplitAssigner assigner = null;
+            Map<Long, TScanRangeLocations> backendToLocations = Maps.newLinkedHashMap();
+            Map<Long, FileSplitStrategy> backendToSplitStrategy = Maps.newHashMap();
+            if (ConnectContext.get() != null
+                    && ConnectContext.get().getSessionVariable().isEnableConsistentHashSplitAssignment()) {
+                long totalBytes = 0;
+                for (InputSplit split : inputSplits) {
+                    totalBytes += split.getLength();
+                }
+                assigner = new ConsistentHashSplitAssigner(backendPolicy.getBackends(), totalBytes,
+                        Config.split_assigner_virtual_node_num, Config.split_assigner_max_load_factor);
+            }
+            TScanRangeLocations curLocations = assigner == null
+                    ? newLocations(context.params, backendPolicy.getNextBe()) : null;
 
             FileSplitStrategy fileSplitStrategy = new FileSplitStrategy();
+            int startIndex = scanRangeLocations.size();
 
             for (InputSplit split : inputSplits) {
                 FileSplit fileSplit = (FileSplit) split;
-                List<String> pathPartitionKeys = getPathPartitionKeys();
-                List<String> partitionValuesFromPath = BrokerUtil.parseColumnsFromPath(fileSplit.getPath().toString(),
-                        pathPartitionKeys, false);
-
-                TFileRangeDesc rangeDesc = createFileRangeDesc(fileSplit, partitionValuesFromPath, pathPartitionKeys);
-                // external data lake table
-                if (split instanceof IcebergSplit) {
-                    IcebergScanProvider.setIcebergParams(rangeDesc, (IcebergSplit) split);
+                TFileRangeDesc rangeDesc = createFileRangeDesc(fileSplit, locationType, fileFormatType);
+                if (assigner != null) {
+                    Backend backend = assigner.assign(fileSplit.getPath().toString(), fileSplit.getStart(),
+                            fileSplit.getLength());
+                    curLocations = backendToLocations.computeIfAbsent(backend.getId(),
+                            id -> newLocations(context.params, backend));
+                    fileSplitStrategy = backendToSplitStrategy.computeIfAbsent(backend.getId(),
+                            id -> new FileSplitStrategy());
                 }
-
-                // file size of orc files is not correct get by FileSplit.getLength(),
-                // broker reader needs correct file size
-                if (locationType == TFileType.FILE_BROKER && fileFormatType == TFileFormatType.FORMAT_ORC) {
-                    rangeDesc.setFileSize(((OrcSplit) fileSplit).getFileLength());
-                }
-
                 curLocations.getScanRange().getExtScanRange().getFileScanRange().addToRanges(rangeDesc);
                 LOG.debug("assign to backend {} with table split: {} ({}, {}), location: {}",
                         curLocations.getLocations().get(0).getBackendId(), fileSplit.getPath(), fileSplit.getStart(),
@@ -137,13 +165,33 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
                 // Add a new location when it's can be split
                 if (fileSplitStrategy.hasNext()) {
                     scanRangeLocations.add(curLocations);
-                    curLocations = newLocations(context.params, backendPolicy);
+                    if (assigner == null) {
+                        curLocations = newLocations(context.params, backendPolicy.getNextBe());
+                    } else {
+                        backendToLocations.remove(curLocations.getLocations().get(0).getBackendId());
+                    }
                     fileSplitStrategy.next();
                 }
                 this.inputFileSize += fileSplit.getLength();
             }
-            if (curLocations.getScanRange().getExtScanRange().getFileScanRange().getRangesSize() > 0) {
-                scanRangeLocations.add(curLocations);
+            if (assigner == null) {
+                if (curLocations.getScanRange().getExtScanRange().getFileScanRange().getRangesSize() > 0) {
+                    scanRangeLocations.add(curLocations);
+                }
+            } else {
+                scanRangeLocations.addAll(backendToLocations.values());
+                updateAssignMetrics(assigner);
+            }
+            if (remainingSplits != null && remainingSplits.hasNext()) {
+                SplitSource splitSource = new SplitSource(remainingSplits,
+                        split -> createFileRangeDesc((FileSplit) split, locationType, fileFormatType));
+                long splitSourceId = Env.getCurrentEnv().getSplitSourceManager().registerSplitSource(splitSource);
+                splitSources.add(splitSource);
+                for (int i = startIndex; i < scanRangeLocations.size(); i++) {
+                    scanRangeLocations.get(i).getScanRange().getExtScanRange().getFileScanRange()
+                            .setSplitSourceId(splitSourceId);
+                }
+                LOG.debug("create split source {} after #{} initial splits", splitSourceId, inputSplitNum);
             }
             LOG.debug("create #{} ScanRangeLocations cost: {} ms",
                     scanRangeLocations.size(), (System.currentTimeMillis() - start));
@@ -152,6 +200,14 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         }
     }
 
+    /**
+     * Enumerate the splits lazily for the streaming split source,
+     * the providers of huge tables should override it to avoid listing all files at once.
+     */
+    protected Iterator<InputSplit> getSplitIterator(List<Expr> exprs) throws IOException, UserException {
+        return getSplits(exprs).iterator();
+    }
+
     @Override
     public int getInputSplitNum() {
         return this.inputSplitNum;
@@ -162,7 +218,16 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         return this.inputFileSize;
     }
 
-    private TScanRangeLocations newLocations(TFileScanRangeParams params, BackendPolicy backendPolicy) {
+    private void updateAssignMetrics(ConsistentHashSplitAssigner assigner) {
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_FILE_SCAN_SPLIT_ASSIGN_SKEW.update((long) (assigner.getSkew() * 100));
+            MetricRepo.COUNTER_FILE_SCAN_SPLIT_REASSIGNED.increase((long) assigner.getReassignedNum());
+        }
+        LOG.debug("assign splits by consistent hashing, skew: {}, reassigned split num: {}",
+                assigner.getSkew(), assigner.getReassignedNum());
+    }
+
+    private TScanRangeLocations newLocations(TFileScanRangeParams params, Backend selectedBackend) {
         // Generate on file scan range
         TFileScanRange fileScanRange = new TFileScanRange();
         fileScanRange.setParams(params);
@@ -178,7 +243,6 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         locations.setScanRange(scanRange);
 
         TScanRangeLocation location = new TScanRangeLocation();
-        Backend selectedBackend = backendPolicy.getNextBe();
         location.setBackendId(selectedBackend.getId());
         location.setServer(new TNetworkAddress(selectedBackend.getIp(), selectedBackend.getBePort()));
         locations.addToLocations(location);
@@ -186,6 +250,26 @@ public abstract class QueryScanProvider implements FileScanProviderIf {
         return locations;
     }
 
+    private TFileRangeDesc createFileRangeDesc(FileSplit fileSplit, TFileType locationType,
+            TFileFormatType fileFormatType) throws UserException {
+        List<String> pathPartitionKeys = getPathPartitionKeys();
+        List<String> partitionValuesFromPath = BrokerUtil.parseColumnsFromPath(fileSplit.getPath().toString(),
+                pathPartitionKeys, false);
+
+        TFileRangeDesc rangeDesc = createFileRangeDesc(fileSplit, partitionValuesFromPath, pathPartitionKeys);
+        // external data lake table
+        if (fileSplit instanceof IcebergSplit) {
+            IcebergScanProvider.setIcebergParams(rangeDesc, (IcebergSplit) fileSplit);
+        }
+
+        // file size of orc files is not correct get by FileSplit.getLength(),
+        // broker reader needs correct file size
+        if (locationType == TFileType.FILE_BROKER && fileFormatType == TFileFormatType.FORMAT_ORC) {
+            rangeDesc.setFileSize(((OrcSplit) fileSplit).getFileLength());
+        }
+        return rangeDesc;
+    }
+
     private TFileRangeDesc createFileRangeDesc(FileSplit fileSplit, List<String> columnsFromPath,
             List<String> columnsFromPathKeys)
             throws DdlException, MetaNotFoundException {
@@ -0,0 +1,196 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.UserException;
+import org.apache.doris.thrift.TFileRangeDesc;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The splits of an external file scan which are not sent with the plan.
+ * The splits are enumerated lazily by the iterator, and fetched by the scanners of backends in batches,
+ * so that the execution overlaps with the enumeration, and fe does not hold all splits in memory.
+ *
+ * The iterator is consumed by a prefetch task in background, which fills a bounded queue,
+ * so a slow listing of remote files does not block the fetches of the splits already enumerated.
+ * A fetch of a scanner is identified by the scanner id and the batch seq, so a retried fetch,
+ * eg. after rpc timeout, gets the same batch instead of losing it.
+ */
+public class SplitSource {
+    private static final Logger LOG = LogManager.getLogger(SplitSource.class);
+
+    private static final ThreadPoolExecutor PREFETCH_POOL = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.split_source_prefetch_thread_num, Integer.MAX_VALUE, "split-source-prefetch", true);
+    private static final long WAIT_INTERVAL_MS = 100;
+
+    /**
+     * Convert a split to the range desc sent to backends.
+     */
+    public interface SplitConverter {
+        TFileRangeDesc convert(InputSplit split) throws UserException;
+    }
+
+    // the last batch returned to a scanner, which is returned again if the scanner retries the fetch
+    private static class ScannerBatch {
+        private long seq = -1;
+        private List<TFileRangeDesc> batch;
+    }
+
+    private final Iterator<InputSplit> splits;
+    private final SplitConverter converter;
+    private final Executor prefetchExecutor;
+    private final LinkedBlockingQueue<TFileRangeDesc> prefetched;
+    private final AtomicBoolean prefetching = new AtomicBoolean(false);
+    private final Map<String, ScannerBatch> scannerBatches = Maps.newConcurrentMap();
+    private long id = -1;
+    private final AtomicInteger fetchedSplitNum = new AtomicInteger(0);
+    private final AtomicLong enumeratedFileSize = new AtomicLong(0);
+    // all splits are enumerated into the queue
+    private volatile boolean exhausted = false;
+    private volatile Throwable failure = null;
+
+    public SplitSource(Iterator<InputSplit> splits, SplitConverter converter) {
+        this(splits, converter, PREFETCH_POOL, Config.split_source_batch_size * 2);
+    }
+
+    public SplitSource(Iterator<InputSplit> splits, SplitConverter converter, Executor prefetchExecutor,
+            int prefetchNum) {
+        this.splits = splits;
+        this.converter = converter;
+        this.prefetchExecutor = prefetchExecutor;
+        this.prefetched = new LinkedBlockingQueue<>(Math.max(1, prefetchNum));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get at most maxNum splits for the batch seq of a scanner, an empty list means all splits are fetched.
+     * The seq of the first batch is 0, and a scanner asks for the next seq only after it receives a batch.
+     */
+    public List<TFileRangeDesc> getNextBatch(String scannerId, long seq, int maxNum) throws UserException {
+        ScannerBatch scannerBatch = scannerBatches.computeIfAbsent(scannerId, k -> new ScannerBatch());
+        synchronized (scannerBatch) {
+            if (seq == scannerBatch.seq) {
+                LOG.debug("scanner {} fetches the batch {} of split source {} again", scannerId, seq, id);
+                return scannerBatch.batch;
+            }
+            if (seq != scannerBatch.seq + 1) {
+                throw new UserException("invalid batch seq " + seq + " of scanner " + scannerId
+                        + " for split source " + id + ", expected " + (scannerBatch.seq + 1));
+            }
+            List<TFileRangeDesc> batch = getNextBatch(maxNum);
+            scannerBatch.seq = seq;
+            scannerBatch.batch = batch;
+            return batch;
+        }
+    }
+
+    /**
+     * Get at most maxNum splits, an empty list means all splits are fetched.
+     */
+    public List<TFileRangeDesc> getNextBatch(int maxNum) throws UserException {
+        List<TFileRangeDesc> batch = Lists.newArrayList();
+        startPrefetch();
+        try {
+            while (batch.isEmpty()) {
+                if (failure != null) {
+                    throw new UserException("failed to get splits from split source " + id + ": "
+                            + failure.getMessage(), failure);
+                }
+                // check the flag before draining, since it is set after the last split is queued
+                boolean allQueued = exhausted;
+                prefetched.drainTo(batch, maxNum);
+                if (!batch.isEmpty() || allQueued) {
+                    break;
+                }
+                TFileRangeDesc split = prefetched.poll(WAIT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (split != null) {
+                    batch.add(split);
+                    prefetched.drainTo(batch, maxNum - 1);
+                }
+                startPrefetch();
+            }
+        } catch (InterruptedException e) {
+            throw new UserException("interrupted when getting splits from split source " + id, e);
+        }
+        // refill the queue for the next fetch
+        startPrefetch();
+        int num = fetchedSplitNum.addAndGet(batch.size());
+        if (batch.isEmpty()) {
+            LOG.debug("split source {} is finished, fetched #{} splits, {} bytes", id, num,
+                    enumeratedFileSize.get());
+        }
+        return batch;
+    }
+
+    private void startPrefetch() {
+        if (exhausted || failure != null || prefetched.remainingCapacity() == 0
+                || !prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        prefetchExecutor.execute(this::prefetch);
+    }
+
+    // only one prefetch task runs at a time, so the iterator is not accessed concurrently
+    private void prefetch() {
+        try {
+            while (prefetched.remainingCapacity() > 0) {
+                if (!splits.hasNext()) {
+                    exhausted = true;
+                    break;
+                }
+                InputSplit split = splits.next();
+                prefetched.add(converter.convert(split));
+                enumeratedFileSize.addAndGet(split.getLength());
+            }
+        } catch (Throwable e) {
+            // the iterator may list files from remote storage and throw runtime exceptions
+            LOG.warn("failed to enumerate splits of split source {}", id, e);
+            failure = e;
+        } finally {
+            prefetching.set(false);
+        }
+    }
+
+    public int getFetchedSplitNum() {
+        return fetchedSplitNum.get();
+    }
+}
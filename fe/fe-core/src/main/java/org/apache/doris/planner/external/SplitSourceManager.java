@@ -0,0 +1,75 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external;
+
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of the split sources of the queries planned by this fe, backends fetch splits from them by id.
+ *
+ * A split source is held by its scan node, and is only weakly referenced here,
+ * so it is released with the plan when the query is finished, even if the query is not executed at all.
+ */
+public class SplitSourceManager {
+    private static final Logger LOG = LogManager.getLogger(SplitSourceManager.class);
+
+    private final AtomicLong nextId = new AtomicLong(0);
+    private final ReferenceQueue<SplitSource> releasedSplitSources = new ReferenceQueue<>();
+    private final Map<Long, SplitSourceReference> splitSources = Maps.newConcurrentMap();
+
+    private static class SplitSourceReference extends WeakReference<SplitSource> {
+        private final long id;
+
+        SplitSourceReference(SplitSource splitSource, ReferenceQueue<SplitSource> queue) {
+            super(splitSource, queue);
+            this.id = splitSource.getId();
+        }
+    }
+
+    public long registerSplitSource(SplitSource splitSource) {
+        removeReleasedSplitSources();
+        long id = nextId.incrementAndGet();
+        splitSource.setId(id);
+        splitSources.put(id, new SplitSourceReference(splitSource, releasedSplitSources));
+        return id;
+    }
+
+    public SplitSource getSplitSource(long id) {
+        removeReleasedSplitSources();
+        SplitSourceReference reference = splitSources.get(id);
+        return reference == null ? null : reference.get();
+    }
+
+    public int getSplitSourceNum() {
+        return splitSources.size();
+    }
+
+    private void removeReleasedSplitSources() {
+        SplitSourceReference reference;
+        while ((reference = (SplitSourceReference) releasedSplitSources.poll()) != null) {
+            splitSources.remove(reference.id);
+            LOG.debug("remove released split source {}", reference.id);
+        }
+    }
+}
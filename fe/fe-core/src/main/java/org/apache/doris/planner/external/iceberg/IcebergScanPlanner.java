@@ -0,0 +1,169 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external.iceberg;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.Util;
+import org.apache.doris.datasource.iceberg.IcebergManifestCache;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
+import org.apache.iceberg.expressions.ManifestEvaluator;
+import org.apache.iceberg.expressions.Projections;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plan the data files of an iceberg table scan.
+ * The manifests are pruned by the partition summaries in manifest list,
+ * and the remaining manifests are read in parallel on a pool shared by all queries,
+ * the parsed entries of which are kept in {@link IcebergManifestCache}.
+ */
+public class IcebergScanPlanner {
+    private static final Logger LOG = LogManager.getLogger(IcebergScanPlanner.class);
+
+    private static final ThreadPoolExecutor PLANNING_POOL = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.iceberg_manifest_planning_thread_num, Integer.MAX_VALUE, "iceberg-manifest-planning", false);
+
+    private final long catalogId;
+    private final Table table;
+    private final TableScan scan;
+    private final IcebergManifestCache cache;
+
+    private int totalManifestNum = 0;
+    private int skippedManifestNum = 0;
+    private final AtomicInteger cachedManifestNum = new AtomicInteger(0);
+    private int dataFileNum = 0;
+    private long planningTimeMs = 0;
+
+    public IcebergScanPlanner(long catalogId, Table table, TableScan scan, IcebergManifestCache cache) {
+        this.catalogId = catalogId;
+        this.table = table;
+        this.scan = scan;
+        this.cache = cache;
+    }
+
+    public static ThreadPoolExecutor getPlanningPool() {
+        return PLANNING_POOL;
+    }
+
+    /**
+     * Get the data files matching the filter of scan from the data manifests.
+     */
+    public List<DataFile> planDataFiles(List<ManifestFile> dataManifests) throws UserException {
+        long start = System.currentTimeMillis();
+        Expression filter = scan.filter();
+        boolean caseSensitive = scan.isCaseSensitive();
+        Map<Integer, PartitionSpec> specs = table.specs();
+        Map<Integer, ManifestEvaluator> manifestEvaluators = Maps.newHashMap();
+        List<Future<List<DataFile>>> futures = Lists.newArrayList();
+        for (ManifestFile manifest : dataManifests) {
+            totalManifestNum++;
+            ManifestEvaluator evaluator = manifestEvaluators.computeIfAbsent(manifest.partitionSpecId(),
+                    specId -> ManifestEvaluator.forRowFilter(filter, specs.get(specId), caseSensitive));
+            if (!(manifest.hasAddedFiles() || manifest.hasExistingFiles()) || !evaluator.eval(manifest)) {
+                skippedManifestNum++;
+                continue;
+            }
+            futures.add(PLANNING_POOL.submit(() -> readManifest(manifest, specs)));
+        }
+
+        // the evaluators are not thread safe, so filter the data files in the planning thread
+        Map<Integer, Evaluator> partitionEvaluators = Maps.newHashMap();
+        InclusiveMetricsEvaluator metricsEvaluator = new InclusiveMetricsEvaluator(scan.schema(), filter,
+                caseSensitive);
+        List<DataFile> dataFiles = Lists.newArrayList();
+        try {
+            for (Future<List<DataFile>> future : futures) {
+                for (DataFile file : future.get()) {
+                    Evaluator partitionEvaluator = partitionEvaluators.computeIfAbsent(file.specId(),
+                            specId -> new Evaluator(specs.get(specId).partitionType(),
+                                    Projections.inclusive(specs.get(specId), caseSensitive).project(filter),
+                                    caseSensitive));
+                    if (partitionEvaluator.eval(file.partition()) && metricsEvaluator.eval(file)) {
+                        dataFiles.add(file);
+                    }
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new UserException("failed to read manifests of iceberg table " + table.name() + ", err: "
+                    + Util.getRootCauseMessage(e), e);
+        }
+        dataFileNum = dataFiles.size();
+        planningTimeMs = System.currentTimeMillis() - start;
+        LOG.debug("plan #{} data files of iceberg table {} from #{}/{} manifests ({} cached), cost: {} ms",
+                dataFileNum, table.name(), getScannedManifestNum(), totalManifestNum, cachedManifestNum.get(),
+                planningTimeMs);
+        return dataFiles;
+    }
+
+    private List<DataFile> readManifest(ManifestFile manifest, Map<Integer, PartitionSpec> specs) throws Exception {
+        List<DataFile> files = cache.getCachedDataFiles(catalogId, manifest);
+        if (files != null) {
+            cachedManifestNum.incrementAndGet();
+            return files;
+        }
+        return cache.loadDataFiles(catalogId, manifest, table.io(), specs);
+    }
+
+    public int getTotalManifestNum() {
+        return totalManifestNum;
+    }
+
+    public int getScannedManifestNum() {
+        return totalManifestNum - skippedManifestNum;
+    }
+
+    public int getSkippedManifestNum() {
+        return skippedManifestNum;
+    }
+
+    public int getCachedManifestNum() {
+        return cachedManifestNum.get();
+    }
+
+    public int getDataFileNum() {
+        return dataFileNum;
+    }
+
+    public long getPlanningTimeMs() {
+        return planningTimeMs;
+    }
+
+    public String getStatsString() {
+        return String.format("manifests=%d/%d, cachedManifests=%d, dataFiles=%d, planTime=%dms",
+                getScannedManifestNum(), totalManifestNum, getCachedManifestNum(), dataFileNum, planningTimeMs);
+    }
+}
@@ -20,16 +20,21 @@ package org.apache.doris.planner.external.iceberg;
 import org.apache.doris.analysis.Analyzer;
 import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.TableSnapshot;
+import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.TimeUtils;
+import org.apache.doris.common.util.Util;
+import org.apache.doris.datasource.iceberg.IcebergManifestCache;
+import org.apache.doris.datasource.iceberg.IcebergManifestCache.SnapshotManifests;
 import org.apache.doris.external.iceberg.util.IcebergUtils;
 import org.apache.doris.planner.external.ExternalFileScanNode;
 import org.apache.doris.planner.external.QueryScanProvider;
 import org.apache.doris.planner.external.TableFormatType;
+import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.thrift.TFileAttributes;
 import org.apache.doris.thrift.TFileFormatType;
 import org.apache.doris.thrift.TFileRangeDesc;
@@ -38,23 +43,29 @@ import org.apache.doris.thrift.TIcebergDeleteFileDesc;
 import org.apache.doris.thrift.TIcebergFileDesc;
 import org.apache.doris.thrift.TTableFormatFileDesc;
 
+import com.google.common.collect.Iterators;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.InputSplit;
 import org.apache.iceberg.BaseTable;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.FileContent;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.HistoryEntry;
 import org.apache.iceberg.MetadataColumns;
 import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.exceptions.NotFoundException;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.types.Conversions;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -67,8 +78,11 @@ import java.util.stream.Collectors;
 public class IcebergScanProvider extends QueryScanProvider {
 
     private static final int MIN_DELETE_FILE_SUPPORT_VERSION = 2;
+    private static final long SPLIT_SIZE = 128 * 1024 * 1024;
     private final Analyzer analyzer;
     private final IcebergSource icebergSource;
+    // for explain, null if the files are not planned by it
+    private IcebergScanPlanner scanPlanner;
 
     public IcebergScanProvider(IcebergSource icebergSource, Analyzer analyzer) {
         this.icebergSource = icebergSource;
@@ -141,6 +155,72 @@ public class IcebergScanProvider extends QueryScanProvider {
 
     @Override
     public List<InputSplit> getSplits(List<Expr> exprs) throws UserException {
+        TableScan scan = createTableScan(exprs);
+        org.apache.iceberg.Table table = icebergSource.getIcebergTable();
+        List<InputSplit> splits = new ArrayList<>();
+        Snapshot snapshot = scan.snapshot();
+        if (snapshot == null) {
+            // empty table
+            return splits;
+        }
+        int formatVersion = ((BaseTable) table).operations().current().formatVersion();
+        IcebergManifestCache manifestCache = Env.getCurrentEnv().getExtMetaCacheMgr().getIcebergManifestCache();
+        long catalogId = icebergSource.getCatalog().getId();
+        SnapshotManifests manifests;
+        try {
+            manifests = manifestCache.getManifests(catalogId, snapshot, table.io());
+        } catch (IOException e) {
+            throw new UserException("failed to get manifests of iceberg table " + table.name() + ", err: "
+                    + Util.getRootCauseMessage(e), e);
+        }
+        if (manifests.getDeleteManifests().isEmpty()) {
+            scanPlanner = new IcebergScanPlanner(catalogId, table, scan, manifestCache);
+            for (DataFile file : scanPlanner.planDataFiles(manifests.getDataManifests())) {
+                String path = file.path().toString();
+                long fileSize = file.fileSizeInBytes();
+                for (long offset = 0; offset < fileSize; offset += SPLIT_SIZE) {
+                    splits.add(createIcebergSplit(path, offset, Math.min(SPLIT_SIZE, fileSize - offset),
+                            Collections.emptyList(), formatVersion));
+                }
+            }
+            addPlanningProfile(table.name(), scanPlanner);
+        } else {
+            // the delete files are matched to data files by iceberg, but the manifests are still read in parallel
+            for (FileScanTask task : scan.planWith(IcebergScanPlanner.getPlanningPool()).planFiles()) {
+                for (FileScanTask splitTask : task.split(SPLIT_SIZE)) {
+                    splits.add(createIcebergSplit(splitTask, formatVersion));
+                }
+            }
+        }
+        return splits;
+    }
+
+    public IcebergScanPlanner getScanPlanner() {
+        return scanPlanner;
+    }
+
+    private void addPlanningProfile(String tableName, IcebergScanPlanner planner) {
+        ConnectContext context = ConnectContext.get();
+        if (context != null && context.getExecutor() != null) {
+            context.getExecutor().getPlannerProfile().addInfoString("Iceberg Scan Planning (" + tableName + ")",
+                    planner.getStatsString());
+        }
+    }
+
+    /**
+     * Plan the files of the scan lazily, the manifests are read when iterating.
+     */
+    @Override
+    protected Iterator<InputSplit> getSplitIterator(List<Expr> exprs) throws UserException {
+        TableScan scan = createTableScan(exprs);
+        int formatVersion = ((BaseTable) icebergSource.getIcebergTable()).operations().current().formatVersion();
+        return Iterators.concat(Iterators.transform(
+                scan.planWith(IcebergScanPlanner.getPlanningPool()).planFiles().iterator(),
+                task -> Iterators.transform(task.split(SPLIT_SIZE).iterator(),
+                        splitTask -> createIcebergSplit(splitTask, formatVersion))));
+    }
+
+    private TableScan createTableScan(List<Expr> exprs) throws UserException {
         List<Expression> expressions = new ArrayList<>();
         org.apache.iceberg.Table table = icebergSource.getIcebergTable();
         for (Expr conjunct : exprs) {
@@ -167,23 +247,25 @@ public class IcebergScanProvider extends QueryScanProvider {
         for (Expression predicate : expressions) {
             scan = scan.filter(predicate);
         }
-        List<InputSplit> splits = new ArrayList<>();
-        int formatVersion = ((BaseTable) table).operations().current().formatVersion();
-        for (FileScanTask task : scan.planFiles()) {
-            for (FileScanTask splitTask : task.split(128 * 1024 * 1024)) {
-                String dataFilePath = splitTask.file().path().toString();
-                IcebergSplit split = new IcebergSplit(new Path(dataFilePath), splitTask.start(),
-                        splitTask.length(), new String[0]);
-                split.setFormatVersion(formatVersion);
-                if (formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION) {
-                    split.setDeleteFileFilters(getDeleteFileFilters(splitTask));
-                }
-                split.setTableFormatType(TableFormatType.ICEBERG);
-                split.setAnalyzer(analyzer);
-                splits.add(split);
-            }
+        return scan;
+    }
+
+    private IcebergSplit createIcebergSplit(FileScanTask splitTask, int formatVersion) {
+        return createIcebergSplit(splitTask.file().path().toString(), splitTask.start(), splitTask.length(),
+                formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION ? getDeleteFileFilters(splitTask) : null,
+                formatVersion);
+    }
+
+    private IcebergSplit createIcebergSplit(String dataFilePath, long start, long length,
+            List<IcebergDeleteFileFilter> deleteFileFilters, int formatVersion) {
+        IcebergSplit split = new IcebergSplit(new Path(dataFilePath), start, length, new String[0]);
+        split.setFormatVersion(formatVersion);
+        if (formatVersion >= MIN_DELETE_FILE_SUPPORT_VERSION) {
+            split.setDeleteFileFilters(deleteFileFilters);
         }
-        return splits;
+        split.setTableFormatType(TableFormatType.ICEBERG);
+        split.setAnalyzer(analyzer);
+        return split;
     }
 
     public static long getSnapshotIdAsOfTime(List<HistoryEntry> historyEntries, long asOfTimestamp) {
@@ -53,8 +53,13 @@ import org.apache.doris.mysql.MysqlPacket;
 import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.mysql.MysqlSerializer;
 import org.apache.doris.mysql.MysqlServerStatusFlag;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.cache.CachedPlan;
+import org.apache.doris.nereids.cache.NereidsPlanCache;
+import org.apache.doris.nereids.cache.PlanCacheKey;
 import org.apache.doris.nereids.glue.LogicalPlanAdapter;
 import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.trees.plans.commands.Command;
 import org.apache.doris.plugin.AuditEvent.EventType;
 import org.apache.doris.proto.Data;
 import org.apache.doris.qe.QueryState.MysqlStateType;
@@ -64,6 +69,7 @@ import org.apache.doris.thrift.TMasterOpResult;
 import org.apache.doris.thrift.TUniqueId;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
@@ -352,13 +358,31 @@ public class ConnectProcessor {
         List<StatementBase> stmts = null;
 
         if (ctx.getSessionVariable().isEnableNereidsPlanner()) {
-            try {
-                stmts = new NereidsParser().parseSQL(originStmt);
-            } catch (Exception e) {
-                // TODO: We should catch all exception here until we support all query syntax.
-                nereidsParseException = e;
-                LOG.info("Nereids parse sql failed. Reason: {}. Statement: \"{}\".",
-                        e.getMessage(), originStmt);
+            // the statements prepared by COM_STMT_PREPARE are planned by the original planner, which is kept
+            // in PrepareStmtContext and reused by COM_STMT_EXECUTE, so only the query text is cached.
+            PlanCacheKey planCacheKey = ctx.getCommand() == MysqlCommand.COM_QUERY && NereidsPlanCache.isEnabled(ctx)
+                    ? PlanCacheKey.of(ctx, originStmt) : null;
+            CachedPlan cachedPlan = planCacheKey == null ? null : NereidsPlanCache.getInstance().get(planCacheKey);
+            if (cachedPlan != null) {
+                // skip parsing, the planner will check whether the cached plan is still valid
+                StatementContext statementContext = new StatementContext();
+                statementContext.setPlanCacheKey(planCacheKey);
+                statementContext.setCachedPlan(cachedPlan);
+                stmts = Lists.newArrayList(new LogicalPlanAdapter(cachedPlan.getParsedPlan(), statementContext));
+            } else {
+                try {
+                    stmts = new NereidsParser().parseSQL(originStmt);
+                    if (planCacheKey != null && stmts.size() == 1 && stmts.get(0) instanceof LogicalPlanAdapter
+                            && !stmts.get(0).isExplain()
+                            && !(((LogicalPlanAdapter) stmts.get(0)).getLogicalPlan() instanceof Command)) {
+                        ((LogicalPlanAdapter) stmts.get(0)).getStatementContext().setPlanCacheKey(planCacheKey);
+                    }
+                } catch (Exception e) {
+                    // TODO: We should catch all exception here until we support all query syntax.
+                    nereidsParseException = e;
+                    LOG.info("Nereids parse sql failed. Reason: {}. Statement: \"{}\".",
+                            e.getMessage(), originStmt);
+                }
             }
         }
 
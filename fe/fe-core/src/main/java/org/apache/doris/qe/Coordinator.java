@@ -85,6 +85,7 @@ import org.apache.doris.thrift.TPaloScanRange;
 import org.apache.doris.thrift.TPipelineFragmentParams;
 import org.apache.doris.thrift.TPipelineFragmentParamsList;
 import org.apache.doris.thrift.TPipelineInstanceParams;
+import org.apache.doris.thrift.TPlanFragment;
 import org.apache.doris.thrift.TPlanFragmentDestination;
 import org.apache.doris.thrift.TPlanFragmentExecParams;
 import org.apache.doris.thrift.TQueryGlobals;
@@ -188,6 +189,9 @@ public class Coordinator {
 
     private RuntimeProfile queryProfile;
 
+    private final PreSerializedPlanFragment.SerializeStats fragmentSerializeStats =
+            new PreSerializedPlanFragment.SerializeStats();
+
     private List<RuntimeProfile> fragmentProfile;
 
     private ProfileWriter profileWriter;
@@ -766,6 +770,7 @@ public class Coordinator {
             List<Triple<BackendExecStates, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
                     futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
+            long dispatchStartNs = System.nanoTime();
             for (BackendExecStates states : beToExecStates.values()) {
                 Span span = Telemetry.getNoopSpan();
                 if (ConnectContext.get() != null) {
@@ -777,7 +782,12 @@ public class Coordinator {
                 BackendServiceProxy proxy = BackendServiceProxy.getInstance();
                 futures.add(ImmutableTriple.of(states, proxy, states.execRemoteFragmentsAsync(proxy)));
             }
-            waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            long rpcStartNs = System.nanoTime();
+            try {
+                waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            } finally {
+                addSendFragmentsProfile(rpcStartNs - dispatchStartNs, System.nanoTime() - rpcStartNs);
+            }
 
             if (twoPhaseExecution) {
                 // 5. send and wait execution start rpc
@@ -878,6 +888,7 @@ public class Coordinator {
             List<Triple<PipelineExecContexts, BackendServiceProxy, Future<InternalService.PExecPlanFragmentResult>>>
                     futures = Lists.newArrayList();
             Context parentSpanContext = Context.current();
+            long dispatchStartNs = System.nanoTime();
             for (PipelineExecContexts ctxs : beToPipelineExecCtxs.values()) {
                 Span span = Telemetry.getNoopSpan();
                 if (ConnectContext.get() != null) {
@@ -889,7 +900,12 @@ public class Coordinator {
                 BackendServiceProxy proxy = BackendServiceProxy.getInstance();
                 futures.add(ImmutableTriple.of(ctxs, proxy, ctxs.execRemoteFragmentsAsync(proxy)));
             }
-            waitPipelineRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            long rpcStartNs = System.nanoTime();
+            try {
+                waitPipelineRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            } finally {
+                addSendFragmentsProfile(rpcStartNs - dispatchStartNs, System.nanoTime() - rpcStartNs);
+            }
 
             if (twoPhaseExecution) {
                 // 5. send and wait execution start rpc
@@ -913,6 +929,22 @@ public class Coordinator {
         }
     }
 
+    /**
+     * The dispatch time includes serializing the requests of all the backends, which is done in the caller thread,
+     * the rpc time is the time waiting for the backends to receive and prepare the fragments.
+     */
+    private void addSendFragmentsProfile(long dispatchTimeNs, long rpcTimeNs) {
+        if (queryProfile == null) {
+            return;
+        }
+        queryProfile.addInfoString("Fragment Dispatch Time", DebugUtil.getPrettyStringMs(dispatchTimeNs / 1000000));
+        queryProfile.addInfoString("Fragment RPC Time", DebugUtil.getPrettyStringMs(rpcTimeNs / 1000000));
+        queryProfile.addInfoString("Plan Fragment Serialize Time",
+                DebugUtil.getPrettyStringMs(fragmentSerializeStats.getSerializeTimeNs() / 1000000));
+        queryProfile.addInfoString("Plan Fragment Serialized/Reused", fragmentSerializeStats.getSerializeNum()
+                + "/" + fragmentSerializeStats.getReuseNum());
+    }
+
     private void waitRpc(List<Triple<BackendExecStates, BackendServiceProxy, Future<PExecPlanFragmentResult>>> futures,
                          long leftTimeMs,
             String operation) throws RpcException, UserException {
@@ -3038,14 +3070,25 @@ public class Coordinator {
             this.fragment = fragment;
         }
 
+        /**
+         * The plan of the fragment is the same for all the instances, convert it only once.
+         */
+        private TPlanFragment fragmentToThrift() {
+            if (Config.enable_pre_serialized_plan_fragment) {
+                return fragment.toThrift(new PreSerializedPlanFragment(fragmentSerializeStats));
+            }
+            return fragment.toThrift();
+        }
+
         List<TExecPlanFragmentParams> toThrift(int backendNum) {
             List<TExecPlanFragmentParams> paramsList = Lists.newArrayList();
+            TPlanFragment tFragment = fragmentToThrift();
 
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 TExecPlanFragmentParams params = new TExecPlanFragmentParams();
                 params.setProtocolVersion(PaloInternalServiceVersion.V1);
-                params.setFragment(fragment.toThrift());
+                params.setFragment(tFragment);
                 params.setDescTbl(descTable);
                 params.setParams(new TPlanFragmentExecParams());
                 params.setResourceInfo(tResourceInfo);
@@ -3104,6 +3147,7 @@ public class Coordinator {
             }
 
             Map<TNetworkAddress, TPipelineFragmentParams> res = new HashMap();
+            TPlanFragment tFragment = fragmentToThrift();
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 if (!res.containsKey(instanceExecParam.host)) {
@@ -3123,7 +3167,7 @@ public class Coordinator {
                     params.query_options.setMemLimit(memLimit);
                     params.setSendQueryStatisticsWithEveryBatch(
                             fragment.isTransferQueryStatisticsWithEveryBatch());
-                    params.setFragment(fragment.toThrift());
+                    params.setFragment(tFragment);
                     params.setLocalParams(Lists.newArrayList());
                     res.put(instanceExecParam.host, params);
                 }
@@ -0,0 +1,105 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.qe;
+
+import org.apache.doris.thrift.TPlanFragment;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.transport.TIOStreamTransport;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A TPlanFragment which is serialized only once for each protocol.
+ *
+ * All the instances of a fragment share the same plan, but the plan is serialized again
+ * for every instance when sending the fragments to the backends.
+ * This one caches the serialized bytes and writes them to the transport directly,
+ * so it must not be modified after it is serialized.
+ * The serialized struct is self-contained in both binary and compact protocol,
+ * so the bytes could be written in place of the struct.
+ */
+public class PreSerializedPlanFragment extends TPlanFragment {
+
+    private final Map<Class<? extends TProtocol>, byte[]> serializedBytes = new ConcurrentHashMap<>();
+
+    private final SerializeStats stats;
+
+    public PreSerializedPlanFragment(SerializeStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void write(TProtocol oprot) throws TException {
+        if (!(oprot instanceof TBinaryProtocol) && !(oprot instanceof TCompactProtocol)) {
+            super.write(oprot);
+            return;
+        }
+        byte[] bytes = serializedBytes.get(oprot.getClass());
+        if (bytes == null) {
+            long start = System.nanoTime();
+            TProtocolFactory factory = oprot instanceof TBinaryProtocol
+                    ? new TBinaryProtocol.Factory() : new TCompactProtocol.Factory();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            super.write(factory.getProtocol(new TIOStreamTransport(out)));
+            bytes = out.toByteArray();
+            serializedBytes.put(oprot.getClass(), bytes);
+            if (stats != null) {
+                stats.addSerialize(System.nanoTime() - start);
+            }
+        } else if (stats != null) {
+            stats.addReuse();
+        }
+        oprot.getTransport().write(bytes);
+    }
+
+    /**
+     * Statistics of serializing the plan fragments of a query, shown in the query profile.
+     */
+    public static class SerializeStats {
+        private long serializeTimeNs = 0;
+        private int serializeNum = 0;
+        private int reuseNum = 0;
+
+        public synchronized void addSerialize(long timeNs) {
+            serializeTimeNs += timeNs;
+            serializeNum++;
+        }
+
+        public synchronized void addReuse() {
+            reuseNum++;
+        }
+
+        public synchronized long getSerializeTimeNs() {
+            return serializeTimeNs;
+        }
+
+        public synchronized int getSerializeNum() {
+            return serializeNum;
+        }
+
+        public synchronized int getReuseNum() {
+            return reuseNum;
+        }
+    }
+}
@@ -195,6 +195,10 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_DPHYP_OPTIMIZER = "enable_dphyp_optimizer";
 
+    public static final String ENABLE_NEREIDS_PARALLEL_OPTIMIZE = "enable_nereids_parallel_optimize";
+
+    public static final String ENABLE_NEREIDS_PLAN_CACHE = "enable_nereids_plan_cache";
+
     public static final String ENABLE_NEREIDS_PLANNER = "enable_nereids_planner";
     public static final String DISABLE_NEREIDS_RULES = "disable_nereids_rules";
 
@@ -265,11 +269,18 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_FILE_CACHE = "enable_file_cache";
 
+    public static final String ENABLE_CONSISTENT_HASH_SPLIT_ASSIGNMENT = "enable_consistent_hash_split_assignment";
+
+    public static final String ENABLE_STREAMING_SPLIT_SOURCE = "enable_streaming_split_source";
+
     public static final String GROUP_BY_AND_HAVING_USE_ALIAS_FIRST = "group_by_and_having_use_alias_first";
     public static final String DROP_TABLE_IF_CTAS_FAILED = "drop_table_if_ctas_failed";
 
     public static final String MAX_TABLE_COUNT_USE_CASCADES_JOIN_REORDER = "max_table_count_use_cascades_join_reorder";
 
+    // the fields of all variables, see getPlanCacheDigest
+    private static volatile Field[] varFields;
+
     // session origin value
     public Map<Field, String> sessionOriginValue = new HashMap<Field, String>();
     // check stmt is or not [select /*+ SET_VAR(...)*/ ...]
@@ -566,6 +577,14 @@ public class SessionVariable implements Serializable, Writable {
 
     @VariableMgr.VarAttr(name = ENABLE_DPHYP_OPTIMIZER)
     private boolean enableDPHypOptimizer = false;
+
+    // match and transform the rules of a group expression in parallel in cascades optimizer
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PARALLEL_OPTIMIZE)
+    private boolean enableNereidsParallelOptimize = false;
+
+    // reuse the plan of the same query text of COM_QUERY, see NereidsPlanCache
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PLAN_CACHE)
+    private boolean enableNereidsPlanCache = false;
     /**
      * as the new optimizer is not mature yet, use this var
      * to control whether to use new optimizer, remove it when
@@ -705,6 +724,16 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_FILE_CACHE, needForward = true)
     public boolean enableFileCache = true;
 
+    // Whether assign the splits of external file scan to backends by consistent hashing of file path and offset,
+    // so the same split is scanned by the same backend across queries and hits its file cache.
+    @VariableMgr.VarAttr(name = ENABLE_CONSISTENT_HASH_SPLIT_ASSIGNMENT, needForward = true)
+    public boolean enableConsistentHashSplitAssignment = false;
+
+    // Whether enumerate the splits of external file scan incrementally. Only an initial batch of splits is
+    // sent with the plan, and the backends fetch the rest from the split source on demand.
+    @VariableMgr.VarAttr(name = ENABLE_STREAMING_SPLIT_SOURCE, needForward = true)
+    public boolean enableStreamingSplitSource = false;
+
     // Whether drop table when create table as select insert data appear error.
     @VariableMgr.VarAttr(name = DROP_TABLE_IF_CTAS_FAILED, needForward = true)
     public boolean dropTableIfCtasFailed = true;
@@ -1413,6 +1442,22 @@ public class SessionVariable implements Serializable, Writable {
         this.enableDPHypOptimizer = enableDPHypOptimizer;
     }
 
+    public boolean isEnableNereidsParallelOptimize() {
+        return enableNereidsParallelOptimize;
+    }
+
+    public void setEnableNereidsParallelOptimize(boolean enableNereidsParallelOptimize) {
+        this.enableNereidsParallelOptimize = enableNereidsParallelOptimize;
+    }
+
+    public boolean isEnableNereidsPlanCache() {
+        return enableNereidsPlanCache;
+    }
+
+    public void setEnableNereidsPlanCache(boolean enableNereidsPlanCache) {
+        this.enableNereidsPlanCache = enableNereidsPlanCache;
+    }
+
     public Set<String> getDisableNereidsRules() {
         return Arrays.stream(disableNereidsRules.split(",[\\s]*"))
                 .map(rule -> rule.toUpperCase(Locale.ROOT))
@@ -1487,6 +1532,22 @@ public class SessionVariable implements Serializable, Writable {
         this.enableFileCache = enableFileCache;
     }
 
+    public boolean isEnableConsistentHashSplitAssignment() {
+        return enableConsistentHashSplitAssignment;
+    }
+
+    public void setEnableConsistentHashSplitAssignment(boolean enableConsistentHashSplitAssignment) {
+        this.enableConsistentHashSplitAssignment = enableConsistentHashSplitAssignment;
+    }
+
+    public boolean isEnableStreamingSplitSource() {
+        return enableStreamingSplitSource;
+    }
+
+    public void setEnableStreamingSplitSource(boolean enableStreamingSplitSource) {
+        this.enableStreamingSplitSource = enableStreamingSplitSource;
+    }
+
     public int getMaxTableCountUseCascadesJoinReorder() {
         return this.maxTableCountUseCascadesJoinReorder;
     }
@@ -1653,6 +1714,31 @@ public class SessionVariable implements Serializable, Writable {
         }
     }
 
+    /**
+     * Get the values of all variables, the plans of the same statement are the same if the values are not changed.
+     **/
+    public String getPlanCacheDigest() {
+        StringBuilder digest = new StringBuilder();
+        try {
+            for (Field f : getVarFields()) {
+                digest.append(f.get(this)).append(',');
+            }
+        } catch (IllegalAccessException e) {
+            LOG.error("failed to get plan cache digest", e);
+        }
+        return digest.toString();
+    }
+
+    private static Field[] getVarFields() {
+        if (varFields == null) {
+            varFields = Arrays.stream(SessionVariable.class.getDeclaredFields())
+                    .filter(f -> f.getAnnotation(VarAttr.class) != null)
+                    .peek(f -> f.setAccessible(true))
+                    .toArray(Field[]::new);
+        }
+        return varFields;
+    }
+
     /**
      * Get all variables which need to forward along with statement.
      **/
@@ -261,6 +261,10 @@ public class StmtExecutor implements ProfileWriter {
         return analyzer;
     }
 
+    public QueryPlannerProfile getPlannerProfile() {
+        return plannerProfile;
+    }
+
     // At the end of query execution, we begin to add up profile
     private void initProfile(QueryPlannerProfile plannerProfile, boolean waiteBeReport) {
         RuntimeProfile queryProfile;
@@ -20,6 +20,7 @@ package org.apache.doris.qe.cache;
 import org.apache.doris.analysis.SelectStmt;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.proto.InternalService;
 import org.apache.doris.qe.RowBatch;
 import org.apache.doris.thrift.TUniqueId;
@@ -55,6 +56,49 @@ public abstract class Cache {
 
     public abstract InternalService.PFetchCacheResult getCacheData(Status status);
 
+    /**
+     * Fetch the cached values from FE if they are cached in FE, otherwise from BE.
+     * The values got from BE are also cached in FE if they are small.
+     */
+    protected InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+            Status status) {
+        if (Config.cache_enable_fe_mode) {
+            MetricRepo.COUNTER_CACHE_FE_REQUEST.increase(1L);
+            InternalService.PFetchCacheResult cacheResult = CacheFeProxy.getInstance()
+                    .fetchCache(request, CacheProxy.FETCH_TIMEOUT, status);
+            if (cacheResult != null) {
+                MetricRepo.COUNTER_CACHE_FE_HIT.increase(1L);
+                return cacheResult;
+            }
+        }
+        MetricRepo.COUNTER_CACHE_BE_REQUEST.increase(1L);
+        InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, CacheProxy.FETCH_TIMEOUT, status);
+        if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
+            MetricRepo.COUNTER_CACHE_BE_HIT.increase(1L);
+            if (Config.cache_enable_fe_mode && CacheFeProxy.canCache(cacheResult.getValuesList())) {
+                InternalService.PUpdateCacheRequest updateRequest = InternalService.PUpdateCacheRequest.newBuilder()
+                        .setSqlKey(request.getSqlKey())
+                        .setCacheType(getCacheType())
+                        .addAllValues(cacheResult.getValuesList())
+                        .build();
+                CacheFeProxy.getInstance().updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, new Status());
+            }
+        }
+        return cacheResult;
+    }
+
+    /**
+     * Update the values to the cache of BE, and FE if they are small.
+     */
+    protected void updateCache(InternalService.PUpdateCacheRequest request, Status status) {
+        if (Config.cache_enable_fe_mode) {
+            CacheFeProxy.getInstance().updateCache(request, CacheProxy.UPDATE_TIMEOUT, new Status());
+        }
+        proxy.updateCache(request, CacheProxy.UPDATE_TIMEOUT, status);
+    }
+
+    protected abstract InternalService.CacheType getCacheType();
+
     public HitRange getHitRange() {
         return hitRange;
     }
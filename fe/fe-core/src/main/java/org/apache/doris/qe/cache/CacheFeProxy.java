@@ -0,0 +1,153 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.thrift.TStatusCode;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the small results in the memory of FE, in front of the cache of BE.
+ * The values are saved and fetched by the partition keys and versions in the same way as BE,
+ * so a value is not hit once the partition is updated. Results are evicted by size in LRU/LFU order.
+ */
+public class CacheFeProxy extends CacheProxy {
+    private static final Logger LOG = LogManager.getLogger(CacheFeProxy.class);
+    // the estimated memory of the keys and params of a value
+    private static final int VALUE_OVERHEAD_BYTES = 64;
+
+    private static volatile CacheFeProxy instance;
+
+    // sql key -> partition key -> value
+    private final Cache<Types.PUniqueId, Map<Long, InternalService.PCacheValue>> cache;
+
+    public CacheFeProxy(long maxBytes) {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Types.PUniqueId key, Map<Long, InternalService.PCacheValue> values) -> weigh(values))
+                .build();
+    }
+
+    public static CacheFeProxy getInstance() {
+        if (instance == null) {
+            synchronized (CacheFeProxy.class) {
+                if (instance == null) {
+                    instance = new CacheFeProxy(Config.cache_fe_max_bytes);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static int weigh(Map<Long, InternalService.PCacheValue> values) {
+        long bytes = 0;
+        for (InternalService.PCacheValue value : values.values()) {
+            bytes += value.getDataSize() + VALUE_OVERHEAD_BYTES;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Whether the values are small enough to be cached in FE.
+     */
+    public static boolean canCache(List<InternalService.PCacheValue> values) {
+        long bytes = 0;
+        for (InternalService.PCacheValue value : values) {
+            bytes += value.getDataSize();
+        }
+        return bytes <= Config.cache_fe_result_max_bytes;
+    }
+
+    @Override
+    public void updateCache(InternalService.PUpdateCacheRequest request, int timeoutMs, Status status) {
+        if (!canCache(request.getValuesList())) {
+            status.setStatus("result is too large to cache in fe");
+            return;
+        }
+        boolean replace = request.getCacheType() == InternalService.CacheType.SQL_CACHE;
+        cache.asMap().compute(request.getSqlKey(), (key, oldValues) -> {
+            Map<Long, InternalService.PCacheValue> values = Maps.newHashMap();
+            if (oldValues != null && !replace) {
+                values.putAll(oldValues);
+            }
+            for (InternalService.PCacheValue value : request.getValuesList()) {
+                values.put(value.getParam().getPartitionKey(), value);
+            }
+            return values;
+        });
+        status.setStatus(new Status(TStatusCode.OK, "CACHE_OK"));
+    }
+
+    /**
+     * Only hit if the values of all partitions are cached with the same versions, otherwise the BE should be
+     * asked, which may hit part of the partitions.
+     */
+    @Override
+    public InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+            int timeoutMs, Status status) {
+        Map<Long, InternalService.PCacheValue> values = cache.getIfPresent(request.getSqlKey());
+        if (values == null || request.getParamsCount() == 0) {
+            return null;
+        }
+        InternalService.PFetchCacheResult.Builder result = InternalService.PFetchCacheResult.newBuilder()
+                .setStatus(InternalService.PCacheStatus.CACHE_OK);
+        for (InternalService.PCacheParam param : request.getParamsList()) {
+            InternalService.PCacheValue value = values.get(param.getPartitionKey());
+            if (value == null || value.getParam().getLastVersion() != param.getLastVersion()
+                    || value.getParam().getLastVersionTime() != param.getLastVersionTime()) {
+                return null;
+            }
+            result.addValues(value);
+        }
+        return result.build();
+    }
+
+    @Override
+    public void clearCache(InternalService.PClearCacheRequest request) {
+        switch (request.getClearType()) {
+            case CLEAR_SQL_KEY:
+                cache.invalidate(request.getSqlKey());
+                break;
+            case CLEAR_BEFORE_TIME:
+                cache.asMap().values().removeIf(values -> values.values().stream()
+                        .allMatch(value -> value.getParam().getLastVersionTime() < request.getBeforeTime()));
+                break;
+            case PRUNE_CACHE:
+                cache.cleanUp();
+                break;
+            default:
+                LOG.info("clear all fe result cache");
+                cache.invalidateAll();
+                break;
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
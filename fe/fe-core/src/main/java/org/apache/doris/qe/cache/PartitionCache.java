@@ -52,6 +52,11 @@ public class PartitionCache extends Cache {
     private PartitionRange range;
     private List<PartitionRange.PartitionSingle> newRangeList;
 
+    @Override
+    protected InternalService.CacheType getCacheType() {
+        return InternalService.CacheType.PARTITION_CACHE;
+    }
+
     public SelectStmt getRewriteStmt() {
         return rewriteStmt;
     }
@@ -99,7 +104,7 @@ public class PartitionCache extends Cache {
                                 .setLastVersionTime(p.getPartition().getVisibleVersionTime())
                                 .build()).collect(Collectors.toList())
                 ).build();
-        InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, 10000, status);
+        InternalService.PFetchCacheResult cacheResult = fetchCache(request, status);
         if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
             for (InternalService.PCacheValue value : cacheResult.getValuesList()) {
                 range.setCacheFlag(value.getParam().getPartitionKey());
@@ -134,9 +139,8 @@ public class PartitionCache extends Cache {
         InternalService.PUpdateCacheRequest updateRequest
                 = rowBatchBuilder.buildPartitionUpdateRequest(getSqlWithViewStmt());
         if (updateRequest.getValuesCount() > 0) {
-            CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
-            proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
+            updateCache(updateRequest, status);
             int rowCount = 0;
             int dataSize = 0;
             for (InternalService.PCacheValue value : updateRequest.getValuesList()) {
@@ -53,7 +53,7 @@ public class SqlCache extends Cache {
                         .setLastVersionTime(latestTable.latestTime))
                 .build();
 
-        InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, 10000, status);
+        InternalService.PFetchCacheResult cacheResult = fetchCache(request, status);
         if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
             cacheResult = cacheResult.toBuilder().setAllCount(1).build();
             MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
@@ -62,6 +62,11 @@ public class SqlCache extends Cache {
         return cacheResult;
     }
 
+    @Override
+    protected InternalService.CacheType getCacheType() {
+        return InternalService.CacheType.SQL_CACHE;
+    }
+
     public SelectStmt getRewriteStmt() {
         return null;
     }
@@ -82,9 +87,8 @@ public class SqlCache extends Cache {
                 rowBatchBuilder.buildSqlUpdateRequest(getSqlWithViewStmt(), latestTable.latestPartitionId,
                         latestTable.latestVersion, latestTable.latestTime);
         if (updateRequest.getValuesCount() > 0) {
-            CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
-            proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
+            updateCache(updateRequest, status);
             int rowCount = 0;
             int dataSize = 0;
             for (InternalService.PCacheValue value : updateRequest.getValuesList()) {
@@ -63,6 +63,7 @@ import org.apache.doris.datasource.InternalCatalog;
 import org.apache.doris.master.MasterImpl;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.planner.StreamLoadPlanner;
+import org.apache.doris.planner.external.SplitSource;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ConnectProcessor;
 import org.apache.doris.qe.QeProcessorImpl;
@@ -89,6 +90,8 @@ import org.apache.doris.thrift.TFeResult;
 import org.apache.doris.thrift.TFetchResourceResult;
 import org.apache.doris.thrift.TFetchSchemaTableDataRequest;
 import org.apache.doris.thrift.TFetchSchemaTableDataResult;
+import org.apache.doris.thrift.TFetchSplitBatchRequest;
+import org.apache.doris.thrift.TFetchSplitBatchResult;
 import org.apache.doris.thrift.TFinishTaskRequest;
 import org.apache.doris.thrift.TFrontendPingFrontendRequest;
 import org.apache.doris.thrift.TFrontendPingFrontendResult;
@@ -997,10 +1000,14 @@ public class FrontendServiceImpl implements FrontendService.Iface {
         }
         List<Long> tableIdList = transactionState.getTableIdList();
         List<Table> tableList = database.getTablesOnIdOrderOrThrowException(tableIdList);
-        for (Table table : tableList) {
-            // check auth
-            checkPasswordAndPrivs(cluster, request.getUser(), request.getPasswd(), request.getDb(), table.getName(),
-                    request.getUserIp(), PrivPredicate.LOAD);
+        if (request.isSetToken()) {
+            checkToken(request.getToken());
+        } else {
+            for (Table table : tableList) {
+                // check auth
+                checkPasswordAndPrivs(cluster, request.getUser(), request.getPasswd(), request.getDb(),
+                        table.getName(), request.getUserIp(), PrivPredicate.LOAD);
+            }
         }
 
         String txnOperation = request.getOperation().trim();
@@ -1529,5 +1536,34 @@ public class FrontendServiceImpl implements FrontendService.Iface {
 
         return result;
     }
-}
 
+    @Override
+    public TFetchSplitBatchResult fetchSplitBatch(TFetchSplitBatchRequest request) throws TException {
+        LOG.debug("receive fetch split batch request: {}", request);
+        TFetchSplitBatchResult result = new TFetchSplitBatchResult();
+        TStatus status = new TStatus(TStatusCode.OK);
+        result.setStatus(status);
+        SplitSource splitSource = Env.getCurrentEnv().getSplitSourceManager()
+                .getSplitSource(request.getSplitSourceId());
+        if (splitSource == null) {
+            status.setStatusCode(TStatusCode.NOT_FOUND);
+            status.addToErrorMsgs("split source " + request.getSplitSourceId() + " is not found, "
+                    + "the query may be finished");
+            return result;
+        }
+        int maxNum = request.isSetMaxNumSplits() && request.getMaxNumSplits() > 0
+                ? request.getMaxNumSplits() : Config.split_source_batch_size;
+        try {
+            if (request.isSetScannerId() && request.isSetBatchSeq()) {
+                result.setSplits(splitSource.getNextBatch(request.getScannerId(), request.getBatchSeq(), maxNum));
+            } else {
+                result.setSplits(splitSource.getNextBatch(maxNum));
+            }
+        } catch (Throwable e) {
+            LOG.warn("failed to fetch splits from split source {}", request.getSplitSourceId(), e);
+            status.setStatusCode(TStatusCode.INTERNAL_ERROR);
+            status.addToErrorMsgs(Strings.nullToEmpty(e.getMessage()));
+        }
+        return result;
+    }
+}
@@ -24,8 +24,10 @@ import org.apache.doris.catalog.Env;
 import org.apache.doris.catalog.MaterializedIndexMeta;
 import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.TableIf.TableType;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.FeConstants;
+import org.apache.doris.datasource.InternalCatalog;
 import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisMethod;
 import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisType;
 import org.apache.doris.statistics.AnalysisTaskInfo.JobType;
@@ -41,10 +43,14 @@ import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -72,18 +78,26 @@ public class AnalysisManager {
 
     private final AnalysisTaskExecutor taskExecutor;
 
+    private final StatisticsStalenessTracker stalenessTracker;
+
     public AnalysisManager() {
         analysisJobIdToTaskMap = new ConcurrentHashMap<>();
         this.taskScheduler = new AnalysisTaskScheduler();
         taskExecutor = new AnalysisTaskExecutor(taskScheduler);
         this.statisticsCache = new StatisticsCache();
+        this.stalenessTracker = new StatisticsStalenessTracker();
         taskExecutor.start();
+        stalenessTracker.start();
     }
 
     public StatisticsCache getStatisticsCache() {
         return statisticsCache;
     }
 
+    public StatisticsStalenessTracker getStalenessTracker() {
+        return stalenessTracker;
+    }
+
     public void createAnalysisJob(AnalyzeStmt analyzeStmt) {
         String catalogName = analyzeStmt.getCatalogName();
         String db = analyzeStmt.getDBName();
@@ -99,7 +113,8 @@ public class AnalysisManager {
                 AnalysisTaskInfo analysisTaskInfo = new AnalysisTaskInfoBuilder().setJobId(jobId)
                         .setTaskId(taskId).setCatalogName(catalogName).setDbName(db)
                         .setTblName(tbl.getTbl()).setColName(colName).setJobType(JobType.MANUAL)
-                        .setAnalysisMethod(AnalysisMethod.FULL).setAnalysisType(analType)
+                        .setAnalysisMethod(analyzeStmt.isSample() ? AnalysisMethod.SAMPLE : AnalysisMethod.FULL)
+                        .setSamplePercent(analyzeStmt.getSamplePercent()).setAnalysisType(analType)
                         .setState(AnalysisState.PENDING)
                         .setScheduleType(ScheduleType.ONCE).build();
                 try {
@@ -137,7 +152,77 @@ public class AnalysisManager {
             }
         }
         analysisJobIdToTaskMap.put(jobId, analysisTaskInfos);
-        analysisTaskInfos.values().forEach(taskScheduler::schedule);
+        if (analyzeStmt.getTable().getType().equals(TableType.OLAP)
+                && (analyzeStmt.isSample() || Config.enable_single_pass_olap_analyze)) {
+            scheduleSinglePass(analysisTaskInfos.values());
+        } else {
+            analysisTaskInfos.values().forEach(taskScheduler::schedule);
+        }
+    }
+
+    /**
+     * Column tasks of the same job share one OlapMultiColumnAnalysisTask, so does the histogram tasks,
+     * the index tasks are still scheduled one by one.
+     */
+    private void scheduleSinglePass(Collection<AnalysisTaskInfo> analysisTaskInfos) {
+        Map<AnalysisType, List<AnalysisTaskInfo>> columnTaskInfos = new HashMap<>();
+        for (AnalysisTaskInfo info : analysisTaskInfos) {
+            if (info.analysisType == AnalysisType.INDEX) {
+                taskScheduler.schedule(info);
+            } else {
+                columnTaskInfos.computeIfAbsent(info.analysisType, k -> new ArrayList<>()).add(info);
+            }
+        }
+        for (List<AnalysisTaskInfo> infos : columnTaskInfos.values()) {
+            taskScheduler.schedule(new OlapMultiColumnAnalysisTask(taskScheduler, infos));
+        }
+    }
+
+    /**
+     * Re-analyze the given columns and partitions of an olap table in background.
+     */
+    public void createSystemAnalysisJob(String db, String tbl, Collection<String> colNames,
+            Set<String> partitionNames) {
+        Map<Long, AnalysisTaskInfo> analysisTaskInfos = new HashMap<>();
+        long jobId = Env.getCurrentEnv().getNextId();
+        for (String colName : colNames) {
+            long taskId = Env.getCurrentEnv().getNextId();
+            AnalysisTaskInfo analysisTaskInfo = new AnalysisTaskInfoBuilder().setJobId(jobId)
+                    .setTaskId(taskId).setCatalogName(InternalCatalog.INTERNAL_CATALOG_NAME).setDbName(db)
+                    .setTblName(tbl).setColName(colName).setJobType(JobType.SYSTEM)
+                    .setAnalysisMethod(AnalysisMethod.FULL).setAnalysisType(AnalysisType.COLUMN)
+                    .setPartitionNames(partitionNames).setState(AnalysisState.PENDING)
+                    .setScheduleType(ScheduleType.ONCE).build();
+            try {
+                StatisticsRepository.createAnalysisTask(analysisTaskInfo);
+            } catch (Exception e) {
+                LOG.warn(String.format("Failed to create system analysis job for table: %s", tbl), e);
+                return;
+            }
+            analysisTaskInfos.put(taskId, analysisTaskInfo);
+        }
+        if (analysisTaskInfos.isEmpty()) {
+            return;
+        }
+        analysisJobIdToTaskMap.put(jobId, analysisTaskInfos);
+        taskScheduler.schedule(new OlapMultiColumnAnalysisTask(taskScheduler,
+                new ArrayList<>(analysisTaskInfos.values())));
+    }
+
+    /**
+     * The partitions of the table which are going to be re-analyzed by the pending SYSTEM jobs.
+     */
+    public Set<String> getPendingSystemAnalysisPartitions(String db, String tbl) {
+        Set<String> partitionNames = new HashSet<>();
+        for (Map<Long, AnalysisTaskInfo> taskInfos : analysisJobIdToTaskMap.values()) {
+            for (AnalysisTaskInfo info : taskInfos.values()) {
+                if (info.jobType == JobType.SYSTEM && info.state == AnalysisState.PENDING
+                        && info.partitionNames != null && db.equals(info.dbName) && tbl.equals(info.tblName)) {
+                    partitionNames.addAll(info.partitionNames);
+                }
+            }
+        }
+        return partitionNames;
     }
 
     public void updateTaskStatus(AnalysisTaskInfo info, AnalysisState jobState, String message, long time) {
@@ -20,6 +20,7 @@ package org.apache.doris.statistics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Set;
 import java.util.StringJoiner;
 
 public class AnalysisTaskInfo {
@@ -74,6 +75,12 @@ public class AnalysisTaskInfo {
     public final double sampleRate = 0.2;
     public final int maxBucketNum = 128;
 
+    // percent of the tablets to scan when the analysis method is SAMPLE
+    public final int samplePercent;
+
+    // the partitions to analyze, null means all the partitions
+    public final Set<String> partitionNames;
+
     public String message;
 
     // finished or failed
@@ -86,7 +93,7 @@ public class AnalysisTaskInfo {
     public AnalysisTaskInfo(long jobId, long taskId, String catalogName, String dbName, String tblName,
             String colName, Long indexId, JobType jobType,
             AnalysisMethod analysisMethod, AnalysisType analysisType, String message, int lastExecTimeInMs,
-            AnalysisState state, ScheduleType scheduleType) {
+            AnalysisState state, ScheduleType scheduleType, int samplePercent, Set<String> partitionNames) {
         this.jobId = jobId;
         this.taskId = taskId;
         this.catalogName = catalogName;
@@ -101,6 +108,8 @@ public class AnalysisTaskInfo {
         this.lastExecTimeInMs = lastExecTimeInMs;
         this.state = state;
         this.scheduleType = scheduleType;
+        this.samplePercent = samplePercent;
+        this.partitionNames = partitionNames;
     }
 
     @Override
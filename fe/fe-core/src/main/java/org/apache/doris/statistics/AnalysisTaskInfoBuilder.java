@@ -22,6 +22,8 @@ import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisType;
 import org.apache.doris.statistics.AnalysisTaskInfo.JobType;
 import org.apache.doris.statistics.AnalysisTaskInfo.ScheduleType;
 
+import java.util.Set;
+
 public class AnalysisTaskInfoBuilder {
     private long jobId;
     private long taskId;
@@ -37,6 +39,8 @@ public class AnalysisTaskInfoBuilder {
     private int lastExecTimeInMs;
     private AnalysisState state;
     private ScheduleType scheduleType;
+    private int samplePercent = 100;
+    private Set<String> partitionNames;
 
     public AnalysisTaskInfoBuilder setJobId(long jobId) {
         this.jobId = jobId;
@@ -108,8 +112,19 @@ public class AnalysisTaskInfoBuilder {
         return this;
     }
 
+    public AnalysisTaskInfoBuilder setSamplePercent(int samplePercent) {
+        this.samplePercent = samplePercent;
+        return this;
+    }
+
+    public AnalysisTaskInfoBuilder setPartitionNames(Set<String> partitionNames) {
+        this.partitionNames = partitionNames;
+        return this;
+    }
+
     public AnalysisTaskInfo build() {
         return new AnalysisTaskInfo(jobId, taskId, catalogName, dbName, tblName, colName, indexId, jobType,
-                analysisMethod, analysisType, message, lastExecTimeInMs, state, scheduleType);
+                analysisMethod, analysisType, message, lastExecTimeInMs, state, scheduleType, samplePercent,
+                partitionNames);
     }
 }
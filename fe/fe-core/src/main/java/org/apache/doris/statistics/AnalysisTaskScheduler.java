@@ -54,9 +54,12 @@ public class AnalysisTaskScheduler {
         Preconditions.checkArgument(db != null);
         TableIf table = db.getTableNullable(analysisJobInfo.tblName);
         Preconditions.checkArgument(table != null);
-        BaseAnalysisTask analysisTask = table.createAnalysisTask(this, analysisJobInfo);
-        addToManualJobQueue(analysisTask);
-        if (analysisJobInfo.jobType.equals(JobType.MANUAL)) {
+        schedule(table.createAnalysisTask(this, analysisJobInfo));
+    }
+
+    public synchronized void schedule(BaseAnalysisTask analysisTask) {
+        if (analysisTask.info.jobType.equals(JobType.MANUAL)) {
+            addToManualJobQueue(analysisTask);
             return;
         }
         addToSystemQueue(analysisTask);
@@ -60,13 +60,17 @@ public class AnalysisTaskWrapper extends FutureTask<Void> {
             executor.decr();
             if (except != null) {
                 LOG.warn("Failed to execute task", except);
-                Env.getCurrentEnv().getAnalysisManager()
-                        .updateTaskStatus(task.info,
-                                AnalysisState.FAILED, except.getMessage(), -1);
+                for (AnalysisTaskInfo info : task.getTaskInfos()) {
+                    Env.getCurrentEnv().getAnalysisManager()
+                            .updateTaskStatus(info,
+                                    AnalysisState.FAILED, except.getMessage(), -1);
+                }
             } else {
-                Env.getCurrentEnv().getAnalysisManager()
-                        .updateTaskStatus(task.info,
-                                AnalysisState.FINISHED, "", System.currentTimeMillis());
+                for (AnalysisTaskInfo info : task.getTaskInfos()) {
+                    Env.getCurrentEnv().getAnalysisManager()
+                            .updateTaskStatus(info,
+                                    AnalysisState.FINISHED, "", System.currentTimeMillis());
+                }
             }
             LOG.warn("{} finished, cost time:{}", task.toString(), System.currentTimeMillis() - startTime);
         }
@@ -29,6 +29,9 @@ import com.google.common.annotations.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collections;
+import java.util.List;
+
 public abstract class BaseAnalysisTask {
 
     public static final Logger LOG = LogManager.getLogger(BaseAnalysisTask.class);
@@ -158,6 +161,13 @@ public abstract class BaseAnalysisTask {
         return analysisState;
     }
 
+    /**
+     * The infos of all the tasks done by this one, their states are updated together.
+     */
+    public List<AnalysisTaskInfo> getTaskInfos() {
+        return Collections.singletonList(info);
+    }
+
     protected String getDataSizeFunction(Column column) {
         if (column.getType().isStringType()) {
             return "SUM(LENGTH(`${colName}`))";
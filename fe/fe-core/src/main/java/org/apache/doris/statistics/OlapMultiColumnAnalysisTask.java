@@ -0,0 +1,374 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.qe.AutoCloseConnectContext;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisMethod;
+import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisType;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
+import org.apache.doris.statistics.util.StatisticsUtil;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.text.StringSubstitutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Analyze all the columns of one job in a single scan per partition, optionally on a tablet sample.
+ *
+ * The row count, null count and data size of the table are merged from the partition statistics.
+ * The ndv sketches could not be exported from BE, so the ndv, min and max of all the columns
+ * are computed by one more scan of the table, which is skipped if the table has only one partition.
+ * If the partitions of the task are specified, the other partitions are not scanned,
+ * their last analyzed statistics are merged into the table instead.
+ * For histogram jobs, the histograms of all the columns are built by a single sampled scan.
+ */
+public class OlapMultiColumnAnalysisTask extends BaseAnalysisTask {
+
+    private static final String ANALYZE_PARTITION_SQL_TEMPLATE = "SELECT COUNT(1) AS row_count, ${columnStats} "
+            + "FROM `${dbName}`.`${tblName}` PARTITION `${partName}` ${tableSample}";
+
+    private static final String ANALYZE_TABLE_SQL_TEMPLATE = "SELECT ${columnStats} "
+            + "FROM `${dbName}`.`${tblName}` ${tableSample}";
+
+    private static final String INSERT_STATISTICS_SQL_TEMPLATE = "INSERT INTO "
+            + "${internalDB}.${statTbl} VALUES ${values}";
+
+    private final List<AnalysisTaskInfo> infos;
+
+    // the columns to analyze, keyed by the column names
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    @VisibleForTesting
+    public OlapMultiColumnAnalysisTask() {
+        super();
+        infos = new ArrayList<>();
+    }
+
+    public OlapMultiColumnAnalysisTask(AnalysisTaskScheduler analysisTaskScheduler, List<AnalysisTaskInfo> infos) {
+        super(analysisTaskScheduler, infos.get(0));
+        this.infos = infos;
+        if (tbl != null) {
+            for (AnalysisTaskInfo taskInfo : infos) {
+                Column column = tbl.getColumn(taskInfo.colName);
+                if (column != null) {
+                    columns.put(taskInfo.colName, column);
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<AnalysisTaskInfo> getTaskInfos() {
+        return infos;
+    }
+
+    @Override
+    public void execute() throws Exception {
+        if (columns.isEmpty()) {
+            return;
+        }
+        if (info.analysisType == AnalysisType.HISTOGRAM) {
+            analyzeHistograms();
+        } else {
+            analyzeColumns();
+        }
+        for (String colName : columns.keySet()) {
+            Env.getCurrentEnv().getStatisticsCache().refreshSync(tbl.getId(), -1, colName);
+        }
+    }
+
+    private void analyzeColumns() throws Exception {
+        Map<String, String> params = buildParams();
+        params.put("columnStats", buildColumnStats(true));
+        List<Partition> partitions = new ArrayList<>();
+        try {
+            tbl.readLock();
+            Set<String> partNames = tbl.getPartitionNames();
+            for (String partName : partNames) {
+                Partition part = tbl.getPartition(partName);
+                if (part != null) {
+                    partitions.add(part);
+                }
+            }
+        } finally {
+            tbl.readUnlock();
+        }
+
+        double scale = 100.0 / getSamplePercent();
+        Map<String, ColumnStats> tableStats = new HashMap<>();
+        StringJoiner values = new StringJoiner(", ");
+        Map<Long, Map<String, ResultRow>> analyzedStats = null;
+        for (Partition partition : partitions) {
+            if (info.partitionNames != null && !info.partitionNames.contains(partition.getName())) {
+                // the partition is not changed, merge its last analyzed statistics into the table
+                if (analyzedStats == null) {
+                    analyzedStats = queryAnalyzedStats();
+                }
+                Map<String, ResultRow> partStats = analyzedStats.getOrDefault(partition.getId(),
+                        Collections.emptyMap());
+                for (String colName : columns.keySet()) {
+                    ResultRow row = partStats.get(colName);
+                    if (row != null) {
+                        tableStats.computeIfAbsent(colName, k -> new ColumnStats()).merge(new ColumnStats(
+                                parseLong(row.getColumnValue("count")),
+                                parseLong(row.getColumnValue("ndv")),
+                                parseLong(row.getColumnValue("null_count")),
+                                row.getColumnValue("min"),
+                                row.getColumnValue("max"),
+                                parseLong(row.getColumnValue("data_size_in_bytes"))));
+                    }
+                }
+                continue;
+            }
+            params.put("partName", partition.getName());
+            List<ResultRow> rows = execQuery(new StringSubstitutor(params).replace(ANALYZE_PARTITION_SQL_TEMPLATE));
+            if (rows.isEmpty()) {
+                continue;
+            }
+            ResultRow row = rows.get(0);
+            long count = scale(row.getColumnValue("row_count"), scale);
+            int i = 0;
+            for (String colName : columns.keySet()) {
+                ColumnStats partStats = new ColumnStats(count,
+                        parseLong(row.getColumnValue("ndv_" + i)),
+                        scale(row.getColumnValue("null_count_" + i), scale),
+                        row.getColumnValue("min_" + i),
+                        row.getColumnValue("max_" + i),
+                        scale(row.getColumnValue("data_size_" + i), scale));
+                values.add(toValues(colName, partition.getId(), partStats));
+                tableStats.computeIfAbsent(colName, k -> new ColumnStats()).merge(partStats);
+                i++;
+            }
+        }
+
+        if (partitions.size() > 1) {
+            // the ndv of partitions could not be merged, compute the ndv, min and max of the table at once
+            params.put("columnStats", buildColumnStats(false));
+            List<ResultRow> rows = execQuery(new StringSubstitutor(params).replace(ANALYZE_TABLE_SQL_TEMPLATE));
+            if (!rows.isEmpty()) {
+                ResultRow row = rows.get(0);
+                int i = 0;
+                for (String colName : columns.keySet()) {
+                    ColumnStats stats = tableStats.computeIfAbsent(colName, k -> new ColumnStats());
+                    stats.ndv = parseLong(row.getColumnValue("ndv_" + i));
+                    stats.min = row.getColumnValue("min_" + i);
+                    stats.max = row.getColumnValue("max_" + i);
+                    i++;
+                }
+            }
+        }
+        for (String colName : columns.keySet()) {
+            ColumnStats stats = tableStats.get(colName);
+            if (stats != null) {
+                values.add(toValues(colName, null, stats));
+            }
+        }
+        if (values.length() == 0) {
+            return;
+        }
+        params.put("statTbl", StatisticConstants.STATISTIC_TBL_NAME);
+        params.put("values", values.toString());
+        execSQL(new StringSubstitutor(params).replace(INSERT_STATISTICS_SQL_TEMPLATE));
+    }
+
+    private Map<Long, Map<String, ResultRow>> queryAnalyzedStats() throws Exception {
+        Map<Long, Map<String, ResultRow>> analyzedStats = new HashMap<>();
+        for (ResultRow row : StatisticsRepository.queryPartitionStatistics(tbl.getId())) {
+            analyzedStats.computeIfAbsent(Long.parseLong(row.getColumnValue("part_id")), k -> new HashMap<>())
+                    .put(row.getColumnValue("col_id"), row);
+        }
+        return analyzedStats;
+    }
+
+    private void analyzeHistograms() throws Exception {
+        Map<String, String> params = buildParams();
+        // histograms are always built on a sample, like HistogramTask
+        int samplePercent = info.analysisMethod == AnalysisMethod.SAMPLE
+                ? info.samplePercent : (int) (info.sampleRate * 100);
+        params.put("tableSample", "TABLESAMPLE (" + samplePercent + " PERCENT)");
+        StringJoiner histograms = new StringJoiner(", ");
+        int i = 0;
+        for (Column column : columns.values()) {
+            histograms.add("HISTOGRAM(`" + column.getName() + "`, 1, " + info.maxBucketNum + ") AS histogram_" + i);
+            i++;
+        }
+        params.put("columnStats", histograms.toString());
+        List<ResultRow> rows = execQuery(new StringSubstitutor(params).replace(ANALYZE_TABLE_SQL_TEMPLATE));
+        if (rows.isEmpty()) {
+            return;
+        }
+        ResultRow row = rows.get(0);
+        StringJoiner values = new StringJoiner(", ");
+        i = 0;
+        for (String colName : columns.keySet()) {
+            StringJoiner value = new StringJoiner(", ", "(", ")");
+            value.add(quote(constructId(tbl.getId(), -1, colName)));
+            addIds(value, colName);
+            value.add(String.valueOf(samplePercent / 100.0));
+            value.add(quote(row.getColumnValue("histogram_" + i)));
+            value.add("NOW()");
+            values.add(value.toString());
+            i++;
+        }
+        params.put("statTbl", StatisticConstants.HISTOGRAM_TBL_NAME);
+        params.put("values", values.toString());
+        execSQL(new StringSubstitutor(params).replace(INSERT_STATISTICS_SQL_TEMPLATE));
+    }
+
+    private Map<String, String> buildParams() {
+        Map<String, String> params = new HashMap<>();
+        params.put("internalDB", FeConstants.INTERNAL_DB_NAME);
+        params.put("dbName", info.dbName);
+        params.put("tblName", String.valueOf(info.tblName));
+        params.put("tableSample", info.analysisMethod == AnalysisMethod.SAMPLE
+                ? "TABLESAMPLE (" + info.samplePercent + " PERCENT)" : "");
+        return params;
+    }
+
+    private String buildColumnStats(boolean partitionLevel) {
+        StringJoiner columnStats = new StringJoiner(", ");
+        int i = 0;
+        for (Column column : columns.values()) {
+            Map<String, String> params = new HashMap<>();
+            params.put("colName", column.getName());
+            params.put("i", String.valueOf(i));
+            StringSubstitutor stringSubstitutor = new StringSubstitutor(params);
+            columnStats.add(stringSubstitutor.replace("NDV(`${colName}`) AS ndv_${i}"));
+            if (partitionLevel) {
+                columnStats.add(stringSubstitutor.replace(
+                        "SUM(CASE WHEN `${colName}` IS NULL THEN 1 ELSE 0 END) AS null_count_${i}"));
+                columnStats.add(stringSubstitutor.replace(getDataSizeFunction(column) + " AS data_size_${i}"));
+            }
+            columnStats.add(stringSubstitutor.replace("MIN(`${colName}`) AS min_${i}"));
+            columnStats.add(stringSubstitutor.replace("MAX(`${colName}`) AS max_${i}"));
+            i++;
+        }
+        return columnStats.toString();
+    }
+
+    private String toValues(String colName, Long partId, ColumnStats stats) {
+        StringJoiner value = new StringJoiner(", ", "(", ")");
+        value.add(quote(partId == null ? constructId(tbl.getId(), -1, colName)
+                : constructId(tbl.getId(), -1, colName, partId)));
+        addIds(value, colName);
+        value.add(partId == null ? "NULL" : String.valueOf(partId));
+        value.add(String.valueOf(stats.count));
+        value.add(String.valueOf(stats.ndv));
+        value.add(String.valueOf(stats.nullCount));
+        value.add(quote(stats.min));
+        value.add(quote(stats.max));
+        value.add(String.valueOf(stats.dataSize));
+        value.add("NOW()");
+        return value.toString();
+    }
+
+    private void addIds(StringJoiner value, String colName) {
+        value.add(String.valueOf(catalog.getId()));
+        value.add(String.valueOf(db.getId()));
+        value.add(String.valueOf(tbl.getId()));
+        value.add("'-1'");
+        value.add(quote(colName));
+    }
+
+    private static String constructId(Object... params) {
+        StringJoiner stringJoiner = new StringJoiner("-");
+        for (Object param : params) {
+            stringJoiner.add(param.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+    private int getSamplePercent() {
+        return info.analysisMethod == AnalysisMethod.SAMPLE ? info.samplePercent : 100;
+    }
+
+    private static long parseLong(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static long scale(String value, double scale) {
+        return (long) (parseLong(value) * scale);
+    }
+
+    @VisibleForTesting
+    public static String quote(String value) {
+        if (value == null) {
+            return "NULL";
+        }
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    @VisibleForTesting
+    public List<ResultRow> execQuery(String sql) {
+        return StatisticsUtil.execStatisticQuery(sql);
+    }
+
+    @VisibleForTesting
+    public void execSQL(String sql) throws Exception {
+        try (AutoCloseConnectContext r = StatisticsUtil.buildConnectContext()) {
+            this.stmtExecutor = new StmtExecutor(r.connectContext, sql);
+            this.stmtExecutor.execute();
+        }
+    }
+
+    /**
+     * Statistics of a column in a partition, or merged of all partitions.
+     */
+    private static class ColumnStats {
+        private long count;
+        private long ndv;
+        private long nullCount;
+        private String min;
+        private String max;
+        private long dataSize;
+
+        ColumnStats() {
+        }
+
+        ColumnStats(long count, long ndv, long nullCount, String min, String max, long dataSize) {
+            this.count = count;
+            this.ndv = Math.min(ndv, count);
+            this.nullCount = nullCount;
+            this.min = min;
+            this.max = max;
+            this.dataSize = dataSize;
+        }
+
+        void merge(ColumnStats other) {
+            count += other.count;
+            // only used when there is one partition, otherwise the ndv, min and max are computed from the table
+            ndv = Math.max(ndv, other.ndv);
+            nullCount += other.nullCount;
+            min = min == null ? other.min : min;
+            max = max == null ? other.max : max;
+            dataSize += other.dataSize;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.doris.statistics;
 
+import org.apache.doris.nereids.cache.NereidsPlanCache;
 import org.apache.doris.qe.ConnectContext;
 
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
@@ -25,6 +26,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public class StatisticsCache {
@@ -52,6 +54,9 @@ public class StatisticsCache {
             if (f.isDone() && f.get() != null) {
                 return f.get().getColumnStatistic();
             }
+            if (!f.isDone()) {
+                markStatisticsNotReady(ctx);
+            }
         } catch (Exception e) {
             LOG.warn("Unexpected exception while returning ColumnStatistic", e);
         }
@@ -73,22 +78,67 @@ public class StatisticsCache {
             if (f.isDone() && f.get() != null) {
                 return f.get().getHistogram();
             }
+            if (!f.isDone()) {
+                markStatisticsNotReady(ctx);
+            }
         } catch (Exception e) {
             LOG.warn("Unexpected exception while returning Histogram", e);
         }
         return Histogram.DEFAULT;
     }
 
+    // the plans using the default statistics should not be cached
+    private void markStatisticsNotReady(ConnectContext ctx) {
+        if (ctx != null && ctx.getStatementContext() != null) {
+            ctx.getStatementContext().setStatisticsNotReady();
+        }
+    }
+
     // TODO: finish this method.
     public void eraseExpiredCache(long tblId, long idxId, String colName) {
         cache.synchronous().invalidate(new StatisticsCacheKey(tblId, idxId, colName));
+        NereidsPlanCache.getInstance().invalidateTable(tblId);
+    }
+
+    /**
+     * Add the rows loaded into a table to its cached column statistics, the null count and data size
+     * are scaled with the row count, and the ndv, min and max are kept until the table is analyzed again.
+     */
+    public void addLoadedRows(long tblId, long loadedRows) {
+        boolean updated = false;
+        for (Map.Entry<StatisticsCacheKey, CompletableFuture<Statistic>> entry : cache.asMap().entrySet()) {
+            if (entry.getKey().tableId != tblId || !entry.getValue().isDone()
+                    || entry.getValue().isCompletedExceptionally()) {
+                continue;
+            }
+            Statistic statistic = entry.getValue().getNow(null);
+            if (statistic == null || statistic.getColumnStatistic() == null
+                    || statistic.getColumnStatistic().isUnKnown || statistic.getColumnStatistic().count <= 0) {
+                continue;
+            }
+            ColumnStatistic columnStatistic = statistic.getColumnStatistic();
+            double ratio = (columnStatistic.count + loadedRows) / columnStatistic.count;
+            ColumnStatistic newColumnStatistic = new ColumnStatisticBuilder(columnStatistic)
+                    .setCount(columnStatistic.count + loadedRows)
+                    .setNumNulls(columnStatistic.numNulls * ratio)
+                    .setDataSize(columnStatistic.dataSize * ratio)
+                    .build();
+            cache.asMap().replace(entry.getKey(), entry.getValue(), CompletableFuture.completedFuture(
+                    new Statistic(statistic.getHistogram(), newColumnStatistic)));
+            updated = true;
+        }
+        if (updated) {
+            NereidsPlanCache.getInstance().invalidateTable(tblId);
+        }
     }
 
     public void updateCache(long tblId, long idxId, String colName, Statistic statistic) {
         cache.synchronous().put(new StatisticsCacheKey(tblId, idxId, colName), statistic);
+        NereidsPlanCache.getInstance().invalidateTable(tblId);
     }
 
     public void refreshSync(long tblId, long idxId, String colName) {
         cache.synchronous().refresh(new StatisticsCacheKey(tblId, idxId, colName));
+        NereidsPlanCache.getInstance().invalidateTable(tblId);
     }
 }
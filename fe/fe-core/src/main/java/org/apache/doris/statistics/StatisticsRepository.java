@@ -66,6 +66,10 @@ public class StatisticsRepository {
             + FULL_QUALIFIED_COLUMN_STATISTICS_NAME
             + " WHERE `id` IN (${idList})";
 
+    private static final String FETCH_TABLE_PARTITIONS_STATISTIC_TEMPLATE = "SELECT * FROM "
+            + FULL_QUALIFIED_COLUMN_STATISTICS_NAME
+            + " WHERE `tbl_id` = '${tblId}' AND `idx_id` = '-1' AND `part_id` IS NOT NULL";
+
     private static final String PERSIST_ANALYSIS_TASK_SQL_TEMPLATE = "INSERT INTO "
             + FULL_QUALIFIED_ANALYSIS_JOB_TABLE_NAME + " VALUES(${jobId}, ${taskId}, '${catalogName}', '${dbName}',"
             + "'${tblName}','${colName}', '${indexId}','${jobType}', '${analysisType}', "
@@ -123,6 +127,16 @@ public class StatisticsRepository {
         return rows == null ? Collections.emptyList() : rows;
     }
 
+    /**
+     * Get the partition statistics of all the columns of a table.
+     */
+    public static List<ResultRow> queryPartitionStatistics(long tblId) {
+        Map<String, String> params = new HashMap<>();
+        params.put("tblId", String.valueOf(tblId));
+        List<ResultRow> rows = StatisticsUtil.executeQuery(FETCH_TABLE_PARTITIONS_STATISTIC_TEMPLATE, params);
+        return rows == null ? Collections.emptyList() : rows;
+    }
+
     private static String constructId(Object... params) {
         StringJoiner stringJoiner = new StringJoiner("-");
         for (Object param : params) {
@@ -0,0 +1,236 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.load.loadv2.LoadJob;
+import org.apache.doris.load.loadv2.LoadJobFinalOperation;
+import org.apache.doris.load.routineload.RLTaskTxnCommitAttachment;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
+import org.apache.doris.transaction.TableCommitInfo;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TxnCommitAttachment;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Track the partitions changed by the published transactions.
+ *
+ * Publishing a transaction only records the loaded rows and the changed partitions, the daemon adds
+ * the rows to the cached column statistics of the tables, and on master, re-analyzes the partitions
+ * whose changed rows exceed Config.statistics_partition_change_ratio_threshold of their analyzed rows
+ * in background. Only the tables which have been analyzed are re-analyzed.
+ */
+public class StatisticsStalenessTracker extends MasterDaemon {
+
+    private static final Logger LOG = LogManager.getLogger(StatisticsStalenessTracker.class);
+
+    // the interval of adding the loaded rows to the cached statistics
+    private static final long UPDATE_INTERVAL_MS = 10 * 1000L;
+
+    // table id -> rows loaded into the table, not added to the cached statistics yet
+    private final Map<Long, Long> loadedRows = new ConcurrentHashMap<>();
+    // table id -> changes of the table, only tracked on master
+    private final Map<Long, TableChange> changedTables = new ConcurrentHashMap<>();
+    private long lastCheckTime = System.currentTimeMillis();
+
+    public StatisticsStalenessTracker() {
+        super("Statistics Staleness Tracker", UPDATE_INTERVAL_MS);
+    }
+
+    /**
+     * Called after the transaction is visible, including replaying it on the non-master FE.
+     * It is called with the locks of the transaction held, so it only records the changes.
+     */
+    public void onTransactionVisible(TransactionState transactionState, Database db) {
+        if (!Config.enable_incremental_statistics) {
+            return;
+        }
+        try {
+            long loadedRows = getLoadedRows(transactionState.getTxnCommitAttachment());
+            int partitionNum = 0;
+            for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
+                partitionNum += tableCommitInfo.getIdToPartitionCommitInfo().size();
+            }
+            // the rows of each partition are unknown, assume they are loaded evenly
+            long rowsPerPartition = partitionNum == 0 || loadedRows <= 0 ? 0 : loadedRows / partitionNum;
+            // only the master re-analyzes the stale partitions
+            boolean isMaster = Env.getCurrentEnv().isMaster();
+            for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
+                if (isMaster) {
+                    changedTables.compute(tableCommitInfo.getTableId(), (k, change) -> {
+                        if (change == null) {
+                            change = new TableChange(db.getId());
+                        }
+                        for (Long partitionId : tableCommitInfo.getIdToPartitionCommitInfo().keySet()) {
+                            change.changedRows.merge(partitionId, rowsPerPartition, Long::sum);
+                        }
+                        return change;
+                    });
+                }
+                if (rowsPerPartition > 0) {
+                    this.loadedRows.merge(tableCommitInfo.getTableId(),
+                            rowsPerPartition * tableCommitInfo.getIdToPartitionCommitInfo().size(), Long::sum);
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("failed to track the statistics changes of transaction {}",
+                    transactionState.getTransactionId(), e);
+        }
+    }
+
+    private static long getLoadedRows(TxnCommitAttachment attachment) {
+        if (attachment instanceof RLTaskTxnCommitAttachment) {
+            return ((RLTaskTxnCommitAttachment) attachment).getLoadedRows();
+        }
+        if (attachment instanceof LoadJobFinalOperation) {
+            Map<String, String> counters = ((LoadJobFinalOperation) attachment).getLoadingStatus().getCounters();
+            String normalRows = counters.get(LoadJob.DPP_NORMAL_ALL);
+            return normalRows == null ? -1 : Long.parseLong(normalRows);
+        }
+        // stream load and insert do not report the loaded rows, rely on the reported row count of the partitions
+        return -1;
+    }
+
+    @Override
+    protected void runAfterCatalogReady() {
+        updateCache();
+        if (!Env.getCurrentEnv().isMaster() || !Config.enable_incremental_statistics) {
+            changedTables.clear();
+            return;
+        }
+        if (System.currentTimeMillis() - lastCheckTime < Config.statistics_staleness_check_interval_sec * 1000L) {
+            return;
+        }
+        lastCheckTime = System.currentTimeMillis();
+        for (Map.Entry<Long, TableChange> entry : changedTables.entrySet()) {
+            try {
+                checkStaleness(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                LOG.warn("failed to check the statistics staleness of table {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    public void updateCache() {
+        for (Long tblId : loadedRows.keySet()) {
+            Long rows = loadedRows.remove(tblId);
+            if (rows != null) {
+                Env.getCurrentEnv().getStatisticsCache().addLoadedRows(tblId, rows);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    public void checkStaleness(long tblId, TableChange change) throws Exception {
+        Database db = Env.getCurrentInternalCatalog().getDbNullable(change.dbId);
+        OlapTable table = db == null ? null : (OlapTable) db.getTableNullable(tblId);
+        if (table == null) {
+            changedTables.remove(tblId);
+            return;
+        }
+        Set<String> columns = new HashSet<>();
+        Map<Long, Long> analyzedRows = new HashMap<>();
+        for (ResultRow row : StatisticsRepository.queryPartitionStatistics(tblId)) {
+            columns.add(row.getColumnValue("col_id"));
+            analyzedRows.put(Long.parseLong(row.getColumnValue("part_id")),
+                    Long.parseLong(row.getColumnValue("count")));
+        }
+        if (columns.isEmpty()) {
+            // never analyzed, leave it to the users
+            changedTables.remove(tblId);
+            return;
+        }
+
+        // the partitions to be re-analyzed by the pending jobs are checked again after the jobs start
+        Set<String> pendingPartitions = Env.getCurrentEnv().getAnalysisManager()
+                .getPendingSystemAnalysisPartitions(db.getFullName(), table.getName());
+        Set<String> stalePartitions = new HashSet<>();
+        table.readLock();
+        try {
+            columns.removeIf(colName -> table.getColumn(colName) == null);
+            for (Map.Entry<Long, Long> entry : change.changedRows.entrySet()) {
+                Partition partition = table.getPartition(entry.getKey());
+                if (partition == null) {
+                    change.changedRows.remove(entry.getKey(), entry.getValue());
+                    continue;
+                }
+                if (pendingPartitions.contains(partition.getName())) {
+                    continue;
+                }
+                long analyzed = analyzedRows.getOrDefault(partition.getId(), 0L);
+                // the row count is reported by the backends, 0 if not reported yet
+                long reportedRows = partition.getBaseIndex().getRowCount();
+                long changed = Math.max(entry.getValue(), reportedRows > 0 ? Math.abs(reportedRows - analyzed) : 0);
+                if (changed > 0 && changed >= Config.statistics_partition_change_ratio_threshold
+                        * Math.max(analyzed, 1L)) {
+                    stalePartitions.add(partition.getName());
+                    change.changedRows.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            table.readUnlock();
+        }
+        changedTables.computeIfPresent(tblId, (k, v) -> v.changedRows.isEmpty() ? null : v);
+        if (!stalePartitions.isEmpty() && !columns.isEmpty()) {
+            LOG.info("re-analyze the stale partitions {} of table {}", stalePartitions, table.getName());
+            Env.getCurrentEnv().getAnalysisManager().createSystemAnalysisJob(db.getFullName(), table.getName(),
+                    columns, stalePartitions);
+        }
+    }
+
+    @VisibleForTesting
+    public Map<Long, Long> getLoadedRows() {
+        return loadedRows;
+    }
+
+    @VisibleForTesting
+    public Map<Long, TableChange> getChangedTables() {
+        return changedTables;
+    }
+
+    /**
+     * The partitions of a table changed since they are analyzed.
+     */
+    public static class TableChange {
+        private final long dbId;
+        // partition id -> rows loaded into the partition, 0 if unknown
+        private final Map<Long, Long> changedRows = new ConcurrentHashMap<>();
+
+        public TableChange(long dbId) {
+            this.dbId = dbId;
+        }
+
+        public Map<Long, Long> getChangedRows() {
+            return changedRows;
+        }
+    }
+}
@@ -290,6 +290,8 @@ public class SystemInfoService {
         // log
         Env.getCurrentEnv().getEditLog().logDropBackend(droppedBackend);
         LOG.info("finished to drop {}", droppedBackend);
+        // the replicas on the dropped backend need to be repaired
+        Env.getCurrentEnv().getTabletChecker().markBackendDirty(droppedBackend.getId());
 
         // backends is changed, regenerated tablet number metrics
         MetricRepo.generateBackendsTabletMetrics();
@@ -1245,6 +1247,8 @@ public class SystemInfoService {
             if (!tagMap.isEmpty()) {
                 be.setTagMap(tagMap);
                 shouldModify = true;
+                // the replicas of any tablet may need to be moved to or from the backend
+                Env.getCurrentEnv().getTabletChecker().requestFullCheck();
             }
 
             if (alterClause.isQueryDisabled() != null) {
@@ -49,6 +49,7 @@ import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.persist.BatchRemoveTransactionsOperation;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.statistics.AnalysisManager;
 import org.apache.doris.task.AgentBatchTask;
 import org.apache.doris.task.AgentTaskExecutor;
 import org.apache.doris.task.ClearTransactionTask;
@@ -1579,6 +1580,7 @@ public class DatabaseTransactionMgr {
 
     private boolean updateCatalogAfterVisible(TransactionState transactionState, Database db) {
         Set<Long> errorReplicaIds = transactionState.getErrorReplicas();
+        List<Long> versionIncompleteTabletIds = Lists.newArrayList();
         for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
             long tableId = tableCommitInfo.getTableId();
             OlapTable table = (OlapTable) db.getTableNullable(tableId);
@@ -1635,6 +1637,9 @@ public class DatabaseTransactionMgr {
                                 }
                             }
                             replica.updateVersionWithFailedInfo(newVersion, lastFailedVersion, lastSuccessVersion);
+                            if (lastFailedVersion > 0) {
+                                versionIncompleteTabletIds.add(tablet.getId());
+                            }
                         }
                     }
                 } // end for indices
@@ -1647,6 +1652,15 @@ public class DatabaseTransactionMgr {
                 }
             }
         }
+        // let tablet checker repair the failed replicas
+        if (!versionIncompleteTabletIds.isEmpty()) {
+            Env.getCurrentEnv().getTabletChecker().markTabletsDirty(versionIncompleteTabletIds);
+        }
+        // the checkpoint catalog has no analysis manager
+        AnalysisManager analysisManager = Env.getCurrentEnv().getAnalysisManager();
+        if (analysisManager != null) {
+            analysisManager.getStalenessTracker().onTransactionVisible(transactionState, db);
+        }
         return true;
     }
 
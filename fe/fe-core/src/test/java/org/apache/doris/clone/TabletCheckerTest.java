@@ -0,0 +1,254 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.clone;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DataProperty;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.HashDistributionInfo;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.clone.TabletScheduler.AddResult;
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TStorageType;
+
+import com.google.common.collect.Lists;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TabletCheckerTest {
+    private static final long HEALTHY_TABLET = 50000;
+    private static final long UNHEALTHY_TABLET_1 = 60000;
+    private static final long UNHEALTHY_TABLET_2 = 70000;
+
+    @Mocked
+    private Env env;
+    @Mocked
+    private InternalCatalog catalog;
+    @Mocked
+    private TabletScheduler tabletScheduler;
+
+    private final SystemInfoService systemInfoService = new SystemInfoService();
+    private final TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+    private final TabletSchedulerStat stat = new TabletSchedulerStat();
+    private final List<Long> addedTablets = Lists.newArrayList();
+    private AddResult addResult = AddResult.ADDED;
+
+    private Partition partition;
+    private TabletChecker checker;
+
+    private boolean origEnableDirtySet;
+    private long origFullCheckInterval;
+    private int origRepairDelayFactor;
+
+    @Before
+    public void setUp() {
+        origEnableDirtySet = Config.enable_tablet_checker_dirty_set;
+        origFullCheckInterval = Config.tablet_checker_full_check_interval_second;
+        origRepairDelayFactor = Config.tablet_repair_delay_factor_second;
+        Config.enable_tablet_checker_dirty_set = true;
+        Config.tablet_checker_full_check_interval_second = 3600;
+        Config.tablet_repair_delay_factor_second = 0;
+
+        Database db = new Database(1, "test db");
+        db.setClusterName(SystemInfoService.DEFAULT_CLUSTER);
+        new Expectations() {
+            {
+                Env.getCurrentEnv();
+                minTimes = 0;
+                result = env;
+
+                env.isMaster();
+                minTimes = 0;
+                result = true;
+
+                env.getInternalCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                Env.getCurrentInternalCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                catalog.getDbIds();
+                minTimes = 0;
+                result = Lists.newArrayList(db.getId());
+
+                catalog.getDbNullable(anyLong);
+                minTimes = 0;
+                result = db;
+
+                Env.getCurrentSystemInfo();
+                minTimes = 0;
+                result = systemInfoService;
+
+                Env.getCurrentInvertedIndex();
+                minTimes = 0;
+                result = invertedIndex;
+
+                tabletScheduler.addTablet((TabletSchedCtx) any, anyBoolean);
+                minTimes = 0;
+                result = new Delegate() {
+                    AddResult addTablet(TabletSchedCtx tabletCtx, boolean force) {
+                        if (addResult == AddResult.ADDED) {
+                            addedTablets.add(tabletCtx.getTabletId());
+                        }
+                        return addResult;
+                    }
+                };
+            }
+        };
+
+        Lists.newArrayList(10001L, 10002L, 10003L, 10004L).forEach(
+                id -> systemInfoService.addBackend(RebalancerTestUtil.createBackend(id, 2048, 0)));
+
+        OlapTable olapTable = new OlapTable(2, "fake table", new ArrayList<>(), KeysType.DUP_KEYS,
+                new RangePartitionInfo(), new HashDistributionInfo());
+        db.createTable(olapTable);
+        MaterializedIndex index = new MaterializedIndex(olapTable.getId(), null);
+        partition = new Partition(31, "p0", index, new HashDistributionInfo());
+        olapTable.addPartition(partition);
+        olapTable.getPartitionInfo().addPartition(partition.getId(), new DataProperty(TStorageMedium.HDD),
+                ReplicaAllocation.DEFAULT_ALLOCATION, false, true);
+        olapTable.setIndexMeta(index.getId(), "fake index", Lists.newArrayList(new Column()),
+                0, 0, (short) 0, TStorageType.COLUMN, KeysType.DUP_KEYS);
+
+        // the unhealthy tablets miss one replica
+        RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                (int) HEALTHY_TABLET, Lists.newArrayList(10001L, 10002L, 10003L));
+        RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                (int) UNHEALTHY_TABLET_1, Lists.newArrayList(10001L, 10002L));
+        RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                (int) UNHEALTHY_TABLET_2, Lists.newArrayList(10002L, 10003L));
+
+        checker = new TabletChecker(env, systemInfoService, tabletScheduler, stat);
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_tablet_checker_dirty_set = origEnableDirtySet;
+        Config.tablet_checker_full_check_interval_second = origFullCheckInterval;
+        Config.tablet_repair_delay_factor_second = origRepairDelayFactor;
+    }
+
+    // run a round of tablet checker, and return the num of checked tablets
+    private long checkRound() throws InterruptedException {
+        // let the unhealthy tablets be ready to be repaired since the last check
+        Thread.sleep(10);
+        long checkedNum = stat.counterTabletChecked.get();
+        checker.runAfterCatalogReady();
+        return stat.counterTabletChecked.get() - checkedNum;
+    }
+
+    @Test
+    public void testDirtyTabletsConsumed() throws InterruptedException {
+        Assert.assertEquals(3, checkRound());
+        // the unhealthy tablets are not ready to be repaired in the first check
+        Assert.assertTrue(addedTablets.isEmpty());
+        Assert.assertEquals(2, checker.getDirtyTabletNum());
+
+        Assert.assertEquals(2, checkRound());
+        addedTablets.sort(Long::compare);
+        Assert.assertEquals(Lists.newArrayList(UNHEALTHY_TABLET_1, UNHEALTHY_TABLET_2), addedTablets);
+        Assert.assertEquals(0, checker.getDirtyTabletNum());
+        Assert.assertEquals(0, checkRound());
+
+        checker.markTabletDirty(HEALTHY_TABLET);
+        // the dropped tablet is skipped
+        checker.markTabletDirty(80000);
+        Assert.assertEquals(1, checkRound());
+        Assert.assertEquals(0, checker.getDirtyTabletNum());
+        Assert.assertEquals(0, checkRound());
+
+        checker.markPartitionDirty(partition);
+        Assert.assertEquals(3, checker.getDirtyTabletNum());
+        Assert.assertEquals(3, checkRound());
+        Assert.assertEquals(0, checker.getDirtyTabletNum());
+    }
+
+    @Test
+    public void testNotReadyTabletsRequeued() throws InterruptedException {
+        Config.tablet_repair_delay_factor_second = 3600;
+        Assert.assertEquals(3, checkRound());
+        Assert.assertEquals(2, checker.getDirtyTabletNum());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(2, checkRound());
+            Assert.assertTrue(addedTablets.isEmpty());
+            Assert.assertEquals(2, checker.getDirtyTabletNum());
+        }
+
+        Config.tablet_repair_delay_factor_second = 0;
+        Assert.assertEquals(2, checkRound());
+        Assert.assertEquals(2, addedTablets.size());
+        Assert.assertEquals(0, checker.getDirtyTabletNum());
+    }
+
+    @Test
+    public void testBreakOutTabletsRequeued() throws InterruptedException {
+        Assert.assertEquals(3, checkRound());
+        Assert.assertEquals(2, checker.getDirtyTabletNum());
+
+        // the checker stops at the first tablet rejected by the full tablet scheduler
+        addResult = AddResult.LIMIT_EXCEED;
+        Assert.assertEquals(1, checkRound());
+        Assert.assertEquals(2, checker.getDirtyTabletNum());
+        Assert.assertEquals(1, checkRound());
+        Assert.assertEquals(2, checker.getDirtyTabletNum());
+
+        addResult = AddResult.ADDED;
+        Assert.assertEquals(2, checkRound());
+        Assert.assertEquals(2, addedTablets.size());
+        Assert.assertEquals(0, checker.getDirtyTabletNum());
+    }
+
+    @Test
+    public void testFullCheckRetried() throws InterruptedException {
+        Assert.assertEquals(3, checkRound());
+        Assert.assertEquals(2, checkRound());
+        Assert.assertEquals(0, checkRound());
+
+        // the full check stops at the first unhealthy tablet, and is retried until it finishes
+        checker.requestFullCheck();
+        addResult = AddResult.LIMIT_EXCEED;
+        Assert.assertEquals(2, checkRound());
+        Assert.assertEquals(2, checkRound());
+
+        addResult = AddResult.ADDED;
+        addedTablets.clear();
+        Assert.assertEquals(3, checkRound());
+        Assert.assertEquals(2, addedTablets.size());
+        Assert.assertEquals(0, checkRound());
+    }
+}
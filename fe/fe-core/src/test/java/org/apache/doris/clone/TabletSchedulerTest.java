@@ -0,0 +1,254 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.clone;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.DataProperty;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.HashDistributionInfo;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.RangePartitionInfo;
+import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.clone.SchedException.Status;
+import org.apache.doris.clone.TabletSchedCtx.Priority;
+import org.apache.doris.clone.TabletSchedCtx.Type;
+import org.apache.doris.clone.TabletScheduler.PathSlot;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.InternalCatalog;
+import org.apache.doris.resource.Tag;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TStorageMedium;
+import org.apache.doris.thrift.TStorageType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class TabletSchedulerTest {
+    private static final int TABLE_NUM = 3;
+    private static final int REPAIR_TABLET_NUM_PER_TABLE = 4;
+    private static final List<Long> BACKEND_IDS = Lists.newArrayList(10001L, 10002L, 10003L, 10004L, 10005L);
+
+    @Mocked
+    private Env env;
+    @Mocked
+    private InternalCatalog catalog;
+
+    private final AtomicLong nextId = new AtomicLong(20000);
+    private final SystemInfoService systemInfoService = new SystemInfoService();
+    private final TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+
+    private Database db;
+    private final List<TabletSchedCtx> repairTablets = Lists.newArrayList();
+    private final List<TabletSchedCtx> balanceTablets = Lists.newArrayList();
+
+    private boolean origEnableConcurrent;
+    private int origWorkerNum;
+    private int origSlotNum;
+    private boolean origDisableBalance;
+
+    @Before
+    public void setUp() {
+        origEnableConcurrent = Config.enable_concurrent_tablet_scheduler;
+        origWorkerNum = Config.tablet_scheduler_worker_num;
+        origSlotNum = Config.schedule_slot_num_per_path;
+        origDisableBalance = Config.disable_balance;
+        Config.enable_concurrent_tablet_scheduler = true;
+        Config.tablet_scheduler_worker_num = 4;
+        Config.schedule_slot_num_per_path = 4;
+        // only schedule the tablets added by test
+        Config.disable_balance = true;
+
+        db = new Database(1, "test db");
+        db.setClusterName(SystemInfoService.DEFAULT_CLUSTER);
+        new Expectations() {
+            {
+                Env.getCurrentEnv();
+                minTimes = 0;
+                result = env;
+
+                env.getInternalCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                Env.getCurrentInternalCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                catalog.getDbNullable(anyLong);
+                minTimes = 0;
+                result = db;
+
+                catalog.getDbOrException(anyLong, (Function<Long, SchedException>) any);
+                minTimes = 0;
+                result = db;
+
+                Env.getCurrentEnvJournalVersion();
+                minTimes = 0;
+                result = FeConstants.meta_version;
+
+                env.getNextId();
+                minTimes = 0;
+                result = new Delegate() {
+                    long ignored() {
+                        return nextId.incrementAndGet();
+                    }
+                };
+
+                Env.getCurrentSystemInfo();
+                minTimes = 0;
+                result = systemInfoService;
+
+                Env.getCurrentInvertedIndex();
+                minTimes = 0;
+                result = invertedIndex;
+            }
+        };
+
+        BACKEND_IDS.forEach(id -> systemInfoService.addBackend(RebalancerTestUtil.createBackend(id, 1L << 30, 0)));
+
+        int tabletId = 50000;
+        for (int i = 0; i < TABLE_NUM; i++) {
+            OlapTable olapTable = createTable(2 + i);
+            // the repair tablets miss one replica, the balance tablet is healthy
+            for (int j = 0; j < REPAIR_TABLET_NUM_PER_TABLE; j++) {
+                List<Long> beIds = Lists.newArrayList(BACKEND_IDS.get((i + j) % BACKEND_IDS.size()),
+                        BACKEND_IDS.get((i + j + 1) % BACKEND_IDS.size()));
+                RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                        tabletId, beIds);
+                repairTablets.add(createTabletCtx(Type.REPAIR, olapTable, tabletId++));
+            }
+            RebalancerTestUtil.createTablet(invertedIndex, db, olapTable, "p0", TStorageMedium.HDD,
+                    tabletId, Lists.newArrayList(10001L, 10002L, 10003L));
+            balanceTablets.add(createTabletCtx(Type.BALANCE, olapTable, tabletId++));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_concurrent_tablet_scheduler = origEnableConcurrent;
+        Config.tablet_scheduler_worker_num = origWorkerNum;
+        Config.schedule_slot_num_per_path = origSlotNum;
+        Config.disable_balance = origDisableBalance;
+    }
+
+    private OlapTable createTable(long tableId) {
+        OlapTable olapTable = new OlapTable(tableId, "tbl" + tableId, new ArrayList<>(), KeysType.DUP_KEYS,
+                new RangePartitionInfo(), new HashDistributionInfo());
+        db.createTable(olapTable);
+        MaterializedIndex index = new MaterializedIndex(tableId, null);
+        Partition partition = new Partition(tableId + 100, "p0", index, new HashDistributionInfo());
+        olapTable.addPartition(partition);
+        olapTable.getPartitionInfo().addPartition(partition.getId(), new DataProperty(TStorageMedium.HDD),
+                ReplicaAllocation.DEFAULT_ALLOCATION, false, true);
+        olapTable.setIndexMeta(index.getId(), "fake index", Lists.newArrayList(new Column()),
+                0, 0, (short) 0, TStorageType.COLUMN, KeysType.DUP_KEYS);
+        return olapTable;
+    }
+
+    private TabletSchedCtx createTabletCtx(Type type, OlapTable olapTable, long tabletId) {
+        Partition partition = olapTable.getPartition("p0");
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(type, SystemInfoService.DEFAULT_CLUSTER, db.getId(),
+                olapTable.getId(), partition.getId(), partition.getBaseIndex().getId(), tabletId,
+                ReplicaAllocation.DEFAULT_ALLOCATION, System.currentTimeMillis());
+        if (type == Type.REPAIR) {
+            tabletCtx.setTabletStatus(TabletStatus.REPLICA_MISSING);
+            tabletCtx.setOrigPriority(Priority.NORMAL);
+        } else {
+            tabletCtx.setTag(Tag.DEFAULT_BACKEND_TAG);
+            tabletCtx.setOrigPriority(Priority.LOW);
+        }
+        return tabletCtx;
+    }
+
+    @Test
+    public void testScheduleConcurrently() {
+        TabletScheduler tabletScheduler = new TabletScheduler(env, systemInfoService, invertedIndex,
+                new TabletSchedulerStat(), "");
+        List<TabletSchedCtx> allTablets = Lists.newArrayList(repairTablets);
+        allTablets.addAll(balanceTablets);
+        for (TabletSchedCtx tabletCtx : allTablets) {
+            Assert.assertEquals(TabletScheduler.AddResult.ADDED, tabletScheduler.addTablet(tabletCtx, false));
+        }
+
+        // all the tablets are scheduled in one batch
+        tabletScheduler.runAfterCatalogReady();
+
+        Map<Long, TabletSchedCtx> runningTablets = Deencapsulation.getField(tabletScheduler, "runningTablets");
+        Queue<TabletSchedCtx> pendingTablets = Deencapsulation.getField(tabletScheduler, "pendingTablets");
+        Queue<TabletSchedCtx> schedHistory = Deencapsulation.getField(tabletScheduler, "schedHistory");
+        Set<Long> pendingTabletIds = pendingTablets.stream().map(TabletSchedCtx::getTabletId)
+                .collect(Collectors.toSet());
+        Set<Long> historyTabletIds = schedHistory.stream().map(TabletSchedCtx::getTabletId)
+                .collect(Collectors.toSet());
+        for (TabletSchedCtx tabletCtx : allTablets) {
+            long tabletId = tabletCtx.getTabletId();
+            int placeNum = (runningTablets.containsKey(tabletId) ? 1 : 0)
+                    + (pendingTabletIds.contains(tabletId) ? 1 : 0)
+                    + (historyTabletIds.contains(tabletId) ? 1 : 0);
+            Assert.assertEquals("tablet " + tabletId, 1, placeNum);
+            Assert.assertEquals(!historyTabletIds.contains(tabletId), tabletScheduler.containsTablet(tabletId));
+        }
+        long runningRepairNum = runningTablets.values().stream().filter(t -> t.getType() == Type.REPAIR).count();
+        Assert.assertTrue(runningRepairNum > 0);
+
+        // each running repair tablet takes a slot on both the src and dest backends
+        Map<Long, PathSlot> slots = tabletScheduler.getBackendsWorkingSlots();
+        int usedSlotNum = 0;
+        for (long beId : BACKEND_IDS) {
+            usedSlotNum += Config.schedule_slot_num_per_path - slots.get(beId).getTotalAvailSlotNum();
+        }
+        Assert.assertEquals(2 * runningRepairNum, usedSlotNum);
+
+        // all the slots are freed after the running tablets are finished
+        for (TabletSchedCtx tabletCtx : Lists.newArrayList(runningTablets.values())) {
+            Deencapsulation.invoke(tabletScheduler, "finalizeTabletCtx", tabletCtx, TabletSchedCtx.State.CANCELLED,
+                    Status.UNRECOVERABLE, "test");
+        }
+        Assert.assertEquals(0, tabletScheduler.getRunningNum());
+        Set<Long> beIds = Sets.newHashSet(BACKEND_IDS);
+        Assert.assertEquals(beIds, slots.keySet());
+        for (long beId : BACKEND_IDS) {
+            Assert.assertEquals(Config.schedule_slot_num_per_path, slots.get(beId).getTotalAvailSlotNum());
+            Assert.assertEquals(TabletScheduler.BALANCE_SLOT_NUM_FOR_PATH, slots.get(beId).getAvailBalanceSlotNum());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.profile;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Map;
+
+public class ProfileSpillStoreTest {
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("profile_spill_test").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir);
+        Config.profile_compressed_memory_limit_bytes = 0;
+        Config.enable_profile_spill = false;
+    }
+
+    private static ArchivedProfile profile(String queryId, String user) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("  Fragment ").append(i).append(" of ").append(queryId).append('\n');
+        }
+        return ArchivedProfile.create(queryId,
+                ImmutableMap.of("Query ID", queryId, "User", user), content.toString());
+    }
+
+    @Test
+    public void testArchivedProfile() throws IOException {
+        ArchivedProfile profile = profile("q1", "root");
+        Assert.assertTrue(profile.getContent().startsWith("  Fragment 0 of q1\n"));
+        Assert.assertEquals(100, profile.getContent().split("\n").length);
+        Assert.assertEquals("root", profile.getInfoStrings().get("User"));
+    }
+
+    @Test
+    public void testAppendAndReopen() throws IOException {
+        ProfileSpillStore store = new ProfileSpillStore(dir, 1024 * 1024, 1024 * 1024 * 1024);
+        store.open();
+        store.append(profile("q1", "root"));
+        store.append(profile("q2", "admin"));
+        Assert.assertEquals(2, store.size());
+        Assert.assertEquals(profile("q1", "root").getContent(), store.read("q1").getContent());
+        Assert.assertEquals("admin", store.getInfoStrings("q2").get("User"));
+        Assert.assertNull(store.read("q3"));
+        Assert.assertEquals(Lists.newArrayList("q2", "q1"), Lists.newArrayList(store.listInfoStrings().keySet()));
+        Assert.assertEquals("q2", store.findKey("User", "admin"));
+        store.close();
+
+        // the index is rebuilt from segments, and new profiles go to a new segment
+        store = new ProfileSpillStore(dir, 1024 * 1024, 1024 * 1024 * 1024);
+        store.open();
+        Assert.assertEquals(2, store.size());
+        store.append(profile("q3", "root"));
+        Assert.assertEquals(profile("q2", "admin").getContent(), store.read("q2").getContent());
+        Assert.assertEquals(profile("q3", "root").getContent(), store.read("q3").getContent());
+        Assert.assertEquals(2, dir.listFiles().length);
+        store.close();
+    }
+
+    @Test
+    public void testBrokenRecordLength() throws IOException {
+        ProfileSpillStore store = new ProfileSpillStore(dir, 1024 * 1024, 1024 * 1024 * 1024);
+        store.open();
+        store.append(profile("q1", "root"));
+        store.append(profile("q2", "root"));
+        store.append(profile("q3", "root"));
+        store.close();
+
+        // break the length of the second record
+        try (RandomAccessFile file = new RandomAccessFile(new File(dir, "profile.0"), "rw")) {
+            int length = file.readInt();
+            file.seek(12 + length);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+        // the records before the broken one are kept
+        store = new ProfileSpillStore(dir, 1024 * 1024, 1024 * 1024 * 1024);
+        store.open();
+        Assert.assertEquals(1, store.size());
+        Assert.assertEquals(profile("q1", "root").getContent(), store.read("q1").getContent());
+        Assert.assertNull(store.read("q2"));
+        store.close();
+    }
+
+    @Test
+    public void testRetention() throws IOException {
+        long recordSize = profile("q0", "root").getMemorySize();
+        // one profile per segment, and at most 3 segments are kept
+        ProfileSpillStore store = new ProfileSpillStore(dir, 1, recordSize * 3);
+        store.open();
+        for (int i = 0; i < 10; i++) {
+            store.append(profile("q" + i, "root"));
+        }
+        Assert.assertTrue(store.size() < 10);
+        Assert.assertNull(store.read("q0"));
+        Assert.assertNotNull(store.read("q9"));
+        Assert.assertEquals(store.size(), dir.listFiles().length);
+        store.close();
+    }
+
+    @Test
+    public void testArchive() throws IOException {
+        Config.enable_profile_spill = true;
+        ProfileArchive archive = new ProfileArchive(dir);
+        long recordSize = profile("q0", "root").getMemorySize();
+        Config.profile_compressed_memory_limit_bytes = recordSize * 2;
+        for (int i = 0; i < 5; i++) {
+            archive.archive(profile("q" + i, "root"));
+        }
+        Assert.assertTrue(archive.getMemorySize() <= Config.profile_compressed_memory_limit_bytes);
+        // evicted from memory, but can be read from the spill store
+        Assert.assertEquals(profile("q0", "root").getContent(), archive.get("q0").getContent());
+        Assert.assertEquals(Lists.newArrayList("q4", "q3", "q2", "q1", "q0"),
+                Lists.newArrayList(archive.listInfoStrings().keySet()));
+
+        // the spilled profiles are found by a new archive, eg. after FE restarts
+        archive = new ProfileArchive(dir);
+        Map<String, String> infoStrings = archive.getInfoStrings("q3");
+        Assert.assertEquals("q3", infoStrings.get("Query ID"));
+        Assert.assertEquals("q1", archive.findKey("Query ID", "q1"));
+    }
+}
@@ -0,0 +1,69 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+public class LongLongHashMapTest {
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(4321);
+        Map<Long, Long> expected = Maps.newHashMap();
+        LongLongHashMap map = new LongLongHashMap(2);
+        for (int i = 0; i < 200000; i++) {
+            long key = random.nextInt(5000) - 2500;
+            int op = random.nextInt(10);
+            if (op < 3) {
+                long value = random.nextLong();
+                Assert.assertEquals(expected.put(key, value), map.put(Long.valueOf(key), Long.valueOf(value)));
+            } else if (op < 5) {
+                long value = random.nextLong();
+                Assert.assertEquals(expected.put(key, value) == null, map.put(key, value));
+            } else if (op < 8) {
+                Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                Assert.assertEquals(expected.get(key), map.get(Long.valueOf(key)));
+                Assert.assertEquals(expected.getOrDefault(key, -1L).longValue(), map.get(key, -1L));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+
+        Iterator<Map.Entry<Long, Long>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Long> entry = iterator.next();
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+        Assert.assertEquals(expected, map);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(Long.valueOf(1L)));
+    }
+}
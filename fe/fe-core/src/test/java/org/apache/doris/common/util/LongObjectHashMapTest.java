@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(1234);
+        Map<Long, String> expected = Maps.newHashMap();
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(2);
+        for (int i = 0; i < 200000; i++) {
+            // a small key range, so there are a lot of replaces, removes and tombstones
+            long key = random.nextInt(5000) - 2500;
+            int op = random.nextInt(10);
+            if (op < 5) {
+                String value = String.valueOf(random.nextInt());
+                Assert.assertEquals(expected.put(key, value), map.put(key, value));
+            } else if (op < 8) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.get(key), map.get(key));
+                Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(1L));
+        Assert.assertEquals("default", map.getOrDefault(1L, "default"));
+    }
+
+    @Test
+    public void testIterator() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        Iterator<Map.Entry<Long, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, String> entry = iterator.next();
+            Assert.assertEquals(String.valueOf(entry.getKey()), entry.getValue());
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+        Assert.assertEquals(500, map.size());
+        for (long i = 0; i < 1000; i++) {
+            Assert.assertEquals(i % 2 == 0 ? null : "odd", map.get(i));
+        }
+        Assert.assertEquals(500, map.keySet().size());
+        Assert.assertEquals(500, map.values().stream().filter("odd"::equals).count());
+    }
+
+    @Test
+    public void testTableBackingMap() {
+        Table<Long, Long, String> expected = HashBasedTable.create();
+        Table<Long, Long, String> table = Tables.newCustomTable(new LongObjectHashMap<>(),
+                () -> new LongObjectHashMap<>(3));
+        for (long row = 0; row < 100; row++) {
+            for (long column = 0; column < 3; column++) {
+                expected.put(row, column, row + "_" + column);
+                table.put(row, column, row + "_" + column);
+            }
+        }
+        expected.remove(1L, 1L);
+        table.remove(1L, 1L);
+        expected.rowMap().remove(2L);
+        table.rowMap().remove(2L);
+        for (long column = 0; column < 3; column++) {
+            expected.remove(3L, column);
+            table.remove(3L, column);
+        }
+        Assert.assertEquals(expected, table);
+        Assert.assertEquals(expected.rowKeySet(), table.rowKeySet());
+        Assert.assertFalse(table.containsRow(3L));
+        Assert.assertEquals(expected.column(0L), table.column(0L));
+        Assert.assertEquals(expected.row(1L), table.row(1L));
+    }
+}
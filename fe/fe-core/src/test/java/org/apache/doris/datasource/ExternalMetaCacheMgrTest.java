@@ -0,0 +1,122 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class ExternalMetaCacheMgrTest {
+    private static final long CATALOG_ID = 10001L;
+    private static final String KEY1 = ExternalMetaDiskCache.key("db", "t1", "schema", ImmutableList.of());
+    private static final String KEY2 = ExternalMetaDiskCache.key("db", "t2", "schema", ImmutableList.of());
+    private static final String KEY3 = ExternalMetaDiskCache.key("db2", "t1", "schema", ImmutableList.of());
+
+    private File dir;
+    private File catalogDir;
+    private boolean originEnable;
+    private String originDir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("external_meta_cache_mgr_test").toFile();
+        catalogDir = new File(dir, String.valueOf(CATALOG_ID));
+        originEnable = Config.enable_external_meta_disk_cache;
+        originDir = Config.external_meta_disk_cache_dir;
+        Config.enable_external_meta_disk_cache = true;
+        Config.external_meta_disk_cache_dir = dir.getAbsolutePath();
+
+        // the entries written before FE restarts
+        ExternalMetaDiskCache diskCache = new ExternalMetaDiskCache(catalogDir, 1024 * 1024, 1024 * 1024 * 1024,
+                TimeUnit.DAYS.toMillis(1));
+        diskCache.open();
+        for (String key : ImmutableList.of(KEY1, KEY2, KEY3)) {
+            diskCache.put(key, 1, key.getBytes(StandardCharsets.UTF_8));
+        }
+        diskCache.close();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Config.enable_external_meta_disk_cache = originEnable;
+        Config.external_meta_disk_cache_dir = originDir;
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testInvalidateNotOpenedDiskCache() {
+        long size = FileUtils.sizeOfDirectory(catalogDir);
+        ExternalMetaCacheMgr mgr = new ExternalMetaCacheMgr();
+        mgr.invalidateTableCache(CATALOG_ID, "db", "t1");
+        // the disk cache is not opened to invalidate it, and its files are not changed
+        Map<Long, ExternalMetaDiskCache> diskCacheMap = Deencapsulation.getField(mgr, "diskCacheMap");
+        Assert.assertTrue(diskCacheMap.isEmpty());
+        Assert.assertEquals(size, FileUtils.sizeOfDirectory(catalogDir));
+
+        // the invalidation is applied when the disk cache is opened
+        ExternalMetaDiskCache diskCache = Deencapsulation.invoke(mgr, "getDiskCache", CATALOG_ID);
+        Assert.assertNull(diskCache.get(KEY1, 1));
+        Assert.assertNotNull(diskCache.get(KEY2, 1));
+        Assert.assertNotNull(diskCache.get(KEY3, 1));
+        Map<Long, Set<String>> pending = Deencapsulation.getField(mgr, "pendingDiskInvalidations");
+        Assert.assertTrue(pending.isEmpty());
+
+        // the opened disk cache is invalidated directly
+        mgr.invalidateDbCache(CATALOG_ID, "db");
+        Assert.assertNull(diskCache.get(KEY2, 1));
+        Assert.assertNotNull(diskCache.get(KEY3, 1));
+        diskCache.close();
+    }
+
+    @Test
+    public void testInvalidateNotOpenedCatalog() {
+        ExternalMetaCacheMgr mgr = new ExternalMetaCacheMgr();
+        mgr.invalidateTableCache(CATALOG_ID, "db", "t1");
+        mgr.invalidateCatalogCache(CATALOG_ID);
+        mgr.invalidateTableCache(CATALOG_ID, "db2", "t1");
+        // all entries are removed, which covers the tables
+        Map<Long, Set<String>> pending = Deencapsulation.getField(mgr, "pendingDiskInvalidations");
+        Assert.assertEquals(Sets.newHashSet(""), pending.get(CATALOG_ID));
+
+        ExternalMetaDiskCache diskCache = Deencapsulation.invoke(mgr, "getDiskCache", CATALOG_ID);
+        Assert.assertEquals(0, diskCache.size());
+        diskCache.close();
+
+        // the pending invalidations are dropped with the catalog
+        mgr.removeCache(CATALOG_ID);
+        mgr.invalidateTableCache(CATALOG_ID, "db", "t1");
+        mgr.removeCache(CATALOG_ID);
+        Assert.assertTrue(pending.isEmpty());
+        Assert.assertFalse(catalogDir.exists());
+    }
+}
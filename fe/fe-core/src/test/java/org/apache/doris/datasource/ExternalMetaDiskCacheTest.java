@@ -0,0 +1,149 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+public class ExternalMetaDiskCacheTest {
+    private static final long EXPIRE_MS = TimeUnit.DAYS.toMillis(1);
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("external_meta_disk_cache_test").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testKey() {
+        String key = ExternalMetaDiskCache.key("db", "tbl", "partition", ImmutableList.of("a", "", "c"));
+        Assert.assertTrue(key.startsWith(ExternalMetaDiskCache.prefix("db", "tbl")));
+        Assert.assertTrue(key.startsWith(ExternalMetaDiskCache.prefix("db", null)));
+        Assert.assertFalse(key.startsWith(ExternalMetaDiskCache.prefix("db", "t")));
+        Assert.assertEquals(Lists.newArrayList("db", "tbl", "partition", "a", "", "c"),
+                ExternalMetaDiskCache.splitKey(key));
+    }
+
+    @Test
+    public void testPutAndReopen() throws IOException {
+        ExternalMetaDiskCache cache = new ExternalMetaDiskCache(dir, 1024 * 1024, 1024 * 1024 * 1024, EXPIRE_MS);
+        cache.open();
+        String key1 = ExternalMetaDiskCache.key("db", "t1", "schema", ImmutableList.of());
+        String key2 = ExternalMetaDiskCache.key("db", "t2", "schema", ImmutableList.of());
+        String key3 = ExternalMetaDiskCache.key("db2", "t1", "schema", ImmutableList.of());
+        cache.put(key1, 1, bytes("v1"));
+        cache.put(key2, 1, bytes("v2"));
+        cache.put(key3, 1, bytes("v3"));
+        // overwrite
+        cache.put(key1, 2, bytes("v1.2"));
+        Assert.assertArrayEquals(bytes("v1.2"), cache.get(key1, 2));
+        // another version
+        Assert.assertNull(cache.get(key1, 1));
+        cache.removeByPrefix(ExternalMetaDiskCache.prefix("db", "t2"));
+        Assert.assertNull(cache.get(key2, 1));
+        Assert.assertEquals(2, cache.keys("").size());
+        cache.close();
+
+        // the index is rebuilt from segments, including the removed entries
+        cache = new ExternalMetaDiskCache(dir, 1024 * 1024, 1024 * 1024 * 1024, EXPIRE_MS);
+        cache.open();
+        Assert.assertEquals(2, cache.size());
+        Assert.assertArrayEquals(bytes("v1.2"), cache.get(key1, 2));
+        Assert.assertNull(cache.get(key2, 1));
+        Assert.assertArrayEquals(bytes("v3"), cache.get(key3, 1));
+        cache.remove(key3);
+        // removing a missing key writes nothing
+        cache.remove(key2);
+        Assert.assertEquals(Lists.newArrayList(key1), cache.keys(""));
+        cache.removeAll();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, dir.listFiles().length);
+        cache.close();
+    }
+
+    @Test
+    public void testBrokenRecordLength() throws IOException {
+        ExternalMetaDiskCache cache = new ExternalMetaDiskCache(dir, 1024 * 1024, 1024 * 1024 * 1024, EXPIRE_MS);
+        cache.open();
+        cache.put("key1", 1, bytes("v1"));
+        cache.put("key2", 1, bytes("v2"));
+        cache.close();
+
+        // break the length of the second record
+        try (RandomAccessFile file = new RandomAccessFile(new File(dir, "meta.0"), "rw")) {
+            int length = file.readInt();
+            file.seek(12 + length);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+        // the entries before the broken record are kept
+        cache = new ExternalMetaDiskCache(dir, 1024 * 1024, 1024 * 1024 * 1024, EXPIRE_MS);
+        cache.open();
+        Assert.assertEquals(1, cache.size());
+        Assert.assertArrayEquals(bytes("v1"), cache.get("key1", 1));
+        Assert.assertNull(cache.get("key2", 1));
+        cache.close();
+    }
+
+    @Test
+    public void testExpire() throws IOException {
+        ExternalMetaDiskCache cache = new ExternalMetaDiskCache(dir, 1024 * 1024, 1024 * 1024 * 1024, -1);
+        cache.open();
+        cache.put("key", 1, bytes("value"));
+        Assert.assertTrue(cache.keys("").isEmpty());
+        Assert.assertNull(cache.get("key", 1));
+        cache.close();
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        // one entry per segment, and at most 3 segments are kept
+        byte[] value = new byte[1000];
+        ExternalMetaDiskCache cache = new ExternalMetaDiskCache(dir, 1, 3 * 1100, EXPIRE_MS);
+        cache.open();
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, 1, value);
+        }
+        Assert.assertEquals(3, cache.size());
+        Assert.assertNull(cache.get("key0", 1));
+        Assert.assertArrayEquals(value, cache.get("key9", 1));
+        Assert.assertEquals(3, dir.listFiles().length);
+        cache.close();
+    }
+}
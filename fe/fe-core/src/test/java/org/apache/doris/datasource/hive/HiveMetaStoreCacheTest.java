@@ -0,0 +1,344 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource.hive;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.Config;
+import org.apache.doris.datasource.CatalogProperty;
+import org.apache.doris.datasource.ExternalMetaDiskCache;
+import org.apache.doris.datasource.HMSExternalCatalog;
+import org.apache.doris.datasource.hive.HiveMetaStoreCache.HivePartitionValues;
+import org.apache.doris.statistics.HiveAnalysisTask;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.mapred.InputSplit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class HiveMetaStoreCacheTest {
+    private static final String TEXT_INPUT_FORMAT = "org.apache.hadoop.mapred.TextInputFormat";
+    private static final int PARTITION_NUM = 5;
+
+    @Mocked
+    private HMSExternalCatalog catalog;
+    @Mocked
+    private PooledHiveMetaStoreClient client;
+    private File dir;
+    private int originBatchNum;
+    // the last ddl time of all partitions
+    private String lastDdlTime = "100";
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("hive_meta_cache_test").toFile();
+        List<String> partitionNames = Lists.newArrayList();
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            partitionNames.add("dt=" + i);
+            // two files in each partition
+            File partitionDir = new File(dir, "dt=" + i);
+            FileUtils.writeStringToFile(new File(partitionDir, "f0"), "a\n", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(partitionDir, "f1"), "b\n", StandardCharsets.UTF_8);
+        }
+        originBatchNum = Config.hive_partition_batch_fetch_num;
+        Config.hive_partition_batch_fetch_num = 2;
+
+        new Expectations() {
+            {
+                catalog.getName();
+                minTimes = 0;
+                result = "hive";
+
+                catalog.getProperties();
+                minTimes = 0;
+                result = ImmutableMap.of(HiveMetaStoreCache.FILE_LISTING_PARALLELISM, "2");
+
+                catalog.getCatalogProperty();
+                minTimes = 0;
+                result = new CatalogProperty(null, Maps.newHashMap());
+
+                catalog.getClient();
+                minTimes = 0;
+                result = client;
+
+                client.listPartitionNames("db", "tbl");
+                minTimes = 0;
+                result = partitionNames;
+
+                client.getPartitionsByNames("db", "tbl", (List<String>) any);
+                minTimes = 0;
+                result = new Delegate<List<Partition>>() {
+                    List<Partition> getPartitionsByNames(String dbName, String tblName, List<String> names) {
+                        List<Partition> partitions = Lists.newArrayList();
+                        names.forEach(name -> partitions.add(partition(name.substring("dt=".length()))));
+                        return partitions;
+                    }
+                };
+
+                client.getPartition("db", "tbl", (List<String>) any);
+                minTimes = 0;
+                result = new Delegate<Partition>() {
+                    Partition getPartition(String dbName, String tblName, List<String> values) {
+                        return partition(values.get(0));
+                    }
+                };
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir);
+        Config.hive_partition_batch_fetch_num = originBatchNum;
+    }
+
+    private Partition partition(String value) {
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setInputFormat(TEXT_INPUT_FORMAT);
+        sd.setLocation("file://" + new File(dir, "dt=" + value).getAbsolutePath());
+        Partition partition = new Partition();
+        partition.setValues(Lists.newArrayList(value));
+        partition.setSd(sd);
+        partition.setParameters(Maps.newHashMap(ImmutableMap.of(HiveAnalysisTask.TIMESTAMP, lastDdlTime)));
+        return partition;
+    }
+
+    @Test
+    public void testBatchLoadPartitions() {
+        HiveMetaStoreCache cache = new HiveMetaStoreCache(catalog, Executors.newSingleThreadExecutor(), null);
+        cache.getPartitionValues("db", "tbl", Lists.newArrayList(Type.INT));
+        List<List<String>> partitionValuesList = Lists.newArrayList();
+        for (int i = PARTITION_NUM - 1; i >= 0; i--) {
+            partitionValuesList.add(Lists.newArrayList(String.valueOf(i)));
+        }
+        List<HivePartition> partitions = cache.getAllPartitions("db", "tbl", partitionValuesList);
+        Assert.assertEquals(PARTITION_NUM, partitions.size());
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            // in the order of the requested values
+            Assert.assertEquals(partitionValuesList.get(i), partitions.get(i).getPartitionValues());
+            Assert.assertTrue(partitions.get(i).getPath().endsWith("dt=" + partitionValuesList.get(i).get(0)));
+        }
+        // the cached partitions are not loaded again
+        cache.getAllPartitions("db", "tbl", partitionValuesList);
+
+        new Verifications() {
+            {
+                // 5 partitions in batches of 2
+                client.getPartitionsByNames("db", "tbl", (List<String>) any);
+                times = 3;
+                client.getPartition("db", "tbl", (List<String>) any);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void testLoadPartitionsWithoutPartitionValues() {
+        // the partition names are unknown, so the partitions are loaded one by one
+        HiveMetaStoreCache cache = new HiveMetaStoreCache(catalog, Executors.newSingleThreadExecutor(), null);
+        List<HivePartition> partitions = cache.getAllPartitions("db", "tbl",
+                Lists.newArrayList(Lists.newArrayList("0"), Lists.newArrayList("1")));
+        Assert.assertEquals(2, partitions.size());
+
+        new Verifications() {
+            {
+                client.getPartitionsByNames("db", "tbl", (List<String>) any);
+                times = 0;
+                client.getPartition("db", "tbl", (List<String>) any);
+                times = 2;
+            }
+        };
+    }
+
+    @Test
+    public void testParallelListFiles() {
+        HiveMetaStoreCache cache = new HiveMetaStoreCache(catalog, Executors.newSingleThreadExecutor(), null);
+        cache.getPartitionValues("db", "tbl", Lists.newArrayList(Type.INT));
+        List<List<String>> partitionValuesList = Lists.newArrayList();
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            partitionValuesList.add(Lists.newArrayList(String.valueOf(i)));
+        }
+        List<HivePartition> partitions = cache.getAllPartitions("db", "tbl", partitionValuesList);
+        List<InputSplit> files = cache.getFilesByPartitions(partitions);
+        Assert.assertEquals(PARTITION_NUM * 2, files.size());
+        // the files of a location appear once for each partition on it
+        partitions.add(partitions.get(0));
+        Assert.assertEquals(PARTITION_NUM * 2 + 2, cache.getFilesByPartitions(partitions).size());
+    }
+
+    private static ExternalMetaDiskCache openDiskCache(File metaDir) throws IOException {
+        ExternalMetaDiskCache diskCache = new ExternalMetaDiskCache(metaDir, 1024 * 1024, 1024 * 1024 * 1024,
+                TimeUnit.DAYS.toMillis(1));
+        diskCache.open();
+        return diskCache;
+    }
+
+    private static void runTasks(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private List<List<String>> allPartitionValues() {
+        List<List<String>> partitionValuesList = Lists.newArrayList();
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            partitionValuesList.add(Lists.newArrayList(String.valueOf(i)));
+        }
+        return partitionValuesList;
+    }
+
+    // load the partition names, the partitions and the files of the table, and write them to disk
+    private void fillDiskCache(File metaDir) throws IOException {
+        List<Runnable> diskTasks = Lists.newArrayList();
+        ExternalMetaDiskCache diskCache = openDiskCache(metaDir);
+        HiveMetaStoreCache cache = new HiveMetaStoreCache(catalog, Runnable::run, diskCache, diskTasks::add);
+        runTasks(diskTasks);
+        cache.getPartitionValues("db", "tbl", Lists.newArrayList(Type.INT));
+        List<HivePartition> partitions = cache.getAllPartitions("db", "tbl", allPartitionValues());
+        Assert.assertEquals(PARTITION_NUM * 2, cache.getFilesByPartitions(partitions).size());
+        diskCache.close();
+    }
+
+    @Test
+    public void testWarmUpFromDisk() throws IOException {
+        File metaDir = new File(dir, "meta");
+        fillDiskCache(metaDir);
+        // a new file is added without changing the last ddl time, eg. by a writer bypassing the metastore
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            FileUtils.writeStringToFile(new File(dir, "dt=" + i + "/f2"), "c\n", StandardCharsets.UTF_8);
+        }
+
+        // after FE restarts, the partitions are warmed up from disk, and the partition names and the files
+        // are read from disk, so the queries do not call the metastore or list the locations
+        List<Runnable> diskTasks = Lists.newArrayList();
+        ExternalMetaDiskCache diskCache = openDiskCache(metaDir);
+        HiveMetaStoreCache cache = new HiveMetaStoreCache(catalog, Runnable::run, diskCache, diskTasks::add);
+        // only the warm up
+        diskTasks.remove(0).run();
+        HivePartitionValues partitionValues = cache.getPartitionValues("db", "tbl", Lists.newArrayList(Type.INT));
+        Assert.assertEquals(PARTITION_NUM, partitionValues.getPartitionNameToIdMap().size());
+        List<HivePartition> partitions = cache.getAllPartitions("db", "tbl", allPartitionValues());
+        Assert.assertEquals(PARTITION_NUM, partitions.size());
+        Assert.assertEquals(100 * 1000, partitions.get(0).getVersion());
+        Assert.assertEquals(PARTITION_NUM * 2, cache.getFilesByPartitions(partitions).size());
+        new Verifications() {
+            {
+                // all by fillDiskCache
+                client.listPartitionNames("db", "tbl");
+                times = 1;
+                client.getPartitionsByNames("db", "tbl", (List<String>) any);
+                times = 3;
+                client.getPartition("db", "tbl", (List<String>) any);
+                times = 0;
+            }
+        };
+
+        // the entries read from disk are checked against the metastore in background, nothing is changed
+        Assert.assertEquals(1, diskTasks.size());
+        runTasks(diskTasks);
+        Assert.assertSame(partitionValues, cache.getPartitionValues("db", "tbl", Lists.newArrayList(Type.INT)));
+        Assert.assertEquals(partitions, cache.getAllPartitions("db", "tbl", allPartitionValues()));
+        Assert.assertTrue(diskTasks.isEmpty());
+        diskCache.close();
+
+        new Verifications() {
+            {
+                client.listPartitionNames("db", "tbl");
+                times = 2;
+                // the partitions are checked by the names on disk
+                client.getPartitionsByNames("db", "tbl", (List<String>) any);
+                times = 6;
+                client.getPartition("db", "tbl", (List<String>) any);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void testDiskCache() throws IOException {
+        File metaDir = new File(dir, "meta");
+        fillDiskCache(metaDir);
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            FileUtils.writeStringToFile(new File(dir, "dt=" + i + "/f2"), "c\n", StandardCharsets.UTF_8);
+        }
+
+        // the partitions modified while FE is down are reloaded after they are checked,
+        // and the files of the new version are listed again
+        lastDdlTime = "200";
+        List<Runnable> diskTasks = Lists.newArrayList();
+        ExternalMetaDiskCache diskCache = openDiskCache(metaDir);
+        HiveMetaStoreCache cache = new HiveMetaStoreCache(catalog, Runnable::run, diskCache, diskTasks::add);
+        diskTasks.remove(0).run();
+        List<HivePartition> partitions = cache.getAllPartitions("db", "tbl", allPartitionValues());
+        Assert.assertEquals(100 * 1000, partitions.get(0).getVersion());
+        runTasks(diskTasks);
+        partitions = cache.getAllPartitions("db", "tbl", allPartitionValues());
+        for (HivePartition partition : partitions) {
+            Assert.assertEquals(200 * 1000, partition.getVersion());
+        }
+        Assert.assertEquals(PARTITION_NUM * 3, cache.getFilesByPartitions(partitions).size());
+        diskCache.close();
+
+        // the reloaded partitions are written to disk
+        diskCache = openDiskCache(metaDir);
+        cache = new HiveMetaStoreCache(catalog, Runnable::run, diskCache, diskTasks::add);
+        diskTasks.remove(0).run();
+        partitions = cache.getAllPartitions("db", "tbl", allPartitionValues());
+        Assert.assertEquals(200 * 1000, partitions.get(0).getVersion());
+        Assert.assertEquals(PARTITION_NUM * 3, cache.getFilesByPartitions(partitions).size());
+
+        // the invalidated table is removed from memory and disk
+        cache.invalidateTableCache("db", "tbl");
+        diskCache.removeByPrefix(ExternalMetaDiskCache.prefix("db", "tbl"));
+        Assert.assertEquals(0, diskCache.size());
+        diskTasks.clear();
+        cache.getAllPartitions("db", "tbl", allPartitionValues());
+        diskCache.close();
+
+        new Verifications() {
+            {
+                client.listPartitionNames("db", "tbl");
+                times = 1;
+                // 3 by fillDiskCache, 3 by the check
+                client.getPartitionsByNames("db", "tbl", (List<String>) any);
+                times = 6;
+                // the partition names are not loaded after the table is invalidated
+                client.getPartition("db", "tbl", (List<String>) any);
+                times = PARTITION_NUM;
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.journal.bdbje;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.persist.OperationType;
+
+import com.google.common.collect.Lists;
+import com.sleepycat.bind.tuple.TupleBinding;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.TransactionConfig;
+import com.sleepycat.je.rep.ReplicatedEnvironment;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BDBJEJournalBatchWriteTest {
+    @Mocked
+    private Env env;
+    @Mocked
+    private BDBEnvironment bdbEnvironment;
+    @Mocked
+    private ReplicatedEnvironment replicatedEnvironment;
+    @Mocked
+    private Database database;
+    @Mocked
+    private Transaction txn;
+
+    private BDBJEJournal journal;
+
+    @Before
+    public void setUp() {
+        new Expectations() {
+            {
+                Env.getServingEnv();
+                minTimes = 0;
+                result = env;
+
+                env.getSelfNode();
+                minTimes = 0;
+                result = Pair.of("127.0.0.1", 9010);
+
+                bdbEnvironment.getReplicatedEnvironment();
+                minTimes = 0;
+                result = replicatedEnvironment;
+
+                replicatedEnvironment.beginTransaction(null, (TransactionConfig) any);
+                minTimes = 0;
+                result = txn;
+            }
+        };
+        journal = new BDBJEJournal("test");
+        Deencapsulation.setField(journal, "bdbEnvironment", bdbEnvironment);
+        Deencapsulation.setField(journal, "currentJournalDB", database);
+    }
+
+    private static List<Pair<Short, Writable>> createEntities(short op, int num) {
+        List<Pair<Short, Writable>> entities = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            entities.add(Pair.of(op, new Text("log_" + i)));
+        }
+        return entities;
+    }
+
+    private long getNextJournalId() {
+        AtomicLong nextJournalId = Deencapsulation.getField(journal, "nextJournalId");
+        return nextJournalId.get();
+    }
+
+    @Test
+    public void testBatchWriteInOneTransaction() throws Exception {
+        new Expectations() {
+            {
+                database.put(txn, (DatabaseEntry) any, (DatabaseEntry) any);
+                result = OperationStatus.SUCCESS;
+            }
+        };
+
+        journal.batchWrite(createEntities(OperationType.OP_SAVE_NEXTID, 3));
+        journal.batchWrite(createEntities(OperationType.OP_SAVE_NEXTID, 2));
+        Assert.assertEquals(6, getNextJournalId());
+
+        new Verifications() {
+            {
+                List<DatabaseEntry> keys = Lists.newArrayList();
+                database.put(txn, withCapture(keys), (DatabaseEntry) any);
+                times = 5;
+                TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+                for (int i = 0; i < keys.size(); i++) {
+                    Assert.assertEquals(i + 1, idBinding.entryToObject(keys.get(i)).longValue());
+                }
+
+                txn.commit();
+                times = 2;
+            }
+        };
+    }
+
+    @Test
+    public void testBatchWriteEmpty() throws Exception {
+        journal.batchWrite(Lists.newArrayList());
+        Assert.assertEquals(1, getNextJournalId());
+
+        new Verifications() {
+            {
+                replicatedEnvironment.beginTransaction(null, (TransactionConfig) any);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void testTimestampBatchWriteFailed() throws Exception {
+        new Expectations() {
+            {
+                database.put(txn, (DatabaseEntry) any, (DatabaseEntry) any);
+                result = OperationStatus.KEYEXIST;
+            }
+        };
+
+        // a batch of only timestamps does not exit when failed, and the journal ids are not advanced
+        journal.batchWrite(createEntities(OperationType.OP_TIMESTAMP, 2));
+        Assert.assertEquals(1, getNextJournalId());
+
+        new Verifications() {
+            {
+                txn.commit();
+                times = 0;
+                txn.abort();
+                minTimes = 1;
+            }
+        };
+    }
+}
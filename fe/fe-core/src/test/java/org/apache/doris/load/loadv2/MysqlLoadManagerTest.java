@@ -0,0 +1,191 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.load.loadv2;
+
+import org.apache.doris.analysis.DataDescription;
+import org.apache.doris.analysis.LoadStmt;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.LoadException;
+import org.apache.doris.load.LoadJobRowResult;
+import org.apache.doris.system.Backend;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonObject;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MysqlLoadManagerTest {
+    // 10 lines of 4 bytes, which are split into 5 chunks of 8 bytes
+    private static final int LINE_NUM = 10;
+    private static final int CHUNK_NUM = 5;
+
+    @Mocked
+    private TokenManager tokenManager;
+    @Mocked
+    private DataDescription dataDesc;
+
+    private int originParallelNum;
+    private long originChunkSize;
+    private final AtomicLong nextTxnId = new AtomicLong(1);
+    // the filtered rows of each chunk
+    private volatile int filteredRowsPerChunk = 0;
+    // the nth commit fails, 0 if all succeed
+    private volatile int failedCommit = 0;
+    private final AtomicInteger commitNum = new AtomicInteger();
+    private final List<String> maxFilterRatios = Collections.synchronizedList(Lists.newArrayList());
+    private final List<Long> committedTxns = Collections.synchronizedList(Lists.newArrayList());
+    private final List<Long> abortedTxns = Collections.synchronizedList(Lists.newArrayList());
+
+    @Before
+    public void setUp() {
+        originParallelNum = Config.mysql_load_parallel_num;
+        originChunkSize = Config.mysql_load_chunk_size_bytes;
+        Config.mysql_load_parallel_num = 2;
+        Config.mysql_load_chunk_size_bytes = 8;
+
+        new MockUp<MysqlLoadManager>() {
+            @Mock
+            List<Backend> selectBackendsForMySqlLoad(int num) {
+                List<Backend> backends = Lists.newArrayList();
+                for (int i = 0; i < num; i++) {
+                    Backend backend = new Backend(i, "127.0.0.1", 9050);
+                    backend.setHttpPort(8040 + i);
+                    backends.add(backend);
+                }
+                return backends;
+            }
+
+            @Mock
+            JsonObject executeRequest(HttpPut request) throws IOException {
+                JsonObject result = new JsonObject();
+                if (request.getURI().getPath().endsWith("_stream_load_2pc")) {
+                    long txnId = Long.parseLong(request.getFirstHeader("txn_id").getValue());
+                    if (request.getFirstHeader("txn_operation").getValue().equals("abort")) {
+                        abortedTxns.add(txnId);
+                    } else if (commitNum.incrementAndGet() == failedCommit) {
+                        result.addProperty("status", "Fail");
+                        return result;
+                    } else {
+                        committedTxns.add(txnId);
+                    }
+                    result.addProperty("status", "Success");
+                    return result;
+                }
+                maxFilterRatios.add(request.getFirstHeader(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO).getValue());
+                String data = EntityUtils.toString(request.getEntity());
+                int rows = data.split("\n").length;
+                result.addProperty("Status", "Success");
+                result.addProperty("TxnId", nextTxnId.getAndIncrement());
+                result.addProperty("NumberLoadedRows", rows - filteredRowsPerChunk);
+                result.addProperty("NumberFilteredRows", filteredRowsPerChunk);
+                return result;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.mysql_load_parallel_num = originParallelNum;
+        Config.mysql_load_chunk_size_bytes = originChunkSize;
+    }
+
+    private void executeParallelLoad(LoadJobRowResult loadResult) throws Exception {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < LINE_NUM; i++) {
+            data.append(i).append(",a\n");
+        }
+        MysqlLoadManager manager = new MysqlLoadManager(tokenManager);
+        manager.executeParallelLoad(new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.UTF_8)),
+                dataDesc, "db", "tbl", "token", loadResult);
+    }
+
+    @Test
+    public void testCommitAllChunks() throws Exception {
+        LoadJobRowResult loadResult = new LoadJobRowResult();
+        executeParallelLoad(loadResult);
+        Assert.assertEquals(LINE_NUM, loadResult.getRecords());
+        Assert.assertEquals(CHUNK_NUM, committedTxns.size());
+        Assert.assertTrue(abortedTxns.isEmpty());
+    }
+
+    @Test
+    public void testCommitFailure() throws Exception {
+        failedCommit = 3;
+        try {
+            executeParallelLoad(new LoadJobRowResult());
+            Assert.fail();
+        } catch (LoadException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("the committed chunks"));
+        }
+        // the failed txn and the txns after it are aborted
+        Assert.assertEquals(2, committedTxns.size());
+        Assert.assertEquals(CHUNK_NUM - 2, abortedTxns.size());
+        Assert.assertFalse(abortedTxns.stream().anyMatch(committedTxns::contains));
+    }
+
+    @Test
+    public void testMaxFilterRatio() throws Exception {
+        Map<String, String> props = Maps.newHashMap();
+        props.put(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO, "0.4");
+        new Expectations() {
+            {
+                dataDesc.getProperties();
+                minTimes = 0;
+                result = props;
+            }
+        };
+        // 5 of 10 rows are filtered, but each chunk is loaded
+        filteredRowsPerChunk = 1;
+        try {
+            executeParallelLoad(new LoadJobRowResult());
+            Assert.fail();
+        } catch (LoadException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("too many filtered rows"));
+        }
+        Assert.assertEquals(Collections.nCopies(CHUNK_NUM, "1"), maxFilterRatios);
+        Assert.assertTrue(committedTxns.isEmpty());
+        Assert.assertEquals(CHUNK_NUM, abortedTxns.size());
+
+        // the ratio is checked over all the chunks
+        props.put(LoadStmt.KEY_IN_PARAM_MAX_FILTER_RATIO, "0.5");
+        abortedTxns.clear();
+        LoadJobRowResult loadResult = new LoadJobRowResult();
+        executeParallelLoad(loadResult);
+        Assert.assertEquals(LINE_NUM / 2, loadResult.getRecords());
+        Assert.assertEquals(LINE_NUM / 2, loadResult.getSkipped());
+        Assert.assertEquals(CHUNK_NUM, committedTxns.size());
+        Assert.assertTrue(abortedTxns.isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.loadv2;
+
+import org.apache.doris.common.io.ByteBufferNetworkInputStream;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class MysqlLoadStreamSplitterTest {
+
+    private List<String> split(String data, String delimiter, long chunkSize) throws Exception {
+        List<ByteBufferNetworkInputStream> chunks = Lists.newArrayList();
+        MysqlLoadStreamSplitter splitter = new MysqlLoadStreamSplitter(
+                delimiter.getBytes(StandardCharsets.UTF_8), chunkSize);
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        long totalBytes = splitter.split(new ByteArrayInputStream(bytes), (index, chunk) -> {
+            Assert.assertEquals(chunks.size(), index);
+            chunks.add(chunk);
+        });
+        Assert.assertEquals(bytes.length, totalBytes);
+        List<String> result = Lists.newArrayList();
+        for (ByteBufferNetworkInputStream chunk : chunks) {
+            result.add(new String(ByteStreams.toByteArray(chunk), StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    @Test
+    public void testSplitAtLineEnd() throws Exception {
+        Assert.assertEquals(Lists.newArrayList("1,a\n22,bb\n", "333,ccc\n", "4\n"),
+                split("1,a\n22,bb\n333,ccc\n4\n", "\n", 5));
+        // the last line has no delimiter
+        Assert.assertEquals(Lists.newArrayList("1,a\n22,bb\n", "333,ccc"),
+                split("1,a\n22,bb\n333,ccc", "\n", 5));
+        Assert.assertEquals(Lists.newArrayList("1,a\n22,bb\n333,ccc\n"),
+                split("1,a\n22,bb\n333,ccc\n", "\n", 1024));
+        Assert.assertEquals(Lists.newArrayList(), split("", "\n", 5));
+    }
+
+    @Test
+    public void testMultiBytesDelimiter() throws Exception {
+        Assert.assertEquals(Lists.newArrayList("1,a\r\n22,bb\r\n", "333,c\rc\r\n", "4\r\n"),
+                split("1,a\r\n22,bb\r\n333,c\rc\r\n4\r\n", "\r\n", 6));
+        // the delimiter overlaps with itself
+        Assert.assertEquals(Lists.newArrayList("12aab", "3aaab", "4"),
+                split("12aab3aaab4", "aab", 1));
+    }
+
+    @Test
+    public void testConsumerFailed() throws Exception {
+        MysqlLoadStreamSplitter splitter = new MysqlLoadStreamSplitter("\n".getBytes(StandardCharsets.UTF_8), 2);
+        ByteArrayInputStream in = new ByteArrayInputStream("1\n2\n3\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            splitter.split(in, (index, chunk) -> {
+                if (index == 1) {
+                    throw new IOException("failed");
+                }
+            });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+        Assert.assertTrue(splitter.isCancelled());
+        // the source is drained
+        Assert.assertEquals(0, in.available());
+    }
+}
@@ -0,0 +1,129 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.routineload;
+
+import org.apache.doris.common.Config;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RoutineLoadAdaptiveControllerTest {
+    private static final long INTERVAL_MS = 60 * 1000;
+
+    private boolean enabled;
+    private long now;
+
+    @Before
+    public void setUp() {
+        enabled = Config.enable_routine_load_adaptive_concurrency;
+        Config.enable_routine_load_adaptive_concurrency = true;
+        Config.routine_load_adaptive_adjust_interval_second = INTERVAL_MS / 1000;
+        Config.routine_load_adaptive_lag_high_second = 60;
+        Config.routine_load_adaptive_max_batch_scale = 4;
+        now = 0;
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_routine_load_adaptive_concurrency = enabled;
+    }
+
+    // commit rows at the rate of 1000 rows per second in the next adjust interval
+    private boolean adjust(RoutineLoadAdaptiveController controller, long lag) {
+        controller.onTaskCommitted(1000 * INTERVAL_MS / 1000, 100 * 1000 * INTERVAL_MS / 1000);
+        now += INTERVAL_MS;
+        return controller.adjust(lag, 10, 5, now);
+    }
+
+    @Test
+    public void testScaleUp() {
+        RoutineLoadAdaptiveController controller = new RoutineLoadAdaptiveController(now);
+        Assert.assertEquals(2, controller.getConcurrency(2, 5));
+        // not the time to adjust
+        Assert.assertFalse(controller.adjust(Long.MAX_VALUE, 10, 5, now + 1));
+
+        // 1000 rows per second could not consume 1000000 rows in 60 seconds
+        Assert.assertTrue(adjust(controller, 1000000));
+        Assert.assertEquals(1000, controller.getRowsRate());
+        Assert.assertEquals(100 * 1000, controller.getBytesRate());
+        Assert.assertEquals(3, controller.getConcurrency(2, 5));
+        Assert.assertEquals(400000, controller.getMaxBatchRows(200000));
+        Assert.assertEquals(10, controller.getMaxBatchIntervalS(10));
+
+        Assert.assertTrue(adjust(controller, 1000000));
+        Assert.assertTrue(adjust(controller, 1000000));
+        Assert.assertFalse(adjust(controller, 1000000));
+        // limited by the max concurrency and max batch scale
+        Assert.assertEquals(5, controller.getConcurrency(2, 5));
+        Assert.assertEquals(800000, controller.getMaxBatchRows(200000));
+        Assert.assertEquals(1024 * 1024 * 1024L, controller.getMaxBatchSizeBytes(512 * 1024 * 1024L));
+
+        // the lag could be consumed in time, nothing changed
+        Assert.assertFalse(adjust(controller, 30000));
+        Assert.assertEquals(5, controller.getConcurrency(2, 5));
+        Assert.assertEquals(800000, controller.getMaxBatchRows(200000));
+    }
+
+    @Test
+    public void testScaleDown() {
+        RoutineLoadAdaptiveController controller = new RoutineLoadAdaptiveController(now);
+        Assert.assertEquals(2, controller.getConcurrency(2, 5));
+        Assert.assertTrue(adjust(controller, 1000000));
+        Assert.assertEquals(400000, controller.getMaxBatchRows(200000));
+
+        // the lag is less than one batch, reduce the batch size first
+        Assert.assertFalse(adjust(controller, 100));
+        Assert.assertEquals(200000, controller.getMaxBatchRows(200000));
+        Assert.assertTrue(adjust(controller, 100));
+        Assert.assertEquals(2, controller.getConcurrency(2, 5));
+        Assert.assertTrue(adjust(controller, 100));
+        Assert.assertEquals(1, controller.getConcurrency(2, 5));
+
+        // then enlarge the batch interval
+        Assert.assertFalse(adjust(controller, 100));
+        Assert.assertEquals(20, controller.getMaxBatchIntervalS(10));
+        Assert.assertFalse(adjust(controller, 100));
+        Assert.assertFalse(adjust(controller, 100));
+        Assert.assertEquals(40, controller.getMaxBatchIntervalS(10));
+        Assert.assertEquals(60, controller.getMaxBatchIntervalS(30));
+
+        // shorten the batch interval first when the lag grows again
+        Assert.assertFalse(adjust(controller, 1000000));
+        Assert.assertEquals(20, controller.getMaxBatchIntervalS(10));
+        Assert.assertEquals(1, controller.getConcurrency(2, 5));
+    }
+
+    @Test
+    public void testDisabled() {
+        Config.enable_routine_load_adaptive_concurrency = false;
+        RoutineLoadAdaptiveController controller = new RoutineLoadAdaptiveController(now);
+        Assert.assertEquals(2, controller.getConcurrency(2, 5));
+        Assert.assertFalse(adjust(controller, 1000000));
+        // the throughput is still updated
+        Assert.assertEquals(1000, controller.getRowsRate());
+        Assert.assertEquals(2, controller.getConcurrency(2, 5));
+        Assert.assertEquals(200000, controller.getMaxBatchRows(200000));
+
+        // unknown lag
+        Config.enable_routine_load_adaptive_concurrency = true;
+        Assert.assertFalse(adjust(controller, -1));
+        Assert.assertEquals(2, controller.getConcurrency(2, 5));
+    }
+}
@@ -0,0 +1,192 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TBackend;
+import org.apache.doris.thrift.TDisk;
+import org.apache.doris.thrift.TReportRequest;
+import org.apache.doris.thrift.TStatusCode;
+import org.apache.doris.thrift.TTaskType;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class ReportHandlerTest {
+    private static final String HOST = "127.0.0.1";
+
+    @Mocked
+    private Env env;
+    @Mocked
+    private SystemInfoService systemInfoService;
+
+    private final Map<Long, Backend> backends = Maps.newHashMap();
+    // backend id -> root path of the processed disk reports, in processed order
+    private final Map<Long, List<String>> processedDisks = Maps.newConcurrentMap();
+
+    private int oldShardNum;
+    private int oldQueueSize;
+
+    @Before
+    public void setUp() {
+        oldShardNum = Config.report_handler_shard_num;
+        oldQueueSize = Config.report_queue_size;
+        Config.report_handler_shard_num = 2;
+
+        for (long beId = 10001; beId <= 10004; beId++) {
+            backends.put(beId, new Backend(beId, HOST, 9050));
+        }
+        new Expectations() {
+            {
+                Env.getCurrentSystemInfo();
+                minTimes = 0;
+                result = systemInfoService;
+
+                systemInfoService.getBackendWithBePort(HOST, anyInt);
+                minTimes = 0;
+                result = new Delegate<Backend>() {
+                    Backend getBackendWithBePort(String host, int bePort) {
+                        return backends.get((long) bePort);
+                    }
+                };
+
+                systemInfoService.getBackend(anyLong);
+                minTimes = 0;
+                result = new Delegate<Backend>() {
+                    Backend getBackend(long beId) {
+                        return backends.get(beId);
+                    }
+                };
+            }
+        };
+
+        new MockUp<Backend>() {
+            @Mock
+            public void updateDisks(Invocation inv, Map<String, TDisk> backendDisks) {
+                Backend backend = inv.getInvokedInstance();
+                processedDisks.computeIfAbsent(backend.getId(), k -> Collections.synchronizedList(Lists.newArrayList()))
+                        .addAll(backendDisks.keySet());
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.report_handler_shard_num = oldShardNum;
+        Config.report_queue_size = oldQueueSize;
+    }
+
+    // the be port of request is used as backend id to find the backend
+    private static TReportRequest diskReport(long beId, String rootPath) {
+        TReportRequest request = new TReportRequest(new TBackend(HOST, (int) beId, 8040));
+        request.setDisks(ImmutableMap.of(rootPath, new TDisk(rootPath, 100L, 10L, true)));
+        return request;
+    }
+
+    // a report with more than one type is never superseded
+    private static TReportRequest taskAndDiskReport(long beId, String rootPath) {
+        TReportRequest request = diskReport(beId, rootPath);
+        Map<TTaskType, Set<Long>> tasks = Maps.newHashMap();
+        request.setTasks(tasks);
+        return request;
+    }
+
+    private static int getQueueSize(ReportHandler handler) {
+        return Deencapsulation.invoke(handler, "getQueueSize");
+    }
+
+    private static TStatusCode handle(ReportHandler handler, TReportRequest request) throws Exception {
+        return handler.handleReport(request).getStatus().getStatusCode();
+    }
+
+    @Test
+    public void testQueueSizeLimit() throws Exception {
+        Config.report_queue_size = 2;
+        ReportHandler handler = new ReportHandler();
+
+        // superseded reports are removed from queue, so they do not count toward the limit
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(TStatusCode.OK, handle(handler, diskReport(10001, "/be1/" + i)));
+        }
+        Assert.assertEquals(1, getQueueSize(handler));
+        Assert.assertEquals(TStatusCode.OK, handle(handler, diskReport(10002, "/be2/0")));
+        Assert.assertEquals(TStatusCode.OK, handle(handler, diskReport(10002, "/be2/1")));
+        Assert.assertEquals(2, getQueueSize(handler));
+
+        // reports with more than one type are all kept
+        Assert.assertEquals(TStatusCode.OK, handle(handler, taskAndDiskReport(10003, "/be3/0")));
+        Assert.assertEquals(3, getQueueSize(handler));
+        Assert.assertEquals(TStatusCode.INTERNAL_ERROR, handle(handler, taskAndDiskReport(10003, "/be3/1")));
+        Assert.assertEquals(3, getQueueSize(handler));
+    }
+
+    @Test
+    public void testReportOrderAndSuperseding() throws Exception {
+        ReportHandler handler = new ReportHandler();
+
+        // 10001 and 10003 are in the same shard, 10002 and 10004 are in the other one
+        handle(handler, taskAndDiskReport(10001, "/be1/c1"));
+        handle(handler, diskReport(10002, "/be2/d1"));
+        handle(handler, taskAndDiskReport(10001, "/be1/c2"));
+        handle(handler, diskReport(10001, "/be1/d1"));
+        handle(handler, diskReport(10003, "/be3/d1"));
+        handle(handler, diskReport(10002, "/be2/d2"));
+        handle(handler, taskAndDiskReport(10001, "/be1/c3"));
+        handle(handler, diskReport(10001, "/be1/d2"));
+        handle(handler, diskReport(10004, "/be4/d1"));
+        // be1: c1, c2, c3, d2; be2: d2; be3: d1; be4: d1
+        Assert.assertEquals(7, getQueueSize(handler));
+
+        handler.start();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (processedDisks.values().stream().mapToInt(List::size).sum() < 7
+                && System.currentTimeMillis() < deadline) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+        Assert.assertEquals(0, getQueueSize(handler));
+
+        // reports of one backend are processed in order, and superseded ones are skipped
+        Assert.assertEquals(Lists.newArrayList("/be1/c1", "/be1/c2", "/be1/c3", "/be1/d2"),
+                processedDisks.get(10001L));
+        Assert.assertEquals(Lists.newArrayList("/be2/d2"), processedDisks.get(10002L));
+        Assert.assertEquals(Lists.newArrayList("/be3/d1"), processedDisks.get(10003L));
+        Assert.assertEquals(Lists.newArrayList("/be4/d1"), processedDisks.get(10004L));
+    }
+}
@@ -0,0 +1,97 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTabletInfo;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TabletReportTrackerTest {
+
+    @After
+    public void tearDown() {
+        Config.tablet_report_full_interval_second = 3600;
+    }
+
+    private static TTablet tablet(long tabletId, long version) {
+        TTabletInfo info = new TTabletInfo();
+        info.setTabletId(tabletId);
+        info.setSchemaHash(1);
+        info.setVersion(version);
+        info.setRowCount(10);
+        info.setDataSize(100);
+        return new TTablet(Lists.newArrayList(info));
+    }
+
+    private static Map<Long, TTablet> report(long... tabletIds) {
+        Map<Long, TTablet> tablets = Maps.newHashMap();
+        for (long tabletId : tabletIds) {
+            tablets.put(tabletId, tablet(tabletId, 2));
+        }
+        return tablets;
+    }
+
+    @Test
+    public void testDelta() {
+        TabletReportTracker tracker = new TabletReportTracker();
+        long backendId = 10001;
+
+        // no state of the backend, full report
+        TabletReportTracker.ReportDelta delta = tracker.prepare(backendId, report(1, 2, 3), 100);
+        Assert.assertTrue(delta.isFull());
+        Assert.assertTrue(delta.getUnchangedTablets().isEmpty());
+        tracker.commit(delta, id -> true);
+
+        Map<Long, TTablet> tablets = report(1, 2, 3, 4);
+        // version of tablet 2 changed
+        tablets.put(2L, tablet(2, 3));
+        // tablet 3 has pending transaction
+        tablets.get(3L).getTabletInfos().get(0).setTransactionIds(Lists.newArrayList(1000L));
+        delta = tracker.prepare(backendId, tablets, 101);
+        Assert.assertFalse(delta.isFull());
+        Assert.assertEquals(Sets.newHashSet(1L), delta.getUnchangedTablets());
+        tracker.commit(delta, id -> true);
+
+        delta = tracker.prepare(backendId, report(1, 2, 4), 101);
+        Assert.assertEquals(Sets.newHashSet(1L, 4L), delta.getUnchangedTablets());
+
+        // report version goes back, eg. the report is out of order
+        delta = tracker.prepare(backendId, report(1, 2, 4), 99);
+        Assert.assertTrue(delta.isFull());
+
+        // the last full report is too old
+        Config.tablet_report_full_interval_second = 0;
+        delta = tracker.prepare(backendId, report(1, 2, 4), 102);
+        Assert.assertTrue(delta.isFull());
+
+        // the state of dropped backend is removed
+        tracker.commit(delta, id -> false);
+        Config.tablet_report_full_interval_second = 3600;
+        delta = tracker.prepare(backendId, report(1, 2, 4), 103);
+        Assert.assertTrue(delta.isFull());
+    }
+}
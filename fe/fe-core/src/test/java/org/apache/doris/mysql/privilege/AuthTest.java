@@ -35,6 +35,7 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.ExceptionChecker;
 import org.apache.doris.common.UserException;
+import org.apache.doris.common.jmockit.Deencapsulation;
 import org.apache.doris.datasource.InternalCatalog;
 import org.apache.doris.persist.EditLog;
 import org.apache.doris.persist.PrivInfo;
@@ -1710,4 +1711,62 @@ public class AuthTest {
         ExceptionChecker.expectThrowsWithMsg(AnalysisException.class,
                 "Can not grant/revoke USAGE_PRIV to/from database or table", () -> grantStmt3.analyze(analyzer));
     }
+
+    @Test
+    public void testGrantRevokeInvalidateDecisionCache() throws UserException {
+        UserIdentity userIdentity = new UserIdentity("cache_user", "%");
+        CreateUserStmt createUserStmt = new CreateUserStmt(false, new UserDesc(userIdentity, "12345", true), null);
+        createUserStmt.analyze(analyzer);
+        auth.createUser(createUserStmt);
+
+        List<UserIdentity> currentUser = Lists.newArrayList();
+        auth.checkPlainPasswordForTest(SystemInfoService.DEFAULT_CLUSTER + ":cache_user", "172.1.1.1", "12345",
+                currentUser);
+        Assert.assertEquals(1, currentUser.size());
+        UserIdentity user = currentUser.get(0);
+        String db = SystemInfoService.DEFAULT_CLUSTER + ":db1";
+        PrivDecisionCache cache = Deencapsulation.getField(auth, "decisionCache");
+
+        // the result is cached
+        Assert.assertFalse(accessManager.checkTblPriv(user, db, "tbl1", PrivPredicate.SELECT));
+        Assert.assertEquals(Boolean.FALSE, cache.get(user, Auth.PrivLevel.TABLE, Auth.DEFAULT_CATALOG, db, "tbl1",
+                PrivPredicate.SELECT));
+
+        // grant invalidates the cached result
+        GrantStmt grantStmt = new GrantStmt(new UserIdentity("cache_user", "%"), null,
+                new TablePattern("db1", "tbl1"), Lists.newArrayList(AccessPrivilege.SELECT_PRIV));
+        grantStmt.analyze(analyzer);
+        auth.grant(grantStmt);
+        Assert.assertNull(cache.get(user, Auth.PrivLevel.TABLE, Auth.DEFAULT_CATALOG, db, "tbl1",
+                PrivPredicate.SELECT));
+        Assert.assertTrue(accessManager.checkTblPriv(user, db, "tbl1", PrivPredicate.SELECT));
+        Assert.assertTrue(accessManager.checkTblPriv(user, db, "tbl1", PrivPredicate.SELECT));
+
+        // revoke invalidates the cached result
+        RevokeStmt revokeStmt = new RevokeStmt(new UserIdentity("cache_user", "%"), null,
+                new TablePattern("db1", "tbl1"), Lists.newArrayList(AccessPrivilege.SELECT_PRIV));
+        revokeStmt.analyze(analyzer);
+        auth.revoke(revokeStmt);
+        Assert.assertFalse(accessManager.checkTblPriv(user, db, "tbl1", PrivPredicate.SELECT));
+
+        // granting to a role of the user invalidates the cached result too
+        CreateRoleStmt createRoleStmt = new CreateRoleStmt("cache_role");
+        createRoleStmt.analyze(analyzer);
+        auth.createRole(createRoleStmt);
+        createUserStmt = new CreateUserStmt(false,
+                new UserDesc(new UserIdentity("cache_user2", "%"), "12345", true), "cache_role");
+        createUserStmt.analyze(analyzer);
+        auth.createUser(createUserStmt);
+        currentUser.clear();
+        auth.checkPlainPasswordForTest(SystemInfoService.DEFAULT_CLUSTER + ":cache_user2", "172.1.1.1", "12345",
+                currentUser);
+        UserIdentity user2 = currentUser.get(0);
+        Assert.assertFalse(accessManager.checkTblPriv(user2, db, "tbl1", PrivPredicate.SELECT));
+        grantStmt = new GrantStmt(null, "cache_role", new TablePattern("db1", "tbl1"),
+                Lists.newArrayList(AccessPrivilege.SELECT_PRIV));
+        grantStmt.analyze(analyzer);
+        auth.grant(grantStmt);
+        Assert.assertTrue(accessManager.checkTblPriv(user2, db, "tbl1", PrivPredicate.SELECT));
+        Assert.assertFalse(accessManager.checkTblPriv(user, db, "tbl1", PrivPredicate.SELECT));
+    }
 }
@@ -0,0 +1,150 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.mysql.privilege;
+
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.mysql.privilege.Auth.PrivLevel;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class PrivTableIndexTest {
+    static final String CTL = "internal";
+
+    private static PrivBitSet privOf(int i) {
+        return i % 2 == 0 ? PrivBitSet.of(Privilege.SELECT_PRIV) : PrivBitSet.of(Privilege.LOAD_PRIV);
+    }
+
+    static TablePrivTable createTablePrivTable(int dbNum, int tblNum) throws AnalysisException, DdlException {
+        TablePrivTable table = new TablePrivTable();
+        for (int i = 0; i < dbNum; i++) {
+            for (int j = 0; j < tblNum; j++) {
+                table.addEntry(TablePrivEntry.create(CTL, "db" + i, "tbl" + j, privOf(i + j)), false, false);
+            }
+        }
+        return table;
+    }
+
+    // the privs got by matching all entries in order, as the table did before being indexed
+    static PrivBitSet getPrivsByScan(TablePrivTable table, String ctl, String db, String tbl) {
+        PrivBitSet privs = PrivBitSet.of();
+        for (PrivEntry entry : table.getEntries()) {
+            TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
+            if ((tblPrivEntry.isAnyCtl() || tblPrivEntry.getCtlPattern().match(ctl))
+                    && tblPrivEntry.getDbPattern().match(db) && tblPrivEntry.getTblPattern().match(tbl)) {
+                privs.or(tblPrivEntry.getPrivSet());
+                break;
+            }
+        }
+        return privs;
+    }
+
+    static PrivBitSet getPrivs(TablePrivTable table, String ctl, String db, String tbl) {
+        PrivBitSet privs = PrivBitSet.of();
+        table.getPrivs(ctl, db, tbl, privs);
+        return privs;
+    }
+
+    @Test
+    public void testTablePrivTable() throws Exception {
+        TablePrivTable table = createTablePrivTable(10, 10);
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            String db = "db" + random.nextInt(12);
+            String tbl = "tbl" + random.nextInt(12);
+            Assert.assertEquals(getPrivsByScan(table, CTL, db, tbl).toPrivilegeList(),
+                    getPrivs(table, CTL, db, tbl).toPrivilegeList());
+        }
+        Assert.assertTrue(getPrivs(table, CTL, "db1", "tbl1").containsPrivs(Privilege.SELECT_PRIV));
+        Assert.assertTrue(getPrivs(table, "hive", "db1", "tbl1").isEmpty());
+        Assert.assertTrue(getPrivs(table, CTL, "db1", null).isEmpty());
+
+        // the entry of any catalog is sorted before the exact one, so it is matched first
+        table.addEntry(TablePrivEntry.create("*", "db1", "tbl1", PrivBitSet.of(Privilege.ALTER_PRIV)), false, false);
+        Assert.assertEquals(Lists.newArrayList(Privilege.ALTER_PRIV),
+                getPrivs(table, CTL, "db1", "tbl1").toPrivilegeList());
+        Assert.assertEquals(getPrivsByScan(table, "hive", "db1", "tbl1").toPrivilegeList(),
+                getPrivs(table, "hive", "db1", "tbl1").toPrivilegeList());
+
+        // the index is rebuilt after the entries are changed
+        table.revoke(TablePrivEntry.create("*", "db1", "tbl1", PrivBitSet.of(Privilege.ALTER_PRIV)), true, true);
+        Assert.assertEquals(Lists.newArrayList(Privilege.LOAD_PRIV),
+                getPrivs(table, CTL, "db1", "tbl2").toPrivilegeList());
+        table.dropEntry(TablePrivEntry.create(CTL, "db1", "tbl2", PrivBitSet.of()));
+        Assert.assertTrue(getPrivs(table, CTL, "db1", "tbl2").isEmpty());
+        table.clear();
+        Assert.assertTrue(getPrivs(table, CTL, "db1", "tbl1").isEmpty());
+    }
+
+    @Test
+    public void testDbPrivTable() throws Exception {
+        DbPrivTable table = new DbPrivTable();
+        table.addEntry(DbPrivEntry.create(CTL, "db1", PrivBitSet.of(Privilege.SELECT_PRIV)), false, false);
+        table.addEntry(DbPrivEntry.create(CTL, "db2", PrivBitSet.of(Privilege.LOAD_PRIV)), false, false);
+        PrivBitSet privs = PrivBitSet.of();
+        table.getPrivs(CTL, "db1", privs);
+        Assert.assertEquals(Lists.newArrayList(Privilege.SELECT_PRIV), privs.toPrivilegeList());
+
+        table.addEntry(DbPrivEntry.create("*", "*", PrivBitSet.of(Privilege.ALTER_PRIV)), false, false);
+        privs = PrivBitSet.of();
+        table.getPrivs(CTL, "db2", privs);
+        Assert.assertEquals(Lists.newArrayList(Privilege.ALTER_PRIV), privs.toPrivilegeList());
+        privs = PrivBitSet.of();
+        table.getPrivs("hive", "db3", privs);
+        Assert.assertEquals(Lists.newArrayList(Privilege.ALTER_PRIV), privs.toPrivilegeList());
+    }
+
+    @Test
+    public void testCatalogPrivTable() throws Exception {
+        CatalogPrivTable table = new CatalogPrivTable();
+        table.addEntry(CatalogPrivEntry.create("hive", PrivBitSet.of(Privilege.SELECT_PRIV)), false, false);
+        PrivBitSet privs = PrivBitSet.of();
+        table.getPrivs("hive", privs);
+        Assert.assertEquals(Lists.newArrayList(Privilege.SELECT_PRIV), privs.toPrivilegeList());
+        privs = PrivBitSet.of();
+        table.getPrivs(CTL, privs);
+        Assert.assertTrue(privs.isEmpty());
+    }
+
+    @Test
+    public void testDecisionCache() {
+        UserIdentity user = UserIdentity.createAnalyzedUserIdentWithIp("user1", "%");
+        PrivDecisionCache cache = new PrivDecisionCache(10);
+        Assert.assertNull(cache.get(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT));
+        cache.put(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT, true);
+        cache.put(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.LOAD, false);
+        Assert.assertEquals(Boolean.TRUE, cache.get(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT));
+        Assert.assertEquals(Boolean.FALSE, cache.get(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.LOAD));
+        Assert.assertNull(cache.get(user, PrivLevel.DATABASE, CTL, "db1", null, PrivPredicate.SELECT));
+        UserIdentity user2 = UserIdentity.createAnalyzedUserIdentWithIp("user2", "%");
+        Assert.assertNull(cache.get(user2, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT));
+
+        cache.invalidateAll();
+        Assert.assertNull(cache.get(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT));
+        cache.put(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT, false);
+        Assert.assertEquals(Boolean.FALSE, cache.get(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT));
+
+        PrivDecisionCache disabled = new PrivDecisionCache(0);
+        disabled.put(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT, true);
+        Assert.assertNull(disabled.get(user, PrivLevel.TABLE, CTL, "db1", "tbl1", PrivPredicate.SELECT));
+    }
+}
@@ -0,0 +1,160 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.nereids.cache;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.nereids.NereidsPlanner;
+import org.apache.doris.nereids.StatementContext;
+import org.apache.doris.nereids.analyzer.UnboundRelation;
+import org.apache.doris.nereids.datasets.ssb.SSBTestBase;
+import org.apache.doris.nereids.parser.NereidsParser;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.trees.plans.commands.ExplainCommand.ExplainLevel;
+import org.apache.doris.nereids.trees.plans.physical.PhysicalPlan;
+import org.apache.doris.nereids.util.MemoTestUtils;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NereidsPlanCacheTest extends SSBTestBase {
+    private static final String SQL = "SELECT s_suppkey FROM supplier WHERE s_suppkey > 10";
+
+    private final NereidsParser parser = new NereidsParser();
+    private final NereidsPlanCache planCache = NereidsPlanCache.getInstance();
+
+    @BeforeEach
+    public void setUp() {
+        planCache.invalidateAll();
+        // return the default statistics without loading them, so that the plans are cacheable
+        connectContext.getSessionVariable().internalSession = true;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        planCache.invalidateAll();
+        connectContext.getSessionVariable().internalSession = false;
+    }
+
+    private NereidsPlanner plan(String sql, PlanCacheKey key, CachedPlan cachedPlan) {
+        StatementContext statementContext = MemoTestUtils.createStatementContext(connectContext, sql);
+        statementContext.setPlanCacheKey(key);
+        statementContext.setCachedPlan(cachedPlan);
+        NereidsPlanner planner = new NereidsPlanner(statementContext);
+        planner.plan(parser.parseSingle(sql), PhysicalProperties.GATHER);
+        return planner;
+    }
+
+    private static boolean isAnalyzed(NereidsPlanner planner) {
+        return !planner.getCascadesContext().getMemo().copyOut(false).anyMatch(UnboundRelation.class::isInstance);
+    }
+
+    @Test
+    public void testCacheHit() {
+        PlanCacheKey key = PlanCacheKey.of(connectContext, SQL);
+        NereidsPlanner planner = plan(SQL, key, null);
+        Assertions.assertTrue(isAnalyzed(planner));
+        CachedPlan cachedPlan = planCache.get(key);
+        Assertions.assertNotNull(cachedPlan);
+        Assertions.assertTrue(cachedPlan.usesTable(getSupplier().getId()));
+
+        // the cached plan is used without analyzing, and the new ids don't conflict with the cached plan
+        planner = plan(SQL, key, null);
+        Assertions.assertFalse(isAnalyzed(planner));
+        Assertions.assertTrue(planner.getCascadesContext().getStatementContext().getNextExprIdValue()
+                >= cachedPlan.getNextExprIdValue());
+        Assertions.assertSame(cachedPlan, planCache.get(key));
+
+        // a different statement is not hit
+        String sql = "SELECT s_suppkey FROM supplier WHERE s_suppkey > 20";
+        Assertions.assertTrue(isAnalyzed(plan(sql, PlanCacheKey.of(connectContext, sql), null)));
+        Assertions.assertEquals(2, planCache.size());
+    }
+
+    @Test
+    public void testStalePlan() {
+        PlanCacheKey key = PlanCacheKey.of(connectContext, SQL);
+        plan(SQL, key, null);
+        CachedPlan cachedPlan = planCache.get(key);
+        CachedPlan stalePlan = new CachedPlan(cachedPlan.getParsedPlan(), cachedPlan.getPhysicalPlan(),
+                ImmutableMap.of(getSupplier().getId(), "changed"), cachedPlan.getNextExprIdValue(),
+                cachedPlan.getNextRelationIdValue());
+
+        // the table is changed since the plan is cached, so plan again and replace the stale plan
+        NereidsPlanner planner = plan(SQL, key, stalePlan);
+        Assertions.assertTrue(isAnalyzed(planner));
+        Assertions.assertNotNull(planCache.get(key));
+        Assertions.assertNotSame(stalePlan, planCache.get(key));
+    }
+
+    @Test
+    public void testNotCacheable() {
+        String sql = "SELECT s_suppkey, uuid() FROM supplier";
+        plan(sql, PlanCacheKey.of(connectContext, sql), null);
+        Assertions.assertEquals(0, planCache.size());
+
+        // the statistics are not loaded
+        StatementContext statementContext = MemoTestUtils.createStatementContext(connectContext, SQL);
+        statementContext.setPlanCacheKey(PlanCacheKey.of(connectContext, SQL));
+        statementContext.setStatisticsNotReady();
+        PhysicalPlan physicalPlan = new NereidsPlanner(statementContext)
+                .plan(parser.parseSingle(SQL), PhysicalProperties.GATHER);
+        Assertions.assertNotNull(physicalPlan);
+        Assertions.assertEquals(0, planCache.size());
+
+        // the plans of explain are not cached
+        statementContext = MemoTestUtils.createStatementContext(connectContext, SQL);
+        statementContext.setPlanCacheKey(PlanCacheKey.of(connectContext, SQL));
+        new NereidsPlanner(statementContext)
+                .plan(parser.parseSingle(SQL), PhysicalProperties.GATHER, ExplainLevel.OPTIMIZED_PLAN);
+        Assertions.assertEquals(0, planCache.size());
+    }
+
+    @Test
+    public void testInvalidateTable() {
+        PlanCacheKey key = PlanCacheKey.of(connectContext, SQL);
+        plan(SQL, key, null);
+        Assertions.assertEquals(1, planCache.size());
+        planCache.invalidateTable(getSupplier().getId() + 1);
+        Assertions.assertNotNull(planCache.get(key));
+        planCache.invalidateTable(getSupplier().getId());
+        Assertions.assertNull(planCache.get(key));
+    }
+
+    @Test
+    public void testSignature() {
+        OlapTable supplier = getSupplier();
+        Assertions.assertEquals(CachedPlan.signatureOf(supplier), CachedPlan.signatureOf(supplier));
+        Assertions.assertNotEquals(CachedPlan.signatureOf(supplier), CachedPlan.signatureOf(getLineorder()));
+    }
+
+    private OlapTable getSupplier() {
+        return getTable("supplier");
+    }
+
+    private OlapTable getLineorder() {
+        return getTable("lineorder");
+    }
+
+    private OlapTable getTable(String name) {
+        return (OlapTable) Env.getCurrentInternalCatalog().getDbNullable("default_cluster:test")
+                .getTableNullable(name);
+    }
+}
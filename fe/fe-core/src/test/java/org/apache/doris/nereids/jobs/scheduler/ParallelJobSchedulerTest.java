@@ -0,0 +1,53 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.datasets.tpch.TPCHTestBase;
+import org.apache.doris.nereids.datasets.tpch.TPCHUtils;
+import org.apache.doris.nereids.util.PlanChecker;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParallelJobSchedulerTest extends TPCHTestBase {
+    @AfterEach
+    public void resetSessionVariable() {
+        connectContext.getSessionVariable().setEnableNereidsParallelOptimize(false);
+    }
+
+    private String optimize(String sql, boolean parallel) {
+        connectContext.getSessionVariable().setEnableNereidsParallelOptimize(parallel);
+        PlanChecker checker = PlanChecker.from(connectContext)
+                .analyze(sql)
+                .rewrite()
+                .optimize();
+        Assertions.assertEquals(parallel ? ParallelJobScheduler.class : SimpleJobScheduler.class,
+                checker.getCascadesContext().getJobScheduler().getClass());
+        // the expr ids generated by the prefetched and abandoned transforms are not the same as serial
+        return checker.getBestPlanTree().treeString().replaceAll("#\\d+", "#");
+    }
+
+    @Test
+    public void testSamePlanAsSerial() {
+        for (String sql : ImmutableList.of(TPCHUtils.Q3, TPCHUtils.Q5, TPCHUtils.Q7)) {
+            Assertions.assertEquals(optimize(sql, false), optimize(sql, true));
+        }
+    }
+}
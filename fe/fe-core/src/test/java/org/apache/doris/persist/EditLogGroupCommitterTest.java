@@ -0,0 +1,101 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist;
+
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class EditLogGroupCommitterTest {
+
+    @Test
+    public void testGroupCommit() throws InterruptedException {
+        List<String> written = Collections.synchronizedList(Lists.newArrayList());
+        // log -> journal id
+        Map<String, Long> journalIds = Maps.newConcurrentMap();
+        AtomicLong nextJournalId = new AtomicLong(1);
+        AtomicInteger batchNum = new AtomicInteger(0);
+        new MockUp<EditLog>() {
+            @Mock
+            public void $init(String nodeName) {
+            }
+
+            @Mock
+            void logEditBatch(List<Pair<Short, Writable>> entities) {
+                batchNum.incrementAndGet();
+                for (Pair<Short, Writable> entity : entities) {
+                    String log = entity.second.toString();
+                    written.add(log);
+                    Assert.assertNull(journalIds.put(log, nextJournalId.getAndIncrement()));
+                }
+                // simulate the sync of bdb, so that the submitters pile up in the queue
+                Uninterruptibles.sleepUninterruptibly(2, TimeUnit.MILLISECONDS);
+            }
+        };
+
+        EditLogGroupCommitter committer = new EditLogGroupCommitter(new EditLog("test"));
+        int threadNum = 8;
+        int logPerThread = 100;
+        CountDownLatch latch = new CountDownLatch(threadNum);
+        for (int i = 0; i < threadNum; i++) {
+            int threadId = i;
+            new Thread(() -> {
+                for (int j = 0; j < logPerThread; j++) {
+                    committer.submit(OperationType.OP_SAVE_NEXTID, new Text(threadId + "_" + j));
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+
+        Assert.assertEquals(threadNum * logPerThread, written.size());
+        // the concurrent submits must be grouped into batches
+        Assert.assertTrue(batchNum.get() < threadNum * logPerThread);
+        Assert.assertEquals(0, committer.getQueueSize());
+        // every log is written exactly once, with consecutive journal ids in the written order
+        Assert.assertEquals(threadNum * logPerThread, journalIds.size());
+        for (int i = 0; i < written.size(); i++) {
+            Assert.assertEquals(i + 1, journalIds.get(written.get(i)).longValue());
+        }
+        // the entries of one thread must keep their submit order
+        for (int i = 0; i < threadNum; i++) {
+            long lastJournalId = 0;
+            for (int j = 0; j < logPerThread; j++) {
+                long journalId = journalIds.get(i + "_" + j);
+                Assert.assertTrue(journalId > lastJournalId);
+                lastJournalId = journalId;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class IncrementalImageWriteTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("db1");
+        createTable("CREATE TABLE db1.tbl1 (k1 int, k2 int) DISTRIBUTED BY HASH(k1) BUCKETS 3 "
+                + "PROPERTIES ('replication_num' = '1');");
+    }
+
+    @Test
+    public void testWriteIncrementally() throws Exception {
+        File baseImage = saveImage();
+        MetaFooter baseFooter = MetaFooter.read(baseImage);
+
+        // load the modules to rewrite from base image, like incremental checkpoint does
+        Set<String> loadedModules = PersistMetaModules.getDependencyClosure(Sets.newHashSet("db"));
+        long loadedChecksum = readModules(baseImage, loadedModules);
+        long copiedChecksum = baseFooter.checksum ^ loadedChecksum;
+
+        // only change the db module
+        createDatabase("db2");
+        createTable("CREATE TABLE db2.tbl1 (k1 int, k2 int) DISTRIBUTED BY HASH(k1) BUCKETS 2 "
+                + "PROPERTIES ('replication_num' = '1');");
+
+        File incrementalImage = newImageFile();
+        MetaWriter.writeIncrementally(incrementalImage, Env.getCurrentEnv(), baseImage, loadedModules,
+                copiedChecksum);
+        File fullImage = saveImage();
+
+        MetaFooter incrementalFooter = MetaFooter.read(incrementalImage);
+        MetaFooter fullFooter = MetaFooter.read(fullImage);
+        Assertions.assertEquals(fullFooter.checksum, incrementalFooter.checksum);
+        Assertions.assertEquals(getModuleNames(fullFooter), getModuleNames(incrementalFooter));
+        Assertions.assertEquals(getModuleNames(baseFooter), getModuleNames(incrementalFooter));
+
+        // the copied modules, including the last one, are the same as base image
+        List<String> moduleNames = getModuleNames(incrementalFooter);
+        Assertions.assertFalse(loadedModules.contains(moduleNames.get(moduleNames.size() - 1)));
+        for (String name : moduleNames) {
+            if (name.equals("header") || loadedModules.contains(name)) {
+                continue;
+            }
+            Assertions.assertArrayEquals(readModuleBytes(baseImage, name), readModuleBytes(incrementalImage, name),
+                    name);
+        }
+
+        // the checksum is checked against the footer when loading
+        Env env = Deencapsulation.newInstance(Env.class);
+        MetaContext metaContext = new MetaContext();
+        metaContext.setThreadLocalInfo();
+        try {
+            MetaReader.read(incrementalImage, env);
+        } finally {
+            MetaContext.remove();
+        }
+        Assertions.assertEquals(Sets.newHashSet(Env.getCurrentInternalCatalog().getDbNames()),
+                Sets.newHashSet(env.getInternalCatalog().getDbNames()));
+        Database db = env.getInternalCatalog().getDbNullable(DEFAULT_CLUSTER_PREFIX + "db2");
+        Assertions.assertNotNull(db);
+        Assertions.assertEquals(Env.getCurrentInternalCatalog().getDbNullable(DEFAULT_CLUSTER_PREFIX + "db2")
+                .getTableNullable("tbl1").getId(), db.getTableNullable("tbl1").getId());
+    }
+
+    private long readModules(File image, Set<String> modules) throws Exception {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setThreadLocalInfo();
+        try {
+            return MetaReader.readModules(image, Deencapsulation.newInstance(Env.class), modules);
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    private File newImageFile() throws IOException {
+        File image = File.createTempFile("image", null, new File(runningDir));
+        image.deleteOnExit();
+        return image;
+    }
+
+    private File saveImage() throws IOException {
+        File image = newImageFile();
+        MetaWriter.write(image, Env.getCurrentEnv());
+        return image;
+    }
+
+    private static List<String> getModuleNames(MetaFooter footer) {
+        return footer.metaIndices.stream().map(index -> index.name).collect(Collectors.toList());
+    }
+
+    private static byte[] readModuleBytes(File image, String name) throws IOException {
+        MetaFooter footer = MetaFooter.read(image);
+        for (int i = 0; i < footer.metaIndices.size(); i++) {
+            if (!footer.metaIndices.get(i).name.equals(name)) {
+                continue;
+            }
+            long start = footer.metaIndices.get(i).offset;
+            long end = i + 1 < footer.metaIndices.size() ? footer.metaIndices.get(i + 1).offset
+                    : footer.getBodyEnd(image.length());
+            byte[] bytes = new byte[(int) (end - start)];
+            try (RandomAccessFile raf = new RandomAccessFile(image, "r")) {
+                raf.seek(start);
+                raf.readFully(bytes);
+            }
+            return bytes;
+        }
+        throw new IOException("module " + name + " not found in " + image);
+    }
+}
@@ -0,0 +1,192 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class ParallelImageLoadTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("db1");
+        createDatabase("db2");
+        createTables("CREATE TABLE db1.tbl1 (k1 int, k2 int) DISTRIBUTED BY HASH(k1) BUCKETS 3 "
+                        + "PROPERTIES ('replication_num' = '1');",
+                "CREATE TABLE db1.tbl2 (k1 int, k2 varchar(10)) DISTRIBUTED BY HASH(k1) BUCKETS 2 "
+                        + "PROPERTIES ('replication_num' = '1');",
+                "CREATE TABLE db2.tbl1 (k1 int, k2 int) DUPLICATE KEY(k1) PARTITION BY RANGE(k2) "
+                        + "(PARTITION p1 VALUES LESS THAN ('10'), PARTITION p2 VALUES LESS THAN ('20')) "
+                        + "DISTRIBUTED BY HASH(k1) BUCKETS 2 PROPERTIES ('replication_num' = '1');");
+    }
+
+    @Test
+    public void testParallelLoadSameAsSerial() throws Exception {
+        File image = saveImage(Env.getCurrentEnv());
+        Env serialEnv = loadImage(image, false);
+        Env parallelEnv = loadImage(image, true);
+
+        Assertions.assertEquals(getCatalogState(Env.getCurrentEnv()), getCatalogState(serialEnv));
+        Assertions.assertEquals(getCatalogState(serialEnv), getCatalogState(parallelEnv));
+        Assertions.assertEquals(Env.getCurrentSystemInfo().getBackendIds(false),
+                parallelEnv.getClusterInfo().getBackendIds(false));
+
+        // the images saved from both envs should be the same
+        long serialChecksum = MetaFooter.read(saveImage(serialEnv)).checksum;
+        long parallelChecksum = MetaFooter.read(saveImage(parallelEnv)).checksum;
+        Assertions.assertEquals(serialChecksum, parallelChecksum);
+    }
+
+    @Test
+    public void testModuleDependencies() throws Exception {
+        File image = saveImage(Env.getCurrentEnv());
+        List<String> events = Collections.synchronizedList(Lists.newArrayList());
+        // slow down the modules which others depend on, so a module scheduled too early is caught
+        new MockUp<Env>() {
+            @Mock
+            public long loadCatalog(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "datasource", true);
+            }
+
+            @Mock
+            public long loadDb(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "db", true);
+            }
+
+            @Mock
+            public long loadRecycleBin(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "recycleBin", true);
+            }
+
+            @Mock
+            public long loadAlterJob(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "alterJob", false);
+            }
+
+            @Mock
+            public long loadTransactionState(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "transactionState", true);
+            }
+
+            @Mock
+            public long loadLoadJobsV2(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "loadJobV2", false);
+            }
+
+            @Mock
+            public long loadResources(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "resources", true);
+            }
+
+            @Mock
+            public long loadPolicy(Invocation inv, DataInputStream dis, long checksum) {
+                return record(inv, "policy", false);
+            }
+
+            private long record(Invocation inv, String module, boolean slow) {
+                events.add("start:" + module);
+                if (slow) {
+                    Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+                }
+                long checksum = inv.proceed();
+                events.add("end:" + module);
+                return checksum;
+            }
+        };
+
+        Env parallelEnv = loadImage(image, true);
+        Assertions.assertEquals(getCatalogState(Env.getCurrentEnv()), getCatalogState(parallelEnv));
+
+        int checkedNum = 0;
+        for (Map.Entry<String, List<String>> entry : PersistMetaModules.MODULE_DEPENDENCIES.entrySet()) {
+            int start = events.indexOf("start:" + entry.getKey());
+            if (start < 0) {
+                continue;
+            }
+            for (String dependency : entry.getValue()) {
+                int end = events.indexOf("end:" + dependency);
+                if (end < 0) {
+                    continue;
+                }
+                Assertions.assertTrue(end < start, entry.getKey() + " loaded before " + dependency + ": " + events);
+                checkedNum++;
+            }
+        }
+        // db -> datasource, alterJob -> db, recycleBin -> db, transactionState -> db/recycleBin,
+        // loadJobV2 -> db/transactionState, policy -> resources
+        Assertions.assertEquals(8, checkedNum, events.toString());
+    }
+
+    private File saveImage(Env env) throws Exception {
+        File image = File.createTempFile("image", null, new File(runningDir));
+        image.deleteOnExit();
+        MetaWriter.write(image, env);
+        return image;
+    }
+
+    private Env loadImage(File image, boolean parallel) throws Exception {
+        boolean oldParallel = Config.enable_parallel_image_load;
+        Config.enable_parallel_image_load = parallel;
+        MetaContext metaContext = new MetaContext();
+        metaContext.setThreadLocalInfo();
+        try {
+            Env env = Deencapsulation.newInstance(Env.class);
+            // checksum of the loaded image is checked against the footer in MetaReader.read()
+            MetaReader.read(image, env);
+            return env;
+        } finally {
+            Config.enable_parallel_image_load = oldParallel;
+            MetaContext.remove();
+        }
+    }
+
+    // db name -> table name -> table id
+    private static Map<String, Map<String, Long>> getCatalogState(Env env) {
+        Map<String, Map<String, Long>> state = Maps.newTreeMap();
+        for (long dbId : env.getInternalCatalog().getDbIds()) {
+            Database db = env.getInternalCatalog().getDbNullable(dbId);
+            Map<String, Long> tables = db.getTables().stream()
+                    .collect(Collectors.toMap(Table::getName, Table::getId, (a, b) -> a, Maps::newTreeMap));
+            tables.put("__db_id", db.getId());
+            state.put(db.getFullName(), tables);
+        }
+        return state;
+    }
+}
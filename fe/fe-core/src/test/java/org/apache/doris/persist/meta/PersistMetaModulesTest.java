@@ -0,0 +1,57 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class PersistMetaModulesTest {
+
+    @Test
+    public void testModuleDependencies() {
+        for (String name : PersistMetaModules.MODULE_NAMES) {
+            List<String> dependencies = PersistMetaModules.MODULE_DEPENDENCIES.get(name);
+            Assert.assertNotNull(name, dependencies);
+            // a module can only depend on the modules written before it
+            for (String dependency : dependencies) {
+                Assert.assertTrue(name + " -> " + dependency, PersistMetaModules.MODULE_NAMES.indexOf(dependency)
+                        < PersistMetaModules.MODULE_NAMES.indexOf(name));
+            }
+        }
+        for (List<String> modules : PersistMetaModules.OP_MODULES.values()) {
+            Assert.assertTrue(PersistMetaModules.MODULE_NAMES.containsAll(modules));
+        }
+    }
+
+    @Test
+    public void testDependencyClosure() {
+        Set<String> closure = PersistMetaModules.getDependencyClosure(Sets.newHashSet("paloAuth"));
+        Assert.assertEquals(Sets.newHashSet("paloAuth"), closure);
+
+        closure = PersistMetaModules.getDependencyClosure(Sets.newHashSet("loadJobV2"));
+        Assert.assertEquals(Sets.newHashSet("loadJobV2", "transactionState", "recycleBin", "db", "datasource"),
+                closure);
+
+        closure = PersistMetaModules.getDependencyClosure(Sets.newHashSet());
+        Assert.assertTrue(closure.isEmpty());
+    }
+}
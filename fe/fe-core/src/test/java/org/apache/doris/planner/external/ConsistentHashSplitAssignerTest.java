@@ -0,0 +1,95 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external;
+
+import org.apache.doris.system.Backend;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ConsistentHashSplitAssignerTest {
+    private static final int SPLIT_NUM = 1000;
+    private static final long SPLIT_SIZE = 64L * 1024 * 1024;
+
+    private List<Backend> createBackends(int num) {
+        List<Backend> backends = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            backends.add(new Backend(10000 + i, "192.168.0." + i, 9050));
+        }
+        return backends;
+    }
+
+    private List<Long> assign(List<Backend> backends, double maxLoadFactor) {
+        ConsistentHashSplitAssigner assigner = new ConsistentHashSplitAssigner(backends, SPLIT_NUM * SPLIT_SIZE,
+                256, maxLoadFactor);
+        List<Long> assignment = Lists.newArrayList();
+        for (int i = 0; i < SPLIT_NUM; i++) {
+            assignment.add(assigner.assign("hdfs://nn/warehouse/t/file_" + (i / 4), (i % 4) * SPLIT_SIZE,
+                    SPLIT_SIZE).getId());
+        }
+        return assignment;
+    }
+
+    @Test
+    public void testStableAssignment() {
+        List<Backend> backends = createBackends(5);
+        List<Long> first = assign(backends, 0.25);
+        // the order of backends does not matter
+        Assert.assertEquals(first, assign(Lists.reverse(backends), 0.25));
+    }
+
+    @Test
+    public void testBoundedLoad() {
+        List<Backend> backends = createBackends(5);
+        ConsistentHashSplitAssigner assigner = new ConsistentHashSplitAssigner(backends, SPLIT_NUM * SPLIT_SIZE,
+                256, 0.1);
+        for (int i = 0; i < SPLIT_NUM; i++) {
+            assigner.assign("hdfs://nn/warehouse/t/file_" + i, 0, SPLIT_SIZE);
+        }
+        Assert.assertTrue(assigner.getSkew() <= 1.1 + 1e-6);
+    }
+
+    @Test
+    public void testBackendMembershipChange() {
+        List<Backend> backends = createBackends(5);
+        // without the bounded load, only the splits of the removed backend are moved
+        List<Long> before = assign(backends, 100);
+        long removedId = backends.remove(2).getId();
+        List<Long> after = assign(backends, 100);
+        for (int i = 0; i < SPLIT_NUM; i++) {
+            if (before.get(i) != removedId) {
+                Assert.assertEquals(before.get(i), after.get(i));
+            } else {
+                Assert.assertNotEquals(removedId, (long) after.get(i));
+            }
+        }
+
+        // with the bounded load, most splits are still assigned to the same backend
+        before = assign(createBackends(5), 0.25);
+        after = assign(backends, 0.25);
+        int moved = 0;
+        for (int i = 0; i < SPLIT_NUM; i++) {
+            if (!before.get(i).equals(after.get(i))) {
+                moved++;
+            }
+        }
+        Assert.assertTrue(moved < SPLIT_NUM / 2);
+    }
+}
@@ -0,0 +1,181 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external;
+
+import org.apache.doris.common.UserException;
+import org.apache.doris.thrift.TFileRangeDesc;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class SplitSourceTest {
+    private static TFileRangeDesc toRangeDesc(InputSplit split) {
+        FileSplit fileSplit = (FileSplit) split;
+        TFileRangeDesc rangeDesc = new TFileRangeDesc();
+        rangeDesc.setPath(fileSplit.getPath().toString());
+        rangeDesc.setStartOffset(fileSplit.getStart());
+        rangeDesc.setSize(fileSplit.getLength());
+        return rangeDesc;
+    }
+
+    private static List<InputSplit> createSplits(int num) {
+        List<InputSplit> splits = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            splits.add(new FileSplit(new Path("hdfs://nn/warehouse/t/file_" + i), 0, 1024, new String[0]));
+        }
+        return splits;
+    }
+
+    @Test
+    public void testFetchInBatches() throws UserException {
+        SplitSource splitSource = new SplitSource(createSplits(10).iterator(), SplitSourceTest::toRangeDesc);
+        List<TFileRangeDesc> fetched = Lists.newArrayList();
+        List<TFileRangeDesc> batch;
+        while (!(batch = splitSource.getNextBatch(3)).isEmpty()) {
+            Assert.assertTrue(batch.size() <= 3);
+            fetched.addAll(batch);
+        }
+        Assert.assertEquals(10, fetched.size());
+        Assert.assertEquals(10, splitSource.getFetchedSplitNum());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("hdfs://nn/warehouse/t/file_" + i, fetched.get(i).getPath());
+        }
+        Assert.assertTrue(splitSource.getNextBatch(3).isEmpty());
+    }
+
+    @Test
+    public void testLazyEnumeration() throws UserException {
+        List<Integer> listed = Lists.newArrayList();
+        // list the splits of a partition only when the splits of the previous partitions are consumed
+        Iterator<InputSplit> splits = Iterators.concat(Iterators.transform(Lists.newArrayList(0, 1, 2).iterator(),
+                partition -> {
+                    listed.add(partition);
+                    return createSplits(4).iterator();
+                }));
+        // prefetch at most 2 splits in the current thread
+        SplitSource splitSource = new SplitSource(splits, SplitSourceTest::toRangeDesc, Runnable::run, 2);
+        Assert.assertTrue(listed.isEmpty());
+        Assert.assertEquals(2, splitSource.getNextBatch(2).size());
+        Assert.assertEquals(Lists.newArrayList(0), listed);
+        // only the prefetched splits are returned
+        Assert.assertEquals(2, splitSource.getNextBatch(4).size());
+        Assert.assertEquals(Lists.newArrayList(0, 1), listed);
+    }
+
+    @Test
+    public void testFailure() {
+        Iterator<InputSplit> splits = Iterators.concat(createSplits(2).iterator(),
+                Iterators.transform(Lists.newArrayList(0).iterator(), i -> {
+                    throw new RuntimeException("failed to list files");
+                }));
+        SplitSource splitSource = new SplitSource(splits, SplitSourceTest::toRangeDesc, Runnable::run, 10);
+        for (int i = 0; i < 2; i++) {
+            try {
+                splitSource.getNextBatch(10);
+                Assert.fail();
+            } catch (UserException e) {
+                Assert.assertTrue(e.getMessage().contains("failed to list files"));
+            }
+        }
+    }
+
+    @Test
+    public void testRetry() throws UserException {
+        SplitSource splitSource = new SplitSource(createSplits(10).iterator(), SplitSourceTest::toRangeDesc,
+                Runnable::run, 4);
+        List<TFileRangeDesc> batch = splitSource.getNextBatch("s1", 0, 3);
+        Assert.assertEquals(3, batch.size());
+        // the retried fetch gets the same batch
+        Assert.assertEquals(batch, splitSource.getNextBatch("s1", 0, 3));
+        Assert.assertEquals(3, splitSource.getFetchedSplitNum());
+        try {
+            splitSource.getNextBatch("s1", 2, 3);
+            Assert.fail();
+        } catch (UserException e) {
+            Assert.assertTrue(e.getMessage().contains("invalid batch seq"));
+        }
+
+        // every split is fetched once by the scanners
+        Set<String> fetched = Sets.newHashSet();
+        batch.forEach(split -> fetched.add(split.getPath()));
+        long seq1 = 1;
+        long seq2 = 0;
+        while (true) {
+            List<TFileRangeDesc> batch1 = splitSource.getNextBatch("s1", seq1++, 3);
+            List<TFileRangeDesc> batch2 = splitSource.getNextBatch("s2", seq2, 3);
+            // s2 does not receive its batch and retries
+            Assert.assertEquals(batch2, splitSource.getNextBatch("s2", seq2++, 3));
+            batch1.forEach(split -> Assert.assertTrue(fetched.add(split.getPath())));
+            batch2.forEach(split -> Assert.assertTrue(fetched.add(split.getPath())));
+            if (batch1.isEmpty() && batch2.isEmpty()) {
+                break;
+            }
+        }
+        Assert.assertEquals(10, fetched.size());
+        Assert.assertEquals(10, splitSource.getFetchedSplitNum());
+    }
+
+    @Test
+    public void testFetchWhileListing() throws Exception {
+        CountDownLatch listed = new CountDownLatch(1);
+        // the splits of the second partition are listed slowly
+        Iterator<InputSplit> splits = Iterators.concat(createSplits(2).iterator(),
+                Iterators.concat(Iterators.transform(Lists.newArrayList(0).iterator(), i -> {
+                    Uninterruptibles.awaitUninterruptibly(listed);
+                    return createSplits(2).iterator();
+                })));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SplitSource splitSource = new SplitSource(splits, SplitSourceTest::toRangeDesc, executor, 10);
+            // the enumerated splits are fetched without waiting for the listing
+            int fetched = splitSource.getNextBatch(10).size();
+            Assert.assertTrue(fetched > 0);
+            listed.countDown();
+            List<TFileRangeDesc> batch;
+            while (!(batch = splitSource.getNextBatch(10)).isEmpty()) {
+                fetched += batch.size();
+            }
+            Assert.assertEquals(4, fetched);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testManager() {
+        SplitSourceManager manager = new SplitSourceManager();
+        SplitSource splitSource = new SplitSource(createSplits(1).iterator(), SplitSourceTest::toRangeDesc);
+        long id = manager.registerSplitSource(splitSource);
+        Assert.assertEquals(id, splitSource.getId());
+        Assert.assertSame(splitSource, manager.getSplitSource(id));
+        Assert.assertNull(manager.getSplitSource(id + 1));
+    }
+}
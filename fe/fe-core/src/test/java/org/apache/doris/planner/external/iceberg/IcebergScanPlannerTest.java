@@ -0,0 +1,153 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.planner.external.iceberg;
+
+import org.apache.doris.common.UserException;
+import org.apache.doris.datasource.iceberg.IcebergManifestCache;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+
+public class IcebergScanPlannerTest {
+    private static final int PARTITION_NUM = 4;
+    private static final long CATALOG_ID = 1;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Table table;
+
+    @Before
+    public void setUp() throws IOException {
+        Schema schema = new Schema(Types.NestedField.required(1, "id", Types.IntegerType.get()),
+                Types.NestedField.required(2, "dt", Types.StringType.get()));
+        PartitionSpec spec = PartitionSpec.builderFor(schema).identity("dt").build();
+        table = new HadoopTables(new Configuration()).create(schema, spec,
+                folder.newFolder("tbl").getAbsolutePath());
+        // one manifest for each partition
+        for (int i = 0; i < PARTITION_NUM; i++) {
+            table.newAppend().appendFile(DataFiles.builder(spec)
+                    .withPath("/data/dt=" + i + "/file.parquet")
+                    .withFileSizeInBytes(1024)
+                    .withRecordCount(10)
+                    .withPartitionPath("dt=" + i)
+                    .build()).commit();
+        }
+    }
+
+    private IcebergScanPlanner plan(TableScan scan, IcebergManifestCache cache, int expectedFileNum)
+            throws IOException, UserException {
+        return plan(CATALOG_ID, scan, cache, expectedFileNum);
+    }
+
+    private IcebergScanPlanner plan(long catalogId, TableScan scan, IcebergManifestCache cache, int expectedFileNum)
+            throws IOException, UserException {
+        IcebergScanPlanner planner = new IcebergScanPlanner(catalogId, table, scan, cache);
+        List<DataFile> files = planner.planDataFiles(
+                cache.getManifests(catalogId, scan.snapshot(), table.io()).getDataManifests());
+        Assert.assertEquals(expectedFileNum, files.size());
+        return planner;
+    }
+
+    @Test
+    public void testPruneManifests() throws IOException, UserException {
+        IcebergManifestCache cache = new IcebergManifestCache();
+        IcebergScanPlanner planner = plan(table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(PARTITION_NUM, planner.getTotalManifestNum());
+        Assert.assertEquals(0, planner.getSkippedManifestNum());
+
+        planner = plan(table.newScan().filter(Expressions.equal("dt", "1")), cache, 1);
+        Assert.assertEquals(PARTITION_NUM, planner.getTotalManifestNum());
+        Assert.assertEquals(1, planner.getScannedManifestNum());
+        Assert.assertEquals(PARTITION_NUM - 1, planner.getSkippedManifestNum());
+    }
+
+    @Test
+    public void testCacheManifests() throws IOException, UserException {
+        IcebergManifestCache cache = new IcebergManifestCache();
+        IcebergScanPlanner planner = plan(table.newScan().filter(Expressions.equal("dt", "1")), cache, 1);
+        Assert.assertEquals(0, planner.getCachedManifestNum());
+
+        planner = plan(table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(1, planner.getCachedManifestNum());
+        planner = plan(table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(PARTITION_NUM, planner.getCachedManifestNum());
+
+        // the manifests of a new snapshot are read, and the existing ones are still cached
+        table.newAppend().appendFile(DataFiles.builder(table.spec())
+                .withPath("/data/dt=0/file2.parquet")
+                .withFileSizeInBytes(1024)
+                .withRecordCount(10)
+                .withPartitionPath("dt=0")
+                .build()).commit();
+        planner = plan(table.newScan(), cache, PARTITION_NUM + 1);
+        Assert.assertEquals(PARTITION_NUM + 1, planner.getTotalManifestNum());
+        Assert.assertEquals(PARTITION_NUM, planner.getCachedManifestNum());
+    }
+
+    @Test
+    public void testInvalidateCatalog() throws IOException, UserException {
+        IcebergManifestCache cache = new IcebergManifestCache();
+        plan(table.newScan(), cache, PARTITION_NUM);
+        // the same manifests read by another catalog are cached separately
+        IcebergScanPlanner planner = plan(CATALOG_ID + 1, table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(0, planner.getCachedManifestNum());
+        Assert.assertEquals(2 * PARTITION_NUM, cache.getCachedManifestNum());
+
+        cache.invalidateCatalog(CATALOG_ID);
+        Assert.assertEquals(PARTITION_NUM, cache.getCachedManifestNum());
+        planner = plan(table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(0, planner.getCachedManifestNum());
+        planner = plan(CATALOG_ID + 1, table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(PARTITION_NUM, planner.getCachedManifestNum());
+    }
+
+    @Test
+    public void testWeighByBytes() throws IOException, UserException {
+        IcebergManifestCache cache = new IcebergManifestCache();
+        plan(table.newScan(), cache, PARTITION_NUM);
+        long weight = cache.getDataFilesWeight();
+        Assert.assertTrue(weight > 0);
+
+        // the cache only holds the manifests fitting in the bytes limit
+        cache = new IcebergManifestCache(weight / 2);
+        plan(table.newScan(), cache, PARTITION_NUM);
+        Assert.assertTrue(cache.getCachedManifestNum() < PARTITION_NUM);
+        Assert.assertTrue(cache.getDataFilesWeight() <= weight / 2);
+
+        cache = new IcebergManifestCache(0);
+        plan(table.newScan(), cache, PARTITION_NUM);
+        IcebergScanPlanner planner = plan(table.newScan(), cache, PARTITION_NUM);
+        Assert.assertEquals(0, planner.getCachedManifestNum());
+    }
+}
@@ -0,0 +1,81 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.thrift.PaloInternalServiceVersion;
+import org.apache.doris.thrift.TDataPartition;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TExecPlanFragmentParamsList;
+import org.apache.doris.thrift.TPartitionType;
+import org.apache.doris.thrift.TPlanFragment;
+
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PreSerializedPlanFragmentTest {
+
+    private TExecPlanFragmentParamsList createParams(TPlanFragment fragment) {
+        fragment.setPartition(new TDataPartition(TPartitionType.UNPARTITIONED));
+        fragment.setMinReservationBytes(1024);
+        TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
+        for (int i = 0; i < 3; i++) {
+            TExecPlanFragmentParams params = new TExecPlanFragmentParams();
+            params.setProtocolVersion(PaloInternalServiceVersion.V1);
+            params.setFragment(fragment);
+            params.setBackendNum(i);
+            paramsList.addToParamsList(params);
+        }
+        return paramsList;
+    }
+
+    private void testProtocol(TProtocolFactory factory) throws Exception {
+        PreSerializedPlanFragment.SerializeStats stats = new PreSerializedPlanFragment.SerializeStats();
+        TExecPlanFragmentParamsList expected = createParams(new TPlanFragment());
+        TExecPlanFragmentParamsList shared = createParams(new PreSerializedPlanFragment(stats));
+
+        byte[] expectedBytes = new TSerializer(factory).serialize(expected);
+        byte[] sharedBytes = new TSerializer(factory).serialize(shared);
+        Assert.assertArrayEquals(expectedBytes, sharedBytes);
+        Assert.assertEquals(1, stats.getSerializeNum());
+        Assert.assertEquals(2, stats.getReuseNum());
+
+        // serialize again, all the fragments are reused
+        Assert.assertArrayEquals(expectedBytes, new TSerializer(factory).serialize(shared));
+        Assert.assertEquals(1, stats.getSerializeNum());
+        Assert.assertEquals(5, stats.getReuseNum());
+
+        TExecPlanFragmentParamsList deserialized = new TExecPlanFragmentParamsList();
+        new TDeserializer(factory).deserialize(deserialized, sharedBytes);
+        Assert.assertEquals(expected, deserialized);
+    }
+
+    @Test
+    public void testBinaryProtocol() throws Exception {
+        testProtocol(new TBinaryProtocol.Factory());
+    }
+
+    @Test
+    public void testCompactProtocol() throws Exception {
+        testProtocol(new TCompactProtocol.Factory());
+    }
+}
@@ -0,0 +1,134 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheFeProxyTest {
+    private static final Types.PUniqueId SQL_KEY = CacheProxy.getMd5("select * from t");
+
+    @After
+    public void tearDown() {
+        Config.cache_fe_result_max_bytes = 1024 * 1024;
+    }
+
+    private static InternalService.PCacheParam param(long partitionKey, long version) {
+        return InternalService.PCacheParam.newBuilder()
+                .setPartitionKey(partitionKey)
+                .setLastVersion(version)
+                .setLastVersionTime(version * 1000)
+                .build();
+    }
+
+    private static InternalService.PCacheValue value(long partitionKey, long version, String row) {
+        return InternalService.PCacheValue.newBuilder()
+                .setParam(param(partitionKey, version))
+                .setDataSize(row.length())
+                .addRows(ByteString.copyFromUtf8(row))
+                .build();
+    }
+
+    private static void update(CacheFeProxy proxy, InternalService.CacheType cacheType,
+            InternalService.PCacheValue... values) {
+        InternalService.PUpdateCacheRequest.Builder request = InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(SQL_KEY)
+                .setCacheType(cacheType);
+        for (InternalService.PCacheValue value : values) {
+            request.addValues(value);
+        }
+        proxy.updateCache(request.build(), CacheProxy.UPDATE_TIMEOUT, new Status());
+    }
+
+    private static InternalService.PFetchCacheResult fetch(CacheFeProxy proxy, InternalService.PCacheParam... params) {
+        InternalService.PFetchCacheRequest.Builder request = InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(SQL_KEY);
+        for (InternalService.PCacheParam param : params) {
+            request.addParams(param);
+        }
+        return proxy.fetchCache(request.build(), CacheProxy.FETCH_TIMEOUT, new Status());
+    }
+
+    @Test
+    public void testSqlCache() {
+        CacheFeProxy proxy = new CacheFeProxy(1024 * 1024);
+        Assert.assertNull(fetch(proxy, param(1, 2)));
+        update(proxy, InternalService.CacheType.SQL_CACHE, value(1, 2, "row1"));
+
+        InternalService.PFetchCacheResult result = fetch(proxy, param(1, 2));
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, result.getStatus());
+        Assert.assertEquals("row1", result.getValues(0).getRows(0).toStringUtf8());
+        // the partition is updated
+        Assert.assertNull(fetch(proxy, param(1, 3)));
+
+        // the latest partition is changed, and the old value is replaced
+        update(proxy, InternalService.CacheType.SQL_CACHE, value(2, 3, "row2"));
+        Assert.assertNull(fetch(proxy, param(1, 2)));
+        Assert.assertEquals("row2", fetch(proxy, param(2, 3)).getValues(0).getRows(0).toStringUtf8());
+    }
+
+    @Test
+    public void testPartitionCache() {
+        CacheFeProxy proxy = new CacheFeProxy(1024 * 1024);
+        update(proxy, InternalService.CacheType.PARTITION_CACHE, value(1, 1, "p1"), value(2, 1, "p2"));
+        update(proxy, InternalService.CacheType.PARTITION_CACHE, value(3, 1, "p3"));
+
+        InternalService.PFetchCacheResult result = fetch(proxy, param(1, 1), param(2, 1), param(3, 1));
+        Assert.assertEquals(3, result.getValuesCount());
+        Assert.assertEquals("p3", result.getValues(2).getRows(0).toStringUtf8());
+        // only hit if all partitions are hit
+        Assert.assertNull(fetch(proxy, param(1, 1), param(2, 2), param(3, 1)));
+        Assert.assertNull(fetch(proxy, param(1, 1), param(4, 1)));
+    }
+
+    @Test
+    public void testLimit() {
+        Config.cache_fe_result_max_bytes = 4;
+        CacheFeProxy proxy = new CacheFeProxy(1024 * 1024);
+        update(proxy, InternalService.CacheType.SQL_CACHE, value(1, 1, "large row"));
+        Assert.assertNull(fetch(proxy, param(1, 1)));
+
+        // the results are evicted when the cache is full
+        Config.cache_fe_result_max_bytes = 1024 * 1024;
+        proxy = new CacheFeProxy(1024);
+        for (int i = 0; i < 100; i++) {
+            update(proxy, InternalService.CacheType.PARTITION_CACHE, value(i, 1, "row" + i));
+        }
+        proxy.clearCache(InternalService.PClearCacheRequest.newBuilder()
+                .setClearType(InternalService.PClearType.PRUNE_CACHE).build());
+        Assert.assertNull(fetch(proxy, param(0, 1)));
+    }
+
+    @Test
+    public void testClear() {
+        CacheFeProxy proxy = new CacheFeProxy(1024 * 1024);
+        update(proxy, InternalService.CacheType.SQL_CACHE, value(1, 1, "row1"));
+        proxy.clearCache(InternalService.PClearCacheRequest.newBuilder()
+                .setClearType(InternalService.PClearType.CLEAR_BEFORE_TIME).setBeforeTime(500).build());
+        Assert.assertNotNull(fetch(proxy, param(1, 1)));
+        proxy.clearCache(InternalService.PClearCacheRequest.newBuilder()
+                .setClearType(InternalService.PClearType.CLEAR_ALL).build());
+        Assert.assertNull(fetch(proxy, param(1, 1)));
+    }
+}
@@ -0,0 +1,247 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Env;
+import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisMethod;
+import org.apache.doris.statistics.AnalysisTaskInfo.AnalysisType;
+import org.apache.doris.statistics.AnalysisTaskInfo.JobType;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OlapMultiColumnAnalysisTaskTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("multi_column_analyze_test");
+        connectContext.setDatabase(SystemInfoService.DEFAULT_CLUSTER + ":" + "multi_column_analyze_test");
+        createTable("CREATE TABLE t1 (col1 int not null, col2 varchar(10), col3 int not null)\n"
+                + "DISTRIBUTED BY HASH(col3)\n"
+                + "BUCKETS 1\n"
+                + "PROPERTIES(\n"
+                + "    \"replication_num\"=\"1\"\n"
+                + ");");
+        createTable("CREATE TABLE t2 (col1 int not null, col2 varchar(10), col3 int not null)\n"
+                + "PARTITION BY RANGE(col1)\n"
+                + "(PARTITION p1 VALUES LESS THAN (\"10\"), PARTITION p2 VALUES LESS THAN (\"20\"))\n"
+                + "DISTRIBUTED BY HASH(col3)\n"
+                + "BUCKETS 1\n"
+                + "PROPERTIES(\n"
+                + "    \"replication_num\"=\"1\"\n"
+                + ");");
+    }
+
+    private List<AnalysisTaskInfo> buildInfos(String tblName, AnalysisType type, int samplePercent) {
+        List<AnalysisTaskInfo> infos = new ArrayList<>();
+        for (String colName : Lists.newArrayList("col1", "col2", "col3")) {
+            infos.add(new AnalysisTaskInfoBuilder().setJobId(0).setTaskId(infos.size())
+                    .setCatalogName("internal").setDbName("default_cluster:multi_column_analyze_test")
+                    .setTblName(tblName).setColName(colName).setJobType(JobType.MANUAL)
+                    .setAnalysisMethod(samplePercent < 100 ? AnalysisMethod.SAMPLE : AnalysisMethod.FULL)
+                    .setSamplePercent(samplePercent).setAnalysisType(type).build());
+        }
+        return infos;
+    }
+
+    private static ResultRow columnStatsRow(boolean partitionLevel) {
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        if (partitionLevel) {
+            columns.add("row_count");
+            values.add("100");
+        }
+        for (int i = 0; i < 3; i++) {
+            columns.add("ndv_" + i);
+            values.add("10");
+            if (partitionLevel) {
+                columns.add("null_count_" + i);
+                values.add("1");
+                columns.add("data_size_" + i);
+                values.add("400");
+            }
+            columns.add("min_" + i);
+            values.add(i == 1 ? "it's" : "1");
+            columns.add("max_" + i);
+            values.add(null);
+        }
+        return new ResultRow(columns, null, values);
+    }
+
+    private void mockCache() {
+        new MockUp<StatisticsCache>() {
+
+            @Mock
+            public void refreshSync(long tblId, long idxId, String colName) {
+            }
+        };
+    }
+
+    @Test
+    public void testSinglePartition() throws Exception {
+        mockCache();
+        List<String> queries = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        new MockUp<OlapMultiColumnAnalysisTask>() {
+
+            @Mock
+            public List<ResultRow> execQuery(String sql) {
+                queries.add(sql);
+                return Collections.singletonList(columnStatsRow(true));
+            }
+
+            @Mock
+            public void execSQL(String sql) {
+                updates.add(sql);
+            }
+        };
+        new OlapMultiColumnAnalysisTask(Env.getCurrentEnv().getAnalysisManager().taskScheduler,
+                buildInfos("t1", AnalysisType.COLUMN, 100)).execute();
+        // the table statistics are merged from the only partition, without scanning the table again
+        Assertions.assertEquals(1, queries.size());
+        Assertions.assertTrue(queries.get(0).contains("NDV(`col1`) AS ndv_0"));
+        Assertions.assertTrue(queries.get(0).contains("MAX(`col3`) AS max_2"));
+        Assertions.assertFalse(queries.get(0).contains("TABLESAMPLE"));
+        Assertions.assertEquals(1, updates.size());
+        String insert = updates.get(0);
+        // 3 partition rows and 3 table rows
+        Assertions.assertEquals(6, insert.split("NOW\\(\\)").length - 1);
+        Assertions.assertTrue(insert.contains("'it\\'s'"));
+        Assertions.assertTrue(insert.contains("-col2', "));
+    }
+
+    @Test
+    public void testSampledPartitions() throws Exception {
+        mockCache();
+        List<String> queries = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        new MockUp<OlapMultiColumnAnalysisTask>() {
+
+            @Mock
+            public List<ResultRow> execQuery(String sql) {
+                queries.add(sql);
+                return Collections.singletonList(columnStatsRow(sql.contains("PARTITION")));
+            }
+
+            @Mock
+            public void execSQL(String sql) {
+                updates.add(sql);
+            }
+        };
+        new OlapMultiColumnAnalysisTask(Env.getCurrentEnv().getAnalysisManager().taskScheduler,
+                buildInfos("t2", AnalysisType.COLUMN, 10)).execute();
+        // one scan for each partition, and one more scan for the ndv of the table
+        Assertions.assertEquals(3, queries.size());
+        queries.forEach(sql -> Assertions.assertTrue(sql.contains("TABLESAMPLE (10 PERCENT)")));
+        Assertions.assertEquals(1, updates.size());
+        Assertions.assertEquals(9, updates.get(0).split("NOW\\(\\)").length - 1);
+        // the row count of the partition is scaled by the sample percent, and summed up to the table
+        Assertions.assertTrue(updates.get(0).contains("NULL, 2000, 10, 20, "));
+    }
+
+    @Test
+    public void testChangedPartitions() throws Exception {
+        mockCache();
+        long p1 = Env.getCurrentInternalCatalog().getDbOrAnalysisException("default_cluster:multi_column_analyze_test")
+                .getTableOrAnalysisException("t2").getPartition("p1").getId();
+        new MockUp<StatisticsRepository>() {
+
+            @Mock
+            public List<ResultRow> queryPartitionStatistics(long tblId) {
+                List<ResultRow> rows = new ArrayList<>();
+                for (String colName : Lists.newArrayList("col1", "col2", "col3")) {
+                    rows.add(new ResultRow(
+                            Lists.newArrayList("col_id", "part_id", "count", "ndv", "null_count", "min", "max",
+                                    "data_size_in_bytes"), null,
+                            Lists.newArrayList(colName, String.valueOf(p1), "50", "5", "0", "1", "9", "200")));
+                }
+                return rows;
+            }
+        };
+        List<String> queries = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        new MockUp<OlapMultiColumnAnalysisTask>() {
+
+            @Mock
+            public List<ResultRow> execQuery(String sql) {
+                queries.add(sql);
+                return Collections.singletonList(columnStatsRow(sql.contains("PARTITION")));
+            }
+
+            @Mock
+            public void execSQL(String sql) {
+                updates.add(sql);
+            }
+        };
+        List<AnalysisTaskInfo> infos = new ArrayList<>();
+        for (String colName : Lists.newArrayList("col1", "col2", "col3")) {
+            infos.add(new AnalysisTaskInfoBuilder().setJobId(1).setTaskId(infos.size())
+                    .setCatalogName("internal").setDbName("default_cluster:multi_column_analyze_test")
+                    .setTblName("t2").setColName(colName).setJobType(JobType.SYSTEM)
+                    .setAnalysisMethod(AnalysisMethod.FULL).setAnalysisType(AnalysisType.COLUMN)
+                    .setPartitionNames(Sets.newHashSet("p2")).build());
+        }
+        new OlapMultiColumnAnalysisTask(Env.getCurrentEnv().getAnalysisManager().taskScheduler, infos).execute();
+        // only p2 is scanned, and the table is scanned for the ndv
+        Assertions.assertEquals(2, queries.size());
+        Assertions.assertTrue(queries.get(0).contains("PARTITION `p2`"));
+        // 3 rows of p2 and 3 rows of the table
+        Assertions.assertEquals(6, updates.get(0).split("NOW\\(\\)").length - 1);
+        // the row count of the table is merged from the analyzed p1 and the scanned p2
+        Assertions.assertTrue(updates.get(0).contains("NULL, 150, 10, 1, "));
+    }
+
+    @Test
+    public void testHistograms() throws Exception {
+        mockCache();
+        List<String> queries = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        new MockUp<OlapMultiColumnAnalysisTask>() {
+
+            @Mock
+            public List<ResultRow> execQuery(String sql) {
+                queries.add(sql);
+                List<String> columns = Lists.newArrayList("histogram_0", "histogram_1", "histogram_2");
+                List<String> values = Lists.newArrayList("{}", "{}", "{}");
+                return Collections.singletonList(new ResultRow(columns, null, values));
+            }
+
+            @Mock
+            public void execSQL(String sql) {
+                updates.add(sql);
+            }
+        };
+        new OlapMultiColumnAnalysisTask(Env.getCurrentEnv().getAnalysisManager().taskScheduler,
+                buildInfos("t2", AnalysisType.HISTOGRAM, 100)).execute();
+        Assertions.assertEquals(1, queries.size());
+        Assertions.assertTrue(queries.get(0).contains("HISTOGRAM(`col2`, 1, 128) AS histogram_1"));
+        Assertions.assertTrue(queries.get(0).contains("TABLESAMPLE (20 PERCENT)"));
+        Assertions.assertEquals(1, updates.size());
+        Assertions.assertEquals(3, updates.get(0).split("NOW\\(\\)").length - 1);
+    }
+}
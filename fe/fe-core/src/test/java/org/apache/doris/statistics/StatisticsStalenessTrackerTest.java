@@ -0,0 +1,224 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.Env;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.load.routineload.RLTaskTxnCommitAttachment;
+import org.apache.doris.statistics.StatisticsStalenessTracker.TableChange;
+import org.apache.doris.statistics.util.InternalQueryResult.ResultRow;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.transaction.PartitionCommitInfo;
+import org.apache.doris.transaction.TableCommitInfo;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class StatisticsStalenessTrackerTest extends TestWithFeService {
+
+    private Database db;
+    private OlapTable table;
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        Config.enable_incremental_statistics = true;
+        createDatabase("staleness_test");
+        connectContext.setDatabase(SystemInfoService.DEFAULT_CLUSTER + ":" + "staleness_test");
+        createTable("CREATE TABLE t1 (col1 int not null, col2 int not null)\n"
+                + "PARTITION BY RANGE(col1)\n"
+                + "(PARTITION p1 VALUES LESS THAN (\"10\"), PARTITION p2 VALUES LESS THAN (\"20\"))\n"
+                + "DISTRIBUTED BY HASH(col2)\n"
+                + "BUCKETS 1\n"
+                + "PROPERTIES(\n"
+                + "    \"replication_num\"=\"1\"\n"
+                + ");");
+        db = Env.getCurrentInternalCatalog().getDbOrAnalysisException("default_cluster:staleness_test");
+        table = (OlapTable) db.getTableOrAnalysisException("t1");
+    }
+
+    @Override
+    protected void runAfterAll() throws Exception {
+        Config.enable_incremental_statistics = false;
+    }
+
+    private TransactionState buildTransaction(long loadedRows, Partition... partitions) {
+        TransactionState transactionState = new TransactionState();
+        TableCommitInfo tableCommitInfo = new TableCommitInfo(table.getId());
+        for (Partition partition : partitions) {
+            tableCommitInfo.addPartitionCommitInfo(new PartitionCommitInfo(partition.getId(), 2, 0));
+        }
+        transactionState.putIdToTableCommitInfo(table.getId(), tableCommitInfo);
+        RLTaskTxnCommitAttachment attachment = new RLTaskTxnCommitAttachment();
+        Deencapsulation.setField(attachment, "loadedRows", loadedRows);
+        transactionState.setTxnCommitAttachment(attachment);
+        return transactionState;
+    }
+
+    private static ResultRow statsRow(String colName, long partId, long count) {
+        return new ResultRow(Lists.newArrayList("col_id", "part_id", "count"), null,
+                Lists.newArrayList(colName, String.valueOf(partId), String.valueOf(count)));
+    }
+
+    @Test
+    public void testTrackAndReanalyze() throws Exception {
+        Partition p1 = table.getPartition("p1");
+        Partition p2 = table.getPartition("p2");
+        StatisticsStalenessTracker tracker = new StatisticsStalenessTracker();
+        tracker.onTransactionVisible(buildTransaction(1000, p1, p2), db);
+        tracker.onTransactionVisible(buildTransaction(100, p2), db);
+        TableChange change = tracker.getChangedTables().get(table.getId());
+        Assertions.assertEquals(500L, change.getChangedRows().get(p1.getId()));
+        Assertions.assertEquals(600L, change.getChangedRows().get(p2.getId()));
+        Assertions.assertEquals(1100L, tracker.getLoadedRows().get(table.getId()));
+
+        new MockUp<StatisticsRepository>() {
+
+            @Mock
+            public List<ResultRow> queryPartitionStatistics(long tblId) {
+                return Lists.newArrayList(statsRow("col1", p1.getId(), 10000), statsRow("col1", p2.getId(), 1000),
+                        statsRow("col2", p1.getId(), 10000), statsRow("col2", p2.getId(), 1000));
+            }
+        };
+        List<Set<String>> analyzedPartitions = new ArrayList<>();
+        Set<String> analyzedColumns = new HashSet<>();
+        new MockUp<AnalysisManager>() {
+
+            @Mock
+            public void createSystemAnalysisJob(String db, String tbl, Collection<String> colNames,
+                    Set<String> partitionNames) {
+                analyzedColumns.addAll(colNames);
+                analyzedPartitions.add(partitionNames);
+            }
+        };
+        tracker.checkStaleness(table.getId(), change);
+        // only p2 changed more than 20% of its analyzed rows
+        Assertions.assertEquals(1, analyzedPartitions.size());
+        Assertions.assertEquals(Sets.newHashSet("p2"), analyzedPartitions.get(0));
+        Assertions.assertEquals(Sets.newHashSet("col1", "col2"), analyzedColumns);
+        Assertions.assertEquals(1, change.getChangedRows().size());
+        Assertions.assertTrue(tracker.getChangedTables().containsKey(table.getId()));
+    }
+
+    @Test
+    public void testPendingPartitions() throws Exception {
+        Partition p2 = table.getPartition("p2");
+        StatisticsStalenessTracker tracker = new StatisticsStalenessTracker();
+        tracker.onTransactionVisible(buildTransaction(1000, p2), db);
+        new MockUp<StatisticsRepository>() {
+
+            @Mock
+            public List<ResultRow> queryPartitionStatistics(long tblId) {
+                return Lists.newArrayList(statsRow("col1", p2.getId(), 1000));
+            }
+        };
+        List<Set<String>> analyzedPartitions = new ArrayList<>();
+        new MockUp<AnalysisManager>() {
+
+            @Mock
+            public Set<String> getPendingSystemAnalysisPartitions(String db, String tbl) {
+                return Sets.newHashSet("p2");
+            }
+
+            @Mock
+            public void createSystemAnalysisJob(String db, String tbl, Collection<String> colNames,
+                    Set<String> partitionNames) {
+                analyzedPartitions.add(partitionNames);
+            }
+        };
+        // p2 is not submitted again, and is checked again later
+        TableChange change = tracker.getChangedTables().get(table.getId());
+        tracker.checkStaleness(table.getId(), change);
+        Assertions.assertTrue(analyzedPartitions.isEmpty());
+        Assertions.assertEquals(1000L, change.getChangedRows().get(p2.getId()));
+    }
+
+    @Test
+    public void testNotMaster() {
+        new MockUp<Env>() {
+
+            @Mock
+            public boolean isMaster() {
+                return false;
+            }
+        };
+        StatisticsStalenessTracker tracker = new StatisticsStalenessTracker();
+        tracker.onTransactionVisible(buildTransaction(1000, table.getPartition("p1")), db);
+        // the statistics cache is still updated on the non-master FE
+        Assertions.assertTrue(tracker.getChangedTables().isEmpty());
+        Assertions.assertEquals(1000L, tracker.getLoadedRows().get(table.getId()));
+    }
+
+    @Test
+    public void testNotAnalyzedTable() throws Exception {
+        StatisticsStalenessTracker tracker = new StatisticsStalenessTracker();
+        tracker.onTransactionVisible(buildTransaction(1000, table.getPartition("p1")), db);
+        new MockUp<StatisticsRepository>() {
+
+            @Mock
+            public List<ResultRow> queryPartitionStatistics(long tblId) {
+                return new ArrayList<>();
+            }
+        };
+        tracker.checkStaleness(table.getId(), tracker.getChangedTables().get(table.getId()));
+        Assertions.assertTrue(tracker.getChangedTables().isEmpty());
+    }
+
+    @Test
+    public void testUpdateCache() {
+        StatisticsCache cache = Env.getCurrentEnv().getStatisticsCache();
+        ColumnStatistic columnStatistic = new ColumnStatisticBuilder().setCount(100).setNdv(10).setNumNulls(10)
+                .setDataSize(400).setAvgSizeByte(4).setIsUnknown(false).build();
+        cache.updateCache(table.getId(), -1, "col2", new Statistic(Histogram.DEFAULT, columnStatistic));
+        StatisticsStalenessTracker tracker = new StatisticsStalenessTracker();
+        tracker.onTransactionVisible(buildTransaction(100, table.getPartition("p1")), db);
+        // the cache is updated by the daemon, not by publishing the transaction
+        Assertions.assertEquals(100, cache.getColumnStatistics(table.getId(), "col2").count);
+        tracker.updateCache();
+        Assertions.assertEquals(200, cache.getColumnStatistics(table.getId(), "col2").count);
+        Assertions.assertTrue(tracker.getLoadedRows().isEmpty());
+    }
+
+    @Test
+    public void testAddLoadedRows() {
+        StatisticsCache cache = new StatisticsCache();
+        ColumnStatistic columnStatistic = new ColumnStatisticBuilder().setCount(100).setNdv(10).setNumNulls(10)
+                .setDataSize(400).setAvgSizeByte(4).setIsUnknown(false).build();
+        cache.updateCache(table.getId(), -1, "col1", new Statistic(Histogram.DEFAULT, columnStatistic));
+        cache.addLoadedRows(table.getId(), 100);
+        ColumnStatistic updated = cache.getColumnStatistics(table.getId(), "col1");
+        Assertions.assertEquals(200, updated.count);
+        Assertions.assertEquals(20, updated.numNulls);
+        Assertions.assertEquals(800, updated.dataSize);
+        Assertions.assertEquals(10, updated.ndv);
+    }
+}
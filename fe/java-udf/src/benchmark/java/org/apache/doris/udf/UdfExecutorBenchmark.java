@@ -0,0 +1,147 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.udf;
+
+import org.apache.doris.thrift.TFunction;
+import org.apache.doris.thrift.TFunctionBinaryType;
+import org.apache.doris.thrift.TFunctionName;
+import org.apache.doris.thrift.TJavaUdfExecutorCtorParams;
+import org.apache.doris.thrift.TPrimitiveType;
+import org.apache.doris.thrift.TScalarFunction;
+import org.apache.doris.thrift.TScalarType;
+import org.apache.doris.thrift.TTypeDesc;
+import org.apache.doris.thrift.TTypeNode;
+import org.apache.doris.thrift.TTypeNodeType;
+
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Compares the throughput of the java udf execution paths on an int addition:
+ * the reflection path which allocates the arguments of every row, the method handle path with reused
+ * arguments used by row udfs now, and the batch udf.
+ * It is compiled with the tests by the benchmark profile, and run with the test classpath, eg.
+ * {@code mvn test-compile exec:java -Pbenchmark -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.apache.doris.udf.UdfExecutorBenchmark -Dexec.args="[batchSize] [rounds]"}.
+ */
+public class UdfExecutorBenchmark {
+    private static final int WARMUP_ROUNDS = 2000;
+
+    private final int batchSize;
+    private final long outputBuffer;
+    private final long outputNull;
+    private final TJavaUdfExecutorCtorParams params;
+
+    private UdfExecutorBenchmark(int batchSize) {
+        this.batchSize = batchSize;
+        params = new TJavaUdfExecutorCtorParams();
+        long batchSizePtr = UdfUtils.UNSAFE.allocateMemory(4);
+        UdfUtils.UNSAFE.putInt(batchSizePtr, batchSize);
+        params.setBatchSizePtr(batchSizePtr);
+
+        long outputBufferPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        long outputNullPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        outputBuffer = UdfUtils.UNSAFE.allocateMemory(4L * batchSize);
+        outputNull = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        UdfUtils.UNSAFE.putLong(outputBufferPtr, outputBuffer);
+        UdfUtils.UNSAFE.putLong(outputNullPtr, outputNull);
+        params.setOutputBufferPtr(outputBufferPtr);
+        params.setOutputNullPtr(outputNullPtr);
+
+        long inputBufferPtr = UdfUtils.UNSAFE.allocateMemory(16);
+        long inputNullPtr = UdfUtils.UNSAFE.allocateMemory(16);
+        for (int col = 0; col < 2; col++) {
+            long inputBuffer = UdfUtils.UNSAFE.allocateMemory(4L * batchSize);
+            long inputNull = UdfUtils.UNSAFE.allocateMemory(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                UdfUtils.UNSAFE.putInt(inputBuffer + 4L * i, i);
+                UdfUtils.UNSAFE.putByte(inputNull + i, i % 10 == 0 ? (byte) 1 : 0);
+            }
+            UdfUtils.UNSAFE.putLong(inputBufferPtr + 8L * col, inputBuffer);
+            UdfUtils.UNSAFE.putLong(inputNullPtr + 8L * col, inputNull);
+        }
+        params.setInputBufferPtrs(inputBufferPtr);
+        params.setInputNullsPtrs(inputNullPtr);
+        params.setInputOffsetsPtrs(0);
+    }
+
+    private UdfExecutor createExecutor(String className) throws Exception {
+        TScalarFunction scalarFunction = new TScalarFunction();
+        scalarFunction.symbol = className;
+        TFunction fn = new TFunction();
+        fn.binary_type = TFunctionBinaryType.JAVA_UDF;
+        TTypeNode typeNode = new TTypeNode(TTypeNodeType.SCALAR);
+        typeNode.scalar_type = new TScalarType(TPrimitiveType.INT);
+        TTypeDesc typeDesc = new TTypeDesc(Collections.singletonList(typeNode));
+        fn.ret_type = typeDesc;
+        fn.arg_types = Arrays.asList(typeDesc, typeDesc);
+        fn.scalar_fn = scalarFunction;
+        fn.name = new TFunctionName("add");
+        params.setFn(fn);
+        return new UdfExecutor(new TSerializer(new TBinaryProtocol.Factory()).serialize(params));
+    }
+
+    // the execution path before the method handle and the reused arguments
+    private void evaluateByReflection(UdfExecutor executor, Object udf, Method method) throws Exception {
+        for (int row = 0; row < batchSize; row++) {
+            Object result = method.invoke(udf, executor.allocateInputObjects(row, 0));
+            if (result == null) {
+                UdfUtils.UNSAFE.putByte(outputNull + row, (byte) 1);
+            } else {
+                UdfUtils.UNSAFE.putByte(outputNull + row, (byte) 0);
+                UdfUtils.UNSAFE.putInt(outputBuffer + 4L * row, (Integer) result);
+            }
+        }
+    }
+
+    private interface Evaluation {
+        void run() throws Exception;
+    }
+
+    private void measure(String name, Evaluation evaluation, int rounds) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            evaluation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            evaluation.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-12s %12.0f rows/s%n", name, (double) batchSize * rounds / seconds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int batchSize = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        UdfExecutorBenchmark benchmark = new UdfExecutorBenchmark(batchSize);
+
+        UdfExecutor rowExecutor = benchmark.createExecutor("org.apache.doris.udf.SimpleAddUdf");
+        UdfExecutor batchExecutor = benchmark.createExecutor("org.apache.doris.udf.BatchAddUdf");
+        SimpleAddUdf udf = new SimpleAddUdf();
+        Method method = SimpleAddUdf.class.getMethod("evaluate", Integer.class, int.class);
+
+        benchmark.measure("reflection", () -> benchmark.evaluateByReflection(rowExecutor, udf, method), rounds);
+        benchmark.measure("row", rowExecutor::evaluate, rounds);
+        benchmark.measure("batch", batchExecutor::evaluate, rounds);
+        rowExecutor.close();
+        batchExecutor.close();
+    }
+}
@@ -123,7 +123,12 @@ public abstract class BaseExecutor {
 
     protected Object[] allocateInputObjects(long row, int argClassOffset) throws UdfRuntimeException {
         Object[] inputObjects = new Object[argTypes.length];
+        fillInputObjects(row, argClassOffset, inputObjects);
+        return inputObjects;
+    }
 
+    // Read the arguments of the row into the given array, which can be reused across rows.
+    protected void fillInputObjects(long row, int argClassOffset, Object[] inputObjects) throws UdfRuntimeException {
         for (int i = 0; i < argTypes.length; ++i) {
             if (UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i)) != -1
                     && (UdfUtils.UNSAFE.getByte(null, UdfUtils.UNSAFE.getLong(null,
@@ -242,7 +247,6 @@ public abstract class BaseExecutor {
                     throw new UdfRuntimeException("Unsupported argument type: " + argTypes[i]);
             }
         }
-        return inputObjects;
     }
 
     public ArrayList<?> arrayTypeInputData(Type type, int argIdx, long row)
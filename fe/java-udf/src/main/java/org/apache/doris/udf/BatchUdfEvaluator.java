@@ -0,0 +1,312 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.udf;
+
+import org.apache.doris.udf.UdfUtils.JavaUdfDataType;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Evaluates a udf whose evaluate method takes a whole batch of rows: every argument is an array
+ * with one element per row, and so is the result, eg.
+ * <pre>
+ *     public long[] evaluate(long[] a, Integer[] b)
+ * </pre>
+ * The argument elements can be boolean, byte, short, int, long, float, double, their boxed types, or String,
+ * and the result elements can be any of them but String.
+ * A boxed or String argument is null for a null input, and a null result element means a null output.
+ * A primitive argument can not be null, so the output of the rows with a null input of primitive argument
+ * is null, and the value of the argument is undefined for those rows.
+ * The argument arrays are reused across batches, so the udf should not keep them.
+ */
+public class BatchUdfEvaluator {
+    private static final long SHORT_ARRAY_OFFSET = UdfUtils.UNSAFE.arrayBaseOffset(short[].class);
+    private static final long LONG_ARRAY_OFFSET = UdfUtils.UNSAFE.arrayBaseOffset(long[].class);
+    private static final long FLOAT_ARRAY_OFFSET = UdfUtils.UNSAFE.arrayBaseOffset(float[].class);
+    private static final long DOUBLE_ARRAY_OFFSET = UdfUtils.UNSAFE.arrayBaseOffset(double[].class);
+
+    private static final Set<JavaUdfDataType> SUPPORTED_RETURN_TYPES = ImmutableSet.of(JavaUdfDataType.BOOLEAN,
+            JavaUdfDataType.TINYINT, JavaUdfDataType.SMALLINT, JavaUdfDataType.INT, JavaUdfDataType.BIGINT,
+            JavaUdfDataType.FLOAT, JavaUdfDataType.DOUBLE);
+    private static final Set<JavaUdfDataType> SUPPORTED_ARG_TYPES = ImmutableSet.<JavaUdfDataType>builder()
+            .addAll(SUPPORTED_RETURN_TYPES)
+            .add(JavaUdfDataType.CHAR, JavaUdfDataType.VARCHAR, JavaUdfDataType.STRING)
+            .build();
+
+    private final BaseExecutor executor;
+    private final MethodHandle invoker;
+    private final Class<?>[] argElementClasses;
+    private final Object[] args;
+
+    public BatchUdfEvaluator(BaseExecutor executor, Method method) throws IllegalAccessException {
+        this.executor = executor;
+        this.invoker = UdfUtils.createSpreadInvoker(method, executor.udf);
+        this.argElementClasses = getElementClasses(method.getParameterTypes());
+        this.args = new Object[argElementClasses.length];
+    }
+
+    // whether the method takes arrays and returns an array, which is the evaluate method of a batch udf
+    public static boolean isBatchMethod(Method method) {
+        if (method.getParameterCount() == 0 || !method.getReturnType().isArray()) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!parameterType.isArray()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static Class<?>[] getElementClasses(Class<?>[] arrayClasses) {
+        Class<?>[] elementClasses = new Class<?>[arrayClasses.length];
+        for (int i = 0; i < arrayClasses.length; i++) {
+            elementClasses[i] = arrayClasses[i].getComponentType();
+        }
+        return elementClasses;
+    }
+
+    public static boolean isSupported(JavaUdfDataType retType, JavaUdfDataType[] argTypes) {
+        if (!SUPPORTED_RETURN_TYPES.contains(retType)) {
+            return false;
+        }
+        for (JavaUdfDataType argType : argTypes) {
+            if (!SUPPORTED_ARG_TYPES.contains(argType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void evaluate(int batchSize) throws UdfRuntimeException {
+        // rows with a null input of primitive argument, whose output is null
+        boolean[] nullRows = null;
+        for (int i = 0; i < args.length; i++) {
+            long nullMap = UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(executor.inputNullsPtrs, i));
+            if (argElementClasses[i].isPrimitive() && nullMap != -1) {
+                for (int row = 0; row < batchSize; row++) {
+                    if (UdfUtils.UNSAFE.getByte(nullMap + row) == 1) {
+                        if (nullRows == null) {
+                            nullRows = new boolean[batchSize];
+                        }
+                        nullRows[row] = true;
+                    }
+                }
+            }
+            args[i] = readColumn(i, nullMap, batchSize);
+        }
+
+        Object result;
+        try {
+            result = (Object) invoker.invokeExact(args);
+        } catch (Throwable e) {
+            throw new UdfRuntimeException("UDF failed to evaluate", e);
+        }
+        if (result == null || Array.getLength(result) != batchSize) {
+            throw new UdfRuntimeException("UDF should return an array of " + batchSize + " elements, but got "
+                    + (result == null ? "null" : Array.getLength(result) + " elements"));
+        }
+        writeColumn(result, nullRows, batchSize);
+    }
+
+    private Object readColumn(int argIdx, long nullMap, int batchSize) throws UdfRuntimeException {
+        Class<?> elementClass = argElementClasses[argIdx];
+        JavaUdfDataType argType = executor.argTypes[argIdx];
+        long data = UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(executor.inputBufferPtrs, argIdx));
+        Object column = args[argIdx];
+        if (column == null || Array.getLength(column) != batchSize) {
+            column = Array.newInstance(elementClass, batchSize);
+        }
+
+        if (elementClass.isPrimitive()) {
+            switch (argType) {
+                case BOOLEAN: {
+                    boolean[] values = (boolean[]) column;
+                    for (int row = 0; row < batchSize; row++) {
+                        values[row] = UdfUtils.UNSAFE.getByte(data + row) != 0;
+                    }
+                    break;
+                }
+                case TINYINT:
+                    UdfUtils.copyMemory(null, data, column, UdfUtils.BYTE_ARRAY_OFFSET, batchSize);
+                    break;
+                case SMALLINT:
+                    UdfUtils.copyMemory(null, data, column, SHORT_ARRAY_OFFSET, 2L * batchSize);
+                    break;
+                case INT:
+                    UdfUtils.copyMemory(null, data, column, UdfUtils.INT_ARRAY_OFFSET, 4L * batchSize);
+                    break;
+                case BIGINT:
+                    UdfUtils.copyMemory(null, data, column, LONG_ARRAY_OFFSET, 8L * batchSize);
+                    break;
+                case FLOAT:
+                    UdfUtils.copyMemory(null, data, column, FLOAT_ARRAY_OFFSET, 4L * batchSize);
+                    break;
+                case DOUBLE:
+                    UdfUtils.copyMemory(null, data, column, DOUBLE_ARRAY_OFFSET, 8L * batchSize);
+                    break;
+                default:
+                    throw new UdfRuntimeException("Unsupported argument type of batch udf: " + argType);
+            }
+            return column;
+        }
+
+        Object[] values = (Object[]) column;
+        long offsets = argType == JavaUdfDataType.CHAR || argType == JavaUdfDataType.VARCHAR
+                || argType == JavaUdfDataType.STRING
+                ? UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(executor.inputOffsetsPtrs, argIdx)) : 0;
+        for (int row = 0; row < batchSize; row++) {
+            if (nullMap != -1 && UdfUtils.UNSAFE.getByte(nullMap + row) == 1) {
+                values[row] = null;
+                continue;
+            }
+            switch (argType) {
+                case BOOLEAN:
+                    values[row] = UdfUtils.UNSAFE.getByte(data + row) != 0;
+                    break;
+                case TINYINT:
+                    values[row] = UdfUtils.UNSAFE.getByte(data + row);
+                    break;
+                case SMALLINT:
+                    values[row] = UdfUtils.UNSAFE.getShort(data + 2L * row);
+                    break;
+                case INT:
+                    values[row] = UdfUtils.UNSAFE.getInt(data + 4L * row);
+                    break;
+                case BIGINT:
+                    values[row] = UdfUtils.UNSAFE.getLong(data + 8L * row);
+                    break;
+                case FLOAT:
+                    values[row] = UdfUtils.UNSAFE.getFloat(data + 4L * row);
+                    break;
+                case DOUBLE:
+                    values[row] = UdfUtils.UNSAFE.getDouble(data + 8L * row);
+                    break;
+                case CHAR:
+                case VARCHAR:
+                case STRING: {
+                    long start = row == 0
+                            ? 0 : Integer.toUnsignedLong(UdfUtils.UNSAFE.getInt(offsets + 4L * (row - 1)));
+                    long end = Integer.toUnsignedLong(UdfUtils.UNSAFE.getInt(offsets + 4L * row));
+                    byte[] bytes = new byte[(int) (end - start)];
+                    UdfUtils.copyMemory(null, data + start, bytes, UdfUtils.BYTE_ARRAY_OFFSET, end - start);
+                    values[row] = new String(bytes, StandardCharsets.UTF_8);
+                    break;
+                }
+                default:
+                    throw new UdfRuntimeException("Unsupported argument type of batch udf: " + argType);
+            }
+        }
+        return column;
+    }
+
+    private void writeColumn(Object result, boolean[] nullRows, int batchSize) throws UdfRuntimeException {
+        JavaUdfDataType retType = executor.retType;
+        long nullMap = UdfUtils.UNSAFE.getLong(null, executor.outputNullPtr);
+        long data = UdfUtils.UNSAFE.getLong(null, executor.outputBufferPtr);
+        boolean isPrimitive = result.getClass().getComponentType().isPrimitive();
+
+        if (nullMap != -1) {
+            UdfUtils.UNSAFE.setMemory(nullMap, batchSize, (byte) 0);
+        }
+        if (isPrimitive) {
+            switch (retType) {
+                case BOOLEAN: {
+                    boolean[] values = (boolean[]) result;
+                    for (int row = 0; row < batchSize; row++) {
+                        UdfUtils.UNSAFE.putByte(data + row, values[row] ? (byte) 1 : 0);
+                    }
+                    break;
+                }
+                case TINYINT:
+                    UdfUtils.copyMemory(result, UdfUtils.BYTE_ARRAY_OFFSET, null, data, batchSize);
+                    break;
+                case SMALLINT:
+                    UdfUtils.copyMemory(result, SHORT_ARRAY_OFFSET, null, data, 2L * batchSize);
+                    break;
+                case INT:
+                    UdfUtils.copyMemory(result, UdfUtils.INT_ARRAY_OFFSET, null, data, 4L * batchSize);
+                    break;
+                case BIGINT:
+                    UdfUtils.copyMemory(result, LONG_ARRAY_OFFSET, null, data, 8L * batchSize);
+                    break;
+                case FLOAT:
+                    UdfUtils.copyMemory(result, FLOAT_ARRAY_OFFSET, null, data, 4L * batchSize);
+                    break;
+                case DOUBLE:
+                    UdfUtils.copyMemory(result, DOUBLE_ARRAY_OFFSET, null, data, 8L * batchSize);
+                    break;
+                default:
+                    throw new UdfRuntimeException("Unsupported return type of batch udf: " + retType);
+            }
+        } else {
+            Object[] values = (Object[]) result;
+            for (int row = 0; row < batchSize; row++) {
+                if (values[row] == null) {
+                    setNull(nullMap, row);
+                    continue;
+                }
+                switch (retType) {
+                    case BOOLEAN:
+                        UdfUtils.UNSAFE.putByte(data + row, (Boolean) values[row] ? (byte) 1 : 0);
+                        break;
+                    case TINYINT:
+                        UdfUtils.UNSAFE.putByte(data + row, (Byte) values[row]);
+                        break;
+                    case SMALLINT:
+                        UdfUtils.UNSAFE.putShort(data + 2L * row, (Short) values[row]);
+                        break;
+                    case INT:
+                        UdfUtils.UNSAFE.putInt(data + 4L * row, (Integer) values[row]);
+                        break;
+                    case BIGINT:
+                        UdfUtils.UNSAFE.putLong(data + 8L * row, (Long) values[row]);
+                        break;
+                    case FLOAT:
+                        UdfUtils.UNSAFE.putFloat(data + 4L * row, (Float) values[row]);
+                        break;
+                    case DOUBLE:
+                        UdfUtils.UNSAFE.putDouble(data + 8L * row, (Double) values[row]);
+                        break;
+                    default:
+                        throw new UdfRuntimeException("Unsupported return type of batch udf: " + retType);
+                }
+            }
+        }
+        if (nullRows != null) {
+            for (int row = 0; row < batchSize; row++) {
+                if (nullRows[row]) {
+                    setNull(nullMap, row);
+                }
+            }
+        }
+    }
+
+    private static void setNull(long nullMap, int row) throws UdfRuntimeException {
+        if (nullMap == -1) {
+            throw new UdfRuntimeException("UDF failed to store null data to not null column");
+        }
+        UdfUtils.UNSAFE.putByte(nullMap + row, (byte) 1);
+    }
+}
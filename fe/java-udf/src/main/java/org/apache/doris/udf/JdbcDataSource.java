@@ -18,9 +18,13 @@
 package org.apache.doris.udf;
 
 import com.alibaba.druid.pool.DruidDataSource;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class JdbcDataSource {
     private static final JdbcDataSource jdbcDataSource = new JdbcDataSource();
@@ -30,12 +34,25 @@ public class JdbcDataSource {
         return jdbcDataSource;
     }
 
-    public DruidDataSource getSource(String jdbcUrl) {
-        return sourcesMap.get(jdbcUrl);
+    /**
+     * Get the data source of the key, the data source is created by the creator only once for a key
+     * even if it is got by many executors concurrently.
+     */
+    public DruidDataSource getOrCreateSource(String key, Function<String, DruidDataSource> creator) {
+        return sourcesMap.computeIfAbsent(key, creator);
     }
 
-    public void putSource(String jdbcUrl, DruidDataSource ds) {
-        sourcesMap.put(jdbcUrl, ds);
+    // the executors of the same catalog have the same key, and share the same data source.
+    // the key is hashed, so that the password is not kept in memory or printed with the key.
+    public static String createCacheKey(String jdbcUrl, String jdbcUser, String jdbcPassword, String driverUrl,
+            String driverClass) {
+        return Hashing.sha256().newHasher()
+                .putString(Strings.nullToEmpty(jdbcUrl), StandardCharsets.UTF_8).putChar('\0')
+                .putString(Strings.nullToEmpty(jdbcUser), StandardCharsets.UTF_8).putChar('\0')
+                .putString(Strings.nullToEmpty(jdbcPassword), StandardCharsets.UTF_8).putChar('\0')
+                .putString(Strings.nullToEmpty(driverUrl), StandardCharsets.UTF_8).putChar('\0')
+                .putString(Strings.nullToEmpty(driverClass), StandardCharsets.UTF_8)
+                .hash().toString();
     }
 
     public Map<String, DruidDataSource> getSourcesMap() {
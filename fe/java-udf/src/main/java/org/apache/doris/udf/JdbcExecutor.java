@@ -56,7 +56,10 @@ public class JdbcExecutor {
     private ResultSetMetaData resultSetMetaData = null;
     private List<String> resultColumnTypeNames = null;
     private int baseTypeInt = 0;
-    private List<Object[]> block = null;
+    // each column is an Object[] of the values returned by ResultSet.getObject, or a JdbcPrimitiveColumn
+    private List<Object> block = null;
+    // the primitive columns of block, bound by the column class names once a query is executed
+    private JdbcPrimitiveColumn[] primitiveColumns = null;
     private int batchSizeNum = 0;
     private int curBlockRows = 0;
     private static final byte[] emptyBytes = new byte[0];
@@ -96,9 +99,17 @@ public class JdbcExecutor {
             int columnCount = resultSetMetaData.getColumnCount();
             resultColumnTypeNames = new ArrayList<>(columnCount);
             block = new ArrayList<>(columnCount);
+            primitiveColumns = new JdbcPrimitiveColumn[columnCount];
             for (int i = 0; i < columnCount; ++i) {
-                resultColumnTypeNames.add(resultSetMetaData.getColumnClassName(i + 1));
-                block.add((Object[]) Array.newInstance(Object.class, batchSizeNum));
+                String columnClassName = resultSetMetaData.getColumnClassName(i + 1);
+                resultColumnTypeNames.add(columnClassName);
+                primitiveColumns[i] = columnClassName == null
+                        ? null : JdbcPrimitiveColumn.create(columnClassName, batchSizeNum);
+                if (primitiveColumns[i] != null) {
+                    block.add(primitiveColumns[i]);
+                } else {
+                    block.add(Array.newInstance(Object.class, batchSizeNum));
+                }
             }
             return columnCount;
         } catch (SQLException e) {
@@ -162,13 +173,17 @@ public class JdbcExecutor {
         }
     }
 
-    public List<Object[]> getBlock(int batchSize) throws UdfRuntimeException {
+    public List<Object> getBlock(int batchSize) throws UdfRuntimeException {
         try {
             int columnCount = resultSetMetaData.getColumnCount();
             curBlockRows = 0;
             do {
                 for (int i = 0; i < columnCount; ++i) {
-                    block.get(i)[curBlockRows] = resultSet.getObject(i + 1);
+                    if (primitiveColumns[i] != null) {
+                        primitiveColumns[i].read(resultSet, i + 1, curBlockRows);
+                    } else {
+                        ((Object[]) block.get(i))[curBlockRows] = resultSet.getObject(i + 1);
+                    }
                 }
                 curBlockRows++;
             } while (curBlockRows < batchSize && resultSet.next());
@@ -193,6 +208,20 @@ public class JdbcExecutor {
         }
     }
 
+    private boolean copyPrimitiveColumn(Object columnObj, JdbcPrimitiveColumn.Kind kind, boolean isNullable,
+            int numRows, long nullMapAddr, long columnAddr) {
+        return columnObj instanceof JdbcPrimitiveColumn
+                && ((JdbcPrimitiveColumn) columnObj).copyTo(kind, isNullable, numRows, nullMapAddr, columnAddr);
+    }
+
+    // box the values of a primitive column which is copied to a column of another type
+    private Object[] getObjectColumn(Object columnObj, int numRows) {
+        if (columnObj instanceof JdbcPrimitiveColumn) {
+            return ((JdbcPrimitiveColumn) columnObj).toObjects(numRows);
+        }
+        return (Object[]) columnObj;
+    }
+
     public Object convertArrayToObject(Object obj, int idx) {
         Object[] columnData = (Object[]) obj;
         if (columnData[idx] instanceof String) {
@@ -207,8 +236,9 @@ public class JdbcExecutor {
         try {
             ClassLoader parent = getClass().getClassLoader();
             ClassLoader classLoader = UdfUtils.getClassLoader(driverUrl, parent);
-            druidDataSource = JdbcDataSource.getDataSource().getSource(jdbcUrl);
-            if (druidDataSource == null) {
+            // the scanners of the same catalog share the connection pool
+            String sourceKey = JdbcDataSource.createCacheKey(jdbcUrl, jdbcUser, jdbcPassword, driverUrl, driverClass);
+            druidDataSource = JdbcDataSource.getDataSource().getOrCreateSource(sourceKey, key -> {
                 DruidDataSource ds = new DruidDataSource();
                 ds.setDriverClassLoader(classLoader);
                 ds.setDriverClassName(driverClass);
@@ -218,9 +248,8 @@ public class JdbcExecutor {
                 ds.setMinIdle(1);
                 ds.setInitialSize(2);
                 ds.setMaxActive(5);
-                druidDataSource = ds;
-                JdbcDataSource.getDataSource().putSource(jdbcUrl, ds);
-            }
+                return ds;
+            });
             conn = druidDataSource.getConnection();
             if (op == TJdbcOperation.READ) {
                 conn.setAutoCommit(false);
@@ -243,7 +272,11 @@ public class JdbcExecutor {
 
     public void copyBatchBooleanResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.BOOLEAN, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (isNullable) {
             for (int i = 0; i < numRows; i++) {
                 if (column[i] == null) {
@@ -314,7 +347,11 @@ public class JdbcExecutor {
 
     public void copyBatchTinyIntResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.TINYINT, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof BigDecimal) {
             bigDecimalPutToByte(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Integer) {
@@ -377,7 +414,11 @@ public class JdbcExecutor {
 
     public void copyBatchSmallIntResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.SMALLINT, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof BigDecimal) {
             bigDecimalPutToShort(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Integer) {
@@ -424,7 +465,11 @@ public class JdbcExecutor {
 
     public void copyBatchIntResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.INT, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof BigDecimal) {
             bigDecimalPutToInt(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Integer) {
@@ -468,7 +513,11 @@ public class JdbcExecutor {
 
     public void copyBatchBigIntResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.BIGINT, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof BigDecimal) {
             bigDecimalPutToLong(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Long) {
@@ -527,7 +576,7 @@ public class JdbcExecutor {
 
     public void copyBatchLargeIntResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof BigDecimal) {
             bigDecimalPutToBigInteger(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof BigInteger) {
@@ -537,7 +586,11 @@ public class JdbcExecutor {
 
     public void copyBatchFloatResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.FLOAT, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (isNullable) {
             for (int i = 0; i < numRows; i++) {
                 if (column[i] == null) {
@@ -590,7 +643,11 @@ public class JdbcExecutor {
 
     public void copyBatchDoubleResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        if (copyPrimitiveColumn(columnObj, JdbcPrimitiveColumn.Kind.DOUBLE, isNullable, numRows, nullMapAddr,
+                columnAddr)) {
+            return;
+        }
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof BigDecimal) {
             bigDecimalPutToDouble(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Double) {
@@ -661,7 +718,7 @@ public class JdbcExecutor {
 
     public void copyBatchDateResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof LocalDate) {
             localDatePutToLong(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Date) {
@@ -715,7 +772,7 @@ public class JdbcExecutor {
 
     public void copyBatchDateV2Result(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof LocalDate) {
             localDatePutToInt(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof Date) {
@@ -821,7 +878,7 @@ public class JdbcExecutor {
 
     public void copyBatchDateTimeResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) throws SQLException {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof LocalDateTime) {
             localDateTimePutToLong(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof java.sql.Timestamp) {
@@ -904,7 +961,7 @@ public class JdbcExecutor {
 
     public void copyBatchDateTimeV2Result(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) throws SQLException {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof LocalDateTime) {
             localDateTimePutToLongV2(column, isNullable, numRows, nullMapAddr, columnAddr);
         } else if (column[0] instanceof java.sql.Timestamp) {
@@ -925,7 +982,7 @@ public class JdbcExecutor {
     public void copyBatchCharResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long offsetsAddr, long charsAddr, boolean needTrimSpaces) {
         if (needTrimSpaces == true) {
-            Object[] column = (Object[]) columnObj;
+            Object[] column = getObjectColumn(columnObj, numRows);
             for (int i = 0; i < numRows; i++) {
                 if (column[i] != null) {
                     column[i] = trimSpaces((String) column[i]);
@@ -1009,7 +1066,7 @@ public class JdbcExecutor {
 
     public void copyBatchStringResult(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long offsetsAddr, long charsAddr) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         if (column[0] instanceof String) {
             stringPutToString(column, isNullable, numRows, nullMapAddr, offsetsAddr, charsAddr);
         } else {
@@ -1021,7 +1078,7 @@ public class JdbcExecutor {
 
     public void copyBatchDecimalV2Result(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         BigInteger[] data = new BigInteger[numRows];
         for (int i = 0; i < numRows; i++) {
             if (column[i] == null) {
@@ -1036,7 +1093,7 @@ public class JdbcExecutor {
 
     public void copyBatchDecimal32Result(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr, int scale) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         BigInteger[] data = new BigInteger[numRows];
         for (int i = 0; i < numRows; i++) {
             if (column[i] == null) {
@@ -1051,7 +1108,7 @@ public class JdbcExecutor {
 
     public void copyBatchDecimal64Result(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr, int scale) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         BigInteger[] data = new BigInteger[numRows];
         for (int i = 0; i < numRows; i++) {
             if (column[i] == null) {
@@ -1066,7 +1123,7 @@ public class JdbcExecutor {
 
     public void copyBatchDecimal128Result(Object columnObj, boolean isNullable, int numRows, long nullMapAddr,
             long columnAddr, int scale) {
-        Object[] column = (Object[]) columnObj;
+        Object[] column = getObjectColumn(columnObj, numRows);
         BigInteger[] data = new BigInteger[numRows];
         for (int i = 0; i < numRows; i++) {
             if (column[i] == null) {
@@ -0,0 +1,238 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.udf;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A column of the block read by {@link JdbcExecutor}, whose values are primitive.
+ * The values are read by the typed getters of ResultSet into a primitive array, and copied to
+ * the native column in bulk, so they are never boxed unless the native column is of another type.
+ */
+public class JdbcPrimitiveColumn {
+    public enum Kind {
+        BOOLEAN(1, UdfUtils.BYTE_ARRAY_OFFSET),
+        TINYINT(1, UdfUtils.BYTE_ARRAY_OFFSET),
+        SMALLINT(2, UdfUtils.UNSAFE.arrayBaseOffset(short[].class)),
+        INT(4, UdfUtils.INT_ARRAY_OFFSET),
+        BIGINT(8, UdfUtils.UNSAFE.arrayBaseOffset(long[].class)),
+        FLOAT(4, UdfUtils.UNSAFE.arrayBaseOffset(float[].class)),
+        DOUBLE(8, UdfUtils.UNSAFE.arrayBaseOffset(double[].class));
+
+        private final int width;
+        private final long arrayOffset;
+
+        Kind(int width, long arrayOffset) {
+            this.width = width;
+            this.arrayOffset = arrayOffset;
+        }
+
+        public boolean isIntegral() {
+            return this == TINYINT || this == SMALLINT || this == INT || this == BIGINT;
+        }
+    }
+
+    private final Kind kind;
+    // boolean values are stored as bytes, the same as the native column
+    private final Object values;
+    private final byte[] nulls;
+
+    private JdbcPrimitiveColumn(Kind kind, int capacity) {
+        this.kind = kind;
+        this.nulls = new byte[capacity];
+        switch (kind) {
+            case BOOLEAN:
+            case TINYINT:
+                values = new byte[capacity];
+                break;
+            case SMALLINT:
+                values = new short[capacity];
+                break;
+            case INT:
+                values = new int[capacity];
+                break;
+            case BIGINT:
+                values = new long[capacity];
+                break;
+            case FLOAT:
+                values = new float[capacity];
+                break;
+            default:
+                values = new double[capacity];
+                break;
+        }
+    }
+
+    /**
+     * Create the column for the values of the class returned by ResultSet.getObject,
+     * null if the values are not primitive.
+     */
+    public static JdbcPrimitiveColumn create(String columnClassName, int capacity) {
+        Kind kind;
+        switch (columnClassName) {
+            case "java.lang.Boolean":
+                kind = Kind.BOOLEAN;
+                break;
+            case "java.lang.Byte":
+                kind = Kind.TINYINT;
+                break;
+            case "java.lang.Short":
+                kind = Kind.SMALLINT;
+                break;
+            case "java.lang.Integer":
+                kind = Kind.INT;
+                break;
+            case "java.lang.Long":
+                kind = Kind.BIGINT;
+                break;
+            case "java.lang.Float":
+                kind = Kind.FLOAT;
+                break;
+            case "java.lang.Double":
+                kind = Kind.DOUBLE;
+                break;
+            default:
+                return null;
+        }
+        return new JdbcPrimitiveColumn(kind, capacity);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+        switch (kind) {
+            case BOOLEAN:
+                ((byte[]) values)[row] = resultSet.getBoolean(columnIndex) ? (byte) 1 : 0;
+                break;
+            case TINYINT:
+                ((byte[]) values)[row] = resultSet.getByte(columnIndex);
+                break;
+            case SMALLINT:
+                ((short[]) values)[row] = resultSet.getShort(columnIndex);
+                break;
+            case INT:
+                ((int[]) values)[row] = resultSet.getInt(columnIndex);
+                break;
+            case BIGINT:
+                ((long[]) values)[row] = resultSet.getLong(columnIndex);
+                break;
+            case FLOAT:
+                ((float[]) values)[row] = resultSet.getFloat(columnIndex);
+                break;
+            default:
+                ((double[]) values)[row] = resultSet.getDouble(columnIndex);
+                break;
+        }
+        nulls[row] = resultSet.wasNull() ? (byte) 1 : 0;
+    }
+
+    /**
+     * Copy the values to a native column of the given kind, the values are widened if the native column
+     * is of a wider type of the same category.
+     *
+     * @return false if the values can not be copied to the native column without a conversion of objects
+     */
+    public boolean copyTo(Kind targetKind, boolean isNullable, int numRows, long nullMapAddr, long columnAddr) {
+        if (targetKind == kind) {
+            UdfUtils.copyMemory(values, kind.arrayOffset, null, columnAddr, (long) numRows * kind.width);
+        } else if (kind.isIntegral() && targetKind.isIntegral() && kind.width < targetKind.width) {
+            for (int i = 0; i < numRows; i++) {
+                putIntegral(targetKind, columnAddr + (long) i * targetKind.width, getLong(i));
+            }
+        } else if (kind == Kind.FLOAT && targetKind == Kind.DOUBLE) {
+            float[] floats = (float[]) values;
+            for (int i = 0; i < numRows; i++) {
+                UdfUtils.UNSAFE.putDouble(columnAddr + i * 8L, floats[i]);
+            }
+        } else {
+            return false;
+        }
+        if (isNullable) {
+            UdfUtils.copyMemory(nulls, UdfUtils.BYTE_ARRAY_OFFSET, null, nullMapAddr, numRows);
+        }
+        return true;
+    }
+
+    /**
+     * The boxed values, the same as the values returned by ResultSet.getObject.
+     */
+    public Object[] toObjects(int numRows) {
+        Object[] objects = new Object[numRows];
+        for (int i = 0; i < numRows; i++) {
+            if (nulls[i] == 1) {
+                continue;
+            }
+            switch (kind) {
+                case BOOLEAN:
+                    objects[i] = ((byte[]) values)[i] == 1;
+                    break;
+                case FLOAT:
+                    objects[i] = ((float[]) values)[i];
+                    break;
+                case DOUBLE:
+                    objects[i] = ((double[]) values)[i];
+                    break;
+                case TINYINT:
+                    objects[i] = ((byte[]) values)[i];
+                    break;
+                case SMALLINT:
+                    objects[i] = ((short[]) values)[i];
+                    break;
+                case INT:
+                    objects[i] = ((int[]) values)[i];
+                    break;
+                default:
+                    objects[i] = ((long[]) values)[i];
+                    break;
+            }
+        }
+        return objects;
+    }
+
+    private long getLong(int row) {
+        switch (kind) {
+            case TINYINT:
+                return ((byte[]) values)[row];
+            case SMALLINT:
+                return ((short[]) values)[row];
+            case INT:
+                return ((int[]) values)[row];
+            default:
+                return ((long[]) values)[row];
+        }
+    }
+
+    private static void putIntegral(Kind kind, long address, long value) {
+        switch (kind) {
+            case TINYINT:
+                UdfUtils.UNSAFE.putByte(address, (byte) value);
+                break;
+            case SMALLINT:
+                UdfUtils.UNSAFE.putShort(address, (short) value);
+                break;
+            case INT:
+                UdfUtils.UNSAFE.putInt(address, (int) value);
+                break;
+            default:
+                UdfUtils.UNSAFE.putLong(address, value);
+                break;
+        }
+    }
+}
@@ -26,15 +26,22 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import org.apache.log4j.Logger;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 
 public class UdfExecutor extends BaseExecutor {
     private static final Logger LOG = Logger.getLogger(UdfExecutor.class);
     // setup by init() and cleared by close()
     private Method method;
+    // Invoker of method, which is much cheaper than Method.invoke. null if it can not be created.
+    private MethodHandle methodHandle;
+    // Not null if the udf takes a whole batch in one call, see BatchUdfEvaluator.
+    private BatchUdfEvaluator batchEvaluator;
 
     // Pre-constructed input objects for the UDF. This minimizes object creation overhead
     // as these objects are reused across calls to evaluate().
@@ -61,6 +68,8 @@ public class UdfExecutor extends BaseExecutor {
         // We are now un-usable (because the class loader has been
         // closed), so null out method_ and classLoader_.
         method = null;
+        methodHandle = null;
+        batchEvaluator = null;
         super.close();
     }
 
@@ -70,6 +79,10 @@ public class UdfExecutor extends BaseExecutor {
      */
     public void evaluate() throws UdfRuntimeException {
         int batchSize = UdfUtils.UNSAFE.getInt(null, batchSizePtr);
+        if (batchEvaluator != null) {
+            batchEvaluator.evaluate(batchSize);
+            return;
+        }
         try {
             if (retType.equals(JavaUdfDataType.STRING) || retType.equals(JavaUdfDataType.VARCHAR)
                     || retType.equals(JavaUdfDataType.CHAR) || retType.equals(JavaUdfDataType.ARRAY_TYPE)) {
@@ -84,7 +97,7 @@ public class UdfExecutor extends BaseExecutor {
                 rowIdx = 0;
             }
             for (; rowIdx < batchSize; rowIdx++) {
-                inputObjects = allocateInputObjects(rowIdx, 0);
+                fillInputObjects(rowIdx, 0, inputObjects);
                 // `storeUdfResult` is called to store udf result to output column. If true
                 // is returned, current value is stored successfully. Otherwise, current result is
                 // not processed successfully (e.g. current output buffer is not large enough) so
@@ -110,8 +123,8 @@ public class UdfExecutor extends BaseExecutor {
      */
     private Object evaluate(Object... args) throws UdfRuntimeException {
         try {
-            return method.invoke(udf, args);
-        } catch (Exception e) {
+            return methodHandle == null ? method.invoke(udf, args) : (Object) methodHandle.invokeExact(args);
+        } catch (Throwable e) {
             throw new UdfRuntimeException("UDF failed to evaluate", e);
         }
     }
@@ -176,12 +189,21 @@ public class UdfExecutor extends BaseExecutor {
             Constructor<?> ctor = c.getConstructor();
             udf = ctor.newInstance();
             Method[] methods = c.getMethods();
+            // prefer the batch evaluate method if the udf has both
+            Arrays.sort(methods, Comparator.comparing((Method m) -> !BatchUdfEvaluator.isBatchMethod(m)));
             for (Method m : methods) {
                 // By convention, the udf must contain the function "evaluate"
                 if (!m.getName().equals(UDF_FUNCTION_NAME)) {
                     continue;
                 }
                 signatures.add(m.toGenericString());
+                if (BatchUdfEvaluator.isBatchMethod(m)) {
+                    if (initBatchEvaluator(m, funcRetType, parameterTypes)) {
+                        LOG.debug("Loaded batch UDF '" + className + "' from " + jarPath);
+                        return;
+                    }
+                    continue;
+                }
                 argClass = m.getParameterTypes();
 
                 // Try to match the arguments
@@ -199,6 +221,7 @@ public class UdfExecutor extends BaseExecutor {
                         retType = returnType.second;
                     }
                     argTypes = new JavaUdfDataType[0];
+                    initInvoker();
                     LOG.debug("Loaded UDF '" + className + "' from " + jarPath);
                     return;
                 }
@@ -214,6 +237,7 @@ public class UdfExecutor extends BaseExecutor {
                 } else {
                     argTypes = inputType.second;
                 }
+                initInvoker();
                 LOG.debug("Loaded UDF '" + className + "' from " + jarPath);
                 return;
             }
@@ -242,4 +266,33 @@ public class UdfExecutor extends BaseExecutor {
             throw new UdfRuntimeException("Unable to call create UDF instance.", e);
         }
     }
+
+    private void initInvoker() {
+        inputObjects = new Object[argTypes.length];
+        try {
+            methodHandle = UdfUtils.createSpreadInvoker(method, udf);
+        } catch (IllegalAccessException e) {
+            LOG.warn("Unable to create method handle of " + method + ", use reflection instead", e);
+        }
+    }
+
+    private boolean initBatchEvaluator(Method m, Type funcRetType, Type... parameterTypes) throws Exception {
+        Class<?>[] argElementClasses = BatchUdfEvaluator.getElementClasses(m.getParameterTypes());
+        if (argElementClasses.length != parameterTypes.length) {
+            return false;
+        }
+        Pair<Boolean, JavaUdfDataType> returnType = UdfUtils.setReturnType(funcRetType,
+                m.getReturnType().getComponentType());
+        Pair<Boolean, JavaUdfDataType[]> inputType = UdfUtils.setArgTypes(parameterTypes, argElementClasses, false);
+        if (!returnType.first || !inputType.first
+                || !BatchUdfEvaluator.isSupported(returnType.second, inputType.second)) {
+            return false;
+        }
+        method = m;
+        argClass = argElementClasses;
+        retType = returnType.second;
+        argTypes = inputType.second;
+        batchEvaluator = new BatchUdfEvaluator(this, m);
+        return true;
+    }
 }
@@ -34,7 +34,11 @@ import sun.misc.Unsafe;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.MalformedURLException;
@@ -268,6 +272,17 @@ public class UdfUtils {
         return URLClassLoader.newInstance(new URL[] {url}, parent);
     }
 
+    /**
+     * Create a method handle of type (Object[])Object, which calls the method on the target
+     * with the elements of the array as arguments. It is much cheaper than Method.invoke.
+     */
+    public static MethodHandle createSpreadInvoker(Method method, Object target) throws IllegalAccessException {
+        int argNum = method.getParameterCount();
+        return MethodHandles.publicLookup().unreflect(method).bindTo(target)
+                .asType(MethodType.genericMethodType(argNum))
+                .asSpreader(Object[].class, argNum);
+    }
+
     /**
      * Sets the return type of a Java UDF. Returns true if the return type is compatible
      * with the return type from the function definition. Throws an UdfRuntimeException
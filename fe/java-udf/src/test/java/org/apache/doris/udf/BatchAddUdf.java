@@ -0,0 +1,31 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.udf;
+
+public class BatchAddUdf {
+    public Integer evaluate(Integer a, int b) {
+        throw new IllegalStateException("the batch evaluate method should be used");
+    }
+
+    public Integer[] evaluate(Integer[] a, int[] b) {
+        Integer[] result = new Integer[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] == null ? null : a[i] + b[i];
+        }
+        return result;
+    }
+}
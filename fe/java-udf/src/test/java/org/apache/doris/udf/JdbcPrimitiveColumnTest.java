@@ -0,0 +1,94 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+package org.apache.doris.udf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+
+public class JdbcPrimitiveColumnTest {
+    // a result set of one int column, whose value of row i is i, and null for the even rows
+    private static ResultSet intResultSet(int[] row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInt":
+                            return row[0] % 2 == 0 ? 0 : row[0];
+                        case "wasNull":
+                            return row[0] % 2 == 0;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static JdbcPrimitiveColumn readIntColumn(int numRows) throws Exception {
+        JdbcPrimitiveColumn column = JdbcPrimitiveColumn.create("java.lang.Integer", numRows);
+        int[] row = new int[1];
+        ResultSet resultSet = intResultSet(row);
+        for (; row[0] < numRows; row[0]++) {
+            column.read(resultSet, 1, row[0]);
+        }
+        return column;
+    }
+
+    @Test
+    public void testCreate() {
+        Assert.assertEquals(JdbcPrimitiveColumn.Kind.BIGINT,
+                JdbcPrimitiveColumn.create("java.lang.Long", 4).getKind());
+        Assert.assertNull(JdbcPrimitiveColumn.create("java.math.BigDecimal", 4));
+        Assert.assertNull(JdbcPrimitiveColumn.create("java.lang.String", 4));
+    }
+
+    @Test
+    public void testCopy() throws Exception {
+        int numRows = 10;
+        JdbcPrimitiveColumn column = readIntColumn(numRows);
+        long nullMap = UdfUtils.UNSAFE.allocateMemory(numRows);
+        long data = UdfUtils.UNSAFE.allocateMemory(8L * numRows);
+        try {
+            Assert.assertTrue(column.copyTo(JdbcPrimitiveColumn.Kind.INT, true, numRows, nullMap, data));
+            for (int i = 0; i < numRows; i++) {
+                Assert.assertEquals(i % 2 == 0 ? 1 : 0, UdfUtils.UNSAFE.getByte(nullMap + i));
+                if (i % 2 == 1) {
+                    Assert.assertEquals(i, UdfUtils.UNSAFE.getInt(data + 4L * i));
+                }
+            }
+
+            // widened to bigint
+            Assert.assertTrue(column.copyTo(JdbcPrimitiveColumn.Kind.BIGINT, false, numRows, nullMap, data));
+            for (int i = 1; i < numRows; i += 2) {
+                Assert.assertEquals(i, UdfUtils.UNSAFE.getLong(data + 8L * i));
+            }
+
+            // narrowed or converted by the boxed values
+            Assert.assertFalse(column.copyTo(JdbcPrimitiveColumn.Kind.SMALLINT, true, numRows, nullMap, data));
+            Assert.assertFalse(column.copyTo(JdbcPrimitiveColumn.Kind.DOUBLE, true, numRows, nullMap, data));
+        } finally {
+            UdfUtils.UNSAFE.freeMemory(nullMap);
+            UdfUtils.UNSAFE.freeMemory(data);
+        }
+    }
+
+    @Test
+    public void testToObjects() throws Exception {
+        Object[] objects = readIntColumn(4).toObjects(4);
+        Assert.assertArrayEquals(new Object[] {null, 1, null, 3}, objects);
+    }
+}
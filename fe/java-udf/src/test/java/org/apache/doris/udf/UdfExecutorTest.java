@@ -353,6 +353,86 @@ public class UdfExecutorTest {
         }
     }
 
+    @Test
+    public void testBatchAddUdf() throws Exception {
+        TScalarFunction scalarFunction = new TScalarFunction();
+        scalarFunction.symbol = "org.apache.doris.udf.BatchAddUdf";
+
+        TFunction fn = new TFunction();
+        fn.binary_type = TFunctionBinaryType.JAVA_UDF;
+        TTypeNode typeNode = new TTypeNode(TTypeNodeType.SCALAR);
+        typeNode.scalar_type = new TScalarType(TPrimitiveType.INT);
+        TTypeDesc typeDesc = new TTypeDesc(Collections.singletonList(typeNode));
+        fn.ret_type = typeDesc;
+        fn.arg_types = Arrays.asList(typeDesc, typeDesc);
+        fn.scalar_fn = scalarFunction;
+        fn.name = new TFunctionName("BatchAdd");
+
+        long batchSizePtr = UdfUtils.UNSAFE.allocateMemory(4);
+        int batchSize = 10;
+        UdfUtils.UNSAFE.putInt(batchSizePtr, batchSize);
+
+        TJavaUdfExecutorCtorParams params = new TJavaUdfExecutorCtorParams();
+        params.setBatchSizePtr(batchSizePtr);
+        params.setFn(fn);
+
+        long outputBufferPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        long outputNullPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        long outputBuffer = UdfUtils.UNSAFE.allocateMemory(4 * batchSize);
+        long outputNull = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        UdfUtils.UNSAFE.putLong(outputBufferPtr, outputBuffer);
+        UdfUtils.UNSAFE.putLong(outputNullPtr, outputNull);
+
+        params.setOutputBufferPtr(outputBufferPtr);
+        params.setOutputNullPtr(outputNullPtr);
+
+        int numCols = 2;
+        long inputBufferPtr = UdfUtils.UNSAFE.allocateMemory(8 * numCols);
+        long inputNullPtr = UdfUtils.UNSAFE.allocateMemory(8 * numCols);
+
+        long inputBuffer1 = UdfUtils.UNSAFE.allocateMemory(4 * batchSize);
+        long inputNull1 = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        long inputBuffer2 = UdfUtils.UNSAFE.allocateMemory(4 * batchSize);
+        long inputNull2 = UdfUtils.UNSAFE.allocateMemory(batchSize);
+
+        UdfUtils.UNSAFE.putLong(inputBufferPtr, inputBuffer1);
+        UdfUtils.UNSAFE.putLong(inputBufferPtr + 8, inputBuffer2);
+        UdfUtils.UNSAFE.putLong(inputNullPtr, inputNull1);
+        UdfUtils.UNSAFE.putLong(inputNullPtr + 8, inputNull2);
+
+        for (int i = 0; i < batchSize; i++) {
+            UdfUtils.UNSAFE.putInt(null, inputBuffer1 + i * 4, i);
+            UdfUtils.UNSAFE.putInt(null, inputBuffer2 + i * 4, i);
+
+            // the output is null if either input is null, including the primitive argument
+            UdfUtils.UNSAFE.putByte(null, inputNull1 + i, i % 2 == 0 ? (byte) 1 : 0);
+            UdfUtils.UNSAFE.putByte(null, inputNull2 + i, i % 3 == 0 ? (byte) 1 : 0);
+        }
+        params.setInputBufferPtrs(inputBufferPtr);
+        params.setInputNullsPtrs(inputNullPtr);
+        params.setInputOffsetsPtrs(0);
+
+        TBinaryProtocol.Factory factory =
+                new TBinaryProtocol.Factory();
+        TSerializer serializer = new TSerializer(factory);
+
+        UdfExecutor executor;
+        executor = new UdfExecutor(serializer.serialize(params));
+
+        // evaluate twice to check the reused argument arrays
+        for (int round = 0; round < 2; round++) {
+            executor.evaluate();
+            for (int i = 0; i < batchSize; i++) {
+                if (i % 2 == 0 || i % 3 == 0) {
+                    assert (UdfUtils.UNSAFE.getByte(outputNull + i) == 1);
+                } else {
+                    assert (UdfUtils.UNSAFE.getByte(outputNull + i) == 0);
+                    assert (UdfUtils.UNSAFE.getInt(outputBuffer + 4 * i) == i * 2);
+                }
+            }
+        }
+    }
+
     @Test
     public void testStringConcatUdf() throws Exception {
         TScalarFunction scalarFunction = new TScalarFunction();
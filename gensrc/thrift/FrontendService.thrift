@@ -755,6 +755,20 @@ struct TConfirmUnusedRemoteFilesResult {
     1: optional list<Types.TTabletId> confirmed_tablets
 }
 
+struct TFetchSplitBatchRequest {
+    1: optional i64 split_source_id
+    2: optional i32 max_num_splits
+    // a retried request has the same scanner id and batch seq, and gets the same batch
+    3: optional string scanner_id
+    4: optional i64 batch_seq
+}
+
+struct TFetchSplitBatchResult {
+    1: optional Status.TStatus status
+    // empty if the split source is exhausted
+    2: optional list<PlanNodes.TFileRangeDesc> splits
+}
+
 service FrontendService {
     TGetDbsResult getDbNames(1: TGetDbsParams params)
     TGetTablesResult getTableNames(1: TGetTablesParams params)
@@ -798,4 +812,6 @@ service FrontendService {
     TMySqlLoadAcquireTokenResult acquireToken()
 
     TConfirmUnusedRemoteFilesResult confirmUnusedRemoteFiles(1: TConfirmUnusedRemoteFilesRequest request)
+
+    TFetchSplitBatchResult fetchSplitBatch(1: TFetchSplitBatchRequest request)
 }
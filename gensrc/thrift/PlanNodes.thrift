@@ -355,6 +355,9 @@ struct TFileRangeDesc {
 struct TFileScanRange {
     1: optional list<TFileRangeDesc> ranges
     2: optional TFileScanRangeParams params
+    // if set, the scanner fetches more ranges from the split source on coordinator fe
+    // after the ranges above are consumed
+    3: optional i64 split_source_id
 }
 
 // Scan range for external datasource, such as file on hdfs, es datanode, etc.